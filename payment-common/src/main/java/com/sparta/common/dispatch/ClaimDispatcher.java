@@ -0,0 +1,226 @@
+package com.sparta.common.dispatch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 조건부 UPDATE 점유 기반 디스패처 (아웃박스/웹훅 인박스 공통)
+ * - 주기적으로(또는 wakeUp으로 바로) 처리할 행을 조회해 조건부 UPDATE로 점유하고, 크기가 제한된 작업 스레드 풀에서 처리합니다.
+ * - 폴링은 한 번에 하나만 실행하고, 작업 큐가 가득 차면 다음 주기로 미룹니다. 처리 중 서버가 죽으면 점유 만료 후 다시 가져갑니다.
+ * - 실패한 행은 지수 백오프로 재시도하고, 최대 횟수를 넘으면 실패로 남깁니다.
+ * - 하위 클래스는 조회/점유/처리/실패 저장만 구현하고, @Scheduled 메서드에서 wakeUp()을 호출합니다.
+ */
+public abstract class ClaimDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    protected final Logger logger = LoggerFactory.getLogger(getClass());
+    protected final TransactionTemplate transactionTemplate;
+
+    private final String label;
+    private final String metricPrefix;
+    private final Settings settings;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> lagTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failureCounters = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor workerExecutor;
+    // 폴링은 한 번에 하나만 실행하고, 실행 중에 들어온 깨우기 요청은 하나로 합침
+    private final ThreadPoolExecutor pollExecutor;
+
+    /**
+     * @param name 스레드 이름 접두어 ({name}-worker-N, {name}-poller)
+     * @param label 로그에 쓰는 대상 이름 (예: "아웃박스 이벤트")
+     * @param metricPrefix 메트릭 이름 접두어 ({metricPrefix}.lag, {metricPrefix}.failures - type 태그로 구분)
+     */
+    protected ClaimDispatcher(String name, String label, String metricPrefix, Settings settings,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.label = label;
+        this.metricPrefix = metricPrefix;
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        AtomicInteger workerSeq = new AtomicInteger();
+        this.workerExecutor = new ThreadPoolExecutor(settings.workers(), settings.workers(), 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(settings.queueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-worker-" + workerSeq.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.pollExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-poller");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * 처리 가능한 행 ID - 재시도 시각이 된 대기 행 또는 점유가 만료된 처리 중 행
+     */
+    protected abstract List<Long> findDispatchableIds(LocalDateTime now, int limit);
+
+    /**
+     * 조건부 UPDATE로 점유하고 시도 횟수 증가 (트랜잭션 안에서 호출, 다른 디스패처가 먼저 가져갔으면 0)
+     */
+    protected abstract int claim(Long id, LocalDateTime now, LocalDateTime lockedUntil);
+
+    /**
+     * 점유한 행을 처리하고 완료로 표시 (작업 스레드에서 트랜잭션 밖으로 호출)
+     * - 예외를 던지면 saveFailure로 재시도/실패 상태를 저장합니다.
+     */
+    protected abstract void process(Long id) throws Exception;
+
+    /**
+     * 실패 상태 저장 (트랜잭션 안에서 호출) - retryAt(시도 횟수)로 다음 시도 시각을 정하고 recordFailure로 기록합니다.
+     */
+    protected abstract void saveFailure(Long id, Exception error);
+
+    /**
+     * 다음 주기를 기다리지 않고 바로 폴링
+     */
+    public void wakeUp() {
+        pollExecutor.execute(this::dispatchPending);
+    }
+
+    /**
+     * 실패 후 다음 시도 시각 (지수 백오프)
+     * @return 최대 재시도 횟수를 넘었으면 null
+     */
+    protected LocalDateTime retryAt(int attempts) {
+        if (attempts >= settings.maxAttempts()) {
+            return null;
+        }
+        long backoffMs = Math.min(settings.baseBackoffMs() << Math.min(attempts - 1, 20), settings.maxBackoffMs());
+        return LocalDateTime.now().plus(Duration.ofMillis(backoffMs));
+    }
+
+    protected String errorMessage(Exception error) {
+        String message = String.valueOf(error.getMessage());
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    /**
+     * 처리 완료까지 걸린 시간 기록
+     */
+    protected void recordLag(String type, LocalDateTime queuedAt, LocalDateTime processedAt) {
+        lagTimers.computeIfAbsent(type, key -> Timer.builder(metricPrefix + ".lag")
+                        .description(label + " 기록부터 처리 완료까지 걸린 시간")
+                        .tag("type", key)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry))
+                .record(Duration.between(queuedAt, processedAt));
+    }
+
+    /**
+     * 실패 메트릭/로그 기록
+     * @param retryAt saveFailure에서 정한 다음 시도 시각 (null이면 최대 재시도 횟수 초과)
+     */
+    protected void recordFailure(String type, Object key, int attempts, LocalDateTime retryAt, Exception error) {
+        failureCounters.computeIfAbsent(type, t -> Counter.builder(metricPrefix + ".failures")
+                        .description(label + " 처리 실패 횟수")
+                        .tag("type", t)
+                        .register(meterRegistry))
+                .increment();
+        if (retryAt == null) {
+            logger.error("{} {}({}) 처리 실패 - 최대 재시도 횟수 초과", label, key, type, error);
+        } else {
+            logger.warn("{} {}({}) 처리 실패 - {}회차, {} 재시도: {}", label, key, type, attempts, retryAt, error.getMessage());
+        }
+    }
+
+    private void dispatchPending() {
+        try {
+            while (true) {
+                int capacity = workerExecutor.getQueue().remainingCapacity();
+                if (capacity <= 0) {
+                    return; // 작업 큐가 가득 차면 다음 주기에 다시 시도
+                }
+
+                LocalDateTime now = LocalDateTime.now();
+                List<Long> ids = findDispatchableIds(now, Math.min(settings.batchSize(), capacity));
+                if (ids.isEmpty()) {
+                    return;
+                }
+
+                int dispatched = 0;
+                for (Long id : ids) {
+                    Integer claimed = transactionTemplate.execute(status ->
+                            claim(id, now, now.plusSeconds(settings.leaseSeconds())));
+                    if (claimed == null || claimed == 0) {
+                        continue; // 다른 디스패처가 먼저 가져감
+                    }
+                    try {
+                        workerExecutor.execute(() -> run(id));
+                        dispatched++;
+                    } catch (RejectedExecutionException e) {
+                        // 점유 만료 후 다시 처리됨
+                        logger.warn("작업 큐가 가득 차 {} {} 처리를 미룹니다.", label, id);
+                        return;
+                    }
+                }
+                if (dispatched == 0) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("{} 폴링 중 오류 발생", label, e);
+        }
+    }
+
+    private void run(Long id) {
+        try {
+            process(id);
+        } catch (Exception e) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> saveFailure(id, e));
+            } catch (Exception saveError) {
+                // 상태 저장에도 실패하면 점유 만료 후 다시 처리됨
+                logger.error("{} {} 실패 상태 저장 중 오류 발생", label, id, saveError);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pollExecutor.shutdownNow();
+        workerExecutor.shutdown();
+        try {
+            if (!workerExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                workerExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workerExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 디스패처 설정
+     * @param leaseSeconds 점유 유지 시간 - 처리 중 서버가 죽으면 이 시간이 지난 뒤 다시 가져감
+     */
+    public record Settings(int batchSize, int workers, int queueCapacity, int maxAttempts,
+                           long baseBackoffMs, long maxBackoffMs, long leaseSeconds) {
+    }
+}
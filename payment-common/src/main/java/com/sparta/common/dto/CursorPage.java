@@ -0,0 +1,48 @@
+package com.sparta.common.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 목록 API 공통 커서 페이지 응답
+ * - 요청: ?after=<이전 응답의 nextAfter>&limit=<페이지 크기> (after 미지정 시 처음부터)
+ * - 페이지 크기는 MAX_LIMIT를 넘을 수 없습니다.
+ */
+@Getter
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private final List<T> items;
+    private final boolean hasNext;
+    private final String nextAfter;
+
+    private CursorPage(List<T> items, boolean hasNext, String nextAfter) {
+        this.items = items;
+        this.hasNext = hasNext;
+        this.nextAfter = nextAfter;
+    }
+
+    /**
+     * 요청 페이지 크기를 1 ~ MAX_LIMIT 범위로 보정
+     */
+    public static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * limit + 1건을 조회한 결과로 페이지 생성 (초과분이 있으면 다음 페이지 존재)
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, ?> keyExtractor) {
+        boolean hasNext = rows.size() > limit;
+        List<T> items = hasNext ? rows.subList(0, limit) : rows;
+        String nextAfter = hasNext ? String.valueOf(keyExtractor.apply(items.get(items.size() - 1))) : null;
+        return new CursorPage<>(items, hasNext, nextAfter);
+    }
+}
@@ -0,0 +1,24 @@
+package com.sparta.common.idempotency;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Idempotency-Key 처리 자동 구성
+ * - 멱등성 키 저장소/서비스와 오류 응답 핸들러를 서비스 공통으로 등록하고, 서비스는 엔드포인트에서 IdempotencyService만 사용합니다.
+ * - @AutoConfigurationPackage로 키 엔티티/리포지토리 패키지를 기본 스캔 대상에 추가하므로
+ *   서비스 자체의 엔티티/리포지토리 스캔은 그대로 유지됩니다. (JPA 자동 구성보다 먼저 처리)
+ * - 만료 키 정리(purgeExpired)는 서비스의 @EnableScheduling으로 실행됩니다.
+ */
+@AutoConfiguration(before = {HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@ConditionalOnClass(name = "org.springframework.data.jpa.repository.JpaRepository")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@AutoConfigurationPackage(basePackageClasses = IdempotencyKey.class)
+@Import({IdempotencyService.class, IdempotencyExceptionHandler.class})
+public class IdempotencyAutoConfiguration {
+}
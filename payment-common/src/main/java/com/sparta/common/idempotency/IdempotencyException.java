@@ -0,0 +1,20 @@
+package com.sparta.common.idempotency;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Idempotency-Key로 요청을 처리할 수 없을 때 발생 (다른 요청에 쓰인 키, 처리 중인 키 등)
+ */
+public class IdempotencyException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public IdempotencyException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,22 @@
+package com.sparta.common.idempotency;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Idempotency-Key 처리 오류 응답 (다른 요청에 쓰인 키 422, 처리 중인 키 409)
+ */
+@RestControllerAdvice
+public class IdempotencyExceptionHandler {
+
+    @ExceptionHandler(IdempotencyException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotency(IdempotencyException e) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", e.getMessage());
+        return ResponseEntity.status(e.getStatus()).body(error);
+    }
+}
@@ -0,0 +1,58 @@
+package com.sparta.common.idempotency;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 멱등성 키 (Idempotency-Key 헤더)
+ * - 처음 요청을 처리하는 동안 IN_PROGRESS로 점유하고, 끝나면 응답(상태 코드 + 본문)을 저장해 같은 키의 재요청에 그대로 돌려줍니다.
+ * - 키는 "{범위}:{헤더 값}" 형태이며, 같은 키로 다른 내용의 요청이 오면 request_hash로 구분해 거절합니다.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+
+    // 요청 본문의 SHA-256 (hex)
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private KeyStatus status;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    // 처리 중(IN_PROGRESS) 점유 만료 시각 - 처리 중 서버가 죽으면 만료 후 다른 요청이 다시 처리
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    // 점유할 때마다 새로 발급하는 토큰 - 점유가 만료되어 다른 요청이 다시 점유한 뒤에는 이전 점유자의 완료/해제가 반영되지 않음
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum KeyStatus {
+        IN_PROGRESS, COMPLETED
+    }
+}
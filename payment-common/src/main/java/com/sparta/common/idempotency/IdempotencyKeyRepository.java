@@ -0,0 +1,62 @@
+package com.sparta.common.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    // 처음 보는 키면 IN_PROGRESS로 점유 - 점유했으면 1, 이미 있으면 0
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO idempotency_keys " +
+            "(idempotency_key, request_hash, status, claim_token, locked_until, expires_at, created_at) " +
+            "VALUES (:key, :requestHash, 'IN_PROGRESS', :claimToken, :lockedUntil, :expiresAt, :now)",
+            nativeQuery = true)
+    int insertIgnore(@Param("key") String key,
+                     @Param("requestHash") String requestHash,
+                     @Param("claimToken") String claimToken,
+                     @Param("lockedUntil") LocalDateTime lockedUntil,
+                     @Param("expiresAt") LocalDateTime expiresAt,
+                     @Param("now") LocalDateTime now);
+
+    // 만료된 키 또는 점유가 만료된 처리 중 키를 다시 점유 (다른 요청이 먼저 가져갔으면 0건 반환)
+    @Modifying
+    @Query(value = "UPDATE idempotency_keys SET request_hash = :requestHash, status = 'IN_PROGRESS', claim_token = :claimToken, " +
+            "response_status = NULL, response_body = NULL, locked_until = :lockedUntil, expires_at = :expiresAt, created_at = :now " +
+            "WHERE idempotency_key = :key " +
+            "AND (expires_at < :now OR (status = 'IN_PROGRESS' AND locked_until < :now))",
+            nativeQuery = true)
+    int takeOver(@Param("key") String key,
+                 @Param("requestHash") String requestHash,
+                 @Param("claimToken") String claimToken,
+                 @Param("lockedUntil") LocalDateTime lockedUntil,
+                 @Param("expiresAt") LocalDateTime expiresAt,
+                 @Param("now") LocalDateTime now);
+
+    // 응답 저장 - 점유 토큰이 일치할 때만 (점유가 만료되어 다른 요청이 다시 점유했으면 0건 반환)
+    @Modifying
+    @Query(value = "UPDATE idempotency_keys SET status = 'COMPLETED', response_status = :responseStatus, " +
+            "response_body = :responseBody, locked_until = NULL " +
+            "WHERE idempotency_key = :key AND status = 'IN_PROGRESS' AND claim_token = :claimToken",
+            nativeQuery = true)
+    int complete(@Param("key") String key,
+                 @Param("claimToken") String claimToken,
+                 @Param("responseStatus") int responseStatus,
+                 @Param("responseBody") String responseBody);
+
+    // 처리 실패(5xx/예외) 시 점유 해제 - 같은 키로 다시 시도할 수 있음 (점유 토큰이 일치할 때만)
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys " +
+            "WHERE idempotency_key = :key AND status = 'IN_PROGRESS' AND claim_token = :claimToken",
+            nativeQuery = true)
+    int release(@Param("key") String key, @Param("claimToken") String claimToken);
+
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
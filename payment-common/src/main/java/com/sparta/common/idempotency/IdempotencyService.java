@@ -0,0 +1,324 @@
+package com.sparta.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 헤더 처리
+ * - 같은 키의 첫 요청만 실제로 처리하고, 응답(상태 코드 + 본문)을 저장해 재요청에는 PortOne 호출/DB 변경 없이 그대로 돌려줍니다.
+ * - 같은 인스턴스의 동시 재요청은 첫 요청의 결과를 기다리고, 다른 인스턴스에서 처리 중이면 DB에 결과가 저장될 때까지 폴링합니다.
+ * - 완료된 응답은 인스턴스 메모리에도 보관해 재요청 대부분을 DB 조회 없이 처리합니다.
+ * - 5xx 응답이나 예외(또는 빈 응답)는 저장하지 않고 키를 풀어 같은 키로 다시 시도할 수 있게 합니다.
+ * - 점유마다 토큰을 발급하고 완료/해제는 토큰이 일치할 때만 반영하므로, 점유가 만료된 느린 요청이 다시 점유한 요청의 키를 덮어쓰지 않습니다.
+ * - 저장한 본문은 JSON에서 Map/문자열로 되살리므로 Map 또는 String 본문을 반환하는 엔드포인트에 사용합니다.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 200;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    // 요청 해시용 (Map 키 순서에 관계없이 같은 요청이면 같은 해시)
+    private final ObjectMapper canonicalMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    // 이 인스턴스에서 처리 중인 키 - 동시 재요청은 같은 결과를 기다림
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    // 완료된 응답 (만료 시각까지)
+    private final Map<String, StoredResponse> completed = new ConcurrentHashMap<>();
+
+    private final Duration ttl;
+    private final Duration lockDuration;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+    private final int cacheMaxSize;
+    private final int cleanupBatchSize;
+
+    @Autowired
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${idempotency.ttl-seconds:86400}") long ttlSeconds,
+                              @Value("${idempotency.lock-seconds:60}") long lockSeconds,
+                              @Value("${idempotency.wait-timeout-ms:10000}") long waitTimeoutMs,
+                              @Value("${idempotency.poll-interval-ms:100}") long pollIntervalMs,
+                              @Value("${idempotency.cache-max-size:10000}") int cacheMaxSize,
+                              @Value("${idempotency.cleanup-batch-size:1000}") int cleanupBatchSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.canonicalMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.lockDuration = Duration.ofSeconds(lockSeconds);
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMs);
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+        this.cacheMaxSize = cacheMaxSize;
+        this.cleanupBatchSize = cleanupBatchSize;
+    }
+
+    /**
+     * 동기 엔드포인트용 - action은 호출한 스레드에서 실행됩니다.
+     * @param scope 엔드포인트(와 사용자) 구분 - 같은 헤더 값이라도 범위가 다르면 다른 키
+     */
+    public <T> ResponseEntity<T> execute(String key, String scope, Object request, Supplier<ResponseEntity<T>> action) {
+        return executeAsync(key, scope, request, () -> Mono.just(action.get())).block();
+    }
+
+    /**
+     * Mono를 반환하는 엔드포인트용 - 키 점유와 action 호출(Mono 조립)은 호출한 스레드에서 바로 실행됩니다.
+     * @throws IdempotencyException 키가 다른 요청에 쓰였거나(422), 처리 중인 요청이 제한 시간 안에 끝나지 않은 경우(409)
+     */
+    public <T> Mono<ResponseEntity<T>> executeAsync(String key, String scope, Object request,
+                                                    Supplier<Mono<ResponseEntity<T>>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get(); // 헤더가 없으면 기존과 동일하게 처리
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return Mono.error(new IdempotencyException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key는 " + MAX_KEY_LENGTH + "자 이하여야 합니다."));
+        }
+
+        String storageKey = scope + ":" + key.trim();
+        String requestHash = hash(scope, request);
+
+        StoredResponse cached = completed.get(storageKey);
+        if (cached != null && !cached.isExpired()) {
+            return Mono.fromCallable(() -> replay(cached, requestHash));
+        }
+
+        CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(storageKey, result);
+        if (running != null) {
+            // 같은 인스턴스에서 처리 중 - 첫 요청의 결과를 기다림
+            return Mono.fromFuture(running, true)
+                    .timeout(waitTimeout, Mono.error(() -> stillInProgress()))
+                    .map(stored -> replay(stored, requestHash));
+        }
+
+        Claim claim;
+        try {
+            claim = claim(storageKey, requestHash);
+        } catch (RuntimeException e) {
+            finish(storageKey, result, null, e);
+            return Mono.error(e);
+        }
+
+        if (claim.stored() != null) {
+            // 다른 인스턴스가 이미 처리함
+            finish(storageKey, result, claim.stored(), null);
+            return Mono.fromCallable(() -> replay(claim.stored(), requestHash));
+        }
+        if (claim.token() == null) {
+            // 다른 인스턴스에서 처리 중 - DB에 결과가 저장될 때까지 폴링 (요청 내용이 다르면 결과를 받은 뒤 거절)
+            long maxPolls = Math.max(1, waitTimeout.toMillis() / Math.max(1, pollInterval.toMillis()));
+            return Mono.fromCallable(() -> findCompleted(storageKey))
+                    .repeatWhenEmpty((int) Math.min(maxPolls, Integer.MAX_VALUE), repeats -> repeats.delayElements(pollInterval))
+                    .switchIfEmpty(Mono.error(() -> stillInProgress()))
+                    .doOnNext(stored -> finish(storageKey, result, stored, null))
+                    .doOnError(error -> finish(storageKey, result, null, error))
+                    .map(stored -> replay(stored, requestHash));
+        }
+
+        // 이 요청이 처리
+        String token = claim.token();
+        Mono<ResponseEntity<T>> call;
+        try {
+            call = action.get();
+        } catch (RuntimeException e) {
+            abandon(storageKey, token, result, e);
+            return Mono.error(e);
+        }
+        return call
+                .doOnSuccess(response -> {
+                    if (response == null) {
+                        // 응답 없이 끝남 - 저장할 결과가 없으므로 점유를 풀고 대기 중인 재요청은 다시 시도하게 함
+                        abandon(storageKey, token, result, stillInProgress());
+                        return;
+                    }
+                    StoredResponse stored = save(storageKey, token, requestHash, response);
+                    finish(storageKey, result, stored, null);
+                })
+                .doOnError(error -> abandon(storageKey, token, result, error))
+                .doOnCancel(() -> abandon(storageKey, token, result, stillInProgress()));
+    }
+
+    /**
+     * 만료된 키 정리 (메모리 + DB)
+     */
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        completed.values().removeIf(StoredResponse::isExpired);
+        try {
+            Integer deleted;
+            do {
+                deleted = transactionTemplate.execute(status ->
+                        idempotencyKeyRepository.deleteExpired(LocalDateTime.now(), cleanupBatchSize));
+            } while (deleted != null && deleted >= cleanupBatchSize);
+        } catch (Exception e) {
+            logger.error("만료된 멱등성 키 정리 중 오류 발생", e);
+        }
+    }
+
+    private Claim claim(String storageKey, String requestHash) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime lockedUntil = now.plus(lockDuration);
+            LocalDateTime expiresAt = now.plus(ttl);
+            String token = UUID.randomUUID().toString();
+            if (idempotencyKeyRepository.insertIgnore(storageKey, requestHash, token, lockedUntil, expiresAt, now) > 0
+                    || idempotencyKeyRepository.takeOver(storageKey, requestHash, token, lockedUntil, expiresAt, now) > 0) {
+                return new Claim(token, null);
+            }
+            IdempotencyKey existing = idempotencyKeyRepository.findById(storageKey).orElse(null);
+            if (existing == null) {
+                // 점유 해제와 겹침 - 다시 시도 (그 사이 다른 요청이 먼저 점유했으면 처리 중인 키로 보고 결과를 기다림)
+                if (idempotencyKeyRepository.insertIgnore(storageKey, requestHash, token, lockedUntil, expiresAt, now) > 0) {
+                    return new Claim(token, null);
+                }
+                existing = idempotencyKeyRepository.findById(storageKey).orElse(null);
+            }
+            if (existing != null && existing.getStatus() == IdempotencyKey.KeyStatus.COMPLETED) {
+                return new Claim(null, toStored(existing));
+            }
+            return new Claim(null, null);
+        });
+    }
+
+    private StoredResponse findCompleted(String storageKey) {
+        StoredResponse cached = completed.get(storageKey);
+        if (cached != null) {
+            return cached;
+        }
+        return idempotencyKeyRepository.findById(storageKey)
+                .filter(key -> key.getStatus() == IdempotencyKey.KeyStatus.COMPLETED)
+                .map(this::toStored)
+                .orElse(null);
+    }
+
+    private StoredResponse save(String storageKey, String token, String requestHash, ResponseEntity<?> response) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(response.getBody());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("응답 직렬화 실패: " + e.getMessage(), e);
+        }
+        int statusCode = response.getStatusCode().value();
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        StoredResponse stored = new StoredResponse(requestHash, statusCode, body, expiresAt);
+
+        if (response.getStatusCode().is5xxServerError()) {
+            // 일시적 오류는 저장하지 않음 (대기 중인 같은 인스턴스의 재요청에만 그대로 전달)
+            transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.release(storageKey, token));
+            return stored;
+        }
+        Integer updated = transactionTemplate.execute(status ->
+                idempotencyKeyRepository.complete(storageKey, token, statusCode, body));
+        if (updated == null || updated == 0) {
+            // 점유가 만료되어 다른 요청이 다시 점유함 - 그 요청의 결과가 키의 응답이 되므로 이 응답은 저장/캐시하지 않음
+            logger.warn("멱등성 키 {} 점유가 만료되어 응답을 저장하지 않았습니다.", storageKey);
+            return stored;
+        }
+        if (completed.size() < cacheMaxSize) {
+            completed.put(storageKey, stored);
+        }
+        return stored;
+    }
+
+    private void abandon(String storageKey, String token, CompletableFuture<StoredResponse> result, Throwable error) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.release(storageKey, token));
+        } catch (Exception e) {
+            // 점유 만료 후 다른 요청이 다시 처리함
+            logger.warn("멱등성 키 {} 점유 해제 실패: {}", storageKey, e.getMessage());
+        }
+        finish(storageKey, result, null, error);
+    }
+
+    private void finish(String storageKey, CompletableFuture<StoredResponse> result, StoredResponse stored, Throwable error) {
+        inFlight.remove(storageKey, result);
+        if (error != null) {
+            result.completeExceptionally(error);
+        } else {
+            result.complete(stored);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw keyReused();
+        }
+        Object body;
+        try {
+            body = stored.body() != null ? objectMapper.readValue(stored.body(), Object.class) : null;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("저장된 응답 역직렬화 실패: " + e.getMessage(), e);
+        }
+        return (ResponseEntity<T>) ResponseEntity.status(stored.status())
+                .header(REPLAYED_HEADER, "true")
+                .body(body);
+    }
+
+    private StoredResponse toStored(IdempotencyKey key) {
+        return new StoredResponse(key.getRequestHash(), key.getResponseStatus(), key.getResponseBody(), key.getExpiresAt());
+    }
+
+    private String hash(String scope, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update(canonicalMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new RuntimeException("요청 해시 계산 실패: " + e.getMessage(), e);
+        }
+    }
+
+    private static IdempotencyException keyReused() {
+        return new IdempotencyException(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key가 다른 요청에 이미 사용되었습니다.");
+    }
+
+    private static IdempotencyException stillInProgress() {
+        return new IdempotencyException(HttpStatus.CONFLICT, "같은 Idempotency-Key의 요청을 처리 중입니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    // token: 이 요청이 점유했으면 점유 토큰, 아니면 null
+    private record Claim(String token, StoredResponse stored) {
+    }
+
+    private record StoredResponse(String requestHash, int status, String body, LocalDateTime expiresAt) {
+        boolean isExpired() {
+            return expiresAt.isBefore(LocalDateTime.now());
+        }
+    }
+}
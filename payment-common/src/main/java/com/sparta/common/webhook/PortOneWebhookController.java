@@ -0,0 +1,42 @@
+package com.sparta.common.webhook;
+
+import com.sparta.portone.PortOneWebhookVerificationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/portone-webhook")
+public class PortOneWebhookController {
+
+    @Autowired
+    private WebhookInboxService webhookInboxService;
+
+    // 서명 검증을 위해 본문을 바이트 그대로 받음 (저장 실패 시 5xx로 응답하여 PortOne이 재전송하도록 함)
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> receiveWebhook(
+            @RequestHeader(value = "webhook-id", required = false) String webhookId,
+            @RequestHeader(value = "webhook-timestamp", required = false) String webhookTimestamp,
+            @RequestHeader(value = "webhook-signature", required = false) String webhookSignature,
+            @RequestBody byte[] body) {
+        try {
+            boolean stored = webhookInboxService.receive(webhookId, webhookTimestamp, webhookSignature, body);
+            Map<String, Object> response = new HashMap<>();
+            response.put("received", true);
+            response.put("duplicate", !stored);
+            return ResponseEntity.ok(response);
+        } catch (PortOneWebhookVerificationException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.sparta.common.webhook;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * PortOne 웹훅 인박스 자동 구성
+ * - 수신(/portone-webhook), 인박스 저장, 디스패처를 서비스 공통으로 등록하고, 서비스는 PortOneWebhookProcessor 빈만 제공합니다.
+ * - 서명 검증(PortOneWebhookVerifier)은 portone-client가 제공하므로 두 모듈을 함께 사용하는 서비스에서만 등록됩니다.
+ * - @AutoConfigurationPackage로 인박스 엔티티/리포지토리 패키지를 기본 스캔 대상에 추가하므로
+ *   서비스 자체의 엔티티/리포지토리 스캔(@SpringBootApplication 패키지)은 그대로 유지됩니다.
+ *   (리포지토리 등록 전에 패키지를 추가해야 하므로 JPA 자동 구성보다 먼저 처리)
+ */
+@AutoConfiguration(before = {HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@ConditionalOnClass(name = {"org.springframework.data.jpa.repository.JpaRepository", "com.sparta.portone.PortOneWebhookVerifier"})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@AutoConfigurationPackage(basePackageClasses = WebhookInbox.class)
+@Import({WebhookInboxDispatcher.class, WebhookInboxService.class, PortOneWebhookController.class})
+public class PortOneWebhookInboxAutoConfiguration {
+}
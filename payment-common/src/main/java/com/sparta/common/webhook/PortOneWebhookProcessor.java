@@ -0,0 +1,12 @@
+package com.sparta.common.webhook;
+
+/**
+ * 인박스에 저장된 PortOne 웹훅을 서비스 상태에 반영하는 처리기 (서비스마다 빈 하나를 제공)
+ * - 작업 스레드에서 트랜잭션 밖으로 호출되므로, 필요하면 PortOne 조회 후 자체 트랜잭션으로 반영합니다.
+ * - 같은 웹훅이 다시 전달될 수 있으므로 여러 번 처리해도 결과가 같아야 합니다.
+ * - 예외를 던지면 디스패처가 백오프 후 재시도합니다.
+ */
+public interface PortOneWebhookProcessor {
+
+    void process(WebhookInbox inbox);
+}
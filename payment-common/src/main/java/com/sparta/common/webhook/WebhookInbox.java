@@ -0,0 +1,68 @@
+package com.sparta.common.webhook;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * PortOne 웹훅 인박스
+ * - 서명을 검증한 웹훅 원문을 그대로 저장하고 바로 응답하며, 상태 반영은 백그라운드 디스패처가 서비스별 처리기(PortOneWebhookProcessor)로 처리합니다.
+ * - webhook_id(PortOne이 재전송해도 같은 값)에 유니크 제약을 두어 같은 이벤트는 한 번만 저장합니다.
+ */
+@Entity
+@Table(name = "webhook_inbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_webhook_inbox_webhook_id", columnNames = "webhook_id"),
+        indexes = @Index(name = "idx_webhook_inbox_status_next_attempt", columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class WebhookInbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "inbox_id")
+    private Long inboxId;
+
+    @Column(name = "webhook_id", nullable = false, length = 255)
+    private String webhookId;
+
+    // 웹훅 type (Transaction.Paid, Transaction.Cancelled 등)
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(name = "payment_id", length = 255)
+    private String paymentId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private InboxStatus status = InboxStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // 처리 중(PROCESSING) 점유 만료 시각 - 처리 중 서버가 죽으면 만료 후 다시 가져감
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    public enum InboxStatus {
+        PENDING, PROCESSING, DONE, FAILED
+    }
+}
@@ -0,0 +1,104 @@
+package com.sparta.common.webhook;
+
+import com.sparta.common.dispatch.ClaimDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 웹훅 인박스 디스패처
+ * - 처리할 웹훅을 점유해 작업 스레드 풀에서 처리합니다. (점유/재시도/메트릭은 ClaimDispatcher 공통)
+ * - 웹훅을 상태에 반영하는 처리기(PortOneWebhookProcessor)는 각 서비스가 빈으로 제공합니다.
+ * - 처리 중 PortOne 조회가 있을 수 있으므로 처리기는 트랜잭션 밖에서 실행하고, 완료 표시만 별도 트랜잭션으로 저장합니다.
+ */
+@Component
+public class WebhookInboxDispatcher extends ClaimDispatcher {
+
+    private final WebhookInboxRepository webhookInboxRepository;
+    private final PortOneWebhookProcessor webhookProcessor;
+
+    @Autowired
+    public WebhookInboxDispatcher(WebhookInboxRepository webhookInboxRepository,
+                                  PortOneWebhookProcessor webhookProcessor,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${webhook.inbox.dispatcher.batch-size:50}") int batchSize,
+                                  @Value("${webhook.inbox.dispatcher.workers:4}") int workers,
+                                  @Value("${webhook.inbox.dispatcher.queue-capacity:200}") int queueCapacity,
+                                  @Value("${webhook.inbox.dispatcher.max-attempts:10}") int maxAttempts,
+                                  @Value("${webhook.inbox.dispatcher.base-backoff-ms:1000}") long baseBackoffMs,
+                                  @Value("${webhook.inbox.dispatcher.max-backoff-ms:300000}") long maxBackoffMs,
+                                  @Value("${webhook.inbox.dispatcher.lease-seconds:60}") long leaseSeconds) {
+        super("webhook", "웹훅 인박스", "webhook.inbox",
+                new Settings(batchSize, workers, queueCapacity, maxAttempts, baseBackoffMs, maxBackoffMs, leaseSeconds),
+                transactionManager, meterRegistry);
+        this.webhookInboxRepository = webhookInboxRepository;
+        this.webhookProcessor = webhookProcessor;
+    }
+
+    @Scheduled(fixedDelayString = "${webhook.inbox.dispatcher.poll-interval-ms:1000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @Override
+    protected List<Long> findDispatchableIds(LocalDateTime now, int limit) {
+        return webhookInboxRepository.findDispatchableIds(
+                WebhookInbox.InboxStatus.PENDING, WebhookInbox.InboxStatus.PROCESSING, now, PageRequest.of(0, limit));
+    }
+
+    @Override
+    protected int claim(Long inboxId, LocalDateTime now, LocalDateTime lockedUntil) {
+        return webhookInboxRepository.claim(inboxId, now, lockedUntil);
+    }
+
+    @Override
+    protected void process(Long inboxId) {
+        WebhookInbox inbox = webhookInboxRepository.findById(inboxId).orElse(null);
+        if (inbox == null || inbox.getStatus() != WebhookInbox.InboxStatus.PROCESSING) {
+            return;
+        }
+        webhookProcessor.process(inbox);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            WebhookInbox processed = webhookInboxRepository.findById(inboxId).orElse(null);
+            if (processed == null) {
+                return;
+            }
+            processed.setStatus(WebhookInbox.InboxStatus.DONE);
+            processed.setProcessedAt(LocalDateTime.now());
+            processed.setLockedUntil(null);
+            processed.setLastError(null);
+            webhookInboxRepository.save(processed);
+
+            recordLag(processed.getEventType(), processed.getReceivedAt(), processed.getProcessedAt());
+        });
+    }
+
+    @Override
+    protected void saveFailure(Long inboxId, Exception error) {
+        WebhookInbox inbox = webhookInboxRepository.findById(inboxId).orElse(null);
+        if (inbox == null) {
+            return;
+        }
+        LocalDateTime retryAt = retryAt(inbox.getAttempts());
+        inbox.setLastError(errorMessage(error));
+        inbox.setLockedUntil(null);
+        if (retryAt == null) {
+            inbox.setStatus(WebhookInbox.InboxStatus.FAILED);
+        } else {
+            inbox.setStatus(WebhookInbox.InboxStatus.PENDING);
+            inbox.setNextAttemptAt(retryAt);
+        }
+        webhookInboxRepository.save(inbox);
+
+        recordFailure(inbox.getEventType(), inbox.getWebhookId(), inbox.getAttempts(), retryAt, error);
+    }
+}
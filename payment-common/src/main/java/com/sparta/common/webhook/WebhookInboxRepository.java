@@ -0,0 +1,47 @@
+package com.sparta.common.webhook;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WebhookInboxRepository extends JpaRepository<WebhookInbox, Long> {
+
+    // 이미 받은 webhook_id면 무시 (PortOne 재전송 중복 제거) - 새로 저장했으면 1, 중복이면 0
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO webhook_inbox " +
+            "(webhook_id, event_type, payment_id, payload, status, attempts, next_attempt_at, received_at) " +
+            "VALUES (:webhookId, :eventType, :paymentId, :payload, 'PENDING', 0, :now, :now)",
+            nativeQuery = true)
+    int insertIgnore(@Param("webhookId") String webhookId,
+                     @Param("eventType") String eventType,
+                     @Param("paymentId") String paymentId,
+                     @Param("payload") String payload,
+                     @Param("now") LocalDateTime now);
+
+    // 처리 가능한 웹훅 - 재시도 시각이 된 PENDING 또는 점유가 만료된 PROCESSING
+    @Query("select w.inboxId from WebhookInbox w " +
+            "where (w.status = :pending and w.nextAttemptAt <= :now) " +
+            "or (w.status = :processing and w.lockedUntil < :now) " +
+            "order by w.inboxId")
+    List<Long> findDispatchableIds(@Param("pending") WebhookInbox.InboxStatus pending,
+                                   @Param("processing") WebhookInbox.InboxStatus processing,
+                                   @Param("now") LocalDateTime now,
+                                   Pageable pageable);
+
+    // 조건부 UPDATE로 웹훅 점유 (다른 디스패처가 먼저 가져갔으면 0건 반환)
+    @Modifying
+    @Query(value = "UPDATE webhook_inbox SET status = 'PROCESSING', locked_until = :lockedUntil, attempts = attempts + 1 " +
+            "WHERE inbox_id = :inboxId " +
+            "AND ((status = 'PENDING' AND next_attempt_at <= :now) OR (status = 'PROCESSING' AND locked_until < :now))",
+            nativeQuery = true)
+    int claim(@Param("inboxId") Long inboxId,
+              @Param("now") LocalDateTime now,
+              @Param("lockedUntil") LocalDateTime lockedUntil);
+}
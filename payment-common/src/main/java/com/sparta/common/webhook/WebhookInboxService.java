@@ -0,0 +1,71 @@
+package com.sparta.common.webhook;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.portone.PortOneWebhookVerifier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * PortOne 웹훅 수신 - 서명 검증 후 인박스에 원문만 저장하고 바로 응답
+ * - PortOne 조회나 상태 반영은 하지 않으므로 응답은 INSERT 한 번으로 끝납니다.
+ */
+@Service
+public class WebhookInboxService {
+
+    private final PortOneWebhookVerifier webhookVerifier;
+    private final WebhookInboxRepository webhookInboxRepository;
+    private final WebhookInboxDispatcher webhookInboxDispatcher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public WebhookInboxService(PortOneWebhookVerifier webhookVerifier,
+                               WebhookInboxRepository webhookInboxRepository,
+                               WebhookInboxDispatcher webhookInboxDispatcher,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager) {
+        this.webhookVerifier = webhookVerifier;
+        this.webhookInboxRepository = webhookInboxRepository;
+        this.webhookInboxDispatcher = webhookInboxDispatcher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @return 새로 저장했으면 true, 이미 받은 웹훅(PortOne 재전송)이면 false
+     * @throws com.sparta.portone.PortOneWebhookVerificationException 서명 검증 실패
+     * @throws IllegalArgumentException 본문 형식 오류
+     */
+    public boolean receive(String webhookId, String webhookTimestamp, String webhookSignature, byte[] body) {
+        webhookVerifier.verify(webhookId, webhookTimestamp, webhookSignature, body);
+
+        String payload = new String(body, StandardCharsets.UTF_8);
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("웹훅 본문 파싱 실패: " + e.getOriginalMessage(), e);
+        }
+        String eventType = root.path("type").asText("");
+        if (eventType.isBlank()) {
+            throw new IllegalArgumentException("웹훅 type이 없습니다.");
+        }
+        JsonNode paymentIdNode = root.path("data").path("paymentId");
+        String paymentId = paymentIdNode.isTextual() ? paymentIdNode.asText() : null;
+
+        Integer inserted = transactionTemplate.execute(status ->
+                webhookInboxRepository.insertIgnore(webhookId.trim(), eventType, paymentId, payload, LocalDateTime.now()));
+        if (inserted == null || inserted == 0) {
+            return false;
+        }
+        webhookInboxDispatcher.wakeUp();
+        return true;
+    }
+}
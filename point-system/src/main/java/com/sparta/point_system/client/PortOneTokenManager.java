@@ -0,0 +1,213 @@
+package com.sparta.point_system.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.portone.PortOneClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * PortOne 액세스 토큰 관리
+ * - 발급받은 토큰을 만료 시각(JWT exp)과 함께 캐시하고, 만료 전에 백그라운드에서 미리 갱신합니다.
+ * - 갱신 중에 들어온 요청은 진행 중인 하나의 Mono를 함께 기다립니다 (동시 발급 요청 방지).
+ * - API 호출이 401을 받으면 토큰을 폐기하고 새 토큰으로 한 번만 재시도합니다.
+ */
+@Component
+public class PortOneTokenManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortOneTokenManager.class);
+
+    private final PortOneClient portOneClient;
+    private final ObjectMapper objectMapper;
+    private final Duration refreshBeforeExpiry;
+    private final Duration fallbackTtl;
+
+    private final AtomicReference<CachedToken> current = new AtomicReference<>();
+    private final Object refreshLock = new Object();
+    private Mono<CachedToken> inFlight; // refreshLock으로 보호
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter refreshSuccessCounter;
+    private final Counter refreshFailureCounter;
+    private final Counter unauthorizedRetryCounter;
+
+    @Autowired
+    public PortOneTokenManager(PortOneClient portOneClient,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${portone.token.refresh-before-expiry-seconds:300}") long refreshBeforeExpirySeconds,
+                               @Value("${portone.token.fallback-ttl-seconds:600}") long fallbackTtlSeconds) {
+        this.portOneClient = portOneClient;
+        this.objectMapper = objectMapper;
+        this.refreshBeforeExpiry = Duration.ofSeconds(refreshBeforeExpirySeconds);
+        this.fallbackTtl = Duration.ofSeconds(fallbackTtlSeconds);
+
+        this.hitCounter = tokenRequestCounter(meterRegistry, "hit");
+        this.missCounter = tokenRequestCounter(meterRegistry, "miss");
+        this.refreshSuccessCounter = tokenRefreshCounter(meterRegistry, "success");
+        this.refreshFailureCounter = tokenRefreshCounter(meterRegistry, "failure");
+        this.unauthorizedRetryCounter = Counter.builder("portone.token.unauthorized.retries")
+                .description("401 응답으로 토큰을 폐기하고 재시도한 횟수")
+                .register(meterRegistry);
+    }
+
+    private static Counter tokenRequestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("portone.token.requests")
+                .description("PortOne 액세스 토큰 요청 (캐시 적중/미적중)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter tokenRefreshCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("portone.token.refreshes")
+                .description("PortOne 액세스 토큰 발급 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 유효한 액세스 토큰 (캐시에 없거나 만료되었으면 발급)
+     */
+    public Mono<String> getAccessToken() {
+        return Mono.defer(() -> {
+            CachedToken token = current.get();
+            Instant now = Instant.now();
+            if (token != null && token.expiresAt.isAfter(now)) {
+                hitCounter.increment();
+                if (token.refreshAt.isBefore(now)) {
+                    refreshInBackground();
+                }
+                return Mono.just(token.value);
+            }
+            missCounter.increment();
+            return refresh().map(refreshed -> refreshed.value);
+        });
+    }
+
+    /**
+     * 액세스 토큰으로 API 호출 (401이면 토큰을 폐기하고 새 토큰으로 한 번 재시도)
+     */
+    public <T> Mono<T> withAccessToken(Function<String, Mono<T>> call) {
+        return getAccessToken().flatMap(accessToken -> call.apply(accessToken)
+                .onErrorResume(WebClientResponseException.Unauthorized.class, e -> {
+                    unauthorizedRetryCounter.increment();
+                    logger.warn("PortOne API가 401을 반환하여 액세스 토큰을 다시 발급합니다.");
+                    invalidate(accessToken);
+                    return getAccessToken().flatMap(call);
+                }));
+    }
+
+    /**
+     * 토큰 폐기 (그 사이 다른 요청이 이미 새 토큰으로 바꿨으면 유지)
+     */
+    public void invalidate(String accessToken) {
+        CachedToken token = current.get();
+        if (token != null && token.value.equals(accessToken)) {
+            current.compareAndSet(token, null);
+        }
+    }
+
+    /**
+     * 만료가 가까운 토큰을 요청 경로 밖에서 미리 갱신
+     */
+    @Scheduled(fixedDelayString = "${portone.token.refresh-check-interval-ms:30000}")
+    public void refreshIfExpiring() {
+        CachedToken token = current.get();
+        if (token != null && token.refreshAt.isBefore(Instant.now())) {
+            refreshInBackground();
+        }
+    }
+
+    private void refreshInBackground() {
+        refresh().subscribe(
+                token -> { },
+                error -> logger.warn("PortOne 액세스 토큰 사전 갱신 실패: {}", error.getMessage()));
+    }
+
+    /**
+     * 진행 중인 발급 요청이 있으면 공유하고, 없으면 새로 시작 (single-flight)
+     */
+    private Mono<CachedToken> refresh() {
+        synchronized (refreshLock) {
+            if (inFlight != null) {
+                return inFlight;
+            }
+            Mono<CachedToken> request = portOneClient.issueAccessToken()
+                    .map(this::toCachedToken)
+                    .doOnNext(token -> {
+                        current.set(token);
+                        refreshSuccessCounter.increment();
+                    })
+                    .doOnError(error -> refreshFailureCounter.increment())
+                    .doFinally(signal -> {
+                        synchronized (refreshLock) {
+                            inFlight = null;
+                        }
+                    })
+                    .cache();
+            inFlight = request;
+            return request;
+        }
+    }
+
+    private CachedToken toCachedToken(String accessToken) {
+        if (accessToken == null || accessToken.isBlank()) {
+            throw new IllegalStateException("PortOne 액세스 토큰 발급 응답에 토큰이 없습니다.");
+        }
+        Instant now = Instant.now();
+        Instant expiresAt = readExpiry(accessToken);
+        if (expiresAt == null || !expiresAt.isAfter(now)) {
+            expiresAt = now.plus(fallbackTtl);
+        }
+        // 수명이 짧은 토큰이면 수명의 절반이 지났을 때 갱신
+        Duration lifetime = Duration.between(now, expiresAt);
+        Duration refreshMargin = refreshBeforeExpiry.compareTo(lifetime.dividedBy(2)) < 0
+                ? refreshBeforeExpiry
+                : lifetime.dividedBy(2);
+        return new CachedToken(accessToken, expiresAt, expiresAt.minus(refreshMargin));
+    }
+
+    // 액세스 토큰(JWT) payload의 exp 클레임 (서명 검증은 PortOne의 몫이므로 만료 시각만 읽음)
+    private Instant readExpiry(String accessToken) {
+        try {
+            String[] parts = accessToken.split("\\.");
+            if (parts.length < 2) {
+                return null;
+            }
+            byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+            JsonNode exp = objectMapper.readTree(new String(payload, StandardCharsets.UTF_8)).get("exp");
+            return exp != null && exp.canConvertToLong() ? Instant.ofEpochSecond(exp.asLong()) : null;
+        } catch (Exception e) {
+            logger.debug("PortOne 액세스 토큰 만료 시각을 읽지 못해 기본 유효기간을 사용합니다: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static class CachedToken {
+        private final String value;
+        private final Instant expiresAt;
+        private final Instant refreshAt;
+
+        private CachedToken(String value, Instant expiresAt, Instant refreshAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.sparta.point_system.config;
+
+import com.sparta.portone.PortOneUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * PortOne 호출이 즉시 거절된 경우(서킷 브레이커 OPEN, 벌크헤드 포화) 503 + Retry-After로 응답
+ */
+@RestControllerAdvice
+public class PortOneExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortOneExceptionHandler.class);
+
+    @ExceptionHandler(PortOneUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handlePortOneUnavailable(PortOneUnavailableException e) {
+        logger.warn("PortOne 호출 거절: {}", e.getMessage());
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "결제 대행사 응답이 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+        error.put("retryAfterSeconds", e.getRetryAfterSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error);
+    }
+}
@@ -71,8 +71,10 @@ public class SecurityConfig {
                 // 공개 엔드포인트
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/products/**").permitAll()
+                .requestMatchers("/api/product/*/flash-sale").authenticated() // 선착순 모드 설정
                 .requestMatchers("/api/product/**").permitAll() // 상품 조회/생성 (단수형)
                 .requestMatchers("/error").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
                 .requestMatchers("/static/**").permitAll()
                 // HTML 페이지 접근 허용
                 .requestMatchers("/login.html", "/register.html", "/point-payment.html").permitAll()
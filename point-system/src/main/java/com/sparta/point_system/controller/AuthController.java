@@ -5,6 +5,7 @@ import com.sparta.point_system.dto.LoginRequest;
 import com.sparta.point_system.dto.RegisterRequest;
 import com.sparta.point_system.entity.User;
 import com.sparta.point_system.repository.UserRepository;
+import com.sparta.point_system.security.JwtUserPrincipal;
 import com.sparta.point_system.util.JwtUtil;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -117,14 +118,14 @@ public class AuthController {
             }
 
             String jwt = token.substring(7);
-            if (!jwtUtil.validateToken(jwt)) {
+            JwtUserPrincipal principal = jwtUtil.parsePrincipal(jwt);
+            if (principal == null) {
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "유효하지 않은 토큰입니다.");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
             }
 
-            String email = jwtUtil.getEmailFromToken(jwt);
-            User user = userRepository.findByEmail(email)
+            User user = userRepository.findByEmail(principal.getEmail())
                     .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
             Map<String, Object> userInfo = new HashMap<>();
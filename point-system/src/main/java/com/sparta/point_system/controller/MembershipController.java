@@ -8,6 +8,7 @@ import com.sparta.point_system.repository.MembershipRepository;
 import com.sparta.point_system.repository.OrderRepository;
 import com.sparta.point_system.repository.PaymentRepository;
 import com.sparta.point_system.service.MembershipService;
+import com.sparta.point_system.service.UserSpendService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -36,6 +37,9 @@ public class MembershipController {
     
     @Autowired
     private PaymentRepository paymentRepository;
+    
+    @Autowired
+    private UserSpendService userSpendService;
 
     @PostMapping("/membership")
     public Membership createMembership(@RequestParam Long userId,
@@ -144,6 +148,26 @@ public class MembershipController {
         }
     }
 
+    /**
+     * 사용자별 누적 결제 금액 재집계 (payments 기준, repair=false면 검증만 수행)
+     */
+    @PostMapping("/membership/spend-totals/reconcile")
+    public ResponseEntity<Map<String, Object>> reconcileSpendTotals(@RequestParam(required = false, defaultValue = "true") boolean repair) {
+        try {
+            UserSpendService.ReconcileResult result = userSpendService.reconcile(repair);
+            Map<String, Object> response = new HashMap<>();
+            response.put("repair", repair);
+            response.put("scannedUsers", result.getScannedUsers());
+            response.put("mismatchedUsers", result.getMismatchedUsers());
+            response.put("repairedUsers", result.getRepairedUsers());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.internalServerError().body(error);
+        }
+    }
+
     @PutMapping("/membership/{membershipId}")
     public Membership updateMembership(@PathVariable Long membershipId,
                                       @RequestParam(required = false) Long levelId,
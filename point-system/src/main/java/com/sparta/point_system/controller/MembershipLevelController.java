@@ -2,6 +2,7 @@ package com.sparta.point_system.controller;
 
 import com.sparta.point_system.entity.MembershipLevel;
 import com.sparta.point_system.repository.MembershipLevelRepository;
+import com.sparta.point_system.service.MembershipLevelCatalog;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,27 +17,32 @@ public class MembershipLevelController {
     @Autowired
     private MembershipLevelRepository membershipLevelRepository;
 
+    @Autowired
+    private MembershipLevelCatalog membershipLevelCatalog;
+
     @PostMapping("/membership-level")
     public MembershipLevel createMembershipLevel(@RequestParam String name,
                                                  @RequestParam BigDecimal pointAccrualRate,
                                                  @RequestParam(required = false) String benefitsDescription) {
         MembershipLevel level = new MembershipLevel(name, pointAccrualRate, benefitsDescription);
-        return membershipLevelRepository.save(level);
+        MembershipLevel saved = membershipLevelRepository.save(level);
+        membershipLevelCatalog.refresh();
+        return saved;
     }
 
     @GetMapping("/membership-levels")
     public List<MembershipLevel> getAllMembershipLevels() {
-        return membershipLevelRepository.findAll();
+        return membershipLevelCatalog.getAll();
     }
 
     @GetMapping("/membership-level/{levelId}")
     public Optional<MembershipLevel> getMembershipLevelById(@PathVariable Long levelId) {
-        return membershipLevelRepository.findById(levelId);
+        return membershipLevelCatalog.findById(levelId);
     }
 
     @GetMapping("/membership-level/name/{name}")
     public Optional<MembershipLevel> getMembershipLevelByName(@PathVariable String name) {
-        return membershipLevelRepository.findByName(name);
+        return membershipLevelCatalog.findByName(name);
     }
 
     @PutMapping("/membership-level/{levelId}")
@@ -50,7 +56,9 @@ public class MembershipLevelController {
             if (name != null) level.setName(name);
             if (pointAccrualRate != null) level.setPointAccrualRate(pointAccrualRate);
             if (benefitsDescription != null) level.setBenefitsDescription(benefitsDescription);
-            return membershipLevelRepository.save(level);
+            MembershipLevel saved = membershipLevelRepository.save(level);
+            membershipLevelCatalog.refresh();
+            return saved;
         }
         throw new RuntimeException("MembershipLevel not found with id: " + levelId);
     }
@@ -58,6 +66,7 @@ public class MembershipLevelController {
     @DeleteMapping("/membership-level/{levelId}")
     public String deleteMembershipLevel(@PathVariable Long levelId) {
         membershipLevelRepository.deleteById(levelId);
+        membershipLevelCatalog.refresh();
         return "MembershipLevel deleted successfully";
     }
 }
@@ -1,8 +1,11 @@
 package com.sparta.point_system.controller;
 
+import com.sparta.common.dto.CursorPage;
+import com.sparta.point_system.dto.OrderSummary;
 import com.sparta.point_system.entity.Order;
 import com.sparta.point_system.repository.OrderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -33,9 +36,14 @@ public class OrderController {
         return orderRepository.save(order);
     }
 
+    // 주문 목록 (keyset 페이지) - after: 이전 응답의 nextAfter(주문 ID), limit: 페이지 크기 (최대 100)
     @GetMapping("/orders")
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    public CursorPage<OrderSummary> getAllOrders(@RequestParam(required = false) String after,
+                                                 @RequestParam(required = false) Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<OrderSummary> rows = orderRepository.findByOrderIdGreaterThanOrderByOrderIdAsc(
+                after != null ? after : "", PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, OrderSummary::getOrderId);
     }
 
     @GetMapping("/order/{orderId}")
@@ -1,18 +1,20 @@
 package com.sparta.point_system.controller;
 
+import com.sparta.common.dto.CursorPage;
+import com.sparta.common.idempotency.IdempotencyService;
+import com.sparta.point_system.dto.PaidPaymentResponse;
 import com.sparta.point_system.dto.PaymentRequestDto;
+import com.sparta.point_system.dto.PaymentSummary;
 import com.sparta.point_system.entity.Order;
-import com.sparta.point_system.entity.OrderItem;
 import com.sparta.point_system.entity.Payment;
-import com.sparta.point_system.entity.Product;
 import com.sparta.point_system.repository.OrderRepository;
-import com.sparta.point_system.repository.OrderItemRepository;
 import com.sparta.point_system.repository.PaymentRepository;
-import com.sparta.point_system.repository.ProductRepository;
+import com.sparta.point_system.service.CheckoutException;
+import com.sparta.point_system.service.CheckoutService;
 import com.sparta.point_system.service.PaymentService;
-import com.sparta.point_system.service.PointService;
 import com.sparta.point_system.util.SecurityUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -36,23 +38,17 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
     
-    @Autowired
-    private PointService pointService;
-    
     @Autowired
     private OrderRepository orderRepository;
     
     @Autowired
-    private OrderItemRepository orderItemRepository;
+    private CheckoutService checkoutService;
     
     @Autowired
-    private ProductRepository productRepository;
-    
-    @Autowired
-    private com.sparta.point_system.service.MembershipService membershipService;
+    private SecurityUtil securityUtil;
     
     @Autowired
-    private SecurityUtil securityUtil;
+    private IdempotencyService idempotencyService;
 
     @PostMapping("/payment")
     public Payment createPayment(@RequestParam String orderId,
@@ -70,12 +66,18 @@ public class PaymentController {
         payment.setStatus(status);
         payment.setPaymentMethod(paymentMethod);
         payment.setPaidAt(paidAt);
-        return paymentRepository.save(payment);
+        // 누적 결제 금액 반영과 결제 저장을 한 트랜잭션으로 처리
+        return paymentService.createPayment(payment);
     }
 
+    // 결제 목록 (keyset 페이지) - after: 이전 응답의 nextAfter, limit: 페이지 크기 (최대 100)
     @GetMapping("/payments")
-    public List<Payment> getAllPayments() {
-        return paymentRepository.findAll();
+    public CursorPage<PaymentSummary> getAllPayments(@RequestParam(required = false) Long after,
+                                                     @RequestParam(required = false) Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<PaymentSummary> rows = paymentRepository.findByPaymentIdGreaterThanOrderByPaymentIdAsc(
+                after != null ? after : 0L, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, PaymentSummary::getPaymentId);
     }
 
     @GetMapping("/payment/{paymentId}")
@@ -99,27 +101,25 @@ public class PaymentController {
                                 @RequestParam(required = false) Payment.PaymentStatus status,
                                 @RequestParam(required = false) String paymentMethod,
                                 @RequestParam(required = false) LocalDateTime paidAt) {
-        Optional<Payment> paymentOpt = paymentRepository.findById(paymentId);
-        if (paymentOpt.isPresent()) {
-            Payment payment = paymentOpt.get();
-            if (amount != null) payment.setAmount(amount);
-            if (status != null) payment.setStatus(status);
-            if (paymentMethod != null) payment.setPaymentMethod(paymentMethod);
-            if (paidAt != null) payment.setPaidAt(paidAt);
-            return paymentRepository.save(payment);
-        }
-        throw new RuntimeException("Payment not found with id: " + paymentId);
+        return paymentService.updatePayment(paymentId, amount, status, paymentMethod, paidAt);
     }
 
     @DeleteMapping("/payment/{paymentId}")
     public String deletePayment(@PathVariable Long paymentId) {
-        paymentRepository.deleteById(paymentId);
+        paymentService.deletePayment(paymentId);
         return "Payment deleted successfully";
     }
     
     // 결제 완료 검증 API
     @PostMapping("/complete")
-    public Mono<ResponseEntity<String>> completePayment(@RequestBody Map<String, String> request) {
+    public Mono<ResponseEntity<String>> completePayment(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody Map<String, String> request) {
+        return idempotencyService.executeAsync(idempotencyKey, "payment-complete:" + securityUtil.getCurrentUserId(),
+                request, () -> verifyAndCompletePayment(request));
+    }
+
+    private Mono<ResponseEntity<String>> verifyAndCompletePayment(Map<String, String> request) {
         String paymentId = request.get("paymentId");
         System.out.println("결제 완료 검증 요청 받음 - Payment ID: " + paymentId);
         
@@ -135,7 +135,14 @@ public class PaymentController {
     
     // 통합 결제 요청 API (주문 + 결제 정보를 함께 처리, 포인트 사용 포함)
     @PostMapping("/request")
-    public ResponseEntity<String> requestPayment(@RequestBody PaymentRequestDto paymentRequest) {
+    public ResponseEntity<String> requestPayment(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody PaymentRequestDto paymentRequest) {
+        return idempotencyService.execute(idempotencyKey, "payment-request:" + securityUtil.getCurrentUserId(),
+                paymentRequest, () -> processPaymentRequest(paymentRequest));
+    }
+
+    private ResponseEntity<String> processPaymentRequest(PaymentRequestDto paymentRequest) {
         try {
             // 인증된 사용자 ID 가져오기
             Long currentUserId = securityUtil.getCurrentUserId();
@@ -150,53 +157,12 @@ public class PaymentController {
                         .body("다른 사용자의 결제를 요청할 수 없습니다.");
             }
             
-            // 1. 포인트 사용 처리
-            if (paymentRequest.getPointsUsed() != null && paymentRequest.getPointsUsed() > 0) {
-                try {
-                    pointService.usePoints(
-                        currentUserId,
-                        paymentRequest.getPointsUsed(),
-                        paymentRequest.getOrderId(),
-                        "주문 결제 시 포인트 사용"
-                    );
-                } catch (RuntimeException e) {
-                    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                            .body("포인트 사용 실패: " + e.getMessage());
-                }
-            }
-            
-            // 2. 주문 생성
-            Order order = new Order();
-            order.setOrderId(paymentRequest.getOrderId());
-            order.setUserId(currentUserId);
-            order.setTotalAmount(paymentRequest.getTotalAmount());
-            order.setPointsUsed(paymentRequest.getPointsUsed() != null ? paymentRequest.getPointsUsed() : 0);
-            order.setPointsDiscountAmount(paymentRequest.getPointsDiscountAmount() != null ? 
-                    paymentRequest.getPointsDiscountAmount() : BigDecimal.ZERO);
-            order.setStatus(Order.OrderStatus.PENDING_PAYMENT);
-            
-            Order savedOrder = orderRepository.save(order);
-            System.out.println("주문이 생성되었습니다. Order ID: " + savedOrder.getOrderId());
-            
-            // 3. 주문 아이템들 저장
-            if (paymentRequest.getOrderItems() != null && !paymentRequest.getOrderItems().isEmpty()) {
-                for (PaymentRequestDto.OrderItemDto itemDto : paymentRequest.getOrderItems()) {
-                    Optional<Product> productOptional = productRepository.findById(itemDto.getProductId());
-                    if (productOptional.isEmpty()) {
-                        System.err.println("상품을 찾을 수 없습니다. Product ID: " + itemDto.getProductId());
-                        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                                .body("상품을 찾을 수 없습니다. Product ID: " + itemDto.getProductId());
-                    }
-                    
-                    OrderItem orderItem = new OrderItem();
-                    orderItem.setOrderId(savedOrder.getOrderId());
-                    orderItem.setProductId(itemDto.getProductId());
-                    orderItem.setQuantity(itemDto.getQuantity());
-                    orderItem.setPrice(itemDto.getPrice());
-                    
-                    orderItemRepository.save(orderItem);
-                }
-                System.out.println("주문 아이템 " + paymentRequest.getOrderItems().size() + "개가 저장되었습니다.");
+            // 포인트 사용, 주문/주문 아이템 저장, 재고 예약을 한 트랜잭션으로 처리 (실패 시 모두 롤백)
+            Order savedOrder;
+            try {
+                savedOrder = checkoutService.placeOrder(currentUserId, paymentRequest);
+            } catch (CheckoutException e) {
+                return ResponseEntity.status(e.getStatus()).body(e.getMessage());
             }
             
             return ResponseEntity.ok("Payment request processed successfully. Order ID: " + savedOrder.getOrderId());
@@ -244,46 +210,15 @@ public class PaymentController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
             }
             
-            // 주문 상태를 COMPLETED로 변경
-            order.setStatus(Order.OrderStatus.COMPLETED);
-            orderRepository.save(order);
-            
-            // Payment 레코드 생성 (포인트 전액 결제)
-            Payment payment = new Payment();
-            payment.setOrderId(orderId);
-            payment.setAmount(order.getTotalAmount());
-            payment.setStatus(Payment.PaymentStatus.PAID);
-            payment.setPaymentMethod("POINT");
-            payment.setPaidAt(java.time.LocalDateTime.now());
-            paymentRepository.save(payment);
-            
-            // 포인트 적립 처리 (멤버십 등급에 따른 차등 적립)
-            Long userId = order.getUserId();
-            Integer pointsEarned = membershipService.calculateEarnedPoints(userId, order.getTotalAmount());
-            if (pointsEarned > 0) {
-                pointService.earnPoints(
-                    userId,
-                    pointsEarned,
-                    orderId,
-                    "포인트 전액 결제 완료로 인한 포인트 적립 (멤버십 등급 반영)",
-                    java.time.LocalDateTime.now().plusYears(1)
-                );
-            }
-            
-            // 멤버십 등급 자동 업데이트
-            try {
-                membershipService.updateMembershipLevel(userId);
-                System.out.println("멤버십 등급이 자동 업데이트되었습니다. User ID: " + userId);
-            } catch (Exception e) {
-                System.err.println("멤버십 등급 업데이트 중 오류 발생: " + e.getMessage());
-                e.printStackTrace();
-            }
+            // 주문 완료 + 결제 기록 (포인트 적립/멤버십 등급 갱신은 커밋 후 비동기 처리)
+            Integer pointsEarned = paymentService.completePointOnlyPayment(order);
+            Payment payment = paymentRepository.findByOrderId(orderId).orElse(null);
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "포인트 전액 결제가 완료되었습니다.");
             response.put("orderId", orderId);
             response.put("pointsEarned", pointsEarned);
-            response.put("paymentId", payment.getPaymentId());
+            response.put("paymentId", payment != null ? payment.getPaymentId() : null);
             
             return ResponseEntity.ok(response);
             
@@ -296,38 +231,42 @@ public class PaymentController {
         }
     }
     
-    // PAID 상태의 결제 목록 조회 (환불 가능한 결제들) - 현재 사용자의 결제만 조회
+    // PAID 상태의 결제 목록 조회 (환불 가능한 결제들) - 현재 사용자의 결제만 최신순으로 페이지 조회
+    // after: 이전 응답의 nextAfter (없으면 처음부터), limit: 페이지 크기 (최대 100)
     @GetMapping("/paid")
-    public ResponseEntity<List<Payment>> getPaidPayments() {
+    public ResponseEntity<?> getPaidPayments(@RequestParam(required = false) Long after,
+                                             @RequestParam(required = false) Integer limit) {
         try {
             // 인증된 사용자 ID 가져오기
             Long currentUserId = securityUtil.getCurrentUserId();
             if (currentUserId == null) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", "인증이 필요합니다.");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
             }
             
-            // 현재 사용자의 주문에 대한 결제만 조회
-            List<Order> userOrders = orderRepository.findByUserId(currentUserId);
-            List<String> userOrderIds = userOrders.stream()
-                    .map(Order::getOrderId)
-                    .toList();
+            int pageSize = CursorPage.resolveLimit(limit);
             
-            List<Payment> paidPayments = paymentRepository.findByStatus(Payment.PaymentStatus.PAID)
-                    .stream()
-                    .filter(payment -> userOrderIds.contains(payment.getOrderId()))
-                    .toList();
+            // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회 (최신순이므로 after보다 작은 paymentId)
+            List<PaidPaymentResponse> rows = paymentRepository.findUserPaymentsBefore(
+                    currentUserId,
+                    Payment.PaymentStatus.PAID,
+                    after != null ? after : Long.MAX_VALUE,
+                    PageRequest.of(0, pageSize + 1));
             
-            return ResponseEntity.ok(paidPayments);
+            return ResponseEntity.ok(CursorPage.of(rows, pageSize, PaidPaymentResponse::getPaymentId));
         } catch (Exception e) {
             System.err.println("PAID 결제 목록 조회 오류: " + e.getMessage());
             e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
         }
     }
     
     // 결제 취소 API (PortOne imp_uid 사용, 포인트 환불 포함)
     @PostMapping("/cancel")
-    public ResponseEntity<Map<String, Object>> cancelPayment(@RequestBody Map<String, String> request) {
+    public Mono<ResponseEntity<Map<String, Object>>> cancelPayment(@RequestBody Map<String, String> request) {
         try {
             // 인증된 사용자 ID 가져오기
             Long currentUserId = securityUtil.getCurrentUserId();
@@ -337,7 +276,7 @@ public class PaymentController {
                 Map<String, Object> error = new HashMap<>();
                 error.put("error", "인증이 필요합니다.");
                 System.out.println("결제 취소 실패: 인증되지 않은 사용자");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+                return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error));
             }
             
             String paymentId = request.get("paymentId"); // PortOne의 imp_uid (문자열)
@@ -349,7 +288,7 @@ public class PaymentController {
             if (paymentId == null || paymentId.isEmpty()) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("error", "paymentId는 필수입니다.");
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+                return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error));
             }
             
             // DB에서 Payment 조회 (imp_uid로)
@@ -365,7 +304,7 @@ public class PaymentController {
             if (paymentOptional.isEmpty()) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("error", "결제 정보를 찾을 수 없습니다. Payment ID: " + paymentId);
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(error));
             }
             
             Payment payment = paymentOptional.get();
@@ -377,7 +316,7 @@ public class PaymentController {
                 if (!order.getUserId().equals(currentUserId)) {
                     Map<String, Object> error = new HashMap<>();
                     error.put("error", "다른 사용자의 결제를 취소할 수 없습니다.");
-                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+                    return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).body(error));
                 }
             } else {
                 // 주문을 찾을 수 없는 경우에도 결제 정보가 있으면 진행
@@ -390,32 +329,34 @@ public class PaymentController {
                 payment.getStatus() != Payment.PaymentStatus.PARTIALLY_REFUNDED) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("error", "환불할 수 없는 결제 상태입니다. 현재 상태: " + payment.getStatus());
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+                return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error));
             }
             
             // PortOne API로 환불 요청 (포인트 환불 로직은 PaymentService.cancelPayment 내부에서 처리됨)
-            Boolean isSuccess = paymentService.cancelPayment(paymentId, reason).block();
-            
-            Map<String, Object> response = new HashMap<>();
-            if (isSuccess != null && isSuccess) {
-                response.put("message", "결제 취소가 성공적으로 처리되었습니다. 사용한 포인트도 복구되었습니다.");
-                response.put("paymentId", paymentId);
-                response.put("impUid", payment.getImpUid() != null ? payment.getImpUid() : paymentId);
-                response.put("orderId", payment.getOrderId());
-                response.put("refundAmount", payment.getAmount());
-                System.out.println("결제 취소 성공 응답 반환: " + response);
-                return ResponseEntity.ok(response);
-            } else {
-                response.put("error", "PortOne 결제 취소 요청이 실패했습니다.");
-                System.out.println("결제 취소 실패 응답 반환: " + response);
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-            }
+            // 응답을 기다리는 동안 요청 스레드를 붙잡지 않도록 Mono로 반환
+            return paymentService.cancelPayment(paymentId, reason)
+                    .map(isSuccess -> {
+                        Map<String, Object> response = new HashMap<>();
+                        if (isSuccess) {
+                            response.put("message", "결제 취소가 성공적으로 처리되었습니다. 사용한 포인트도 복구되었습니다.");
+                            response.put("paymentId", paymentId);
+                            response.put("impUid", payment.getImpUid() != null ? payment.getImpUid() : paymentId);
+                            response.put("orderId", payment.getOrderId());
+                            response.put("refundAmount", payment.getAmount());
+                            System.out.println("결제 취소 성공 응답 반환: " + response);
+                            return ResponseEntity.ok(response);
+                        } else {
+                            response.put("error", "PortOne 결제 취소 요청이 실패했습니다.");
+                            System.out.println("결제 취소 실패 응답 반환: " + response);
+                            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+                        }
+                    });
         } catch (Exception e) {
             System.err.println("결제 취소 처리 중 오류 발생: " + e.getMessage());
             e.printStackTrace();
             Map<String, Object> error = new HashMap<>();
             error.put("error", "결제 취소 처리 중 오류가 발생했습니다: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error));
         }
     }
 }
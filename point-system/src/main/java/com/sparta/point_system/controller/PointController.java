@@ -1,11 +1,15 @@
 package com.sparta.point_system.controller;
 
 import com.sparta.point_system.entity.PointTransaction;
+import com.sparta.point_system.service.PointBalanceService;
+import com.sparta.point_system.service.PointExpirationService;
 import com.sparta.point_system.service.PointService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,6 +22,12 @@ public class PointController {
     @Autowired
     private PointService pointService;
 
+    @Autowired
+    private PointBalanceService pointBalanceService;
+
+    @Autowired
+    private PointExpirationService pointExpirationService;
+
     /**
      * 사용자의 포인트 잔액 조회
      */
@@ -36,6 +46,33 @@ public class PointController {
         }
     }
 
+    /**
+     * 만료 예정 포인트 조회 (month 미지정 시 이번 달, 형식: yyyy-MM)
+     */
+    @GetMapping("/expiring/{userId}")
+    public ResponseEntity<Map<String, Object>> getExpiringPoints(@PathVariable Long userId,
+                                                                 @RequestParam(required = false) String month) {
+        try {
+            YearMonth targetMonth = month != null ? YearMonth.parse(month) : YearMonth.now();
+            LocalDateTime from = targetMonth.atDay(1).atStartOfDay();
+            LocalDateTime to = targetMonth.plusMonths(1).atDay(1).atStartOfDay();
+            // 이번 달이면 이미 지난 시점은 제외
+            if (targetMonth.equals(YearMonth.now())) {
+                from = LocalDateTime.now();
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("userId", userId);
+            response.put("month", targetMonth.toString());
+            response.put("expiringPoints", pointService.getExpiringPoints(userId, from, to));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(500).body(error);
+        }
+    }
+
     /**
      * 포인트 충전
      */
@@ -72,5 +109,45 @@ public class PointController {
             return ResponseEntity.status(500).build();
         }
     }
-}
 
+    /**
+     * 포인트 잔액 스냅샷 재계산 (repair=false면 검증만 수행)
+     */
+    @PostMapping("/balance/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildBalanceSnapshots(@RequestParam(required = false, defaultValue = "true") boolean repair) {
+        try {
+            PointBalanceService.RebuildResult result = pointBalanceService.rebuildSnapshots(repair);
+            Map<String, Object> response = new HashMap<>();
+            response.put("repair", repair);
+            response.put("scannedUsers", result.getScannedUsers());
+            response.put("mismatchedUsers", result.getMismatchedUsers());
+            response.put("repairedUsers", result.getRepairedUsers());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(500).body(error);
+        }
+    }
+
+    /**
+     * 포인트 만료 배치 수동 실행
+     */
+    @PostMapping("/expiration/run")
+    public ResponseEntity<Map<String, Object>> runPointExpiration() {
+        try {
+            long expiredLots = pointExpirationService.runExpiration();
+            Map<String, Object> response = new HashMap<>();
+            if (expiredLots < 0) {
+                response.put("error", "포인트 만료 배치가 이미 실행 중입니다.");
+                return ResponseEntity.status(409).body(response);
+            }
+            response.put("expiredLots", expiredLots);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(500).body(error);
+        }
+    }
+}
@@ -1,12 +1,26 @@
 package com.sparta.point_system.controller;
 
+import com.sparta.common.dto.CursorPage;
+import com.sparta.point_system.dto.PointTransactionSummary;
 import com.sparta.point_system.entity.PointTransaction;
 import com.sparta.point_system.repository.PointTransactionRepository;
+import com.sparta.point_system.service.PointLedgerExportService;
+import com.sparta.point_system.service.PointService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -16,20 +30,51 @@ public class PointTransactionController {
     @Autowired
     private PointTransactionRepository pointTransactionRepository;
 
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private PointLedgerExportService pointLedgerExportService;
+
+    @Value("${point.export.timeout-ms:600000}")
+    private long exportTimeoutMs;
+
+    // 포인트 거래 기록 - 잔액 스냅샷/로트와 함께 반영되도록 PointService를 통해서만 기록 (만료 거래는 만료 배치 전용)
+    // points: EARNED/SPENT는 양수, ADJUSTMENT는 부호로 지급/차감을 구분
     @PostMapping("/point-transaction")
-    public PointTransaction createPointTransaction(@RequestParam Long userId,
-                                                   @RequestParam(required = false) String orderId,
-                                                   @RequestParam Integer points,
-                                                   @RequestParam PointTransaction.TransactionType type,
-                                                   @RequestParam(required = false) String description,
-                                                   @RequestParam(required = false) LocalDateTime expiresAt) {
-        PointTransaction transaction = new PointTransaction(userId, orderId, points, type, description, expiresAt);
-        return pointTransactionRepository.save(transaction);
+    public ResponseEntity<Map<String, Object>> createPointTransaction(@RequestParam Long userId,
+                                                                      @RequestParam(required = false) String orderId,
+                                                                      @RequestParam Integer points,
+                                                                      @RequestParam PointTransaction.TransactionType type,
+                                                                      @RequestParam(required = false) String description,
+                                                                      @RequestParam(required = false) LocalDateTime expiresAt) {
+        try {
+            PointTransaction transaction = switch (type) {
+                case EARNED -> pointService.earnPoints(userId, points, orderId, description, expiresAt);
+                case SPENT -> pointService.spendPoints(userId, points, orderId, description);
+                case ADJUSTMENT -> pointService.adjustPoints(userId, points, orderId, description);
+                case EXPIRED -> throw new RuntimeException("만료 거래는 포인트 만료 배치에서만 기록할 수 있습니다.");
+            };
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("transaction", transaction);
+            response.put("balance", pointService.getPointBalance(userId));
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
 
+    // 포인트 거래 목록 (keyset 페이지) - after: 이전 응답의 nextAfter, limit: 페이지 크기 (최대 100)
     @GetMapping("/point-transactions")
-    public List<PointTransaction> getAllPointTransactions() {
-        return pointTransactionRepository.findAll();
+    public CursorPage<PointTransactionSummary> getAllPointTransactions(@RequestParam(required = false) Long after,
+                                                                       @RequestParam(required = false) Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<PointTransactionSummary> rows = pointTransactionRepository.findByTransactionIdGreaterThanOrderByTransactionIdAsc(
+                after != null ? after : 0L, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, PointTransactionSummary::getTransactionId);
     }
 
     @GetMapping("/point-transaction/{transactionId}")
@@ -42,6 +87,26 @@ public class PointTransactionController {
         return pointTransactionRepository.findByUserId(userId);
     }
 
+    // 사용자 포인트 원장 내보내기 (format: ndjson | csv) - 원장 전체를 메모리에 올리지 않고 누적 잔액과 함께 스트리밍
+    // 긴 비동기 타임아웃은 이 요청에만 적용 (다른 비동기 요청은 컨테이너 기본 타임아웃 유지)
+    @GetMapping("/point-transactions/user/{userId}/export")
+    public WebAsyncTask<Void> exportPointTransactions(@PathVariable Long userId,
+                                                      @RequestParam(required = false, defaultValue = "ndjson") String format,
+                                                      HttpServletResponse response) {
+        PointLedgerExportService.ExportFormat exportFormat = PointLedgerExportService.ExportFormat.from(format);
+        if (exportFormat == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "지원하지 않는 형식입니다: " + format);
+        }
+
+        response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"point-ledger-" + userId + "." + exportFormat.getExtension() + "\"");
+        return new WebAsyncTask<>(exportTimeoutMs, () -> {
+            pointLedgerExportService.export(userId, exportFormat, response.getOutputStream());
+            return null;
+        });
+    }
+
     @GetMapping("/point-transactions/user/{userId}/type/{type}")
     public List<PointTransaction> getPointTransactionsByUserIdAndType(@PathVariable Long userId,
                                                                      @PathVariable PointTransaction.TransactionType type) {
@@ -52,11 +117,4 @@ public class PointTransactionController {
     public List<PointTransaction> getPointTransactionsByOrderId(@PathVariable String orderId) {
         return pointTransactionRepository.findByOrderId(orderId);
     }
-
-    @DeleteMapping("/point-transaction/{transactionId}")
-    public String deletePointTransaction(@PathVariable Long transactionId) {
-        pointTransactionRepository.deleteById(transactionId);
-        return "PointTransaction deleted successfully";
-    }
 }
-
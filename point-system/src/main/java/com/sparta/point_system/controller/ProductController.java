@@ -1,11 +1,16 @@
 package com.sparta.point_system.controller;
 
+import com.sparta.common.dto.CursorPage;
+import com.sparta.point_system.dto.ProductSummary;
 import com.sparta.point_system.entity.Product;
 import com.sparta.point_system.repository.ProductRepository;
+import com.sparta.point_system.service.FlashSaleStockService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -17,6 +22,9 @@ public class ProductController {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private FlashSaleStockService flashSaleStockService;
+
     @PostMapping("/product")
     public Product createProduct(@RequestBody(required = false) Map<String, Object> requestBody,
                                 @RequestParam(required = false) String name,
@@ -52,9 +60,14 @@ public class ProductController {
         return productRepository.save(product);
     }
 
+    // 상품 목록 (keyset 페이지) - after: 이전 응답의 nextAfter, limit: 페이지 크기 (최대 100)
     @GetMapping("/products")
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    public CursorPage<ProductSummary> getAllProducts(@RequestParam(required = false) Long after,
+                                                     @RequestParam(required = false) Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<ProductSummary> rows = productRepository.findByProductIdGreaterThanOrderByProductIdAsc(
+                after != null ? after : 0L, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, ProductSummary::getProductId);
     }
 
     @GetMapping("/product/{productId}")
@@ -75,11 +88,42 @@ public class ProductController {
             if (price != null) product.setPrice(price);
             if (stock != null) product.setStock(stock);
             if (description != null) product.setDescription(description);
-            return productRepository.save(product);
+            Product saved = productRepository.save(product);
+            if (stock != null) {
+                flashSaleStockService.reload(productId); // 선착순 모드면 메모리 카운터도 새 재고로 맞춤
+            }
+            return saved;
         }
         throw new RuntimeException("Product not found with id: " + productId);
     }
 
+    // 선착순(플래시 세일) 모드 켜기 - 판매 시작 전에 호출, 재고를 메모리 카운터에 올림
+    @PostMapping("/product/{productId}/flash-sale")
+    public Map<String, Object> enableFlashSale(@PathVariable Long productId) {
+        long availableStock = flashSaleStockService.enable(productId);
+        return flashSaleStatus(productId, availableStock);
+    }
+
+    // 선착순 모드 끄기 - 미반영 재고를 DB에 반영하고 이후 주문은 DB에서 예약
+    @DeleteMapping("/product/{productId}/flash-sale")
+    public Map<String, Object> disableFlashSale(@PathVariable Long productId) {
+        flashSaleStockService.disable(productId);
+        return flashSaleStatus(productId, null);
+    }
+
+    @GetMapping("/product/{productId}/flash-sale")
+    public Map<String, Object> getFlashSale(@PathVariable Long productId) {
+        return flashSaleStatus(productId, flashSaleStockService.getAvailableStock(productId));
+    }
+
+    private Map<String, Object> flashSaleStatus(Long productId, Long availableStock) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("productId", productId);
+        response.put("flashSale", availableStock != null);
+        response.put("availableStock", availableStock);
+        return response;
+    }
+
     @DeleteMapping("/product/{productId}")
     public String deleteProduct(@PathVariable Long productId) {
         productRepository.deleteById(productId);
@@ -1,16 +1,22 @@
 package com.sparta.point_system.controller;
 
+import com.sparta.common.dto.CursorPage;
+import com.sparta.common.idempotency.IdempotencyService;
+import com.sparta.point_system.dto.RefundSummary;
 import com.sparta.point_system.entity.Refund;
 import com.sparta.point_system.entity.Payment;
 import com.sparta.point_system.entity.Order;
 import com.sparta.point_system.repository.RefundRepository;
 import com.sparta.point_system.repository.PaymentRepository;
 import com.sparta.point_system.repository.OrderRepository;
+import com.sparta.point_system.service.CheckoutService;
 import com.sparta.point_system.service.MembershipService;
 import com.sparta.point_system.service.PaymentService;
 import com.sparta.point_system.service.PointService;
 import com.sparta.point_system.util.SecurityUtil;
+import com.sparta.portone.PortOneUnavailableException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -39,6 +45,9 @@ public class RefundController {
     @Autowired
     private PaymentService paymentService;
     
+    @Autowired
+    private CheckoutService checkoutService;
+    
     @Autowired
     private PointService pointService;
     
@@ -47,6 +56,9 @@ public class RefundController {
     
     @Autowired
     private SecurityUtil securityUtil;
+    
+    @Autowired
+    private IdempotencyService idempotencyService;
 
     @PostMapping("/refund")
     public Refund createRefund(@RequestParam Long paymentId,
@@ -61,9 +73,14 @@ public class RefundController {
         return refundRepository.save(refund);
     }
 
+    // 환불 목록 (keyset 페이지) - after: 이전 응답의 nextAfter, limit: 페이지 크기 (최대 100)
     @GetMapping("/refunds")
-    public List<Refund> getAllRefunds() {
-        return refundRepository.findAll();
+    public CursorPage<RefundSummary> getAllRefunds(@RequestParam(required = false) Long after,
+                                                   @RequestParam(required = false) Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<RefundSummary> rows = refundRepository.findByRefundIdGreaterThanOrderByRefundIdAsc(
+                after != null ? after : 0L, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, RefundSummary::getRefundId);
     }
 
     @GetMapping("/refund/{refundId}")
@@ -103,7 +120,14 @@ public class RefundController {
      * 결제 취소 시 사용한 포인트를 자동으로 복구하고, 적립된 포인트도 취소합니다.
      */
     @PostMapping("/request")
-    public Mono<ResponseEntity<Map<String, Object>>> requestRefund(@RequestBody Map<String, Object> refundRequest) {
+    public Mono<ResponseEntity<Map<String, Object>>> requestRefund(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody Map<String, Object> refundRequest) {
+        return idempotencyService.executeAsync(idempotencyKey, "refund-request:" + securityUtil.getCurrentUserId(),
+                refundRequest, () -> processRefundRequest(refundRequest));
+    }
+
+    private Mono<ResponseEntity<Map<String, Object>>> processRefundRequest(Map<String, Object> refundRequest) {
         try {
             // 인증된 사용자 ID 가져오기
             Long currentUserId = securityUtil.getCurrentUserId();
@@ -266,12 +290,22 @@ public class RefundController {
                             }
                         }
                         
-                        // 3. 주문 상태를 CANCELLED로 변경
+                        // 3. 주문 상태를 CANCELLED로 변경하고 예약한 재고 해제
                         order.setStatus(Order.OrderStatus.CANCELLED);
                         orderRepository.save(order);
+                        checkoutService.releaseStock(orderId);
                         System.out.println("주문 상태가 CANCELLED로 변경되었습니다. Order ID: " + orderId);
-                        
-                        // 4. 멤버십 등급 자동 업데이트 (총 결제 금액이 줄어들었으므로 재계산)
+                    } else {
+                        System.err.println("[경고] 주문 정보를 찾을 수 없습니다. Order ID: " + orderId);
+                    }
+                    
+                    // 결제 상태 변경, 누적 결제 금액 반영, 환불 레코드 생성을 한 트랜잭션으로 처리
+                    paymentService.recordPointOnlyRefund(payment.getPaymentId(),
+                            orderOptional.map(Order::getUserId).orElse(null), refundAmount, reason);
+                    
+                    // 4. 멤버십 등급 자동 업데이트 (총 결제 금액이 줄어들었으므로 결제 상태 변경 후 재계산)
+                    if (orderOptional.isPresent()) {
+                        Long userId = orderOptional.get().getUserId();
                         try {
                             membershipService.updateMembershipLevel(userId);
                             System.out.println("멤버십 등급이 자동 업데이트되었습니다. User ID: " + userId);
@@ -279,22 +313,8 @@ public class RefundController {
                             System.err.println("멤버십 등급 업데이트 중 오류 발생: " + e.getMessage());
                             e.printStackTrace();
                         }
-                    } else {
-                        System.err.println("[경고] 주문 정보를 찾을 수 없습니다. Order ID: " + orderId);
                     }
                     
-                    // 결제 상태 업데이트
-                    payment.setStatus(Payment.PaymentStatus.REFUNDED);
-                    paymentRepository.save(payment);
-                    
-                    // 환불 레코드 생성
-                    Refund refund = new Refund();
-                    refund.setPaymentId(payment.getPaymentId());
-                    refund.setAmount(refundAmount);
-                    refund.setReason(reason);
-                    refund.setStatus(Refund.RefundStatus.COMPLETED);
-                    refundRepository.save(refund);
-                    
                     Map<String, Object> response = new HashMap<>();
                     response.put("message", "포인트 환불이 완료되었습니다. 사용한 포인트가 복구되었습니다.");
                     response.put("paymentId", paymentId);
@@ -337,7 +357,8 @@ public class RefundController {
                             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
                         }
                     })
-                    .onErrorReturn(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    // PortOneUnavailableException은 PortOneExceptionHandler에서 503으로 응답
+                    .onErrorReturn(e -> !(e instanceof PortOneUnavailableException), ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                             .body(Map.of("error", "환불 처리 중 오류가 발생했습니다.")));
                             
         } catch (Exception e) {
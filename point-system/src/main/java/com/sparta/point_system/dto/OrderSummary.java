@@ -0,0 +1,25 @@
+package com.sparta.point_system.dto;
+
+import com.sparta.point_system.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 주문 목록 조회용 프로젝션 (주문 항목 컬렉션 제외)
+ */
+public interface OrderSummary {
+    String getOrderId();
+
+    Long getUserId();
+
+    BigDecimal getTotalAmount();
+
+    Integer getPointsUsed();
+
+    BigDecimal getPointsDiscountAmount();
+
+    Order.OrderStatus getStatus();
+
+    LocalDateTime getOrderedAt();
+}
@@ -0,0 +1,29 @@
+package com.sparta.point_system.dto;
+
+import com.sparta.point_system.entity.Payment;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 환불 가능한(PAID) 결제 목록 항목 - 결제와 주문에서 필요한 필드만 조회
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaidPaymentResponse {
+    private Long paymentId;
+    private String orderId;
+    private String impUid;
+    private BigDecimal amount;
+    private Payment.PaymentStatus status;
+    private String paymentMethod;
+    private LocalDateTime paidAt;
+    private BigDecimal orderTotalAmount;
+    private Integer pointsUsed;
+}
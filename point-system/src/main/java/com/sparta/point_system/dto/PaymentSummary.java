@@ -0,0 +1,27 @@
+package com.sparta.point_system.dto;
+
+import com.sparta.point_system.entity.Payment;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 결제 목록 조회용 프로젝션 (환불 목록 등 연관 컬렉션 제외)
+ */
+public interface PaymentSummary {
+    Long getPaymentId();
+
+    String getOrderId();
+
+    Long getMethodId();
+
+    String getImpUid();
+
+    BigDecimal getAmount();
+
+    Payment.PaymentStatus getStatus();
+
+    String getPaymentMethod();
+
+    LocalDateTime getPaidAt();
+}
@@ -0,0 +1,28 @@
+package com.sparta.point_system.dto;
+
+import com.sparta.point_system.entity.PointTransaction;
+
+import java.time.LocalDateTime;
+
+/**
+ * 포인트 거래 목록 조회용 프로젝션
+ */
+public interface PointTransactionSummary {
+    Long getTransactionId();
+
+    Long getUserId();
+
+    String getOrderId();
+
+    Integer getPoints();
+
+    PointTransaction.TransactionType getType();
+
+    String getDescription();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getExpiresAt();
+
+    Integer getRemainingPoints();
+}
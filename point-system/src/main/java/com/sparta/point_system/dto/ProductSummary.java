@@ -0,0 +1,19 @@
+package com.sparta.point_system.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 상품 목록 조회용 프로젝션 (상세 설명 제외)
+ */
+public interface ProductSummary {
+    Long getProductId();
+
+    String getName();
+
+    BigDecimal getPrice();
+
+    Integer getStock();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,23 @@
+package com.sparta.point_system.dto;
+
+import com.sparta.point_system.entity.Refund;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 환불 목록 조회용 프로젝션 (결제 연관 엔티티 제외)
+ */
+public interface RefundSummary {
+    Long getRefundId();
+
+    Long getPaymentId();
+
+    BigDecimal getAmount();
+
+    String getReason();
+
+    Refund.RefundStatus getStatus();
+
+    LocalDateTime getRefundedAt();
+}
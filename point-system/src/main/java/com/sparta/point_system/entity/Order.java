@@ -13,7 +13,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_id", columnList = "user_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -39,6 +41,10 @@ public class Order {
     @Column(name = "status", nullable = false, length = 50)
     private OrderStatus status;
     
+    // 주문 생성 시 재고를 예약했는지 여부 (해제는 조건부 UPDATE로만 변경하여 한 번만 되돌림)
+    @Column(name = "stock_reserved", nullable = false, updatable = false)
+    private Boolean stockReserved = false;
+    
     @CreationTimestamp
     @Column(name = "ordered_at", nullable = false, updatable = false)
     private LocalDateTime orderedAt;
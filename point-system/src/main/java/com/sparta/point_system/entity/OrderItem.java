@@ -9,7 +9,9 @@ import lombok.Setter;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = {
+        @Index(name = "idx_order_items_stock_deferred", columnList = "stock_deferred")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -32,6 +34,10 @@ public class OrderItem {
     @Column(name = "price", nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
     
+    // 선착순 상품의 재고를 메모리에서 예약하고 아직 products.stock에 반영하지 않았으면 true (재고 반영 배치에서만 변경)
+    @Column(name = "stock_deferred", nullable = false, updatable = false)
+    private Boolean stockDeferred = false;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", insertable = false, updatable = false)
     @JsonBackReference
@@ -0,0 +1,82 @@
+package com.sparta.point_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 트랜잭셔널 아웃박스 이벤트
+ * - 결제 트랜잭션 안에서 후속 작업(포인트 적립, 멤버십 등급 갱신)을 기록하고, 커밋 후 백그라운드 디스패처가 처리합니다.
+ */
+@Entity
+@Table(name = "outbox_events",
+        uniqueConstraints = @UniqueConstraint(name = "uk_outbox_events_type_aggregate", columnNames = {"event_type", "aggregate_id"}),
+        indexes = @Index(name = "idx_outbox_events_status_next_attempt", columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 50)
+    private EventType eventType;
+
+    // 이벤트 대상 식별자 (주문 ID) - 같은 주문에 같은 종류의 이벤트는 한 번만 기록
+    @Column(name = "aggregate_id", nullable = false, length = 255)
+    private String aggregateId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private EventStatus status = EventStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // 처리 중(PROCESSING) 점유 만료 시각 - 처리 중 서버가 죽으면 만료 후 다시 가져감
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    public enum EventType {
+        POINT_EARN, MEMBERSHIP_UPDATE
+    }
+
+    public enum EventStatus {
+        PENDING, PROCESSING, DONE, FAILED
+    }
+
+    public OutboxEvent(EventType eventType, String aggregateId, Long userId, String payload) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.userId = userId;
+        this.payload = payload;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,37 @@
+package com.sparta.point_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 포인트 잔액 스냅샷
+ * - point_transactions 원장의 합계를 미리 계산해 둔 값으로, 원장 INSERT와 같은 트랜잭션에서 갱신됩니다.
+ */
+@Entity
+@Table(name = "point_balances")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PointBalance {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "balance", nullable = false)
+    private Integer balance = 0;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public PointBalance(Long userId, Integer balance) {
+        this.userId = userId;
+        this.balance = balance;
+    }
+}
@@ -0,0 +1,58 @@
+package com.sparta.point_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 포인트 만료 배치 체크포인트
+ * - 청크 커밋과 같은 트랜잭션에서 마지막 처리 위치를 기록하여, 중단된 실행을 같은 기준 시각과 위치에서 이어갑니다.
+ */
+@Entity
+@Table(name = "point_expiration_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PointExpirationCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    // 이번 실행의 만료 기준 시각 (expires_at < cutoff 인 로트를 만료)
+    @Column(name = "cutoff", nullable = false)
+    private LocalDateTime cutoff;
+
+    // 마지막으로 처리한 로트의 (expires_at, transaction_id) - keyset 커서
+    @Column(name = "last_expires_at")
+    private LocalDateTime lastExpiresAt;
+
+    @Column(name = "last_transaction_id")
+    private Long lastTransactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private JobStatus status;
+
+    @Column(name = "processed_rows", nullable = false)
+    private Long processedRows = 0L;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum JobStatus {
+        RUNNING, COMPLETED
+    }
+
+    public PointExpirationCheckpoint(String jobName) {
+        this.jobName = jobName;
+    }
+}
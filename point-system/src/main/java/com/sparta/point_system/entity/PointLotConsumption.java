@@ -0,0 +1,59 @@
+package com.sparta.point_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 포인트 로트 소진 내역
+ * - 차감 거래(SPENT 등)가 어떤 적립 로트에서 몇 포인트를 가져갔는지 기록합니다.
+ */
+@Entity
+@Table(name = "point_lot_consumptions", indexes = {
+        @Index(name = "idx_point_lot_consumptions_lot", columnList = "lot_transaction_id"),
+        @Index(name = "idx_point_lot_consumptions_debit", columnList = "debit_transaction_id"),
+        @Index(name = "idx_point_lot_consumptions_user", columnList = "user_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class PointLotConsumption {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "consumption_id")
+    private Long consumptionId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // 소진된 적립 로트 (point_transactions.transaction_id)
+    @Column(name = "lot_transaction_id", nullable = false)
+    private Long lotTransactionId;
+
+    // 소진을 일으킨 차감 거래 (point_transactions.transaction_id)
+    @Column(name = "debit_transaction_id", nullable = false)
+    private Long debitTransactionId;
+
+    @Column(name = "points", nullable = false)
+    private Integer points;
+
+    // 주문 취소 등으로 로트에 되돌려준 포인트
+    @Column(name = "restored_points", nullable = false)
+    private Integer restoredPoints = 0;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public PointLotConsumption(Long userId, Long lotTransactionId, Long debitTransactionId, Integer points) {
+        this.userId = userId;
+        this.lotTransactionId = lotTransactionId;
+        this.debitTransactionId = debitTransactionId;
+        this.points = points;
+    }
+}
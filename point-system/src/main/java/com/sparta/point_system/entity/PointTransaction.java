@@ -9,7 +9,12 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "point_transactions")
+@Table(name = "point_transactions", indexes = {
+        @Index(name = "idx_point_transactions_user_id", columnList = "user_id"),
+        @Index(name = "idx_point_transactions_order_id", columnList = "order_id"),
+        @Index(name = "idx_point_transactions_user_lot", columnList = "user_id, expires_at, remaining_points"),
+        @Index(name = "idx_point_transactions_lot_expiry", columnList = "expires_at, remaining_points")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -43,6 +48,10 @@ public class PointTransaction {
     @Column(name = "expires_at")
     private LocalDateTime expiresAt;
     
+    // 적립 로트의 잔여 포인트 (적립/충전 등 양수 거래만 사용, 차감 거래는 null)
+    @Column(name = "remaining_points")
+    private Integer remainingPoints;
+    
     public enum TransactionType {
         EARNED, SPENT, EXPIRED, ADJUSTMENT
     }
@@ -29,6 +29,10 @@ public class Product {
     @Column(name = "stock", nullable = false)
     private Integer stock = 0;
     
+    // 선착순(플래시 세일) 모드 - 재고를 메모리 카운터에서 예약하고 DB에는 비동기로 반영 (켜고 끄는 API로만 변경)
+    @Column(name = "flash_sale", nullable = false, updatable = false)
+    private Boolean flashSale = false;
+    
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
     
@@ -0,0 +1,33 @@
+package com.sparta.point_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 누적 결제 금액 (PAID 상태 결제 합계)
+ * - 결제 상태가 바뀔 때 증감분만 반영하여, 멤버십 등급 계산 시 결제 내역을 다시 합산하지 않습니다.
+ */
+@Entity
+@Table(name = "user_spend_totals")
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserSpendTotal {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "total_paid_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalPaidAmount = BigDecimal.ZERO;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -1,7 +1,14 @@
 package com.sparta.point_system.repository;
 
+import com.sparta.point_system.dto.OrderSummary;
 import com.sparta.point_system.entity.Order;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,5 +24,28 @@ public interface OrderRepository extends JpaRepository<Order, String> {
     List<Order> findByUserIdAndStatus(Long userId, Order.OrderStatus status);
     
     Optional<Order> findByOrderId(String orderId);
-}
 
+    // 주문 취소와 결제 후속 처리(포인트 적립)가 같은 주문을 동시에 처리하지 않도록 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.orderId = :orderId")
+    Optional<Order> findByIdForUpdate(@Param("orderId") String orderId);
+
+    // 주문이 있는 사용자 ID를 오름차순으로 keyset 조회
+    @Query("select distinct o.userId from Order o where o.userId > :afterUserId order by o.userId")
+    List<Long> findUserIdsAfter(@Param("afterUserId") Long afterUserId, Pageable pageable);
+
+    // 목록 조회용 keyset 페이지 (orderId 문자열 오름차순)
+    List<OrderSummary> findByOrderIdGreaterThanOrderByOrderIdAsc(String orderId, Pageable pageable);
+
+    // 결제 대기 중인 주문만 취소 (결제 실패 웹훅과 결제 완료 요청이 겹쳐도 한 번만 성공)
+    @Modifying
+    @Query(value = "UPDATE orders SET status = 'CANCELLED' WHERE order_id = :orderId AND status = 'PENDING_PAYMENT'",
+            nativeQuery = true)
+    int cancelIfPending(@Param("orderId") String orderId);
+
+    // 재고 예약 표시를 내린 호출만 재고를 되돌리도록 조건부로 변경 (취소 경로가 여러 번 호출되어도 한 번만 성공)
+    @Modifying
+    @Query(value = "UPDATE orders SET stock_reserved = false WHERE order_id = :orderId AND stock_reserved = true",
+            nativeQuery = true)
+    int clearStockReserved(@Param("orderId") String orderId);
+}
@@ -0,0 +1,38 @@
+package com.sparta.point_system.repository;
+
+import com.sparta.point_system.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    boolean existsByEventTypeAndAggregateId(OutboxEvent.EventType eventType, String aggregateId);
+
+    // 처리 가능한 이벤트 - 재시도 시각이 된 PENDING 또는 점유가 만료된 PROCESSING
+    @Query("select e.eventId from OutboxEvent e " +
+            "where (e.status = :pending and e.nextAttemptAt <= :now) " +
+            "or (e.status = :processing and e.lockedUntil < :now) " +
+            "order by e.eventId")
+    List<Long> findDispatchableIds(@Param("pending") OutboxEvent.EventStatus pending,
+                                   @Param("processing") OutboxEvent.EventStatus processing,
+                                   @Param("now") LocalDateTime now,
+                                   Pageable pageable);
+
+    // 조건부 UPDATE로 이벤트 점유 (다른 디스패처가 먼저 가져갔으면 0건 반환)
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET status = 'PROCESSING', locked_until = :lockedUntil, attempts = attempts + 1 " +
+            "WHERE event_id = :eventId " +
+            "AND ((status = 'PENDING' AND next_attempt_at <= :now) OR (status = 'PROCESSING' AND locked_until < :now))",
+            nativeQuery = true)
+    int claim(@Param("eventId") Long eventId,
+              @Param("now") LocalDateTime now,
+              @Param("lockedUntil") LocalDateTime lockedUntil);
+}
@@ -1,9 +1,18 @@
 package com.sparta.point_system.repository;
 
+import com.sparta.point_system.dto.PaidPaymentResponse;
+import com.sparta.point_system.dto.PaymentSummary;
 import com.sparta.point_system.entity.Payment;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +21,38 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByOrderId(String orderId);
     
     Optional<Payment> findByImpUid(String impUid);
+
+    // 취소 반영 시 사용자 취소 요청과 웹훅이 같은 결제를 동시에 처리하지 않도록 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Payment p where p.paymentId = :paymentId")
+    Optional<Payment> findByIdForUpdate(@Param("paymentId") Long paymentId);
     
     List<Payment> findByStatus(Payment.PaymentStatus status);
     
     List<Payment> findByOrderIdInAndStatus(List<String> orderIds, Payment.PaymentStatus status);
-}
 
+    // 사용자의 결제 합계 (주문을 통해 사용자와 연결)
+    @Query("select coalesce(sum(p.amount), 0) from Payment p, Order o " +
+            "where o.orderId = p.orderId and o.userId = :userId and p.status = :status")
+    BigDecimal sumAmountByUserIdAndStatus(@Param("userId") Long userId, @Param("status") Payment.PaymentStatus status);
+
+    // 사용자 묶음별 결제 합계 - [userId, sum(amount)]
+    @Query("select o.userId, sum(p.amount) from Payment p, Order o " +
+            "where o.orderId = p.orderId and o.userId in :userIds and p.status = :status group by o.userId")
+    List<Object[]> sumAmountGroupByUserId(@Param("userIds") Collection<Long> userIds,
+                                          @Param("status") Payment.PaymentStatus status);
+
+    // 사용자의 결제 목록 (주문과 조인, 최신순 keyset 페이지) - paymentId < cursor
+    @Query("select new com.sparta.point_system.dto.PaidPaymentResponse(" +
+            "p.paymentId, p.orderId, p.impUid, p.amount, p.status, p.paymentMethod, p.paidAt, o.totalAmount, o.pointsUsed) " +
+            "from Order o join Payment p on p.orderId = o.orderId " +
+            "where o.userId = :userId and p.status = :status and p.paymentId < :cursor " +
+            "order by p.paymentId desc")
+    List<PaidPaymentResponse> findUserPaymentsBefore(@Param("userId") Long userId,
+                                                     @Param("status") Payment.PaymentStatus status,
+                                                     @Param("cursor") Long cursor,
+                                                     Pageable pageable);
+
+    // 목록 조회용 keyset 페이지 (paymentId 오름차순)
+    List<PaymentSummary> findByPaymentIdGreaterThanOrderByPaymentIdAsc(Long paymentId, Pageable pageable);
+}
@@ -0,0 +1,52 @@
+package com.sparta.point_system.repository;
+
+import com.sparta.point_system.entity.PointBalance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PointBalanceRepository extends JpaRepository<PointBalance, Long> {
+
+    @Query("select b.balance from PointBalance b where b.userId = :userId")
+    Optional<Integer> findBalanceByUserId(@Param("userId") Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<PointBalance> findByUserIdIn(Collection<Long> userIds);
+
+    // 잔액 증감 (스냅샷이 없으면 0건 반환)
+    @Modifying
+    @Query(value = "UPDATE point_balances SET balance = balance + :delta, updated_at = NOW() WHERE user_id = :userId",
+            nativeQuery = true)
+    int addBalance(@Param("userId") Long userId, @Param("delta") int delta);
+
+    // 잔액에서 reserved(사용 불가 포인트)를 뺀 나머지가 충분할 때만 차감
+    // (행 잠금으로 같은 사용자의 동시 차감은 직렬화되고, 부족하면 0건 반환)
+    @Modifying
+    @Query(value = "UPDATE point_balances SET balance = balance - :points, updated_at = NOW() " +
+            "WHERE user_id = :userId AND balance - :reserved >= :points",
+            nativeQuery = true)
+    int debitIfSufficient(@Param("userId") Long userId, @Param("points") int points, @Param("reserved") int reserved);
+
+    // 스냅샷이 없는 사용자를 현재 원장 합계로 초기화 (이미 있으면 무시)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO point_balances (user_id, balance, updated_at) " +
+            "SELECT :userId, COALESCE(SUM(points), 0), NOW() FROM point_transactions WHERE user_id = :userId",
+            nativeQuery = true)
+    int seedFromLedger(@Param("userId") Long userId);
+
+    // 재계산 작업용: 스냅샷을 주어진 값으로 덮어쓰기
+    @Modifying
+    @Query(value = "INSERT INTO point_balances (user_id, balance, updated_at) VALUES (:userId, :balance, NOW()) " +
+            "ON DUPLICATE KEY UPDATE balance = :balance, updated_at = NOW()",
+            nativeQuery = true)
+    int upsertBalance(@Param("userId") Long userId, @Param("balance") int balance);
+}
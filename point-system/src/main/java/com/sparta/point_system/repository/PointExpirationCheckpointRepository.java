@@ -0,0 +1,9 @@
+package com.sparta.point_system.repository;
+
+import com.sparta.point_system.entity.PointExpirationCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PointExpirationCheckpointRepository extends JpaRepository<PointExpirationCheckpoint, String> {
+}
@@ -0,0 +1,28 @@
+package com.sparta.point_system.repository;
+
+import com.sparta.point_system.entity.PointLotConsumption;
+import com.sparta.point_system.entity.PointTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PointLotConsumptionRepository extends JpaRepository<PointLotConsumption, Long> {
+
+    // 주문의 차감 거래가 소진한 로트 중 아직 되돌려주지 않은 내역 (최근 소진분부터)
+    @Query("select c from PointLotConsumption c where c.userId = :userId and c.points > c.restoredPoints " +
+            "and c.debitTransactionId in (select t.transactionId from PointTransaction t " +
+            "where t.userId = :userId and t.orderId = :orderId and t.type = :type) " +
+            "order by c.consumptionId desc")
+    List<PointLotConsumption> findRestorableByOrderId(@Param("userId") Long userId,
+                                                      @Param("orderId") String orderId,
+                                                      @Param("type") PointTransaction.TransactionType type);
+
+    @Modifying
+    @Query("delete from PointLotConsumption c where c.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
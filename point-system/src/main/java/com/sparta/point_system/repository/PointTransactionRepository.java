@@ -1,11 +1,22 @@
 package com.sparta.point_system.repository;
 
+import com.sparta.point_system.dto.PointTransactionSummary;
 import com.sparta.point_system.entity.PointTransaction;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PointTransactionRepository extends JpaRepository<PointTransaction, Long> {
@@ -14,7 +25,91 @@ public interface PointTransactionRepository extends JpaRepository<PointTransacti
     List<PointTransaction> findByUserIdAndType(Long userId, PointTransaction.TransactionType type);
     
     List<PointTransaction> findByOrderId(String orderId);
+
+    boolean existsByOrderIdAndType(String orderId, PointTransaction.TransactionType type);
+
+    // 잠금 읽기로 주문의 거래 내역 조회 (트랜잭션 시작 이후 다른 트랜잭션이 커밋한 행까지 반영)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from PointTransaction t where t.orderId = :orderId and t.type = :type")
+    List<PointTransaction> findByOrderIdAndTypeForUpdate(@Param("orderId") String orderId,
+                                                         @Param("type") PointTransaction.TransactionType type);
     
-    List<PointTransaction> findByExpiresAtBeforeAndType(LocalDateTime now, PointTransaction.TransactionType type);
-}
+    // 만료 대상 로트 keyset 조회 - (expires_at, transaction_id) 커서 이후를 청크 크기만큼 [transactionId, userId, expiresAt]로 반환
+    @Query("select t.transactionId, t.userId, t.expiresAt from PointTransaction t " +
+            "where t.remainingPoints > 0 and t.expiresAt < :cutoff " +
+            "and (t.expiresAt > :lastExpiresAt or (t.expiresAt = :lastExpiresAt and t.transactionId > :lastTransactionId)) " +
+            "order by t.expiresAt asc, t.transactionId asc")
+    List<Object[]> findExpiredLotKeysAfter(@Param("cutoff") LocalDateTime cutoff,
+                                           @Param("lastExpiresAt") LocalDateTime lastExpiresAt,
+                                           @Param("lastTransactionId") Long lastTransactionId,
+                                           Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from PointTransaction t where t.transactionId in :transactionIds")
+    List<PointTransaction> findLotsForUpdate(@Param("transactionIds") Collection<Long> transactionIds);
+
+    // 로트 이관 전 데이터 중 만료 기준 시각 이전에 만료되는 적립이 있는 사용자
+    @Query("select distinct t.userId from PointTransaction t where t.userId > :afterUserId " +
+            "and t.points > 0 and t.remainingPoints is null and t.expiresAt < :cutoff order by t.userId")
+    List<Long> findLegacyLotUserIdsAfter(@Param("afterUserId") Long afterUserId,
+                                         @Param("cutoff") LocalDateTime cutoff,
+                                         Pageable pageable);
+
+    List<PointTransaction> findByUserIdOrderByTransactionIdAsc(Long userId);
+
+    // 잔여 포인트가 남은 미만료 로트 - 만료가 빠른 순(만료 없음은 마지막), 같은 만료일이면 먼저 적립된 순
+    // (만료 시각이 지났지만 만료 배치가 아직 처리하지 않은 로트는 제외)
+    @Query("select t from PointTransaction t where t.userId = :userId and t.remainingPoints > 0 " +
+            "and (t.expiresAt is null or t.expiresAt > :now) " +
+            "order by t.expiresAt asc nulls last, t.transactionId asc")
+    List<PointTransaction> findOpenLots(@Param("userId") Long userId,
+                                        @Param("now") LocalDateTime now,
+                                        Pageable pageable);
+
+    @Query("select t from PointTransaction t where t.userId = :userId and t.orderId = :orderId " +
+            "and t.type = :type and t.remainingPoints > 0 and (t.expiresAt is null or t.expiresAt > :now) " +
+            "order by t.transactionId asc")
+    List<PointTransaction> findOpenLotsByOrderId(@Param("userId") Long userId,
+                                                 @Param("orderId") String orderId,
+                                                 @Param("type") PointTransaction.TransactionType type,
+                                                 @Param("now") LocalDateTime now);
 
+    // 만료 시각이 지났지만 만료 배치가 아직 처리하지 않은 잔여 포인트 합계 (잔액 스냅샷에는 아직 포함되어 있음)
+    @Query("select coalesce(sum(t.remainingPoints), 0) from PointTransaction t where t.userId = :userId " +
+            "and t.remainingPoints > 0 and t.expiresAt <= :now")
+    Long sumExpiredRemainingPoints(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // 로트 도입 이전에 적립된 거래(잔여 포인트 미기록)가 남아 있는지
+    boolean existsByUserIdAndPointsGreaterThanAndRemainingPointsIsNull(Long userId, Integer points);
+
+    // 기간 내 만료 예정 포인트 합계
+    @Query("select coalesce(sum(t.remainingPoints), 0) from PointTransaction t where t.userId = :userId " +
+            "and t.remainingPoints > 0 and t.expiresAt >= :from and t.expiresAt < :to")
+    Long sumRemainingPointsExpiringBetween(@Param("userId") Long userId,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
+
+    @Query("select coalesce(sum(t.points), 0) from PointTransaction t where t.userId = :userId")
+    Long sumPointsByUserId(@Param("userId") Long userId);
+
+    // 잔액 재계산 작업용: user_id 기준 keyset 페이지네이션
+    @Query("select distinct t.userId from PointTransaction t where t.userId > :afterUserId order by t.userId")
+    List<Long> findUserIdsAfter(@Param("afterUserId") Long afterUserId, Pageable pageable);
+
+    // [userId, sum(points)] 목록
+    @Query("select t.userId, sum(t.points) from PointTransaction t where t.userId in :userIds group by t.userId")
+    List<Object[]> sumPointsGroupByUserId(@Param("userIds") Collection<Long> userIds);
+
+    // 목록 조회용 keyset 페이지 (transactionId 오름차순)
+    List<PointTransactionSummary> findByTransactionIdGreaterThanOrderByTransactionIdAsc(Long transactionId, Pageable pageable);
+
+    // 사용자 원장 전체를 순방향 커서로 스트리밍 (MySQL 드라이버는 fetch size가 Integer.MIN_VALUE일 때 행 단위로 읽음)
+    // 반환된 Stream은 트랜잭션 안에서 소비하고 반드시 닫아야 합니다.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select t from PointTransaction t where t.userId = :userId order by t.transactionId")
+    Stream<PointTransaction> streamByUserIdOrderByTransactionIdAsc(@Param("userId") Long userId);
+}
@@ -1,10 +1,15 @@
 package com.sparta.point_system.repository;
 
+import com.sparta.point_system.dto.ProductSummary;
 import com.sparta.point_system.entity.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+    // 목록 조회용 keyset 페이지 (productId 오름차순)
+    List<ProductSummary> findByProductIdGreaterThanOrderByProductIdAsc(Long productId, Pageable pageable);
 }
-
@@ -1,6 +1,8 @@
 package com.sparta.point_system.repository;
 
+import com.sparta.point_system.dto.RefundSummary;
 import com.sparta.point_system.entity.Refund;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,5 +11,7 @@ import java.util.List;
 @Repository
 public interface RefundRepository extends JpaRepository<Refund, Long> {
     List<Refund> findByPaymentId(Long paymentId);
-}
 
+    // 목록 조회용 keyset 페이지 (refundId 오름차순)
+    List<RefundSummary> findByRefundIdGreaterThanOrderByRefundIdAsc(Long refundId, Pageable pageable);
+}
@@ -0,0 +1,47 @@
+package com.sparta.point_system.repository;
+
+import com.sparta.point_system.entity.UserSpendTotal;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserSpendTotalRepository extends JpaRepository<UserSpendTotal, Long> {
+
+    @Query("select s.totalPaidAmount from UserSpendTotal s where s.userId = :userId")
+    Optional<BigDecimal> findTotalPaidAmountByUserId(@Param("userId") Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<UserSpendTotal> findByUserIdIn(Collection<Long> userIds);
+
+    // 누적 금액 증감 (행이 없으면 0건 반환)
+    @Modifying
+    @Query(value = "UPDATE user_spend_totals SET total_paid_amount = total_paid_amount + :delta, updated_at = NOW() " +
+            "WHERE user_id = :userId",
+            nativeQuery = true)
+    int addAmount(@Param("userId") Long userId, @Param("delta") BigDecimal delta);
+
+    // 누적 금액이 없는 사용자를 현재 PAID 결제 합계로 초기화 (이미 있으면 무시)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_spend_totals (user_id, total_paid_amount, updated_at) " +
+            "SELECT :userId, COALESCE(SUM(p.amount), 0), NOW() FROM payments p " +
+            "JOIN orders o ON o.order_id = p.order_id WHERE o.user_id = :userId AND p.status = 'PAID'",
+            nativeQuery = true)
+    int seedFromPayments(@Param("userId") Long userId);
+
+    // 재집계 작업용: 누적 금액을 주어진 값으로 덮어쓰기
+    @Modifying
+    @Query(value = "INSERT INTO user_spend_totals (user_id, total_paid_amount, updated_at) VALUES (:userId, :amount, NOW()) " +
+            "ON DUPLICATE KEY UPDATE total_paid_amount = :amount, updated_at = NOW()",
+            nativeQuery = true)
+    int upsertTotal(@Param("userId") Long userId, @Param("amount") BigDecimal amount);
+}
@@ -0,0 +1,37 @@
+package com.sparta.point_system.scheduler;
+
+import com.sparta.point_system.service.FlashSaleStockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 선착순 재고 반영 스케줄러
+ * - 메모리에서 예약한 주문 아이템(stock_deferred)을 짧은 주기로 모아 products.stock에 반영합니다.
+ */
+@Component
+public class FlashSaleWriteBackScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlashSaleWriteBackScheduler.class);
+
+    private final FlashSaleStockService flashSaleStockService;
+
+    @Autowired
+    public FlashSaleWriteBackScheduler(FlashSaleStockService flashSaleStockService) {
+        this.flashSaleStockService = flashSaleStockService;
+    }
+
+    @Scheduled(fixedDelayString = "${flash-sale.writeback.interval-ms:500}")
+    public void writeBack() {
+        try {
+            int written = flashSaleStockService.writeBack();
+            if (written > 0) {
+                logger.debug("선착순 재고 반영 - 주문 아이템 {}개", written);
+            }
+        } catch (Exception e) {
+            logger.error("선착순 재고 반영 중 오류 발생", e);
+        }
+    }
+}
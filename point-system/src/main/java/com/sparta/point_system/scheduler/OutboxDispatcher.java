@@ -0,0 +1,111 @@
+package com.sparta.point_system.scheduler;
+
+import com.sparta.common.dispatch.ClaimDispatcher;
+import com.sparta.point_system.entity.OutboxEvent;
+import com.sparta.point_system.repository.OutboxEventRepository;
+import com.sparta.point_system.service.OutboxEventHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 아웃박스 디스패처
+ * - 주기적으로(또는 결제 커밋 직후 깨어나서) 처리할 이벤트를 점유해 작업 스레드 풀에서 처리합니다. (점유/재시도/메트릭은 ClaimDispatcher 공통)
+ * - 처리기 실행과 완료 표시는 한 트랜잭션으로 묶습니다.
+ */
+@Component
+public class OutboxDispatcher extends ClaimDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final Map<OutboxEvent.EventType, OutboxEventHandler> handlers = new EnumMap<>(OutboxEvent.EventType.class);
+
+    @Autowired
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            List<OutboxEventHandler> handlerList,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${outbox.dispatcher.batch-size:50}") int batchSize,
+                            @Value("${outbox.dispatcher.workers:4}") int workers,
+                            @Value("${outbox.dispatcher.queue-capacity:200}") int queueCapacity,
+                            @Value("${outbox.dispatcher.max-attempts:10}") int maxAttempts,
+                            @Value("${outbox.dispatcher.base-backoff-ms:1000}") long baseBackoffMs,
+                            @Value("${outbox.dispatcher.max-backoff-ms:300000}") long maxBackoffMs,
+                            @Value("${outbox.dispatcher.lease-seconds:60}") long leaseSeconds) {
+        super("outbox", "아웃박스 이벤트", "outbox.handler",
+                new Settings(batchSize, workers, queueCapacity, maxAttempts, baseBackoffMs, maxBackoffMs, leaseSeconds),
+                transactionManager, meterRegistry);
+        this.outboxEventRepository = outboxEventRepository;
+        for (OutboxEventHandler handler : handlerList) {
+            handlers.put(handler.getEventType(), handler);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.dispatcher.poll-interval-ms:1000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @Override
+    protected List<Long> findDispatchableIds(LocalDateTime now, int limit) {
+        return outboxEventRepository.findDispatchableIds(
+                OutboxEvent.EventStatus.PENDING, OutboxEvent.EventStatus.PROCESSING, now, PageRequest.of(0, limit));
+    }
+
+    @Override
+    protected int claim(Long eventId, LocalDateTime now, LocalDateTime lockedUntil) {
+        return outboxEventRepository.claim(eventId, now, lockedUntil);
+    }
+
+    @Override
+    protected void process(Long eventId) {
+        // 처리기 실행과 완료 표시를 한 트랜잭션으로 묶음
+        transactionTemplate.executeWithoutResult(status -> {
+            OutboxEvent event = outboxEventRepository.findById(eventId).orElse(null);
+            if (event == null || event.getStatus() != OutboxEvent.EventStatus.PROCESSING) {
+                return;
+            }
+            OutboxEventHandler handler = handlers.get(event.getEventType());
+            if (handler == null) {
+                throw new IllegalStateException("처리기가 없는 아웃박스 이벤트 유형: " + event.getEventType());
+            }
+            handler.handle(event);
+
+            event.setStatus(OutboxEvent.EventStatus.DONE);
+            event.setProcessedAt(LocalDateTime.now());
+            event.setLockedUntil(null);
+            event.setLastError(null);
+            outboxEventRepository.save(event);
+
+            recordLag(event.getEventType().name(), event.getCreatedAt(), event.getProcessedAt());
+        });
+    }
+
+    @Override
+    protected void saveFailure(Long eventId, Exception error) {
+        OutboxEvent event = outboxEventRepository.findById(eventId).orElse(null);
+        if (event == null) {
+            return;
+        }
+        LocalDateTime retryAt = retryAt(event.getAttempts());
+        event.setLastError(errorMessage(error));
+        event.setLockedUntil(null);
+        if (retryAt == null) {
+            event.setStatus(OutboxEvent.EventStatus.FAILED);
+        } else {
+            event.setStatus(OutboxEvent.EventStatus.PENDING);
+            event.setNextAttemptAt(retryAt);
+        }
+        outboxEventRepository.save(event);
+
+        recordFailure(event.getEventType().name(), eventId, event.getAttempts(), retryAt, error);
+    }
+}
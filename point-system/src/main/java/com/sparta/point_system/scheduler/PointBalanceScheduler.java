@@ -0,0 +1,39 @@
+package com.sparta.point_system.scheduler;
+
+import com.sparta.point_system.service.PointBalanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 포인트 잔액 스냅샷 검증 스케줄러
+ * - 매일 새벽 원장(point_transactions) 합계와 스냅샷(point_balances)을 비교하고 불일치를 복구합니다.
+ */
+@Component
+public class PointBalanceScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointBalanceScheduler.class);
+
+    private final PointBalanceService pointBalanceService;
+    private final boolean repair;
+
+    @Autowired
+    public PointBalanceScheduler(PointBalanceService pointBalanceService,
+                                 @Value("${point.balance.verify.repair:true}") boolean repair) {
+        this.pointBalanceService = pointBalanceService;
+        this.repair = repair;
+    }
+
+    @Scheduled(cron = "${point.balance.verify.cron:0 30 3 * * ?}") // 기본: 매일 03:30
+    public void verifyBalanceSnapshots() {
+        logger.info("포인트 잔액 스냅샷 검증 스케줄러 시작");
+        try {
+            pointBalanceService.rebuildSnapshots(repair);
+        } catch (Exception e) {
+            logger.error("포인트 잔액 스냅샷 검증 중 오류 발생", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.sparta.point_system.scheduler;
+
+import com.sparta.point_system.service.PointExpirationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 포인트 만료 스케줄러
+ * - 매일 새벽 유효기간이 지난 적립 로트를 만료 처리합니다. (중단된 실행이 있으면 체크포인트부터 재개)
+ */
+@Component
+public class PointExpirationScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointExpirationScheduler.class);
+
+    private final PointExpirationService pointExpirationService;
+
+    @Autowired
+    public PointExpirationScheduler(PointExpirationService pointExpirationService) {
+        this.pointExpirationService = pointExpirationService;
+    }
+
+    @Scheduled(cron = "${point.expiration.cron:0 0 4 * * ?}") // 기본: 매일 04:00
+    public void expirePoints() {
+        logger.info("포인트 만료 스케줄러 시작");
+        try {
+            pointExpirationService.runExpiration();
+        } catch (Exception e) {
+            logger.error("포인트 만료 처리 중 오류 발생 (다음 실행에서 체크포인트부터 재개)", e);
+        }
+    }
+}
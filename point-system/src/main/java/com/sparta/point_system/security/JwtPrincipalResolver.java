@@ -0,0 +1,113 @@
+package com.sparta.point_system.security;
+
+import com.sparta.point_system.repository.UserRepository;
+import com.sparta.point_system.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 요청의 JWT로 인증 사용자 결정
+ * - 기본: 토큰 클레임만으로 사용자를 구성 (DB 조회 없음)
+ * - jwt.principal.verify-user=true: 탈퇴/이메일 변경된 사용자의 토큰을 거부하기 위해 users 테이블로 확인하고,
+ *   확인된 토큰은 토큰 해시를 키로 하는 크기 제한 TTL 캐시에 보관하여 같은 토큰의 재조회를 막습니다.
+ */
+@Component
+public class JwtPrincipalResolver {
+
+    private final JwtUtil jwtUtil;
+    private final UserRepository userRepository;
+    private final boolean verifyUser;
+    private final long cacheTtlMillis;
+    private final Map<String, CachedPrincipal> verifiedTokens;
+
+    @Autowired
+    public JwtPrincipalResolver(JwtUtil jwtUtil,
+                                UserRepository userRepository,
+                                @Value("${jwt.principal.verify-user:false}") boolean verifyUser,
+                                @Value("${jwt.principal.cache.ttl-seconds:60}") long cacheTtlSeconds,
+                                @Value("${jwt.principal.cache.max-size:10000}") int cacheMaxSize) {
+        this.jwtUtil = jwtUtil;
+        this.userRepository = userRepository;
+        this.verifyUser = verifyUser;
+        this.cacheTtlMillis = cacheTtlSeconds * 1000;
+        // 접근 순서 LRU - 최대 크기를 넘으면 가장 오래 사용하지 않은 토큰부터 제거
+        this.verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                return size() > cacheMaxSize;
+            }
+        };
+    }
+
+    /**
+     * @return 유효한 토큰이면 인증 사용자, 아니면 null
+     */
+    public JwtUserPrincipal resolve(String token) {
+        if (!verifyUser) {
+            return jwtUtil.parsePrincipal(token);
+        }
+
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+        synchronized (verifiedTokens) {
+            CachedPrincipal cached = verifiedTokens.get(key);
+            if (cached != null) {
+                if (cached.expiresAtMillis > now) {
+                    return cached.principal;
+                }
+                verifiedTokens.remove(key);
+            }
+        }
+
+        JwtUserPrincipal principal = jwtUtil.parsePrincipal(token);
+        if (principal == null || !isActiveUser(principal)) {
+            return null;
+        }
+
+        // 토큰 만료 시각을 넘겨서 캐시하지 않음
+        long expiresAtMillis = now + cacheTtlMillis;
+        if (principal.getExpiresAt() != null) {
+            expiresAtMillis = Math.min(expiresAtMillis, principal.getExpiresAt().getTime());
+        }
+        synchronized (verifiedTokens) {
+            verifiedTokens.put(key, new CachedPrincipal(principal, expiresAtMillis));
+        }
+        return principal;
+    }
+
+    private boolean isActiveUser(JwtUserPrincipal principal) {
+        if (principal.getUserId() == null) {
+            return userRepository.findByEmail(principal.getEmail()).isPresent();
+        }
+        return userRepository.findById(principal.getUserId())
+                .map(user -> principal.getEmail().equals(user.getEmail()))
+                .orElse(false);
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private static class CachedPrincipal {
+        private final JwtUserPrincipal principal;
+        private final long expiresAtMillis;
+
+        private CachedPrincipal(JwtUserPrincipal principal, long expiresAtMillis) {
+            this.principal = principal;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.sparta.point_system.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * JWT 클레임으로 만든 인증 사용자
+ * - 토큰에 담긴 email(subject)과 userId만으로 구성하므로 요청마다 users 테이블을 조회하지 않습니다.
+ */
+public class JwtUserPrincipal implements UserDetails {
+
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final Long userId;
+    private final String email;
+    private final Date expiresAt;
+
+    public JwtUserPrincipal(Long userId, String email, Date expiresAt) {
+        this.userId = userId;
+        this.email = email;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -0,0 +1,21 @@
+package com.sparta.point_system.service;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 주문 생성(체크아웃)을 진행할 수 없을 때 발생 (상품 없음, 재고 부족, 포인트 부족 등)
+ * - 트랜잭션 안에서 던지면 포인트 차감/재고 예약/주문 저장이 모두 롤백됩니다.
+ */
+public class CheckoutException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public CheckoutException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,219 @@
+package com.sparta.point_system.service;
+
+import com.sparta.point_system.dto.PaymentRequestDto;
+import com.sparta.point_system.entity.Order;
+import com.sparta.point_system.entity.Product;
+import com.sparta.point_system.repository.OrderRepository;
+import com.sparta.point_system.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 생성(체크아웃)과 재고 예약/해제
+ * - 상품은 findAllById 한 번으로 조회하고, 주문 아이템 저장과 재고 차감은 각각 JDBC 배치 한 번으로 처리하여
+ *   장바구니 크기와 관계없이 DB 왕복 횟수가 일정합니다.
+ * - 재고 차감은 조건부 UPDATE(stock >= 수량)로 처리하여 동시 주문에도 재고가 음수가 되지 않으며,
+ *   한 상품이라도 부족하면 포인트 차감/주문 저장까지 모두 롤백합니다.
+ * - 예약한 재고는 결제 실패나 주문 취소 시 주문의 stock_reserved 표시를 내린 호출만 한 번 되돌립니다.
+ * - 선착순 모드인 상품은 DB 대신 FlashSaleStockService의 메모리 카운터에서 예약합니다.
+ */
+@Service
+public class CheckoutService {
+
+    private static final String INSERT_ORDER_ITEM_SQL =
+            "INSERT INTO order_items (order_id, product_id, quantity, price, stock_deferred) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String RESERVE_STOCK_SQL =
+            "UPDATE products SET stock = stock - ? WHERE product_id = ? AND stock >= ?";
+
+    // 같은 상품이 여러 아이템으로 나뉘어 있어도 합계만큼 한 번에 복구
+    private static final String RELEASE_STOCK_SQL =
+            "UPDATE products p JOIN (" +
+            "SELECT product_id, SUM(quantity) AS quantity FROM order_items WHERE order_id = ? GROUP BY product_id" +
+            ") i ON p.product_id = i.product_id SET p.stock = p.stock + i.quantity";
+
+    private static final String ORDER_QUANTITIES_SQL =
+            "SELECT product_id, SUM(quantity) FROM order_items WHERE order_id = ? GROUP BY product_id";
+
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final PointService pointService;
+    private final FlashSaleStockService flashSaleStockService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CheckoutService(ProductRepository productRepository,
+                           OrderRepository orderRepository,
+                           PointService pointService,
+                           FlashSaleStockService flashSaleStockService,
+                           JdbcTemplate jdbcTemplate) {
+        this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+        this.pointService = pointService;
+        this.flashSaleStockService = flashSaleStockService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 주문 생성 - 포인트 사용, 주문/주문 아이템 저장, 재고 예약을 한 트랜잭션으로 커밋
+     * @throws CheckoutException 상품이 없거나 재고/포인트가 부족한 경우 (모두 롤백)
+     */
+    @Transactional
+    public Order placeOrder(Long userId, PaymentRequestDto paymentRequest) {
+        List<PaymentRequestDto.OrderItemDto> items = paymentRequest.getOrderItems() != null
+                ? paymentRequest.getOrderItems()
+                : List.of();
+        Map<Long, Integer> quantities = aggregateQuantities(items);
+
+        // 1. 상품 존재 확인 (한 번에 조회)
+        if (!quantities.isEmpty()) {
+            Set<Long> foundIds = productRepository.findAllById(quantities.keySet()).stream()
+                    .map(Product::getProductId)
+                    .collect(Collectors.toSet());
+            for (Long productId : quantities.keySet()) {
+                if (!foundIds.contains(productId)) {
+                    System.err.println("상품을 찾을 수 없습니다. Product ID: " + productId);
+                    throw new CheckoutException(HttpStatus.BAD_REQUEST, "상품을 찾을 수 없습니다. Product ID: " + productId);
+                }
+            }
+        }
+
+        // 2. 포인트 사용 처리
+        if (paymentRequest.getPointsUsed() != null && paymentRequest.getPointsUsed() > 0) {
+            try {
+                pointService.usePoints(
+                    userId,
+                    paymentRequest.getPointsUsed(),
+                    paymentRequest.getOrderId(),
+                    "주문 결제 시 포인트 사용"
+                );
+            } catch (RuntimeException e) {
+                throw new CheckoutException(HttpStatus.BAD_REQUEST, "포인트 사용 실패: " + e.getMessage());
+            }
+        }
+
+        // 3. 주문 생성 (주문 아이템을 JDBC로 저장하므로 먼저 flush)
+        Order order = new Order();
+        order.setOrderId(paymentRequest.getOrderId());
+        order.setUserId(userId);
+        order.setTotalAmount(paymentRequest.getTotalAmount());
+        order.setPointsUsed(paymentRequest.getPointsUsed() != null ? paymentRequest.getPointsUsed() : 0);
+        order.setPointsDiscountAmount(paymentRequest.getPointsDiscountAmount() != null ?
+                paymentRequest.getPointsDiscountAmount() : BigDecimal.ZERO);
+        order.setStatus(Order.OrderStatus.PENDING_PAYMENT);
+        order.setStockReserved(!quantities.isEmpty());
+
+        Order savedOrder = orderRepository.saveAndFlush(order);
+        System.out.println("주문이 생성되었습니다. Order ID: " + savedOrder.getOrderId());
+
+        if (items.isEmpty()) {
+            return savedOrder;
+        }
+
+        // 4. 선착순 상품은 메모리에서 먼저 예약 (트랜잭션이 롤백되면 예약도 되돌아감)
+        Map<Long, Integer> deferred = flashSaleStockService.reserve(quantities);
+
+        // 5. 주문 아이템 저장 (JDBC 배치 1회) - 메모리에서 예약한 아이템은 나중에 DB 재고에 반영하도록 표시
+        List<Object[]> itemRows = new ArrayList<>(items.size());
+        for (PaymentRequestDto.OrderItemDto itemDto : items) {
+            itemRows.add(new Object[]{savedOrder.getOrderId(), itemDto.getProductId(), itemDto.getQuantity(), itemDto.getPrice(),
+                    deferred.containsKey(itemDto.getProductId())});
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM_SQL, itemRows);
+        System.out.println("주문 아이템 " + items.size() + "개가 저장되었습니다.");
+
+        // 6. 나머지 상품의 재고 예약 (JDBC 배치 1회) - 인기 상품 행의 잠금 시간을 줄이도록 트랜잭션 마지막에 실행
+        Map<Long, Integer> dbQuantities = new LinkedHashMap<>(quantities);
+        dbQuantities.keySet().removeAll(deferred.keySet());
+        if (!dbQuantities.isEmpty()) {
+            reserveStock(dbQuantities);
+        }
+        return savedOrder;
+    }
+
+    /**
+     * 결제 실패 시 결제 대기 중인 주문을 취소하고 예약한 재고와 사용한 포인트를 되돌림
+     * @return 이번 호출로 주문이 취소되었으면 true (이미 결제 완료/취소된 주문이면 false)
+     */
+    @Transactional
+    public boolean cancelPendingOrder(String orderId) {
+        if (orderRepository.cancelIfPending(orderId) == 0) {
+            return false;
+        }
+        releaseStock(orderId);
+
+        Optional<Order> orderOptional = orderRepository.findByOrderId(orderId);
+        if (orderOptional.isPresent() && orderOptional.get().getPointsUsed() != null
+                && orderOptional.get().getPointsUsed() > 0) {
+            Order order = orderOptional.get();
+            pointService.refundPoints(order.getUserId(), order.getPointsUsed(), orderId,
+                    "결제 실패로 인한 포인트 환불 (사용한 포인트 복구)");
+        }
+        System.out.println("결제 실패로 주문이 취소되었습니다. Order ID: " + orderId);
+        return true;
+    }
+
+    /**
+     * 주문이 예약한 재고를 되돌림 (주문 취소/환불 경로에서 호출, 호출하는 쪽의 트랜잭션에 참여)
+     * - 예약 표시를 내린 첫 호출만 재고를 복구하므로 여러 번 호출되어도 안전합니다.
+     */
+    @Transactional
+    public void releaseStock(String orderId) {
+        if (orderRepository.clearStockReserved(orderId) == 0) {
+            return; // 재고를 예약하지 않은 주문이거나 이미 해제됨
+        }
+        int products = jdbcTemplate.update(RELEASE_STOCK_SQL, orderId);
+
+        // 선착순 상품은 메모리 카운터도 되돌림 (DB 재고가 커밋된 뒤)
+        if (flashSaleStockService.hasActiveProducts()) {
+            Map<Long, Integer> quantities = new HashMap<>();
+            jdbcTemplate.query(ORDER_QUANTITIES_SQL,
+                    rs -> { quantities.put(rs.getLong(1), rs.getInt(2)); }, orderId);
+            flashSaleStockService.releaseAfterCommit(quantities);
+        }
+        System.out.println("예약 재고 해제 완료 - Order ID: " + orderId + ", 상품 " + products + "종");
+    }
+
+    // 상품 ID 오름차순으로 차감 - 동시 주문이 같은 상품들을 다른 순서로 담아도 행 잠금 순서가 같아 교착되지 않음
+    private void reserveStock(Map<Long, Integer> quantities) {
+        List<Object[]> rows = new ArrayList<>(quantities.size());
+        List<Long> productIds = new ArrayList<>(quantities.size());
+        new TreeMap<>(quantities).forEach((productId, quantity) -> {
+            rows.add(new Object[]{quantity, productId, quantity});
+            productIds.add(productId);
+        });
+
+        int[] updated = jdbcTemplate.batchUpdate(RESERVE_STOCK_SQL, rows);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                throw new CheckoutException(HttpStatus.BAD_REQUEST, "재고가 부족합니다. Product ID: " + productIds.get(i));
+            }
+        }
+    }
+
+    // 상품별 주문 수량 합계 (같은 상품이 여러 번 담긴 경우 한 번에 예약), 삽입 순서 유지
+    private Map<Long, Integer> aggregateQuantities(List<PaymentRequestDto.OrderItemDto> items) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (PaymentRequestDto.OrderItemDto itemDto : items) {
+            if (itemDto.getProductId() == null || itemDto.getQuantity() == null || itemDto.getQuantity() <= 0) {
+                throw new CheckoutException(HttpStatus.BAD_REQUEST, "주문 아이템의 상품 ID와 수량(1 이상)은 필수입니다.");
+            }
+            quantities.merge(itemDto.getProductId(), itemDto.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+}
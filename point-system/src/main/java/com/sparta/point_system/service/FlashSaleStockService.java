@@ -0,0 +1,272 @@
+package com.sparta.point_system.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 선착순(플래시 세일) 재고 - 상품별로 켜는 모드
+ * - 켜진 상품은 재고를 메모리의 분산 카운터(StripedStockCounter)에서 예약하여 products 행 잠금 경쟁 없이 주문을 받습니다.
+ * - 예약한 주문 아이템은 stock_deferred로 표시하고, 반영 배치가 모아서 products.stock에서 한 번에 차감합니다.
+ * - 재시작(또는 모드를 켤 때) 카운터는 "products.stock - 아직 반영하지 않은 주문 아이템 수량"으로 다시 맞춥니다.
+ * - 카운터는 인스턴스 메모리에 있으므로, 선착순 상품의 주문은 한 인스턴스에서만 받아야 합니다 (여러 인스턴스가 각자 전체 재고를 판매하지 않도록).
+ */
+@Service
+public class FlashSaleStockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlashSaleStockService.class);
+
+    private static final String FLASH_SALE_PRODUCTS_SQL =
+            "SELECT product_id FROM products WHERE flash_sale = true";
+
+    private static final String SET_FLASH_SALE_SQL =
+            "UPDATE products SET flash_sale = ? WHERE product_id = ?";
+
+    // 판매 가능 재고 = DB 재고 - 메모리에서 예약했지만 아직 DB에 반영하지 않은 수량
+    private static final String AVAILABLE_STOCK_SQL =
+            "SELECT p.stock - COALESCE((SELECT SUM(oi.quantity) FROM order_items oi " +
+            "WHERE oi.product_id = p.product_id AND oi.stock_deferred = true), 0) " +
+            "FROM products p WHERE p.product_id = ?";
+
+    // 여러 인스턴스의 반영 배치가 같은 아이템을 두 번 차감하지 않도록 잠그고, 잠긴 행은 건너뜀
+    private static final String SELECT_DEFERRED_SQL =
+            "SELECT order_item_id, product_id, quantity FROM order_items WHERE stock_deferred = true " +
+            "ORDER BY order_item_id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String WRITE_BACK_STOCK_SQL =
+            "UPDATE products SET stock = stock - ? WHERE product_id = ?";
+
+    private static final String CLEAR_DEFERRED_SQL =
+            "UPDATE order_items SET stock_deferred = false WHERE order_item_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int stripes;
+    private final int writeBackBatchSize;
+
+    private final Map<Long, StripedStockCounter> counters = new ConcurrentHashMap<>();
+
+    private final Counter acceptedReservations;
+    private final Counter rejectedReservations;
+    private final Counter writtenBackItems;
+
+    @Autowired
+    public FlashSaleStockService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${flash-sale.stripes:16}") int stripes,
+                                 @Value("${flash-sale.writeback.batch-size:500}") int writeBackBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = stripes;
+        this.writeBackBatchSize = writeBackBatchSize;
+
+        this.acceptedReservations = Counter.builder("flash.sale.reservations")
+                .description("선착순 상품 메모리 재고 예약 수")
+                .tag("result", "accepted")
+                .register(meterRegistry);
+        this.rejectedReservations = Counter.builder("flash.sale.reservations")
+                .description("선착순 상품 메모리 재고 예약 수")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        this.writtenBackItems = Counter.builder("flash.sale.writeback.items")
+                .description("products.stock에 반영한 선착순 주문 아이템 수")
+                .register(meterRegistry);
+        Gauge.builder("flash.sale.products", counters, Map::size)
+                .description("선착순 모드로 판매 중인 상품 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 재시작 복구 - 선착순 모드인 상품의 카운터를 DB 재고와 미반영 주문 아이템으로 다시 맞춤
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverCounters() {
+        List<Long> productIds = jdbcTemplate.queryForList(FLASH_SALE_PRODUCTS_SQL, Long.class);
+        for (Long productId : productIds) {
+            loadCounter(productId);
+        }
+        if (!productIds.isEmpty()) {
+            logger.info("선착순 재고 카운터 복구 완료 - 상품 {}개", productIds.size());
+        }
+    }
+
+    /**
+     * 선착순 모드 켜기 (판매 시작 전에 호출)
+     * @return 메모리 카운터에 올린 판매 가능 재고
+     */
+    public long enable(Long productId) {
+        if (jdbcTemplate.update(SET_FLASH_SALE_SQL, true, productId) == 0) {
+            throw new RuntimeException("Product not found with id: " + productId);
+        }
+        return loadCounter(productId);
+    }
+
+    /**
+     * 선착순 모드 끄기 - 이후 주문은 DB 조건부 UPDATE로 예약하며, 남은 미반영 수량은 바로 반영
+     */
+    public void disable(Long productId) {
+        if (jdbcTemplate.update(SET_FLASH_SALE_SQL, false, productId) == 0) {
+            throw new RuntimeException("Product not found with id: " + productId);
+        }
+        counters.remove(productId);
+        writeBack();
+        logger.info("선착순 모드 해제 - Product ID: {}", productId);
+    }
+
+    /**
+     * DB 재고를 직접 바꾼 경우(관리자 재고 수정 등) 카운터를 다시 맞춤
+     */
+    public void reload(Long productId) {
+        if (counters.containsKey(productId)) {
+            loadCounter(productId);
+        }
+    }
+
+    public boolean isActive(Long productId) {
+        return counters.containsKey(productId);
+    }
+
+    public boolean hasActiveProducts() {
+        return !counters.isEmpty();
+    }
+
+    /**
+     * @return 메모리 카운터의 판매 가능 재고, 선착순 모드가 아니면 null
+     */
+    public Long getAvailableStock(Long productId) {
+        StripedStockCounter counter = counters.get(productId);
+        return counter != null ? counter.available() : null;
+    }
+
+    /**
+     * 선착순 상품의 재고를 메모리에서 예약 (현재 트랜잭션이 롤백되면 예약도 되돌림)
+     * @return 메모리에서 예약한 상품 ID와 수량 (선착순 모드가 아닌 상품은 제외 - 호출자가 DB에서 예약)
+     * @throws CheckoutException 선착순 상품의 재고가 부족한 경우
+     */
+    public Map<Long, Integer> reserve(Map<Long, Integer> quantities) {
+        Map<Long, Integer> reserved = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            StripedStockCounter counter = counters.get(entry.getKey());
+            if (counter == null) {
+                continue;
+            }
+            if (!counter.tryReserve(entry.getValue())) {
+                rejectedReservations.increment();
+                release(reserved);
+                throw new CheckoutException(HttpStatus.BAD_REQUEST, "재고가 부족합니다. Product ID: " + entry.getKey());
+            }
+            reserved.put(entry.getKey(), entry.getValue());
+        }
+        if (reserved.isEmpty()) {
+            return reserved;
+        }
+
+        acceptedReservations.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(reserved);
+                    }
+                }
+            });
+        }
+        return reserved;
+    }
+
+    /**
+     * 주문 취소로 DB 재고를 되돌린 뒤 메모리 카운터도 되돌림 (현재 트랜잭션이 커밋된 후 반영)
+     */
+    public void releaseAfterCommit(Map<Long, Integer> quantities) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(quantities);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(quantities);
+            }
+        });
+    }
+
+    /**
+     * 메모리에서 예약한 수량을 products.stock에 반영 (청크마다 차감과 반영 표시 해제를 한 트랜잭션으로 커밋)
+     * @return 반영한 주문 아이템 수
+     */
+    public int writeBack() {
+        int total = 0;
+        while (true) {
+            Integer written = transactionTemplate.execute(status -> writeBackChunk());
+            if (written == null || written == 0) {
+                return total;
+            }
+            total += written;
+            writtenBackItems.increment(written);
+            if (written < writeBackBatchSize) {
+                return total;
+            }
+        }
+    }
+
+    private int writeBackChunk() {
+        List<long[]> items = jdbcTemplate.query(SELECT_DEFERRED_SQL,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getInt(3)},
+                writeBackBatchSize);
+        if (items.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Long> quantityByProduct = new TreeMap<>(); // 상품 ID 순서로 차감 (동시 반영/주문과 잠금 순서를 맞춤)
+        List<Object[]> itemIds = new ArrayList<>(items.size());
+        for (long[] item : items) {
+            itemIds.add(new Object[]{item[0]});
+            quantityByProduct.merge(item[1], item[2], Long::sum);
+        }
+        List<Object[]> stockRows = new ArrayList<>(quantityByProduct.size());
+        quantityByProduct.forEach((productId, quantity) -> stockRows.add(new Object[]{quantity, productId}));
+
+        jdbcTemplate.batchUpdate(WRITE_BACK_STOCK_SQL, stockRows);
+        jdbcTemplate.batchUpdate(CLEAR_DEFERRED_SQL, itemIds);
+        return items.size();
+    }
+
+    private long loadCounter(Long productId) {
+        Long available = jdbcTemplate.queryForObject(AVAILABLE_STOCK_SQL, Long.class, productId);
+        long stock = available != null ? Math.max(available, 0) : 0;
+        counters.put(productId, new StripedStockCounter(stripes, stock));
+        logger.info("선착순 재고 카운터 적재 - Product ID: {}, 판매 가능 재고: {}", productId, stock);
+        return stock;
+    }
+
+    private void release(Map<Long, Integer> quantities) {
+        quantities.forEach((productId, quantity) -> {
+            StripedStockCounter counter = counters.get(productId);
+            if (counter != null) {
+                counter.release(quantity);
+            }
+        });
+    }
+}
@@ -0,0 +1,164 @@
+package com.sparta.point_system.service;
+
+import com.sparta.point_system.entity.MembershipLevel;
+import com.sparta.point_system.repository.MembershipLevelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * 멤버십 등급 카탈로그 (메모리 캐시)
+ * - 등급 정보는 거의 바뀌지 않으므로 시작 시 한 번 읽어 두고, 등급 변경 API에서 refresh()로 다시 읽습니다.
+ * - 총 결제 금액 → 등급 매핑은 상한 금액 기준 NavigableMap으로 미리 계산해 둡니다.
+ */
+@Component
+public class MembershipLevelCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(MembershipLevelCatalog.class);
+
+    public static final String NORMAL = "Normal";
+    public static final String VIP = "VIP";
+    public static final String VVIP = "VVIP";
+
+    // 등급별 총 결제 금액 상한 (이하) - 마지막 등급(VVIP)은 상한 없음
+    private static final NavigableMap<BigDecimal, String> LEVEL_UPPER_BOUNDS = new TreeMap<>(Map.of(
+            new BigDecimal("50000"), NORMAL,
+            new BigDecimal("100000"), VIP
+    ));
+    private static final String TOP_LEVEL = VVIP;
+
+    private final MembershipLevelRepository membershipLevelRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public MembershipLevelCatalog(MembershipLevelRepository membershipLevelRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.membershipLevelRepository = membershipLevelRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * DB에서 등급 정보를 다시 읽어 캐시 교체 (기본 등급이 없으면 생성)
+     */
+    public synchronized void refresh() {
+        List<MembershipLevel> levels = transactionTemplate.execute(status -> {
+            seedDefaultLevel(NORMAL, "0.01", "일반 등급 - 기본 1% 포인트 적립");
+            seedDefaultLevel(VIP, "0.05", "우수 등급 - 5% 포인트 적립");
+            seedDefaultLevel(VVIP, "0.10", "최우수 등급 - 10% 포인트 적립");
+            return membershipLevelRepository.findAll();
+        });
+        snapshot = new Snapshot(levels);
+        logger.info("멤버십 등급 카탈로그 로드 완료 - 등급 수: {}", levels.size());
+    }
+
+    private void seedDefaultLevel(String name, String accrualRate, String benefitsDescription) {
+        if (membershipLevelRepository.findByName(name).isEmpty()) {
+            membershipLevelRepository.save(new MembershipLevel(name, new BigDecimal(accrualRate), benefitsDescription));
+        }
+    }
+
+    public List<MembershipLevel> getAll() {
+        return current().all;
+    }
+
+    public Optional<MembershipLevel> findById(Long levelId) {
+        return Optional.ofNullable(current().byId.get(levelId));
+    }
+
+    public Optional<MembershipLevel> findByName(String name) {
+        return Optional.ofNullable(current().byName.get(name));
+    }
+
+    /**
+     * 등급 조회 (없는 등급이면 Normal 등급으로 대체)
+     */
+    public MembershipLevel getByIdOrDefault(Long levelId) {
+        MembershipLevel level = levelId != null ? current().byId.get(levelId) : null;
+        if (level == null) {
+            System.err.println("멤버십 등급 정보를 찾을 수 없습니다. Level ID: " + levelId + ", Normal 등급으로 대체합니다.");
+            return getDefaultLevel();
+        }
+        return level;
+    }
+
+    public MembershipLevel getDefaultLevel() {
+        return getRequiredByName(NORMAL);
+    }
+
+    /**
+     * 총 결제 금액에 해당하는 등급
+     * - 5만원 이하: Normal / 10만원 이하: VIP / 그 이상: VVIP
+     */
+    public MembershipLevel resolveByTotalPaymentAmount(BigDecimal totalPaymentAmount) {
+        Snapshot current = current();
+        Map.Entry<BigDecimal, MembershipLevel> entry = current.thresholds.ceilingEntry(totalPaymentAmount);
+        MembershipLevel level = entry != null ? entry.getValue() : current.topLevel;
+        return level != null ? level : getDefaultLevel();
+    }
+
+    private MembershipLevel getRequiredByName(String name) {
+        MembershipLevel level = current().byName.get(name);
+        if (level == null) {
+            // 관리자가 기본 등급을 삭제한 경우 다시 생성
+            refresh();
+            level = current().byName.get(name);
+        }
+        return level;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    /**
+     * 한 번에 교체되는 불변 캐시
+     */
+    private static class Snapshot {
+        private final List<MembershipLevel> all;
+        private final Map<Long, MembershipLevel> byId = new HashMap<>();
+        private final Map<String, MembershipLevel> byName = new HashMap<>();
+        private final NavigableMap<BigDecimal, MembershipLevel> thresholds = new TreeMap<>();
+        private final MembershipLevel topLevel;
+
+        private Snapshot(List<MembershipLevel> levels) {
+            this.all = Collections.unmodifiableList(levels);
+            for (MembershipLevel level : levels) {
+                byId.put(level.getLevelId(), level);
+                byName.put(level.getName(), level);
+            }
+            LEVEL_UPPER_BOUNDS.forEach((upperBound, name) -> {
+                MembershipLevel level = byName.get(name);
+                if (level != null) {
+                    thresholds.put(upperBound, level);
+                }
+            });
+            this.topLevel = byName.get(TOP_LEVEL);
+        }
+    }
+}
@@ -3,11 +3,8 @@ package com.sparta.point_system.service;
 import com.sparta.point_system.entity.Membership;
 import com.sparta.point_system.entity.MembershipLevel;
 import com.sparta.point_system.entity.Order;
-import com.sparta.point_system.entity.Payment;
 import com.sparta.point_system.repository.MembershipRepository;
-import com.sparta.point_system.repository.MembershipLevelRepository;
 import com.sparta.point_system.repository.OrderRepository;
-import com.sparta.point_system.repository.PaymentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,13 +21,13 @@ public class MembershipService {
     private MembershipRepository membershipRepository;
 
     @Autowired
-    private MembershipLevelRepository membershipLevelRepository;
+    private MembershipLevelCatalog membershipLevelCatalog;
 
     @Autowired
     private OrderRepository orderRepository;
 
     @Autowired
-    private PaymentRepository paymentRepository;
+    private UserSpendService userSpendService;
 
     /**
      * 사용자의 멤버십 등급에 따른 포인트 적립률 조회
@@ -43,12 +40,8 @@ public class MembershipService {
                 return createDefaultMembership(userId);
             });
 
-        MembershipLevel level = membershipLevelRepository.findById(membership.getLevelId())
-            .orElseGet(() -> {
-                // 등급이 없으면 Normal 등급 생성
-                System.err.println("멤버십 등급 정보를 찾을 수 없습니다. Level ID: " + membership.getLevelId() + ", Normal 등급으로 대체합니다.");
-                return createDefaultMembershipLevel("Normal");
-            });
+        // 등급이 없으면 Normal 등급으로 대체 (등급 정보는 카탈로그 캐시에서 조회)
+        MembershipLevel level = membershipLevelCatalog.getByIdOrDefault(membership.getLevelId());
 
         return level.getPointAccrualRate();
     }
@@ -82,47 +75,21 @@ public class MembershipService {
 
     /**
      * 사용자의 총 결제 금액 계산 (환불 제외, PAID 상태의 결제만)
+     * - 결제 상태 변경 시 갱신되는 누적 금액(user_spend_totals)을 조회합니다.
      */
     @Transactional(readOnly = true)
     public BigDecimal calculateTotalPaidAmount(Long userId) {
-        List<Order> userOrders = orderRepository.findByUserId(userId);
-        List<String> orderIds = userOrders.stream()
-            .map(Order::getOrderId)
-            .toList();
-        
-        List<Payment> paidPayments = paymentRepository.findByOrderIdInAndStatus(orderIds, Payment.PaymentStatus.PAID);
-        
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        for (Payment payment : paidPayments) {
-            totalAmount = totalAmount.add(payment.getAmount());
-        }
-        
-        return totalAmount;
+        return userSpendService.getTotalPaidAmount(userId);
     }
 
     /**
      * 총 결제 금액에 따른 멤버십 등급 결정
      * - 5만원 이하: Normal (1%)
      * - 10만원 이하: VIP (5%)
-     * - 15만원 이상: VVIP (10%)
+     * - 그 이상: VVIP (10%)
      */
-    @Transactional
     public Long determineMembershipLevel(BigDecimal totalPaymentAmount) {
-        // Normal: 50,000원 이하
-        if (totalPaymentAmount.compareTo(new BigDecimal("50000")) <= 0) {
-            MembershipLevel normalLevel = createDefaultMembershipLevel("Normal");
-            return normalLevel.getLevelId();
-        }
-        
-        // VIP: 100,000원 이하
-        if (totalPaymentAmount.compareTo(new BigDecimal("100000")) <= 0) {
-            MembershipLevel vipLevel = createDefaultMembershipLevel("VIP");
-            return vipLevel.getLevelId();
-        }
-        
-        // VVIP: 150,000원 이상
-        MembershipLevel vvipLevel = createDefaultMembershipLevel("VVIP");
-        return vvipLevel.getLevelId();
+        return membershipLevelCatalog.resolveByTotalPaymentAmount(totalPaymentAmount).getLevelId();
     }
 
     /**
@@ -162,7 +129,7 @@ public class MembershipService {
      */
     @Transactional
     private Membership createDefaultMembership(Long userId) {
-        MembershipLevel normalLevel = createDefaultMembershipLevel("Normal");
+        MembershipLevel normalLevel = membershipLevelCatalog.getDefaultLevel();
         
         Membership membership = new Membership();
         membership.setUserId(userId);
@@ -178,20 +145,8 @@ public class MembershipService {
         try {
             Membership membership = getMembership(userId);
             
-            // Lazy Loading 문제 방지를 위해 명시적으로 조회
-            MembershipLevel level = membershipLevelRepository.findById(membership.getLevelId())
-                .orElseGet(() -> {
-                    // 등급이 없으면 Normal 등급 생성
-                    System.err.println("멤버십 등급 정보를 찾을 수 없습니다. Level ID: " + membership.getLevelId() + ", Normal 등급으로 대체합니다.");
-                    return createDefaultMembershipLevel("Normal");
-                });
-            
-            // 프록시 객체를 실제 엔티티로 초기화 (Lazy Loading 방지)
-            // level의 모든 필드에 접근하여 프록시를 초기화
-            level.getLevelId();
-            level.getName();
-            level.getPointAccrualRate();
-            level.getBenefitsDescription();
+            // 카탈로그 캐시의 등급은 이미 로드된 엔티티이므로 Lazy Loading 문제가 없음
+            MembershipLevel level = membershipLevelCatalog.getByIdOrDefault(membership.getLevelId());
             
             BigDecimal totalPaymentAmount = calculateTotalPaidAmount(userId);
             
@@ -200,43 +155,12 @@ public class MembershipService {
             System.err.println("getMembershipWithLevel 오류 발생: " + e.getMessage());
             e.printStackTrace();
             // 에러 발생 시 기본값 반환
-            MembershipLevel defaultLevel = createDefaultMembershipLevel("Normal");
+            MembershipLevel defaultLevel = membershipLevelCatalog.getDefaultLevel();
             Membership defaultMembership = createDefaultMembership(userId);
             return new MembershipWithLevel(defaultMembership, defaultLevel, BigDecimal.ZERO);
         }
     }
     
-    /**
-     * 기본 멤버십 등급 생성 (없을 경우)
-     */
-    @Transactional
-    private MembershipLevel createDefaultMembershipLevel(String levelName) {
-        Optional<MembershipLevel> existingLevel = membershipLevelRepository.findByName(levelName);
-        if (existingLevel.isPresent()) {
-            return existingLevel.get();
-        }
-        
-        MembershipLevel newLevel = new MembershipLevel();
-        newLevel.setName(levelName);
-        
-        // 등급별 적립률 설정
-        if ("Normal".equals(levelName)) {
-            newLevel.setPointAccrualRate(new BigDecimal("0.01"));
-            newLevel.setBenefitsDescription("일반 등급 - 기본 1% 포인트 적립");
-        } else if ("VIP".equals(levelName)) {
-            newLevel.setPointAccrualRate(new BigDecimal("0.05"));
-            newLevel.setBenefitsDescription("우수 등급 - 5% 포인트 적립");
-        } else if ("VVIP".equals(levelName)) {
-            newLevel.setPointAccrualRate(new BigDecimal("0.10"));
-            newLevel.setBenefitsDescription("최우수 등급 - 10% 포인트 적립");
-        } else {
-            newLevel.setPointAccrualRate(new BigDecimal("0.01"));
-            newLevel.setBenefitsDescription("일반 등급 - 기본 1% 포인트 적립");
-        }
-        
-        return membershipLevelRepository.save(newLevel);
-    }
-
     /**
      * 멤버십 정보와 등급을 함께 담는 DTO
      */
@@ -0,0 +1,30 @@
+package com.sparta.point_system.service;
+
+import com.sparta.point_system.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결제 완료 멤버십 등급 갱신 처리기
+ * - 누적 결제 금액으로 등급을 다시 계산하므로 여러 번 실행되어도 결과가 같습니다.
+ */
+@Component
+public class MembershipUpdateOutboxHandler implements OutboxEventHandler {
+
+    private final MembershipService membershipService;
+
+    @Autowired
+    public MembershipUpdateOutboxHandler(MembershipService membershipService) {
+        this.membershipService = membershipService;
+    }
+
+    @Override
+    public OutboxEvent.EventType getEventType() {
+        return OutboxEvent.EventType.MEMBERSHIP_UPDATE;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        membershipService.updateMembershipLevel(event.getUserId());
+    }
+}
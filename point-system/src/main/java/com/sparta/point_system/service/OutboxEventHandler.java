@@ -0,0 +1,15 @@
+package com.sparta.point_system.service;
+
+import com.sparta.point_system.entity.OutboxEvent;
+
+/**
+ * 아웃박스 이벤트 처리기
+ * - 같은 이벤트가 두 번 이상 전달될 수 있으므로 handle은 멱등이어야 합니다.
+ * - 디스패처가 연 트랜잭션 안에서 호출되며, 예외를 던지면 백오프 후 재시도됩니다.
+ */
+public interface OutboxEventHandler {
+
+    OutboxEvent.EventType getEventType();
+
+    void handle(OutboxEvent event);
+}
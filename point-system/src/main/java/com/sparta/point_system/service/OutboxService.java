@@ -0,0 +1,72 @@
+package com.sparta.point_system.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.point_system.entity.OutboxEvent;
+import com.sparta.point_system.repository.OutboxEventRepository;
+import com.sparta.point_system.scheduler.OutboxDispatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 아웃박스 이벤트 기록
+ * - 결제 트랜잭션 안에서만 호출되며, 커밋되면 디스패처를 즉시 깨워 지연을 줄입니다.
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDispatcher outboxDispatcher;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+                         OutboxDispatcher outboxDispatcher,
+                         ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxDispatcher = outboxDispatcher;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 결제 완료 후속 작업 기록 (포인트 적립 + 멤버십 등급 갱신)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueuePaymentCompleted(String orderId, Long userId, Integer pointsEarned, String description) {
+        if (pointsEarned != null && pointsEarned > 0) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("points", pointsEarned);
+            payload.put("description", description);
+            payload.put("expiresAt", LocalDateTime.now().plusYears(1).toString()); // 1년 후 만료
+            enqueue(OutboxEvent.EventType.POINT_EARN, orderId, userId, payload);
+        }
+        enqueue(OutboxEvent.EventType.MEMBERSHIP_UPDATE, orderId, userId, Map.of());
+    }
+
+    private void enqueue(OutboxEvent.EventType eventType, String aggregateId, Long userId, Map<String, Object> payload) {
+        if (outboxEventRepository.existsByEventTypeAndAggregateId(eventType, aggregateId)) {
+            return; // 같은 주문의 이벤트가 이미 기록됨 (결제 검증 재요청 등)
+        }
+
+        try {
+            outboxEventRepository.save(new OutboxEvent(eventType, aggregateId, userId, objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("아웃박스 이벤트 직렬화 실패: " + e.getMessage(), e);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxDispatcher.wakeUp();
+            }
+        });
+    }
+}
@@ -1,121 +1,216 @@
 package com.sparta.point_system.service;
 
-import com.sparta.point_system.client.PortOneClient;
+import com.sparta.point_system.client.PortOneTokenManager;
 import com.sparta.point_system.entity.Payment;
 import com.sparta.point_system.entity.Refund;
 import com.sparta.point_system.entity.Order;
 import com.sparta.point_system.repository.PaymentRepository;
 import com.sparta.point_system.repository.RefundRepository;
 import com.sparta.point_system.repository.OrderRepository;
+import com.sparta.portone.PortOneClient;
+import com.sparta.portone.PortOneUnavailableException;
+import com.sparta.portone.dto.PortOnePayment;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class PaymentService {
 
+    private static final int RECENT_VERIFICATION_CLEANUP_THRESHOLD = 10_000;
+
     private final PortOneClient portoneClient;
+    private final PortOneTokenManager portOneTokenManager;
     private final PaymentRepository paymentRepository;
     private final RefundRepository refundRepository;
     private final OrderRepository orderRepository;
     private final PointService pointService;
     private final MembershipService membershipService;
+    private final UserSpendService userSpendService;
+    private final OutboxService outboxService;
+    private final CheckoutService checkoutService;
     private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    // 같은 paymentId의 동시 검증이 공유하는 진행 중 검증
+    private final Map<String, Mono<Boolean>> inFlightVerifications = new ConcurrentHashMap<>();
+    // 검증 직후 들어온 요청에 돌려줄 최근 결과 (만료 시각까지)
+    private final Map<String, RecentVerification> recentVerifications = new ConcurrentHashMap<>();
+    private final Duration verificationResultTtl;
 
     @Autowired
-    public PaymentService(PortOneClient portoneClient, PaymentRepository paymentRepository, 
+    public PaymentService(PortOneClient portoneClient, PortOneTokenManager portOneTokenManager,
+                         PaymentRepository paymentRepository, 
                          RefundRepository refundRepository, OrderRepository orderRepository,
                          PointService pointService, MembershipService membershipService,
-                         ObjectMapper objectMapper) {
+                         UserSpendService userSpendService, OutboxService outboxService,
+                         CheckoutService checkoutService,
+                         ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                         @Value("${payment.verify.result-cache-ms:5000}") long verificationResultCacheMs) {
         this.portoneClient = portoneClient;
+        this.portOneTokenManager = portOneTokenManager;
         this.paymentRepository = paymentRepository;
         this.refundRepository = refundRepository;
         this.orderRepository = orderRepository;
         this.pointService = pointService;
         this.membershipService = membershipService;
+        this.userSpendService = userSpendService;
+        this.outboxService = outboxService;
+        this.checkoutService = checkoutService;
         this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.verificationResultTtl = Duration.ofMillis(verificationResultCacheMs);
     }
 
     public Mono<Boolean> verifyPayment(String paymentId) {
-        return portoneClient.getAccessToken()
-                .flatMap(accessToken -> portoneClient.getPaymentDetails(paymentId, accessToken))
-                .map(paymentDetails -> {
-                    System.out.println("결제 정보 조회 결과: " + paymentDetails);
-                    
-                    String status = (String) paymentDetails.get("status");
-                    if (status == null || !("PAID".equalsIgnoreCase(status) || "Paid".equalsIgnoreCase(status))) {
-                        System.out.println("결제 상태 오류: " + status);
-                        return false;
-                    }
+        return verifyAndApplyPayment(paymentId)
+                // 서킷 브레이커/벌크헤드에 의한 즉시 거절은 검증 실패가 아니므로 호출자에게 전달 (503 재시도 안내)
+                .onErrorReturn(e -> !(e instanceof PortOneUnavailableException), false);
+    }
 
-                    Map<String, Object> amountInfo = (Map<String, Object>) paymentDetails.get("amount");
-                    Integer paidAmount = 0;
-                    if (amountInfo != null) {
-                        Object totalObj = amountInfo.get("total");
-                        if (totalObj instanceof Number) {
-                            paidAmount = ((Number) totalObj).intValue();
-                        } else if (totalObj instanceof String) {
-                            try {
-                                paidAmount = Integer.parseInt((String) totalObj);
-                            } catch (NumberFormatException ignored) {
-                            }
-                        }
-                    }
-                    
-                    String orderName = (String) paymentDetails.get("orderName");
-                    String resolvedOrderId = resolveOrderId(paymentDetails, paymentId);
-                    
-                    System.out.println("결제 검증 성공!");
-                    System.out.println("결제 ID: " + paymentId);
-                    System.out.println("주문명: " + orderName);
-                    System.out.println("주문 ID: " + resolvedOrderId);
-                    System.out.println("결제 금액: " + paidAmount);
-                    
-                    try {
-                        savePaymentToDatabase(paymentId, resolvedOrderId, paidAmount, paymentDetails);
-                        System.out.println("=== 결제 정보 DB 저장 완료 ===");
-                    } catch (Exception e) {
-                        System.err.println("결제 정보 DB 저장 중 오류 발생: " + e.getMessage());
-                        e.printStackTrace();
+    /**
+     * 결제 검증 + 결제 완료 반영 (오류는 그대로 전달)
+     * - 프론트엔드와 웹훅이 같은 paymentId를 거의 동시에 검증하면, 진행 중인 하나의 검증(PortOne 조회 1회, DB 저장 1회)을 함께 기다립니다.
+     * - 검증이 끝난 직후에 들어온 요청은 잠시 보관한 결과로 응답하고, 오류는 보관하지 않아 다음 요청이 다시 검증합니다.
+     */
+    public Mono<Boolean> verifyAndApplyPayment(String paymentId) {
+        return Mono.defer(() -> {
+            RecentVerification recent = recentVerifications.get(paymentId);
+            if (recent != null && recent.expiresAt() > System.nanoTime()) {
+                return Mono.just(recent.result());
+            }
+            // cache(): 먼저 구독한 요청이 끊겨도 검증은 끝까지 진행되고, 함께 기다리던 요청들이 같은 결과를 받음
+            return inFlightVerifications.computeIfAbsent(paymentId, id -> fetchAndApplyPayment(id)
+                    .doOnNext(result -> rememberVerification(id, result))
+                    .doFinally(signal -> inFlightVerifications.remove(id))
+                    .cache());
+        });
+    }
+
+    private Mono<Boolean> fetchAndApplyPayment(String paymentId) {
+        // DB 조회/저장은 블로킹 호출이므로 이벤트 루프(PortOne 응답을 전달한 Netty 스레드)가 아닌 boundedElastic에서 실행
+        return Mono.fromCallable(() -> isAlreadyPaid(paymentId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(alreadyPaid -> {
+                    // 웹훅으로 이미 반영된 결제는 PortOne을 다시 조회하지 않고 바로 성공 처리
+                    if (alreadyPaid) {
+                        System.out.println("이미 결제 완료 처리됨 - Payment ID: " + paymentId);
+                        return Mono.just(true);
                     }
-                    
-                    return true;
-                })
-                .onErrorReturn(false);
+                    return portOneTokenManager.withAccessToken(accessToken -> portoneClient.getPaymentDetails(paymentId, accessToken))
+                            .publishOn(Schedulers.boundedElastic())
+                            .map(paymentDetails -> applyPaidPayment(paymentId, paymentDetails));
+                });
+    }
+
+    private void rememberVerification(String paymentId, boolean result) {
+        long now = System.nanoTime();
+        if (recentVerifications.size() > RECENT_VERIFICATION_CLEANUP_THRESHOLD) {
+            recentVerifications.values().removeIf(recent -> recent.expiresAt() <= now);
+        }
+        recentVerifications.put(paymentId, new RecentVerification(result, now + verificationResultTtl.toNanos()));
+    }
+
+    public boolean isAlreadyPaid(String paymentId) {
+        return paymentRepository.findByImpUid(paymentId)
+                .map(payment -> payment.getStatus() == Payment.PaymentStatus.PAID)
+                .orElse(false);
+    }
+
+    /**
+     * PortOne 결제 상세 정보를 검증하고 결제 완료를 반영 (결제 완료 요청과 웹훅 처리에서 공통으로 사용)
+     * @return 결제 상태가 PAID이면 true
+     */
+    public boolean applyPaidPayment(String paymentId, PortOnePayment paymentDetails) {
+        System.out.println("결제 정보 조회 결과: " + paymentDetails);
+        
+        String status = paymentDetails.status();
+        if (status == null || !("PAID".equalsIgnoreCase(status) || "Paid".equalsIgnoreCase(status))) {
+            System.out.println("결제 상태 오류: " + status);
+            if ("FAILED".equalsIgnoreCase(status)) {
+                try {
+                    applyFailedPayment(paymentId, paymentDetails);
+                } catch (Exception e) {
+                    System.err.println("결제 실패 반영 중 오류 발생: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+            return false;
+        }
+
+        Integer paidAmount = 0;
+        if (paymentDetails.amount() != null && paymentDetails.amount().total() != null) {
+            paidAmount = paymentDetails.amount().total().intValue();
+        }
+        
+        String orderName = paymentDetails.orderName();
+        String resolvedOrderId = resolveOrderId(paymentDetails, paymentId);
+        
+        System.out.println("결제 검증 성공!");
+        System.out.println("결제 ID: " + paymentId);
+        System.out.println("주문명: " + orderName);
+        System.out.println("주문 ID: " + resolvedOrderId);
+        System.out.println("결제 금액: " + paidAmount);
+        
+        try {
+            savePaymentToDatabase(paymentId, resolvedOrderId, paidAmount, paymentDetails);
+            System.out.println("=== 결제 정보 DB 저장 완료 ===");
+        } catch (Exception e) {
+            System.err.println("결제 정보 DB 저장 중 오류 발생: " + e.getMessage());
+            e.printStackTrace();
+        }
+        
+        return true;
+    }
+
+    /**
+     * 결제 실패 반영 - 결제 대기 중인 주문을 취소하고 예약한 재고와 사용한 포인트를 되돌림 (결제 완료 요청과 웹훅 처리에서 공통으로 사용)
+     * - 이미 결제 완료/취소된 주문은 건드리지 않으므로 여러 번 호출되어도 안전합니다.
+     */
+    public void applyFailedPayment(String paymentId, PortOnePayment paymentDetails) {
+        String orderId = resolveOrderId(paymentDetails, paymentId);
+        if (checkoutService.cancelPendingOrder(orderId)) {
+            System.out.println("결제 실패 반영 완료 - Payment ID: " + paymentId + ", Order ID: " + orderId);
+        }
     }
 
-    private String resolveOrderId(Map<String, Object> paymentDetails, String paymentId) {
+    private String resolveOrderId(PortOnePayment paymentDetails, String paymentId) {
         // 1) 최우선: customData에서 orderId 추출 (결제 요청 시 전달한 실제 주문 ID)
         // 이게 가장 중요함 - 결제 요청 시 생성된 주문 ID를 기준으로 통합 관리
-        Object customDataObj = paymentDetails.get("customData");
-        if (customDataObj != null) {
+        JsonNode customData = paymentDetails.customData();
+        if (customData != null) {
             try {
-                if (customDataObj instanceof Map) {
-                    // Map 형태인 경우
-                    Object orderIdInMap = ((Map<?, ?>) customDataObj).get("orderId");
-                    if (orderIdInMap instanceof String && !((String) orderIdInMap).isBlank()) {
-                        System.out.println("customData Map에서 orderId 추출: " + orderIdInMap);
-                        return (String) orderIdInMap;
+                if (customData.isObject()) {
+                    // 객체 형태인 경우
+                    JsonNode orderIdInData = customData.get("orderId");
+                    if (orderIdInData != null && orderIdInData.isTextual() && !orderIdInData.asText().isBlank()) {
+                        System.out.println("customData 객체에서 orderId 추출: " + orderIdInData.asText());
+                        return orderIdInData.asText();
                     }
-                } else if (customDataObj instanceof String) {
+                } else if (customData.isTextual()) {
                     // JSON 문자열인 경우 파싱
-                    String customDataStr = (String) customDataObj;
+                    String customDataStr = customData.asText();
                     if (!customDataStr.isBlank()) {
                         try {
-                            // JSON 문자열을 Map으로 파싱
-                            Map<String, Object> customDataMap = objectMapper.readValue(customDataStr, Map.class);
-                            Object orderIdInMap = customDataMap.get("orderId");
-                            if (orderIdInMap instanceof String && !((String) orderIdInMap).isBlank()) {
-                                System.out.println("customData JSON 문자열에서 orderId 추출: " + orderIdInMap);
-                                return (String) orderIdInMap;
+                            JsonNode orderIdInData = objectMapper.readTree(customDataStr).get("orderId");
+                            if (orderIdInData != null && orderIdInData.isTextual() && !orderIdInData.asText().isBlank()) {
+                                System.out.println("customData JSON 문자열에서 orderId 추출: " + orderIdInData.asText());
+                                return orderIdInData.asText();
                             }
                         } catch (Exception jsonParseException) {
                             // JSON 파싱 실패 시 간단한 문자열 파싱 시도
@@ -142,151 +237,231 @@ public class PaymentService {
             }
         }
 
-        // 2) merchantUid, merchantPaymentId, orderId (PortOne에서 제공하는 필드)
-        String[] candidateKeys = new String[]{"merchantUid", "merchantPaymentId", "orderId"};
-        for (String key : candidateKeys) {
-            Object value = paymentDetails.get(key);
-            if (value instanceof String && !((String) value).isBlank()) {
-                System.out.println("[" + key + "]에서 orderId 추출: " + value);
-                return (String) value;
-            }
+        // 2) merchantUid (API 버전에 따라 merchantPaymentId, orderId - PortOne에서 제공하는 필드)
+        String merchantUid = paymentDetails.merchantUid();
+        if (merchantUid != null && !merchantUid.isBlank()) {
+            System.out.println("[merchantUid]에서 orderId 추출: " + merchantUid);
+            return merchantUid;
         }
 
         // 3) 최후의 수단: payment.id를 사용 (경고와 함께)
-        Object id = paymentDetails.get("id");
-        if (id instanceof String && !((String) id).isBlank()) {
+        String id = paymentDetails.id();
+        if (id != null && !id.isBlank()) {
             System.err.println("[⚠️ 경고] customData에서 주문 ID를 찾을 수 없어 payment.id로 대체합니다: " + id);
             System.err.println("[⚠️ 경고] 이 경우 주문 정보가 없을 수 있으므로 주문을 자동 생성합니다.");
-            return (String) id;
+            return id;
         }
         System.err.println("[⚠️ 경고] 주문 ID를 찾을 수 없어 결제 ID로 대체합니다: " + paymentId);
         System.err.println("[⚠️ 경고] 이 경우 주문 정보가 없을 수 있으므로 주문을 자동 생성합니다.");
         return paymentId;
     }
 
-    @Transactional
-    private void savePaymentToDatabase(String paymentId, String orderId, Integer amount, Map<String, Object> paymentDetails) {
-        try {
-            System.out.println("savePaymentToDatabase 메서드 호출됨");
-            System.out.println("입력 파라미터 - paymentId: " + paymentId + ", orderId: " + orderId + ", amount: " + amount);
+    /**
+     * 결제 정보 저장 - 결제/주문/아웃박스 이벤트를 한 트랜잭션으로 커밋
+     * - 포인트 적립과 멤버십 등급 갱신은 커밋 후 아웃박스 디스패처가 비동기로 처리합니다.
+     */
+    private void savePaymentToDatabase(String paymentId, String orderId, Integer amount, PortOnePayment paymentDetails) {
+        transactionTemplate.executeWithoutResult(status ->
+                persistPaidPayment(paymentId, orderId, amount, paymentDetails));
+    }
+
+    private void persistPaidPayment(String paymentId, String orderId, Integer amount, PortOnePayment paymentDetails) {
+        System.out.println("savePaymentToDatabase 메서드 호출됨");
+        System.out.println("입력 파라미터 - paymentId: " + paymentId + ", orderId: " + orderId + ", amount: " + amount);
+        
+        Optional<Order> orderOptional = orderRepository.findByOrderId(orderId);
+        if (orderOptional.isEmpty()) {
+            // 주문을 찾을 수 없는 경우 - 이는 정상적인 흐름이 아님
+            // customData에서 orderId를 제대로 추출했다면 주문이 있어야 함
+            System.err.println("❌ [오류] 주문을 찾을 수 없습니다. Order ID: " + orderId);
+            System.err.println("❌ [오류] 이는 customData에서 orderId를 제대로 추출하지 못했거나, 주문이 생성되지 않았음을 의미합니다.");
+            System.err.println("❌ [오류] 주문 정보 없이 결제를 진행할 수 없으므로 자동으로 주문을 생성합니다.");
+            System.err.println("⚠️ [주의] 자동 생성된 주문은 포인트 사용 정보가 없을 수 있습니다.");
             
-            Optional<Order> orderOptional = orderRepository.findByOrderId(orderId);
-            if (orderOptional.isEmpty()) {
-                // 주문을 찾을 수 없는 경우 - 이는 정상적인 흐름이 아님
-                // customData에서 orderId를 제대로 추출했다면 주문이 있어야 함
-                System.err.println("❌ [오류] 주문을 찾을 수 없습니다. Order ID: " + orderId);
-                System.err.println("❌ [오류] 이는 customData에서 orderId를 제대로 추출하지 못했거나, 주문이 생성되지 않았음을 의미합니다.");
-                System.err.println("❌ [오류] 주문 정보 없이 결제를 진행할 수 없으므로 자동으로 주문을 생성합니다.");
-                System.err.println("⚠️ [주의] 자동 생성된 주문은 포인트 사용 정보가 없을 수 있습니다.");
-                
-                // 주문이 없으면 자동으로 생성 (단, 포인트 정보는 없을 수 있음)
-                Order newOrder = createOrderFromPaymentDetails(orderId, amount, paymentDetails);
-                if (newOrder != null) {
-                    orderRepository.save(newOrder);
-                    System.out.println("새 주문이 생성되었습니다. Order ID: " + orderId);
-                    System.out.println("⚠️ 주의: 자동 생성된 주문은 포인트 사용 정보가 없을 수 있습니다.");
-                    orderOptional = orderRepository.findByOrderId(orderId);
-                } else {
-                    System.err.println("주문 생성에 실패했습니다. Order ID: " + orderId);
-                    return;
-                }
+            // 주문이 없으면 자동으로 생성 (단, 포인트 정보는 없을 수 있음)
+            Order newOrder = createOrderFromPaymentDetails(orderId, amount, paymentDetails);
+            if (newOrder != null) {
+                orderRepository.save(newOrder);
+                System.out.println("새 주문이 생성되었습니다. Order ID: " + orderId);
+                System.out.println("⚠️ 주의: 자동 생성된 주문은 포인트 사용 정보가 없을 수 있습니다.");
+                orderOptional = orderRepository.findByOrderId(orderId);
             } else {
-                // 기존 주문이 있는 경우 포인트 정보 확인
-                Order existingOrder = orderOptional.get();
-                System.out.println("✅ 기존 주문 발견 - Order ID: " + orderId);
-                System.out.println("   - Points Used: " + existingOrder.getPointsUsed() + 
-                                 ", Points Discount: " + existingOrder.getPointsDiscountAmount());
-                System.out.println("   - User ID: " + existingOrder.getUserId());
-                System.out.println("   - Total Amount: " + existingOrder.getTotalAmount());
-            }
-            
-            if (orderOptional.isEmpty()) {
-                System.err.println("주문을 찾을 수 없습니다. Order ID: " + orderId);
+                System.err.println("주문 생성에 실패했습니다. Order ID: " + orderId);
                 return;
             }
-            
-            Order order = orderOptional.get();
-            
-            // 기존 결제가 있는지 확인 (imp_uid로 먼저, 없으면 order_id로)
-            Optional<Payment> existingPayment = paymentRepository.findByImpUid(paymentId);
-            if (existingPayment.isEmpty()) {
-                existingPayment = paymentRepository.findByOrderId(orderId);
-            }
-            
-            Payment payment;
-            if (existingPayment.isPresent()) {
-                // 기존 결제 업데이트
-                payment = existingPayment.get();
-                System.out.println("기존 결제 정보를 업데이트합니다. Payment ID: " + payment.getPaymentId());
-            } else {
-                // 새 결제 생성
-                payment = new Payment();
-                System.out.println("새 결제 정보를 생성합니다.");
-            }
-            
-            payment.setOrderId(orderId);
-            payment.setImpUid(paymentId);
-            payment.setAmount(BigDecimal.valueOf(amount));
-            payment.setStatus(Payment.PaymentStatus.PAID);
-            
-            Object payMethod = paymentDetails.get("payMethod");
-            if (payMethod == null) {
-                payMethod = paymentDetails.get("method");
-            }
-            if (payMethod instanceof String) {
-                payment.setPaymentMethod((String) payMethod);
-            }
-            
-            try {
-                Object paidAtObj = paymentDetails.get("paidAt");
-                if (paidAtObj instanceof String) {
-                    String paidAt = (String) paidAtObj;
-                    java.time.Instant instant = java.time.Instant.parse(paidAt);
-                    payment.setPaidAt(LocalDateTime.ofInstant(instant, java.time.ZoneId.systemDefault()));
-                }
-            } catch (Exception ignored) {
-            }
-            
-            paymentRepository.save(payment);
-            System.out.println("결제 정보가 데이터베이스에 저장되었습니다.");
-            
-            // 주문 상태 업데이트
-            order.setStatus(Order.OrderStatus.COMPLETED);
-            orderRepository.save(order);
-            System.out.println("주문 상태가 COMPLETED로 업데이트되었습니다. Order ID: " + orderId);
-            
-            // 포인트 적립 처리 (멤버십 등급에 따른 차등 적립)
-            Long userId = order.getUserId();
-            Integer pointsEarned = membershipService.calculateEarnedPoints(userId, order.getTotalAmount());
-            if (pointsEarned > 0) {
-                pointService.earnPoints(
-                    userId,
-                    pointsEarned,
-                    orderId,
-                    "주문 완료로 인한 포인트 적립 (멤버십 등급 반영)",
-                    LocalDateTime.now().plusYears(1) // 1년 후 만료
-                );
-            }
-            
-            // 멤버십 등급 자동 업데이트 (총 결제 금액 기준)
-            try {
-                membershipService.updateMembershipLevel(userId);
-                System.out.println("멤버십 등급이 자동 업데이트되었습니다. User ID: " + userId);
-            } catch (Exception e) {
-                System.err.println("멤버십 등급 업데이트 중 오류 발생: " + e.getMessage());
-                e.printStackTrace();
+        } else {
+            // 기존 주문이 있는 경우 포인트 정보 확인
+            Order existingOrder = orderOptional.get();
+            System.out.println("✅ 기존 주문 발견 - Order ID: " + orderId);
+            System.out.println("   - Points Used: " + existingOrder.getPointsUsed() + 
+                             ", Points Discount: " + existingOrder.getPointsDiscountAmount());
+            System.out.println("   - User ID: " + existingOrder.getUserId());
+            System.out.println("   - Total Amount: " + existingOrder.getTotalAmount());
+        }
+        
+        if (orderOptional.isEmpty()) {
+            System.err.println("주문을 찾을 수 없습니다. Order ID: " + orderId);
+            return;
+        }
+        
+        Order order = orderOptional.get();
+        
+        // 기존 결제가 있는지 확인 (imp_uid로 먼저, 없으면 order_id로)
+        Optional<Payment> existingPayment = paymentRepository.findByImpUid(paymentId);
+        if (existingPayment.isEmpty()) {
+            existingPayment = paymentRepository.findByOrderId(orderId);
+        }
+        
+        Payment payment;
+        if (existingPayment.isPresent()) {
+            // 기존 결제 업데이트
+            payment = existingPayment.get();
+            System.out.println("기존 결제 정보를 업데이트합니다. Payment ID: " + payment.getPaymentId());
+        } else {
+            // 새 결제 생성
+            payment = new Payment();
+            System.out.println("새 결제 정보를 생성합니다.");
+        }
+        
+        // 누적 결제 금액 반영 (결제 저장 전에 호출)
+        userSpendService.recordStatusChange(order.getUserId(),
+                payment.getStatus(), payment.getAmount(),
+                Payment.PaymentStatus.PAID, BigDecimal.valueOf(amount));
+        
+        payment.setOrderId(orderId);
+        payment.setImpUid(paymentId);
+        payment.setAmount(BigDecimal.valueOf(amount));
+        payment.setStatus(Payment.PaymentStatus.PAID);
+        
+        JsonNode payMethod = paymentDetails.payMethod();
+        if (payMethod != null && payMethod.isTextual()) {
+            payment.setPaymentMethod(payMethod.asText());
+        }
+        
+        try {
+            String paidAt = paymentDetails.paidAt();
+            if (paidAt != null) {
+                java.time.Instant instant = java.time.Instant.parse(paidAt);
+                payment.setPaidAt(LocalDateTime.ofInstant(instant, java.time.ZoneId.systemDefault()));
             }
-            
-        } catch (Exception e) {
-            System.err.println("결제 정보 저장 중 오류 발생: " + e.getMessage());
-            e.printStackTrace();
+        } catch (Exception ignored) {
         }
+        
+        paymentRepository.save(payment);
+        System.out.println("결제 정보가 데이터베이스에 저장되었습니다.");
+        
+        // 주문 상태 업데이트
+        order.setStatus(Order.OrderStatus.COMPLETED);
+        orderRepository.save(order);
+        System.out.println("주문 상태가 COMPLETED로 업데이트되었습니다. Order ID: " + orderId);
+        
+        // 포인트 적립(멤버십 등급에 따른 차등 적립)과 멤버십 등급 갱신은 아웃박스 이벤트로 기록
+        Long userId = order.getUserId();
+        Integer pointsEarned = membershipService.calculateEarnedPoints(userId, order.getTotalAmount());
+        outboxService.enqueuePaymentCompleted(orderId, userId, pointsEarned,
+                "주문 완료로 인한 포인트 적립 (멤버십 등급 반영)");
+        System.out.println("포인트 적립/멤버십 등급 갱신 이벤트가 기록되었습니다. Order ID: " + orderId);
+    }
+
+    /**
+     * 포인트 전액 결제 완료 처리 - 주문 완료, 결제 기록, 아웃박스 이벤트를 한 트랜잭션으로 커밋
+     * @return 적립 예정 포인트
+     */
+    @Transactional
+    public Integer completePointOnlyPayment(Order order) {
+        // 주문 상태를 COMPLETED로 변경
+        order.setStatus(Order.OrderStatus.COMPLETED);
+        orderRepository.save(order);
+        
+        // 누적 결제 금액 반영 (결제 저장 전에 호출)
+        userSpendService.recordStatusChange(order.getUserId(), null, null,
+                Payment.PaymentStatus.PAID, order.getTotalAmount());
+        
+        // Payment 레코드 생성 (포인트 전액 결제)
+        Payment payment = new Payment();
+        payment.setOrderId(order.getOrderId());
+        payment.setAmount(order.getTotalAmount());
+        payment.setStatus(Payment.PaymentStatus.PAID);
+        payment.setPaymentMethod("POINT");
+        payment.setPaidAt(LocalDateTime.now());
+        paymentRepository.save(payment);
+        
+        // 포인트 적립과 멤버십 등급 갱신은 커밋 후 비동기 처리
+        Integer pointsEarned = membershipService.calculateEarnedPoints(order.getUserId(), order.getTotalAmount());
+        outboxService.enqueuePaymentCompleted(order.getOrderId(), order.getUserId(), pointsEarned,
+                "포인트 전액 결제 완료로 인한 포인트 적립 (멤버십 등급 반영)");
+        return pointsEarned;
+    }
+
+    /**
+     * 결제 레코드 직접 생성 - 누적 결제 금액 반영과 결제 저장을 한 트랜잭션으로 커밋
+     * (저장이 실패하면 누적 결제 금액도 함께 롤백)
+     */
+    @Transactional
+    public Payment createPayment(Payment payment) {
+        userSpendService.recordStatusChangeForOrder(payment.getOrderId(), null, null,
+                payment.getStatus(), payment.getAmount());
+        return paymentRepository.saveAndFlush(payment);
+    }
+
+    /**
+     * 결제 레코드 직접 수정 - 누적 결제 금액 반영과 결제 저장을 한 트랜잭션으로 커밋
+     */
+    @Transactional
+    public Payment updatePayment(Long paymentId, BigDecimal amount, Payment.PaymentStatus status,
+                                 String paymentMethod, LocalDateTime paidAt) {
+        Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new RuntimeException("Payment not found with id: " + paymentId));
+        userSpendService.recordStatusChangeForOrder(payment.getOrderId(),
+                payment.getStatus(), payment.getAmount(),
+                status != null ? status : payment.getStatus(),
+                amount != null ? amount : payment.getAmount());
+        if (amount != null) payment.setAmount(amount);
+        if (status != null) payment.setStatus(status);
+        if (paymentMethod != null) payment.setPaymentMethod(paymentMethod);
+        if (paidAt != null) payment.setPaidAt(paidAt);
+        return paymentRepository.save(payment);
+    }
+
+    /**
+     * 결제 레코드 직접 삭제 - 누적 결제 금액 반영과 삭제를 한 트랜잭션으로 커밋
+     */
+    @Transactional
+    public void deletePayment(Long paymentId) {
+        paymentRepository.findById(paymentId).ifPresent(payment -> {
+            userSpendService.recordStatusChangeForOrder(payment.getOrderId(),
+                    payment.getStatus(), payment.getAmount(), null, null);
+            paymentRepository.delete(payment);
+        });
+    }
+
+    /**
+     * PortOne을 거치지 않은 결제(포인트 전액 결제 등)의 환불 기록
+     * - 결제 상태 변경(REFUNDED), 누적 결제 금액 반영, 환불 레코드 생성을 한 트랜잭션으로 커밋합니다.
+     * @param userId 주문 사용자 ID (주문이 없으면 null - 누적 결제 금액은 반영하지 않음)
+     */
+    @Transactional
+    public Refund recordPointOnlyRefund(Long paymentId, Long userId, BigDecimal refundAmount, String reason) {
+        Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new RuntimeException("Payment not found with id: " + paymentId));
+        userSpendService.recordStatusChange(userId,
+                payment.getStatus(), payment.getAmount(),
+                Payment.PaymentStatus.REFUNDED, payment.getAmount());
+        payment.setStatus(Payment.PaymentStatus.REFUNDED);
+        paymentRepository.save(payment);
+
+        Refund refund = new Refund();
+        refund.setPaymentId(payment.getPaymentId());
+        refund.setAmount(refundAmount);
+        refund.setReason(reason);
+        refund.setStatus(Refund.RefundStatus.COMPLETED);
+        return refundRepository.save(refund);
     }
 
     /**
      * 결제 상세 정보에서 주문을 자동 생성
      */
-    private Order createOrderFromPaymentDetails(String orderId, Integer amount, Map<String, Object> paymentDetails) {
+    private Order createOrderFromPaymentDetails(String orderId, Integer amount, PortOnePayment paymentDetails) {
         try {
             Order order = new Order();
             order.setOrderId(orderId);
@@ -296,19 +471,11 @@ public class PaymentService {
             order.setPointsDiscountAmount(BigDecimal.ZERO);
             
             // 고객 정보에서 user_id 추출 시도
-            Object customerObj = paymentDetails.get("customer");
-            if (customerObj instanceof Map) {
-                Map<String, Object> customer = (Map<String, Object>) customerObj;
-                Object customerId = customer.get("id");
-                if (customerId instanceof Number) {
-                    order.setUserId(((Number) customerId).longValue());
-                } else if (customerId instanceof String) {
-                    try {
-                        order.setUserId(Long.parseLong((String) customerId));
-                    } catch (NumberFormatException ignored) {
-                        order.setUserId(1L); // 기본값
-                    }
-                } else {
+            String customerId = paymentDetails.customer() != null ? paymentDetails.customer().id() : null;
+            if (customerId != null) {
+                try {
+                    order.setUserId(Long.parseLong(customerId));
+                } catch (NumberFormatException ignored) {
                     order.setUserId(1L); // 기본값
                 }
             } else {
@@ -331,47 +498,51 @@ public class PaymentService {
 
 
     public Mono<Boolean> cancelPayment(String paymentId, String reason) {
-        return portoneClient.getAccessToken()
-                .flatMap(accessToken ->
-                        portoneClient.getPaymentDetails(paymentId, accessToken)
-                                .flatMap(paymentDetails -> {
-                                    Object officialIdObj = paymentDetails.get("id");
-                                    String idToCancel = (officialIdObj instanceof String && !((String) officialIdObj).isBlank())
-                                            ? (String) officialIdObj
-                                            : paymentId;
-
-                                    return portoneClient.cancelPayment(idToCancel, accessToken, reason)
-                                            .map(cancelResult -> {
-                                                try {
-                                                    updateDatabaseAfterCancel(paymentDetails, idToCancel, reason, cancelResult);
-                                                } catch (Exception e) {
-                                                    System.err.println("취소 후 DB 업데이트 중 오류: " + e.getMessage());
-                                                    e.printStackTrace();
-                                                }
-                                                return true;
-                                            });
-                                })
-                                .onErrorResume(detailError -> {
-                                    return portoneClient.cancelPayment(paymentId, accessToken, reason)
-                                            .map(cancelResult -> {
-                                                try {
-                                                    updateDatabaseAfterCancel(null, paymentId, reason, cancelResult);
-                                                } catch (Exception e) {
-                                                    System.err.println("취소 후 DB 업데이트 중 오류: " + e.getMessage());
-                                                }
-                                                return true;
-                                            });
-                                })
-                )
+        // 취소 후 DB 반영(트랜잭션)은 이벤트 루프가 아닌 boundedElastic에서 실행
+        return portOneTokenManager.withAccessToken(accessToken -> portoneClient.getPaymentDetails(paymentId, accessToken))
+                .flatMap(paymentDetails -> {
+                    String idToCancel = paymentDetails.id() != null && !paymentDetails.id().isBlank()
+                            ? paymentDetails.id()
+                            : paymentId;
+
+                    return portOneTokenManager.withAccessToken(accessToken -> portoneClient.cancelPayment(idToCancel, accessToken, reason))
+                            .publishOn(Schedulers.boundedElastic())
+                            .map(cancelResult -> {
+                                try {
+                                    transactionTemplate.executeWithoutResult(status ->
+                                            updateDatabaseAfterCancel(paymentDetails, idToCancel, reason, cancelResult.refundAmount()));
+                                } catch (Exception e) {
+                                    System.err.println("취소 후 DB 업데이트 중 오류: " + e.getMessage());
+                                    e.printStackTrace();
+                                }
+                                return true;
+                            });
+                })
+                .onErrorResume(detailError -> !(detailError instanceof PortOneUnavailableException), detailError -> {
+                    return portOneTokenManager.withAccessToken(accessToken -> portoneClient.cancelPayment(paymentId, accessToken, reason))
+                            .publishOn(Schedulers.boundedElastic())
+                            .map(cancelResult -> {
+                                try {
+                                    transactionTemplate.executeWithoutResult(status ->
+                                            updateDatabaseAfterCancel(null, paymentId, reason, cancelResult.refundAmount()));
+                                } catch (Exception e) {
+                                    System.err.println("취소 후 DB 업데이트 중 오류: " + e.getMessage());
+                                }
+                                return true;
+                            });
+                })
                 .doOnError(e -> System.err.println("결제 취소 중 오류: " + e.getMessage()))
-                .onErrorReturn(false);
+                .onErrorReturn(e -> !(e instanceof PortOneUnavailableException), false);
     }
 
+    /**
+     * @param cancelledAmount PortOne이 알려준 취소 금액 (없으면 결제 금액 전액으로 환불 처리)
+     */
     @Transactional
-    public void updateDatabaseAfterCancel(Map<String, Object> paymentDetails,
+    public void updateDatabaseAfterCancel(PortOnePayment paymentDetails,
                                          String idToCancel,
                                          String reason,
-                                         Map<String, Object> cancelResult) {
+                                         BigDecimal cancelledAmount) {
         Optional<Payment> paymentOptional = paymentRepository.findByImpUid(idToCancel);
         if (paymentOptional.isEmpty() && paymentDetails != null) {
             String resolvedOrderId = resolveOrderId(paymentDetails, idToCancel);
@@ -385,15 +556,21 @@ public class PaymentService {
             return;
         }
 
-        Payment payment = paymentOptional.get();
+        // 사용자 취소 요청과 취소 웹훅이 같은 결제를 두 번 환불하지 않도록 행을 잠근 뒤 상태 확인
+        Payment payment = paymentRepository.findByIdForUpdate(paymentOptional.get().getPaymentId())
+                .orElse(paymentOptional.get());
+        if (payment.getStatus() == Payment.PaymentStatus.REFUNDED) {
+            System.out.println("이미 환불 처리된 결제입니다. Payment ID: " + payment.getPaymentId());
+            return;
+        }
         String orderId = payment.getOrderId();
 
         System.out.println("=== 환불 처리 시작 ===");
         System.out.println("Payment ID: " + payment.getPaymentId());
         System.out.println("Order ID: " + orderId);
         
-        // 주문 정보 조회
-        Optional<Order> orderOptional = orderRepository.findByOrderId(orderId);
+        // 주문 정보 조회 - 행을 잠가서 결제 후속 처리(포인트 적립)와 직렬화
+        Optional<Order> orderOptional = orderRepository.findByIdForUpdate(orderId);
         Long userId = null;
         
         if (orderOptional.isPresent()) {
@@ -473,17 +650,8 @@ public class PaymentService {
             Integer pointsEarned = membershipService.calculateEarnedPoints(userId, order.getTotalAmount());
             if (pointsEarned > 0) {
                 try {
-                    // 해당 주문으로 적립된 포인트 거래 내역 찾기
-                    List<com.sparta.point_system.entity.PointTransaction> transactions = 
-                        pointService.getPointTransactions(userId);
-                    
-                    // 해당 주문으로 적립된 포인트 찾기
-                    Integer earnedPointsForOrder = transactions.stream()
-                        .filter(t -> orderId.equals(t.getOrderId()) 
-                                && t.getType() == com.sparta.point_system.entity.PointTransaction.TransactionType.EARNED
-                                && t.getPoints() > 0)
-                        .mapToInt(com.sparta.point_system.entity.PointTransaction::getPoints)
-                        .sum();
+                    // 해당 주문으로 적립된 포인트 찾기 (잠금 읽기 - 이 트랜잭션 시작 후 커밋된 적립도 포함)
+                    int earnedPointsForOrder = pointService.getEarnedPointsForOrderForUpdate(orderId);
                     
                     if (earnedPointsForOrder > 0) {
                         pointService.cancelEarnedPoints(
@@ -500,22 +668,14 @@ public class PaymentService {
                 }
             }
 
-            // 3. 주문 상태를 CANCELLED로 변경
+            // 3. 주문 상태를 CANCELLED로 변경하고 예약한 재고 해제
             order.setStatus(Order.OrderStatus.CANCELLED);
             orderRepository.save(order);
+            checkoutService.releaseStock(orderId);
             System.out.println("주문 상태가 CANCELLED로 변경되었습니다. Order ID: " + orderId);
-            
-            // 4. 멤버십 등급 자동 업데이트 (총 결제 금액이 줄어들었으므로 재계산)
-            try {
-                membershipService.updateMembershipLevel(userId);
-                System.out.println("멤버십 등급이 자동 업데이트되었습니다. User ID: " + userId);
-            } catch (Exception e) {
-                System.err.println("멤버십 등급 업데이트 중 오류 발생: " + e.getMessage());
-                e.printStackTrace();
-            }
         }
 
-        BigDecimal refundAmount = extractRefundAmount(cancelResult);
+        BigDecimal refundAmount = cancelledAmount;
         if (refundAmount == null || refundAmount.compareTo(BigDecimal.ZERO) <= 0) {
             refundAmount = payment.getAmount();
         }
@@ -523,9 +683,26 @@ public class PaymentService {
         Payment.PaymentStatus newStatus = refundAmount.compareTo(payment.getAmount()) >= 0
                 ? Payment.PaymentStatus.REFUNDED
                 : Payment.PaymentStatus.PARTIALLY_REFUNDED;
+        // 누적 결제 금액 반영 (결제 저장 전에 호출)
+        if (orderOptional.isPresent()) {
+            userSpendService.recordStatusChange(orderOptional.get().getUserId(),
+                    payment.getStatus(), payment.getAmount(), newStatus, payment.getAmount());
+        }
         payment.setStatus(newStatus);
         paymentRepository.save(payment);
 
+        // 4. 멤버십 등급 자동 업데이트 (총 결제 금액이 줄어들었으므로 결제 상태 변경 후 재계산)
+        if (orderOptional.isPresent()) {
+            Long orderUserId = orderOptional.get().getUserId();
+            try {
+                membershipService.updateMembershipLevel(orderUserId);
+                System.out.println("멤버십 등급이 자동 업데이트되었습니다. User ID: " + orderUserId);
+            } catch (Exception e) {
+                System.err.println("멤버십 등급 업데이트 중 오류 발생: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+
         Refund refund = new Refund();
         refund.setPaymentId(payment.getPaymentId());
         refund.setAmount(refundAmount);
@@ -534,33 +711,6 @@ public class PaymentService {
         refundRepository.save(refund);
     }
 
-    private BigDecimal extractRefundAmount(Map<String, Object> cancelResult) {
-        if (cancelResult == null) return null;
-        try {
-            Object canceledAmount = cancelResult.get("canceledAmount");
-            if (canceledAmount == null) {
-                canceledAmount = cancelResult.get("cancelAmount");
-            }
-            if (canceledAmount instanceof Number) {
-                return BigDecimal.valueOf(((Number) canceledAmount).doubleValue());
-            }
-            if (canceledAmount instanceof String && !((String) canceledAmount).isBlank()) {
-                return new BigDecimal((String) canceledAmount);
-            }
-
-            Object amountObj = cancelResult.get("amount");
-            if (amountObj instanceof Map<?, ?> amountMap) {
-                Object cancelled = amountMap.get("cancelled");
-                if (cancelled == null) {
-                    cancelled = amountMap.get("canceled");
-                }
-                if (cancelled instanceof Number) {
-                    return BigDecimal.valueOf(((Number) cancelled).doubleValue());
-                }
-            }
-        } catch (Exception ignored) {
-        }
-        return null;
+    private record RecentVerification(boolean result, long expiresAt) {
     }
 }
-
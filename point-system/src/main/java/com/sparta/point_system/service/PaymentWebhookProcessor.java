@@ -0,0 +1,108 @@
+package com.sparta.point_system.service;
+
+import com.sparta.common.webhook.PortOneWebhookProcessor;
+import com.sparta.common.webhook.WebhookInbox;
+import com.sparta.point_system.client.PortOneTokenManager;
+import com.sparta.point_system.entity.Payment;
+import com.sparta.point_system.repository.PaymentRepository;
+import com.sparta.portone.PortOneClient;
+import com.sparta.portone.dto.PortOnePayment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * PortOne 웹훅 처리기 - 인박스에 저장된 웹훅을 결제/주문 상태에 반영
+ * - 같은 결제에 대해 결제 완료 요청(/api/payments/complete)과 웹훅이 모두 올 수 있으므로, 먼저 반영된 쪽이 있으면 건너뜁니다.
+ * - 웹훅 본문에는 금액이 없으므로 반영이 필요한 경우에만 PortOne에서 결제 정보를 조회합니다 (작업 스레드에서 실행).
+ * - 예외를 던지면 디스패처가 백오프 후 재시도합니다.
+ */
+@Component
+public class PaymentWebhookProcessor implements PortOneWebhookProcessor {
+
+    private static final String TRANSACTION_PAID = "Transaction.Paid";
+    private static final String TRANSACTION_CANCELLED = "Transaction.Cancelled";
+    private static final String TRANSACTION_PARTIAL_CANCELLED = "Transaction.PartialCancelled";
+    private static final String TRANSACTION_FAILED = "Transaction.Failed";
+
+    private final PaymentService paymentService;
+    private final PaymentRepository paymentRepository;
+    private final PortOneClient portoneClient;
+    private final PortOneTokenManager portOneTokenManager;
+
+    @Autowired
+    public PaymentWebhookProcessor(PaymentService paymentService,
+                                   PaymentRepository paymentRepository,
+                                   PortOneClient portoneClient,
+                                   PortOneTokenManager portOneTokenManager) {
+        this.paymentService = paymentService;
+        this.paymentRepository = paymentRepository;
+        this.portoneClient = portoneClient;
+        this.portOneTokenManager = portOneTokenManager;
+    }
+
+    @Override
+    public void process(WebhookInbox inbox) {
+        String paymentId = inbox.getPaymentId();
+        if (paymentId == null || paymentId.isBlank()) {
+            return; // 결제와 무관한 웹훅 (빌링키 발급 등)
+        }
+
+        switch (inbox.getEventType()) {
+            case TRANSACTION_PAID -> applyPaid(paymentId);
+            case TRANSACTION_CANCELLED, TRANSACTION_PARTIAL_CANCELLED -> applyCancelled(paymentId);
+            case TRANSACTION_FAILED -> applyFailed(paymentId);
+            default -> {
+                // 결제 대기/준비 등 상태 변경이 필요 없는 웹훅
+            }
+        }
+    }
+
+    private void applyPaid(String paymentId) {
+        if (paymentService.isAlreadyPaid(paymentId)) {
+            return; // 결제 완료 요청이 먼저 반영함
+        }
+
+        // 결제 완료 요청과 동시에 도착하면 진행 중인 검증을 함께 기다림 (PortOne 조회/DB 저장 1회)
+        Boolean paid = paymentService.verifyAndApplyPayment(paymentId).block();
+        if (!Boolean.TRUE.equals(paid)) {
+            return; // 조회 시점에 이미 PAID가 아님 (곧바로 취소된 경우 등) - 취소 웹훅이 따로 옴
+        }
+        if (!paymentService.isAlreadyPaid(paymentId)) {
+            throw new RuntimeException("결제 완료 반영 실패 - 재시도합니다. Payment ID: " + paymentId);
+        }
+        System.out.println("웹훅으로 결제 완료 반영 - Payment ID: " + paymentId);
+    }
+
+    private void applyCancelled(String paymentId) {
+        // 사용자 취소 요청이 이미 반영했거나 부분 환불 중인 결제는 건너뜀 (환불 중복 방지)
+        Optional<Payment> payment = paymentRepository.findByImpUid(paymentId);
+        if (payment.isEmpty() || payment.get().getStatus() != Payment.PaymentStatus.PAID) {
+            return;
+        }
+
+        // 조회 결과의 amount.cancelled를 취소 금액으로 사용
+        PortOnePayment paymentDetails = fetchPaymentDetails(paymentId);
+        BigDecimal cancelledAmount = paymentDetails.amount() != null ? paymentDetails.amount().cancelled() : null;
+        paymentService.updateDatabaseAfterCancel(paymentDetails, paymentId, "PortOne 취소 웹훅", cancelledAmount);
+        System.out.println("웹훅으로 결제 취소 반영 - Payment ID: " + paymentId);
+    }
+
+    private void applyFailed(String paymentId) {
+        // 결제 대기 중인 주문만 취소하고 예약 재고/사용 포인트를 되돌림 (주문 ID는 조회 결과의 customData에서 확인)
+        PortOnePayment paymentDetails = fetchPaymentDetails(paymentId);
+        paymentService.applyFailedPayment(paymentId, paymentDetails);
+    }
+
+    private PortOnePayment fetchPaymentDetails(String paymentId) {
+        PortOnePayment paymentDetails = portOneTokenManager
+                .withAccessToken(accessToken -> portoneClient.getPaymentDetails(paymentId, accessToken))
+                .block();
+        if (paymentDetails == null) {
+            throw new RuntimeException("PortOne 결제 정보 조회 결과가 비어 있습니다. Payment ID: " + paymentId);
+        }
+        return paymentDetails;
+    }
+}
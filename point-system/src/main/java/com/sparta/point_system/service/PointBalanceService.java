@@ -0,0 +1,170 @@
+package com.sparta.point_system.service;
+
+import com.sparta.point_system.entity.PointBalance;
+import com.sparta.point_system.repository.PointBalanceRepository;
+import com.sparta.point_system.repository.PointTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 포인트 잔액 스냅샷(point_balances) 관리
+ * - 잔액 조회는 스냅샷 한 건 조회로 처리하고, 원장과의 정합성은 청크 단위 재계산 작업으로 검증합니다.
+ */
+@Service
+public class PointBalanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointBalanceService.class);
+
+    private final PointBalanceRepository pointBalanceRepository;
+    private final PointTransactionRepository pointTransactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildChunkSize;
+
+    @Autowired
+    public PointBalanceService(PointBalanceRepository pointBalanceRepository,
+                               PointTransactionRepository pointTransactionRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${point.balance.rebuild.chunk-size:500}") int rebuildChunkSize) {
+        this.pointBalanceRepository = pointBalanceRepository;
+        this.pointTransactionRepository = pointTransactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    /**
+     * 현재 잔액 조회 (스냅샷이 아직 없는 사용자는 원장 합계로 대체)
+     */
+    @Transactional(readOnly = true)
+    public Integer getBalance(Long userId) {
+        return pointBalanceRepository.findBalanceByUserId(userId)
+                .orElseGet(() -> pointTransactionRepository.sumPointsByUserId(userId).intValue());
+    }
+
+    /**
+     * 잔액 스냅샷 증감
+     * - 반드시 원장(point_transactions) INSERT 이전에, 같은 트랜잭션 안에서 호출해야 합니다.
+     *   (스냅샷이 없으면 기존 원장 합계로 먼저 초기화하므로, 새 원장 행이 중복 반영되지 않도록)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyDelta(Long userId, int delta) {
+        if (pointBalanceRepository.addBalance(userId, delta) == 0) {
+            pointBalanceRepository.seedFromLedger(userId);
+            pointBalanceRepository.addBalance(userId, delta);
+        }
+    }
+
+    /**
+     * 잔액이 충분한 경우에만 차감 (원자적 조건부 UPDATE)
+     * - 같은 사용자의 동시 차감은 point_balances 행 잠금으로 직렬화되고, 다른 사용자는 서로 막지 않습니다.
+     * - applyDelta와 마찬가지로 원장 INSERT 이전에, 같은 트랜잭션 안에서 호출해야 합니다.
+     * @param reserved 스냅샷에는 포함되어 있지만 사용할 수 없는 포인트 (만료 배치가 아직 처리하지 않은 만료 로트)
+     * @return 차감 성공 여부 (잔액 부족 시 false)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryDebit(Long userId, int points, int reserved) {
+        if (pointBalanceRepository.debitIfSufficient(userId, points, reserved) == 1) {
+            return true;
+        }
+        // 스냅샷이 없어서 실패했을 수 있으므로 원장 합계로 초기화한 뒤 한 번 더 시도
+        // - 동시 요청이 먼저 초기화했으면 INSERT IGNORE가 0건이지만 스냅샷은 생겼으므로 결과와 관계없이 재시도
+        pointBalanceRepository.seedFromLedger(userId);
+        return pointBalanceRepository.debitIfSufficient(userId, points, reserved) == 1;
+    }
+
+    /**
+     * 원장 기준으로 스냅샷을 청크 단위로 재계산
+     * @param repair true면 불일치/누락 스냅샷을 원장 합계로 덮어쓰고, false면 검증만 수행
+     */
+    public RebuildResult rebuildSnapshots(boolean repair) {
+        long startedAt = System.currentTimeMillis();
+        RebuildResult total = new RebuildResult();
+        Long afterUserId = 0L;
+
+        while (true) {
+            List<Long> userIds = pointTransactionRepository.findUserIdsAfter(afterUserId, PageRequest.of(0, rebuildChunkSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+
+            // 청크마다 별도의 짧은 트랜잭션으로 처리
+            RebuildResult chunkResult = transactionTemplate.execute(status -> rebuildChunk(userIds, repair));
+            total.add(chunkResult);
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+
+        logger.info("포인트 잔액 스냅샷 {} 완료 - 사용자: {}, 불일치: {}, 복구: {}, 소요: {}ms",
+                repair ? "재계산" : "검증", total.getScannedUsers(), total.getMismatchedUsers(),
+                total.getRepairedUsers(), System.currentTimeMillis() - startedAt);
+        return total;
+    }
+
+    private RebuildResult rebuildChunk(List<Long> userIds, boolean repair) {
+        // 스냅샷 행을 먼저 잠가서, 재계산 도중 같은 사용자의 원장 INSERT가 끼어들지 않도록 함
+        Map<Long, Integer> snapshots = new HashMap<>();
+        for (PointBalance balance : pointBalanceRepository.findByUserIdIn(userIds)) {
+            snapshots.put(balance.getUserId(), balance.getBalance());
+        }
+
+        RebuildResult result = new RebuildResult();
+        for (Object[] row : pointTransactionRepository.sumPointsGroupByUserId(userIds)) {
+            Long userId = (Long) row[0];
+            int ledgerBalance = ((Number) row[1]).intValue();
+            Integer snapshot = snapshots.get(userId);
+
+            result.scannedUsers++;
+            if (snapshot != null && snapshot == ledgerBalance) {
+                continue;
+            }
+
+            result.mismatchedUsers++;
+            logger.warn("포인트 잔액 불일치 - User ID: {}, 스냅샷: {}, 원장: {}", userId, snapshot, ledgerBalance);
+            if (repair) {
+                pointBalanceRepository.upsertBalance(userId, ledgerBalance);
+                result.repairedUsers++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 재계산 결과
+     */
+    public static class RebuildResult {
+        private long scannedUsers;
+        private long mismatchedUsers;
+        private long repairedUsers;
+
+        private void add(RebuildResult other) {
+            if (other == null) {
+                return;
+            }
+            this.scannedUsers += other.scannedUsers;
+            this.mismatchedUsers += other.mismatchedUsers;
+            this.repairedUsers += other.repairedUsers;
+        }
+
+        public long getScannedUsers() {
+            return scannedUsers;
+        }
+
+        public long getMismatchedUsers() {
+            return mismatchedUsers;
+        }
+
+        public long getRepairedUsers() {
+            return repairedUsers;
+        }
+    }
+}
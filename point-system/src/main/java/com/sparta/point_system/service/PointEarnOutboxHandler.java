@@ -0,0 +1,79 @@
+package com.sparta.point_system.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.point_system.entity.Order;
+import com.sparta.point_system.entity.OutboxEvent;
+import com.sparta.point_system.entity.PointTransaction;
+import com.sparta.point_system.repository.OrderRepository;
+import com.sparta.point_system.repository.PointTransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 결제 완료 포인트 적립 처리기
+ * - 적립 포인트와 만료 시각은 결제 시점 기준으로 미리 계산되어 payload에 담겨 있습니다.
+ * - 같은 주문의 적립 내역이 이미 있거나 주문이 취소되었으면 적립하지 않습니다.
+ */
+@Component
+public class PointEarnOutboxHandler implements OutboxEventHandler {
+
+    private final PointService pointService;
+    private final PointTransactionRepository pointTransactionRepository;
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public PointEarnOutboxHandler(PointService pointService,
+                                  PointTransactionRepository pointTransactionRepository,
+                                  OrderRepository orderRepository,
+                                  ObjectMapper objectMapper) {
+        this.pointService = pointService;
+        this.pointTransactionRepository = pointTransactionRepository;
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public OutboxEvent.EventType getEventType() {
+        return OutboxEvent.EventType.POINT_EARN;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        String orderId = event.getAggregateId();
+        // 주문 행을 먼저 잠가서 주문 취소(PaymentService.updateDatabaseAfterCancel)와 직렬화
+        // - 취소가 먼저 커밋되면 CANCELLED를 보고 적립하지 않고, 적립이 먼저 커밋되면 취소가 적립 내역을 보고 되돌림
+        boolean cancelled = orderRepository.findByIdForUpdate(orderId)
+                .map(order -> order.getStatus() == Order.OrderStatus.CANCELLED)
+                .orElse(false);
+        if (cancelled) {
+            return; // 적립 전에 주문이 취소됨
+        }
+
+        if (pointTransactionRepository.existsByOrderIdAndType(orderId, PointTransaction.TransactionType.EARNED)) {
+            return; // 이미 적립됨
+        }
+
+        try {
+            JsonNode payload = objectMapper.readTree(event.getPayload());
+            int points = payload.path("points").asInt(0);
+            if (points <= 0) {
+                return;
+            }
+            pointService.earnPoints(
+                    event.getUserId(),
+                    points,
+                    orderId,
+                    payload.path("description").asText("주문 완료로 인한 포인트 적립 (멤버십 등급 반영)"),
+                    payload.hasNonNull("expiresAt")
+                            ? LocalDateTime.parse(payload.get("expiresAt").asText())
+                            : LocalDateTime.now().plusYears(1) // 1년 후 만료
+            );
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new RuntimeException("포인트 적립 이벤트 payload 파싱 실패: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.sparta.point_system.service;
+
+import com.sparta.point_system.entity.PointExpirationCheckpoint;
+import com.sparta.point_system.entity.PointTransaction;
+import com.sparta.point_system.repository.PointBalanceRepository;
+import com.sparta.point_system.repository.PointExpirationCheckpointRepository;
+import com.sparta.point_system.repository.PointTransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 포인트 만료 배치
+ * - 만료된 로트(remaining_points > 0, expires_at < 기준 시각)를 keyset 청크로 순회하며 EXPIRED 거래를 JDBC 배치로 기록합니다.
+ * - 청크마다 별도 트랜잭션으로 커밋하고, 같은 트랜잭션에서 체크포인트를 갱신하므로 중단 후 재실행 시 중복/누락 없이 이어갑니다.
+ */
+@Service
+public class PointExpirationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointExpirationService.class);
+
+    private static final String JOB_NAME = "point-expiration";
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int LEGACY_USER_FETCH_SIZE = 100;
+
+    private static final String INSERT_EXPIRED_SQL =
+            "INSERT INTO point_transactions (user_id, order_id, points, type, description, created_at) " +
+            "VALUES (?, ?, ?, 'EXPIRED', ?, ?)";
+
+    private final PointTransactionRepository pointTransactionRepository;
+    private final PointBalanceRepository pointBalanceRepository;
+    private final PointExpirationCheckpointRepository checkpointRepository;
+    private final PointBalanceService pointBalanceService;
+    private final PointLotService pointLotService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final Counter expiredRowsCounter;
+
+    // 메트릭: 마지막 청크 처리량, 현재 처리 위치(실행 중) 또는 마지막 완료 기준 시각(대기 중)
+    private volatile double rowsPerSecond;
+    private volatile LocalDateTime lagReference;
+
+    @Autowired
+    public PointExpirationService(PointTransactionRepository pointTransactionRepository,
+                                  PointBalanceRepository pointBalanceRepository,
+                                  PointExpirationCheckpointRepository checkpointRepository,
+                                  PointBalanceService pointBalanceService,
+                                  PointLotService pointLotService,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${point.expiration.chunk-size:500}") int chunkSize) {
+        this.pointTransactionRepository = pointTransactionRepository;
+        this.pointBalanceRepository = pointBalanceRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.pointBalanceService = pointBalanceService;
+        this.pointLotService = pointLotService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+
+        this.expiredRowsCounter = Counter.builder("point.expiration.rows")
+                .description("만료 처리된 포인트 로트 수")
+                .register(meterRegistry);
+        Gauge.builder("point.expiration.rows.per.second", this, service -> service.rowsPerSecond)
+                .description("마지막 청크의 초당 만료 처리 건수")
+                .register(meterRegistry);
+        Gauge.builder("point.expiration.lag.seconds", this, PointExpirationService::lagSeconds)
+                .description("만료 처리 위치가 현재 시각보다 뒤처진 시간(초)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 만료 배치 실행 (이전 실행이 중단되었으면 체크포인트부터 재개)
+     * @return 이번 실행에서 만료 처리한 로트 수 (이미 실행 중이면 -1)
+     */
+    public long runExpiration() {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("포인트 만료 배치가 이미 실행 중입니다.");
+            return -1;
+        }
+
+        try {
+            PointExpirationCheckpoint checkpoint = transactionTemplate.execute(status -> startOrResume());
+            LocalDateTime cutoff = checkpoint.getCutoff();
+            lagReference = checkpoint.getLastExpiresAt() != null ? checkpoint.getLastExpiresAt() : cutoff;
+            logger.info("포인트 만료 배치 시작 - 기준 시각: {}, 재개 위치: ({}, {})",
+                    cutoff, checkpoint.getLastExpiresAt(), checkpoint.getLastTransactionId());
+
+            migrateLegacyLots(cutoff);
+
+            long processed = 0;
+            while (true) {
+                long startedAt = System.nanoTime();
+                Integer expired = transactionTemplate.execute(status -> processChunk());
+                if (expired == null || expired < 0) {
+                    break;
+                }
+                processed += expired;
+                double elapsedSeconds = Math.max((System.nanoTime() - startedAt) / 1_000_000_000.0, 0.001);
+                rowsPerSecond = expired / elapsedSeconds;
+                expiredRowsCounter.increment(expired);
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                PointExpirationCheckpoint done = checkpointRepository.findById(JOB_NAME).orElseThrow();
+                done.setStatus(PointExpirationCheckpoint.JobStatus.COMPLETED);
+                checkpointRepository.save(done);
+            });
+            lagReference = cutoff;
+            logger.info("포인트 만료 배치 완료 - 만료 처리: {}건", processed);
+            return processed;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private PointExpirationCheckpoint startOrResume() {
+        PointExpirationCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .orElseGet(() -> new PointExpirationCheckpoint(JOB_NAME));
+        if (checkpoint.getStatus() == PointExpirationCheckpoint.JobStatus.RUNNING) {
+            return checkpoint;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        checkpoint.setCutoff(now);
+        checkpoint.setLastExpiresAt(null);
+        checkpoint.setLastTransactionId(null);
+        checkpoint.setProcessedRows(0L);
+        checkpoint.setStatus(PointExpirationCheckpoint.JobStatus.RUNNING);
+        checkpoint.setStartedAt(now);
+        return checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * 로트 도입 이전 데이터가 남은 사용자를 먼저 이관 (이관 전 적립은 remaining_points가 없어 만료 대상에서 빠지므로)
+     */
+    private void migrateLegacyLots(LocalDateTime cutoff) {
+        long afterUserId = 0L;
+        while (true) {
+            List<Long> userIds = pointTransactionRepository.findLegacyLotUserIdsAfter(
+                    afterUserId, cutoff, PageRequest.of(0, LEGACY_USER_FETCH_SIZE));
+            if (userIds.isEmpty()) {
+                return;
+            }
+            for (Long userId : userIds) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // 포인트 사용/적립과 같은 순서(잔액 행 → 로트)로 잠금
+                    pointBalanceService.applyDelta(userId, 0);
+                    pointLotService.migrateLegacyLots(userId);
+                });
+            }
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+    }
+
+    /**
+     * 청크 하나 처리 (호출자 트랜잭션 안에서 실행)
+     * @return 만료 처리한 로트 수, 더 처리할 로트가 없으면 -1
+     */
+    private int processChunk() {
+        PointExpirationCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElseThrow();
+        LocalDateTime lastExpiresAt = checkpoint.getLastExpiresAt() != null ? checkpoint.getLastExpiresAt() : CURSOR_START;
+        Long lastTransactionId = checkpoint.getLastTransactionId() != null ? checkpoint.getLastTransactionId() : 0L;
+
+        List<Object[]> keys = pointTransactionRepository.findExpiredLotKeysAfter(
+                checkpoint.getCutoff(), lastExpiresAt, lastTransactionId, PageRequest.of(0, chunkSize));
+        if (keys.isEmpty()) {
+            return -1;
+        }
+
+        List<Long> lotIds = keys.stream().map(key -> (Long) key[0]).collect(Collectors.toList());
+        List<Long> userIds = keys.stream().map(key -> (Long) key[1]).distinct().sorted().collect(Collectors.toList());
+
+        // 잔액 행을 먼저 잠가 같은 사용자의 포인트 사용/적립과 직렬화한 뒤, 로트를 잠금 조회하여 최신 잔여 포인트 사용
+        pointBalanceRepository.findByUserIdIn(userIds);
+        List<PointTransaction> lots = pointTransactionRepository.findLotsForUpdate(lotIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Integer> expiredByUser = new HashMap<>();
+        List<Object[]> expiredRows = new ArrayList<>();
+        for (PointTransaction lot : lots) {
+            int remaining = lot.getRemainingPoints() != null ? lot.getRemainingPoints() : 0;
+            if (remaining <= 0) {
+                continue; // 조회 이후 사용된 로트
+            }
+            expiredByUser.merge(lot.getUserId(), remaining, Integer::sum);
+            expiredRows.add(new Object[]{
+                    lot.getUserId(),
+                    lot.getOrderId(),
+                    -remaining,
+                    "포인트 유효기간 만료 (적립 거래 #" + lot.getTransactionId() + ")",
+                    Timestamp.valueOf(now)
+            });
+            lot.setRemainingPoints(0);
+        }
+
+        // 잔액 스냅샷은 원장 INSERT 이전에 갱신 (applyDelta 규칙)
+        expiredByUser.forEach((userId, points) -> pointBalanceService.applyDelta(userId, -points));
+        if (!expiredRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_EXPIRED_SQL, expiredRows);
+        }
+        pointTransactionRepository.saveAll(lots);
+
+        Object[] lastKey = keys.get(keys.size() - 1);
+        checkpoint.setLastTransactionId((Long) lastKey[0]);
+        checkpoint.setLastExpiresAt((LocalDateTime) lastKey[2]);
+        checkpoint.setProcessedRows(checkpoint.getProcessedRows() + expiredRows.size());
+        checkpointRepository.save(checkpoint);
+
+        lagReference = checkpoint.getLastExpiresAt();
+        return expiredRows.size();
+    }
+
+    private double lagSeconds() {
+        LocalDateTime reference = lagReference;
+        if (reference == null) {
+            return 0;
+        }
+        return Math.max(Duration.between(reference, LocalDateTime.now()).getSeconds(), 0);
+    }
+}
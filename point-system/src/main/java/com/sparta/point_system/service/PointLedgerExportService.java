@@ -0,0 +1,180 @@
+package com.sparta.point_system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.point_system.entity.PointTransaction;
+import com.sparta.point_system.repository.PointTransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 포인트 원장 내보내기
+ * - 사용자 원장을 순방향 JDBC 커서로 한 행씩 읽어 NDJSON/CSV로 바로 응답에 씁니다.
+ * - 누적 잔액은 거래 순서대로 계산하며, 읽은 엔티티는 즉시 영속성 컨텍스트에서 분리하므로 원장 크기와 관계없이 메모리 사용량이 일정합니다.
+ */
+@Service
+public class PointLedgerExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointLedgerExportService.class);
+
+    private static final String CSV_HEADER =
+            "transaction_id,created_at,type,points,balance,order_id,expires_at,description";
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * 요청 파라미터(대소문자 무시)로 형식 조회 (지원하지 않는 형식이면 null)
+         */
+        public static ExportFormat from(String value) {
+            for (ExportFormat format : values()) {
+                if (format.name().equalsIgnoreCase(value != null ? value.trim() : null)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final PointTransactionRepository pointTransactionRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public PointLedgerExportService(PointTransactionRepository pointTransactionRepository,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.pointTransactionRepository = pointTransactionRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * 사용자 원장을 거래 ID 순으로 출력 스트림에 기록
+     * @return 기록한 거래 수
+     */
+    public long export(Long userId, ExportFormat format, OutputStream out) {
+        long startedAt = System.currentTimeMillis();
+        Long written = transactionTemplate.execute(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            long count = 0;
+            long balance = 0;
+
+            try (Stream<PointTransaction> rows = pointTransactionRepository.streamByUserIdOrderByTransactionIdAsc(userId)) {
+                if (format == ExportFormat.CSV) {
+                    writer.write(CSV_HEADER);
+                    writer.write('\n');
+                }
+
+                Iterator<PointTransaction> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    PointTransaction transaction = iterator.next();
+                    balance += transaction.getPoints();
+                    if (format == ExportFormat.CSV) {
+                        writeCsvRow(writer, transaction, balance);
+                    } else {
+                        writeJsonRow(writer, transaction, balance);
+                    }
+                    // 영속성 컨텍스트에 쌓이지 않도록 바로 분리
+                    entityManager.detach(transaction);
+                    count++;
+                }
+                writer.flush();
+            } catch (IOException e) {
+                // 클라이언트가 다운로드를 중단한 경우 등
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+
+        logger.info("포인트 원장 내보내기 완료 - User ID: {}, 형식: {}, 거래: {}건, 소요: {}ms",
+                userId, format, written, System.currentTimeMillis() - startedAt);
+        return written != null ? written : 0;
+    }
+
+    private void writeJsonRow(Writer writer, PointTransaction transaction, long balance) throws IOException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("transactionId", transaction.getTransactionId());
+        row.put("createdAt", transaction.getCreatedAt());
+        row.put("type", transaction.getType());
+        row.put("points", transaction.getPoints());
+        row.put("balance", balance);
+        row.put("orderId", transaction.getOrderId());
+        row.put("expiresAt", transaction.getExpiresAt());
+        row.put("description", transaction.getDescription());
+        writer.write(objectMapper.writeValueAsString(row));
+        writer.write('\n');
+    }
+
+    private void writeCsvRow(Writer writer, PointTransaction transaction, long balance) throws IOException {
+        writer.write(String.valueOf(transaction.getTransactionId()));
+        writer.write(',');
+        writer.write(formatTime(transaction.getCreatedAt()));
+        writer.write(',');
+        writer.write(transaction.getType() != null ? transaction.getType().name() : "");
+        writer.write(',');
+        writer.write(String.valueOf(transaction.getPoints()));
+        writer.write(',');
+        writer.write(String.valueOf(balance));
+        writer.write(',');
+        writer.write(escapeCsv(transaction.getOrderId()));
+        writer.write(',');
+        writer.write(formatTime(transaction.getExpiresAt()));
+        writer.write(',');
+        writer.write(escapeCsv(transaction.getDescription()));
+        writer.write('\n');
+    }
+
+    private String formatTime(LocalDateTime time) {
+        return time != null ? time.toString() : "";
+    }
+
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,191 @@
+package com.sparta.point_system.service;
+
+import com.sparta.point_system.entity.PointLotConsumption;
+import com.sparta.point_system.entity.PointTransaction;
+import com.sparta.point_system.repository.PointLotConsumptionRepository;
+import com.sparta.point_system.repository.PointTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 포인트 로트(적립 단위) 관리
+ * - 양수 거래(적립/충전/환불)는 remaining_points를 가진 로트가 되고, 차감 거래는 만료가 빠른 로트부터 소진합니다.
+ * - 모든 메서드는 잔액 스냅샷(point_balances) 행을 잠근 트랜잭션 안에서 호출되므로 같은 사용자의 로트 변경은 직렬화됩니다.
+ */
+@Service
+public class PointLotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointLotService.class);
+
+    private static final int LOT_FETCH_SIZE = 100;
+
+    // 만료가 빠른 순(만료 없음은 마지막), 같은 만료일이면 먼저 적립된 순
+    private static final Comparator<PointTransaction> FIFO_ORDER = Comparator
+            .comparing(PointTransaction::getExpiresAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(PointTransaction::getTransactionId);
+
+    private final PointTransactionRepository pointTransactionRepository;
+    private final PointLotConsumptionRepository pointLotConsumptionRepository;
+
+    @Autowired
+    public PointLotService(PointTransactionRepository pointTransactionRepository,
+                           PointLotConsumptionRepository pointLotConsumptionRepository) {
+        this.pointTransactionRepository = pointTransactionRepository;
+        this.pointLotConsumptionRepository = pointLotConsumptionRepository;
+    }
+
+    /**
+     * 차감 거래만큼 로트 소진
+     * @param debit 저장된 차감 거래 (points < 0)
+     * @param preferOrderLots true면 같은 주문에서 적립된 로트를 먼저 소진 (적립 취소용)
+     * @return 로트에서 소진하지 못한 포인트 (로트 도입 이전 데이터 불일치 등)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int consume(PointTransaction debit, boolean preferOrderLots) {
+        Long userId = debit.getUserId();
+        int remaining = -debit.getPoints();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (preferOrderLots && debit.getOrderId() != null) {
+            List<PointTransaction> orderLots = pointTransactionRepository.findOpenLotsByOrderId(
+                    userId, debit.getOrderId(), PointTransaction.TransactionType.EARNED, now);
+            remaining = consumeLots(orderLots, debit, remaining);
+        }
+
+        while (remaining > 0) {
+            List<PointTransaction> lots = pointTransactionRepository.findOpenLots(userId, now, PageRequest.of(0, LOT_FETCH_SIZE));
+            if (lots.isEmpty()) {
+                break;
+            }
+            remaining = consumeLots(lots, debit, remaining);
+        }
+
+        if (remaining > 0) {
+            logger.warn("사용자 {}: 차감 거래 {}의 {} 포인트를 소진할 로트가 없습니다.",
+                    userId, debit.getTransactionId(), remaining);
+        }
+        return remaining;
+    }
+
+    private int consumeLots(List<PointTransaction> lots, PointTransaction debit, int remaining) {
+        for (PointTransaction lot : lots) {
+            if (remaining <= 0) {
+                break;
+            }
+            int taken = Math.min(lot.getRemainingPoints(), remaining);
+            lot.setRemainingPoints(lot.getRemainingPoints() - taken);
+            pointTransactionRepository.save(lot);
+            pointLotConsumptionRepository.save(
+                    new PointLotConsumption(debit.getUserId(), lot.getTransactionId(), debit.getTransactionId(), taken));
+            remaining -= taken;
+        }
+        // findOpenLots가 remaining_points > 0 조건으로 다시 조회할 수 있도록 변경 사항 반영
+        pointTransactionRepository.flush();
+        return remaining;
+    }
+
+    /**
+     * 주문 취소 시 해당 주문의 포인트 사용(SPENT)이 소진했던 로트를 되살림
+     * - 이미 만료된 로트는 되살리지 않으며, 되살리지 못한 포인트는 환불 거래가 새 로트로 보유합니다.
+     * @return 기존 로트로 되돌린 포인트
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int restoreForOrder(Long userId, String orderId, int points) {
+        if (orderId == null || points <= 0) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int restored = 0;
+        List<PointLotConsumption> consumptions = pointLotConsumptionRepository.findRestorableByOrderId(
+                userId, orderId, PointTransaction.TransactionType.SPENT);
+
+        for (PointLotConsumption consumption : consumptions) {
+            if (restored >= points) {
+                break;
+            }
+            PointTransaction lot = pointTransactionRepository.findById(consumption.getLotTransactionId()).orElse(null);
+            if (lot == null || (lot.getExpiresAt() != null && !lot.getExpiresAt().isAfter(now))) {
+                continue;
+            }
+            int amount = Math.min(consumption.getPoints() - consumption.getRestoredPoints(), points - restored);
+            lot.setRemainingPoints(lot.getRemainingPoints() + amount);
+            consumption.setRestoredPoints(consumption.getRestoredPoints() + amount);
+            pointTransactionRepository.save(lot);
+            pointLotConsumptionRepository.save(consumption);
+            restored += amount;
+        }
+        return restored;
+    }
+
+    /**
+     * 로트 도입 이전 데이터 이관
+     * - remaining_points가 비어 있는 양수 거래가 있으면 해당 사용자의 원장을 한 번 재생하여 로트 잔여 포인트를 채웁니다.
+     * - 이관 이후에는 원장 재생 없이 로트만으로 소진/만료를 처리합니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void migrateLegacyLots(Long userId) {
+        if (!pointTransactionRepository.existsByUserIdAndPointsGreaterThanAndRemainingPointsIsNull(userId, 0)) {
+            return;
+        }
+
+        List<PointTransaction> ledger = pointTransactionRepository.findByUserIdOrderByTransactionIdAsc(userId);
+        List<PointTransaction> openLots = new ArrayList<>();
+        pointLotConsumptionRepository.deleteByUserId(userId);
+
+        for (PointTransaction transaction : ledger) {
+            if (transaction.getPoints() > 0) {
+                transaction.setRemainingPoints(transaction.getPoints());
+                openLots.add(transaction);
+                continue;
+            }
+
+            int remaining = -transaction.getPoints();
+            openLots.sort(FIFO_ORDER);
+            for (PointTransaction lot : openLots) {
+                if (remaining <= 0) {
+                    break;
+                }
+                int taken = Math.min(lot.getRemainingPoints(), remaining);
+                if (taken == 0) {
+                    continue;
+                }
+                lot.setRemainingPoints(lot.getRemainingPoints() - taken);
+                pointLotConsumptionRepository.save(new PointLotConsumption(
+                        userId, lot.getTransactionId(), transaction.getTransactionId(), taken));
+                remaining -= taken;
+            }
+        }
+
+        pointTransactionRepository.saveAll(openLots);
+        pointTransactionRepository.flush();
+        logger.info("사용자 {}: 기존 원장 {}건을 포인트 로트로 이관했습니다.", userId, ledger.size());
+    }
+
+    /**
+     * 만료 시각이 지났지만 만료 배치가 아직 EXPIRED 거래로 차감하지 않은 포인트
+     * - 잔액 스냅샷에는 남아 있지만 consume이 소진하지 않으므로, 사용 가능 잔액에서 제외해야 합니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int getExpiredUnprocessedPoints(Long userId, LocalDateTime now) {
+        return pointTransactionRepository.sumExpiredRemainingPoints(userId, now).intValue();
+    }
+
+    /**
+     * 기간 내 만료 예정 포인트 (로트 잔여 포인트 기준)
+     */
+    @Transactional(readOnly = true)
+    public long getExpiringPoints(Long userId, LocalDateTime from, LocalDateTime to) {
+        return pointTransactionRepository.sumRemainingPointsExpiringBetween(userId, from, to);
+    }
+}
@@ -4,6 +4,7 @@ import com.sparta.point_system.entity.PointTransaction;
 import com.sparta.point_system.repository.PointTransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -15,56 +16,91 @@ public class PointService {
     @Autowired
     private PointTransactionRepository pointTransactionRepository;
 
+    @Autowired
+    private PointBalanceService pointBalanceService;
+
+    @Autowired
+    private PointLotService pointLotService;
+
     /**
-     * 사용자의 현재 포인트 잔액 조회
+     * 사용자의 현재 포인트 잔액 조회 (잔액 스냅샷 조회)
      */
     @Transactional(readOnly = true)
     public Integer getPointBalance(Long userId) {
-        List<PointTransaction> transactions = pointTransactionRepository.findByUserId(userId);
-        return transactions.stream()
-                .mapToInt(PointTransaction::getPoints)
-                .sum();
+        return pointBalanceService.getBalance(userId);
     }
 
     /**
      * 포인트 사용 (차감)
+     * - 잔액 확인과 차감을 조건부 UPDATE 한 번으로 처리하여 동시 요청에도 잔액이 음수가 되지 않습니다.
+     * - 만료 시각이 지났지만 만료 배치가 아직 처리하지 않은 포인트는 로트 소진 대상과 같게 사용 가능 잔액에서 제외합니다.
      */
     @Transactional
     public boolean usePoints(Long userId, Integer points, String orderId, String description) {
-        Integer currentBalance = getPointBalance(userId);
-        
-        if (currentBalance < points) {
-            throw new RuntimeException("포인트 잔액이 부족합니다. 현재 잔액: " + currentBalance + " 포인트");
+        spendPoints(userId, points, orderId, description);
+        return true;
+    }
+
+    /**
+     * 포인트 사용 (차감) - 기록된 SPENT 거래 반환
+     */
+    @Transactional
+    public PointTransaction spendPoints(Long userId, Integer points, String orderId, String description) {
+        return debit(userId, points, orderId, PointTransaction.TransactionType.SPENT,
+                description != null ? description : "주문 결제 시 포인트 사용");
+    }
+
+    /**
+     * 포인트 적립
+     */
+    @Transactional
+    public PointTransaction earnPoints(Long userId, Integer points, String orderId, String description, LocalDateTime expiresAt) {
+        if (points == null || points <= 0) {
+            throw new RuntimeException("적립할 포인트는 0보다 커야 합니다.");
         }
 
         PointTransaction transaction = new PointTransaction(
                 userId,
                 orderId,
-                -points, // 음수로 차감
-                PointTransaction.TransactionType.SPENT,
-                description != null ? description : "주문 결제 시 포인트 사용",
-                null
+                points,
+                PointTransaction.TransactionType.EARNED,
+                description != null ? description : "주문 완료로 인한 포인트 적립",
+                expiresAt
         );
+        transaction.setRemainingPoints(points);
         
-        pointTransactionRepository.save(transaction);
-        return true;
+        record(transaction, false);
+        return transaction;
     }
 
     /**
-     * 포인트 적립
+     * 포인트 수동 조정 (ADJUSTMENT 타입)
+     * - 양수는 만료 없는 새 로트로 지급하고, 음수는 포인트 사용과 같이 사용 가능 잔액 안에서만 차감합니다.
      */
     @Transactional
-    public void earnPoints(Long userId, Integer points, String orderId, String description, LocalDateTime expiresAt) {
+    public PointTransaction adjustPoints(Long userId, Integer points, String orderId, String description) {
+        if (points == null || points == 0) {
+            throw new RuntimeException("조정할 포인트는 0이 아니어야 합니다.");
+        }
+
+        String resolvedDescription = description != null ? description : "포인트 수동 조정";
+        if (points < 0) {
+            return debit(userId, -points, orderId, PointTransaction.TransactionType.ADJUSTMENT, resolvedDescription);
+        }
+
         PointTransaction transaction = new PointTransaction(
                 userId,
                 orderId,
                 points,
-                PointTransaction.TransactionType.EARNED,
-                description != null ? description : "주문 완료로 인한 포인트 적립",
-                expiresAt
+                PointTransaction.TransactionType.ADJUSTMENT,
+                resolvedDescription,
+                null
         );
-        
-        pointTransactionRepository.save(transaction);
+        // 주문 취소 환불이 아니므로 주문에서 사용한 로트를 되살리지 않고 전부 새 로트로 보유
+        transaction.setRemainingPoints(points);
+
+        record(transaction, false);
+        return transaction;
     }
 
     /**
@@ -81,7 +117,7 @@ public class PointService {
                 null
         );
         
-        pointTransactionRepository.save(transaction);
+        record(transaction, false);
     }
 
     /**
@@ -102,7 +138,7 @@ public class PointService {
                 null
         );
         
-        pointTransactionRepository.save(transaction);
+        record(transaction, false);
     }
 
     /**
@@ -123,7 +159,76 @@ public class PointService {
                 null
         );
         
+        // 같은 주문에서 적립된 로트를 먼저 소진
+        record(transaction, true);
+    }
+
+    /**
+     * 잔액 확인 후 차감 거래 기록 - 잔액 행 잠금 → 조건부 차감 → 원장 기록 → 만료가 빠른 로트부터 소진
+     */
+    private PointTransaction debit(Long userId, Integer points, String orderId,
+                                   PointTransaction.TransactionType type, String description) {
+        if (points == null || points <= 0) {
+            throw new RuntimeException("사용할 포인트는 0보다 커야 합니다.");
+        }
+
+        // 잔액 행을 먼저 잠근 뒤(없으면 원장 합계로 초기화) 로트를 이관/조회하여, 만료 배치와 같은 순서(잔액 행 → 로트)로 잠금
+        pointBalanceService.applyDelta(userId, 0);
+        pointLotService.migrateLegacyLots(userId);
+        int expiredUnprocessed = pointLotService.getExpiredUnprocessedPoints(userId, LocalDateTime.now());
+
+        if (!pointBalanceService.tryDebit(userId, points, expiredUnprocessed)) {
+            throw new RuntimeException("포인트 잔액이 부족합니다. 현재 잔액: "
+                    + (getPointBalance(userId) - expiredUnprocessed) + " 포인트");
+        }
+
+        PointTransaction transaction = new PointTransaction(
+                userId,
+                orderId,
+                -points, // 음수로 차감
+                type,
+                description,
+                null
+        );
+
+        // 잔액은 tryDebit에서 이미 차감되었으므로 원장 기록 후 만료가 빠른 로트부터 소진
         pointTransactionRepository.save(transaction);
+        pointLotService.consume(transaction, false);
+        return transaction;
+    }
+
+    /**
+     * 원장 기록 - 잔액 스냅샷을 먼저 갱신한 뒤 같은 트랜잭션에서 거래 내역을 저장
+     * - 양수 거래는 새 로트가 되고, 음수 거래는 기존 로트를 소진합니다.
+     * - 환불은 주문에서 사용했던 로트를 먼저 되살리고, 되살리지 못한 포인트만 새 로트로 보유합니다.
+     */
+    private void record(PointTransaction transaction, boolean preferOrderLots) {
+        Long userId = transaction.getUserId();
+        int points = transaction.getPoints();
+
+        pointBalanceService.applyDelta(userId, points);
+        pointLotService.migrateLegacyLots(userId);
+
+        if (points > 0 && transaction.getRemainingPoints() == null) {
+            int restored = transaction.getType() == PointTransaction.TransactionType.ADJUSTMENT
+                    ? pointLotService.restoreForOrder(userId, transaction.getOrderId(), points)
+                    : 0;
+            transaction.setRemainingPoints(points - restored);
+        }
+
+        pointTransactionRepository.save(transaction);
+
+        if (points < 0) {
+            pointLotService.consume(transaction, preferOrderLots);
+        }
+    }
+
+    /**
+     * 이번 달(또는 지정 기간) 만료 예정 포인트 조회
+     */
+    @Transactional(readOnly = true)
+    public long getExpiringPoints(Long userId, LocalDateTime from, LocalDateTime to) {
+        return pointLotService.getExpiringPoints(userId, from, to);
     }
 
     /**
@@ -134,6 +239,19 @@ public class PointService {
         return pointTransactionRepository.findByUserId(userId);
     }
     
+    /**
+     * 주문으로 적립된 포인트 합계 (잠금 읽기)
+     * - 주문 행을 잠근 트랜잭션 안에서 호출하면, 트랜잭션 시작 이후 커밋된 적립까지 포함합니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int getEarnedPointsForOrderForUpdate(String orderId) {
+        return pointTransactionRepository.findByOrderIdAndTypeForUpdate(orderId, PointTransaction.TransactionType.EARNED)
+                .stream()
+                .filter(transaction -> transaction.getPoints() > 0)
+                .mapToInt(PointTransaction::getPoints)
+                .sum();
+    }
+
     /**
      * 주문 ID로 포인트 거래 내역 조회
      */
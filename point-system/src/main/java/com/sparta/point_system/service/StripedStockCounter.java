@@ -0,0 +1,98 @@
+package com.sparta.point_system.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 선착순 상품 재고 카운터 - 재고를 여러 슬롯에 나눠 담아 동시 예약이 한 값을 두고 CAS 경쟁하지 않도록 분산
+ * - 예약은 임의의 슬롯부터 돌며 수량 전체가 남은 슬롯 하나를 CAS로 차감합니다. (여러 슬롯에서 나눠 가져가지 않으므로
+ *   동시 예약이 서로 일부씩 쥐고 있어 합계로는 충분한데도 실패하는 일이 없음)
+ * - 수량 전체가 남은 슬롯이 없으면(품절 직전, 또는 처음부터 재고가 슬롯 수보다 적으면) 재고를 한 슬롯으로 모으고,
+ *   이후 예약은 그 슬롯 하나에 대한 CAS로 처리합니다. 재고 부족 판단은 잠금 안에서 남은 슬롯을 모두 모은 뒤에 하므로 정확합니다.
+ * - 어떤 슬롯도 음수가 되지 않으므로 동시 예약에도 초과 판매가 없습니다.
+ */
+final class StripedStockCounter {
+
+    // 슬롯마다 캐시 라인(64바이트) 하나를 쓰도록 8칸 간격으로 배치 (false sharing 방지)
+    private static final int SPACING = 8;
+    // 재고를 모은 뒤 사용하는 슬롯
+    private static final int MAIN = 0;
+
+    private final AtomicLongArray cells;
+    private final int stripes;
+    private volatile boolean consolidated;
+
+    StripedStockCounter(int stripes, long stock) {
+        this.stripes = Math.max(1, stripes);
+        this.cells = new AtomicLongArray(this.stripes * SPACING);
+        if (stock < this.stripes) {
+            cells.set(MAIN, stock);
+            this.consolidated = true;
+            return;
+        }
+        long base = stock / this.stripes;
+        long remainder = stock % this.stripes;
+        for (int i = 0; i < this.stripes; i++) {
+            cells.set(i * SPACING, base + (i < remainder ? 1 : 0));
+        }
+    }
+
+    boolean tryReserve(long quantity) {
+        if (!consolidated) {
+            if (tryReserveStriped(quantity)) {
+                return true;
+            }
+            consolidated = true;
+        }
+        return tryTake(MAIN, quantity) || reserveConsolidated(quantity);
+    }
+
+    private boolean tryReserveStriped(long quantity) {
+        int start = ThreadLocalRandom.current().nextInt(stripes);
+        for (int n = 0; n < stripes; n++) {
+            if (tryTake(((start + n) % stripes) * SPACING, quantity)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 슬롯에 수량 전체가 남아 있을 때만 차감
+    private boolean tryTake(int index, long quantity) {
+        while (true) {
+            long available = cells.get(index);
+            if (available < quantity) {
+                return false;
+            }
+            if (cells.compareAndSet(index, available, available - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    // 다른 슬롯에 남은 재고(전환 전 분산 재고, 전환과 겹친 반환분)를 MAIN으로 모은 뒤 판단
+    // - 모으는 도중의 재고를 다른 예약이 놓치고 실패하지 않도록 잠금 안에서 처리
+    private synchronized boolean reserveConsolidated(long quantity) {
+        long collected = 0;
+        for (int i = 1; i < stripes; i++) {
+            collected += cells.getAndSet(i * SPACING, 0);
+        }
+        if (collected > 0) {
+            cells.addAndGet(MAIN, collected);
+        }
+        return tryTake(MAIN, quantity);
+    }
+
+    void release(long quantity) {
+        int index = consolidated ? MAIN : ThreadLocalRandom.current().nextInt(stripes) * SPACING;
+        cells.addAndGet(index, quantity);
+    }
+
+    long available() {
+        long sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += cells.get(i * SPACING);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,230 @@
+package com.sparta.point_system.service;
+
+import com.sparta.point_system.entity.Payment;
+import com.sparta.point_system.entity.UserSpendTotal;
+import com.sparta.point_system.repository.OrderRepository;
+import com.sparta.point_system.repository.PaymentRepository;
+import com.sparta.point_system.repository.UserSpendTotalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 사용자별 누적 결제 금액(user_spend_totals) 관리
+ * - 결제 상태 변경 시 PAID 금액의 증감분만 반영하여 멤버십 등급 계산을 O(1)로 처리합니다.
+ * - payments 테이블 기준 재집계는 사용자 청크를 병렬로 처리합니다.
+ */
+@Service
+public class UserSpendService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSpendService.class);
+
+    private final UserSpendTotalRepository userSpendTotalRepository;
+    private final PaymentRepository paymentRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int reconcileChunkSize;
+    private final int reconcileParallelism;
+
+    @Autowired
+    public UserSpendService(UserSpendTotalRepository userSpendTotalRepository,
+                            PaymentRepository paymentRepository,
+                            OrderRepository orderRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${membership.spend.reconcile.chunk-size:500}") int reconcileChunkSize,
+                            @Value("${membership.spend.reconcile.parallelism:4}") int reconcileParallelism) {
+        this.userSpendTotalRepository = userSpendTotalRepository;
+        this.paymentRepository = paymentRepository;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconcileChunkSize = reconcileChunkSize;
+        this.reconcileParallelism = reconcileParallelism;
+    }
+
+    /**
+     * 사용자의 누적 결제 금액 (집계 행이 아직 없으면 payments 합계로 대체)
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalPaidAmount(Long userId) {
+        return userSpendTotalRepository.findTotalPaidAmountByUserId(userId)
+                .orElseGet(() -> paymentRepository.sumAmountByUserIdAndStatus(userId, Payment.PaymentStatus.PAID));
+    }
+
+    /**
+     * 결제 상태 변경 반영
+     * - 반드시 결제 상태/금액을 저장하기 전에 호출해야 합니다.
+     *   (집계 행이 없으면 현재 payments 합계로 먼저 초기화하므로, 바뀐 결제가 중복 반영되지 않도록)
+     * @param oldStatus 변경 전 상태 (신규 결제면 null)
+     * @param newStatus 변경 후 상태 (삭제면 null)
+     */
+    @Transactional
+    public void recordStatusChange(Long userId,
+                                   Payment.PaymentStatus oldStatus, BigDecimal oldAmount,
+                                   Payment.PaymentStatus newStatus, BigDecimal newAmount) {
+        if (userId == null) {
+            return;
+        }
+        BigDecimal delta = paidAmount(newStatus, newAmount).subtract(paidAmount(oldStatus, oldAmount));
+        if (delta.signum() == 0) {
+            return;
+        }
+        if (userSpendTotalRepository.addAmount(userId, delta) == 0) {
+            userSpendTotalRepository.seedFromPayments(userId);
+            userSpendTotalRepository.addAmount(userId, delta);
+        }
+    }
+
+    /**
+     * 주문 ID로 사용자를 찾아 결제 상태 변경 반영 (주문이 없으면 집계 대상이 아니므로 무시)
+     */
+    @Transactional
+    public void recordStatusChangeForOrder(String orderId,
+                                           Payment.PaymentStatus oldStatus, BigDecimal oldAmount,
+                                           Payment.PaymentStatus newStatus, BigDecimal newAmount) {
+        if (orderId == null) {
+            return;
+        }
+        orderRepository.findByOrderId(orderId).ifPresent(order ->
+                recordStatusChange(order.getUserId(), oldStatus, oldAmount, newStatus, newAmount));
+    }
+
+    private BigDecimal paidAmount(Payment.PaymentStatus status, BigDecimal amount) {
+        return status == Payment.PaymentStatus.PAID && amount != null ? amount : BigDecimal.ZERO;
+    }
+
+    /**
+     * payments 기준으로 누적 결제 금액 재집계 (사용자 청크를 병렬 처리)
+     * - 처리 중인 청크는 최대 parallelism개로 제한하여, 사용자 수와 관계없이 메모리에 올라가는 청크 수가 일정합니다.
+     * @param repair true면 불일치/누락 행을 덮어쓰고, false면 검증만 수행
+     */
+    public ReconcileResult reconcile(boolean repair) {
+        long startedAt = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(reconcileParallelism);
+        Semaphore inFlightChunks = new Semaphore(reconcileParallelism);
+        List<Future<ReconcileResult>> futures = new ArrayList<>();
+
+        try {
+            Long afterUserId = 0L;
+            while (true) {
+                // 앞선 청크가 끝나 자리가 날 때까지 다음 청크를 읽지 않음
+                inFlightChunks.acquire();
+                List<Long> userIds;
+                try {
+                    userIds = orderRepository.findUserIdsAfter(afterUserId, PageRequest.of(0, reconcileChunkSize));
+                } catch (RuntimeException e) {
+                    inFlightChunks.release();
+                    throw e;
+                }
+                if (userIds.isEmpty()) {
+                    inFlightChunks.release();
+                    break;
+                }
+                // 청크마다 별도의 짧은 트랜잭션으로 처리
+                futures.add(executor.submit(() -> {
+                    try {
+                        return transactionTemplate.execute(status -> reconcileChunk(userIds, repair));
+                    } finally {
+                        inFlightChunks.release();
+                    }
+                }));
+                afterUserId = userIds.get(userIds.size() - 1);
+            }
+
+            ReconcileResult total = new ReconcileResult();
+            for (Future<ReconcileResult> future : futures) {
+                total.add(future.get());
+            }
+
+            logger.info("누적 결제 금액 {} 완료 - 사용자: {}, 불일치: {}, 복구: {}, 청크: {}, 소요: {}ms",
+                    repair ? "재집계" : "검증", total.getScannedUsers(), total.getMismatchedUsers(),
+                    total.getRepairedUsers(), futures.size(), System.currentTimeMillis() - startedAt);
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("누적 결제 금액 재집계가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("누적 결제 금액 재집계 중 오류 발생: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ReconcileResult reconcileChunk(List<Long> userIds, boolean repair) {
+        // 집계 행을 먼저 잠가서, 재집계 도중 같은 사용자의 결제 상태 변경이 끼어들지 않도록 함
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        for (UserSpendTotal total : userSpendTotalRepository.findByUserIdIn(userIds)) {
+            totals.put(total.getUserId(), total.getTotalPaidAmount());
+        }
+
+        Map<Long, BigDecimal> paidSums = new HashMap<>();
+        for (Object[] row : paymentRepository.sumAmountGroupByUserId(userIds, Payment.PaymentStatus.PAID)) {
+            paidSums.put((Long) row[0], (BigDecimal) row[1]);
+        }
+
+        ReconcileResult result = new ReconcileResult();
+        for (Long userId : userIds) {
+            BigDecimal expected = paidSums.getOrDefault(userId, BigDecimal.ZERO);
+            BigDecimal current = totals.get(userId);
+
+            result.scannedUsers++;
+            if (current != null && current.compareTo(expected) == 0) {
+                continue;
+            }
+
+            result.mismatchedUsers++;
+            logger.warn("누적 결제 금액 불일치 - User ID: {}, 집계: {}, 결제 합계: {}", userId, current, expected);
+            if (repair) {
+                userSpendTotalRepository.upsertTotal(userId, expected);
+                result.repairedUsers++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 재집계 결과
+     */
+    public static class ReconcileResult {
+        private long scannedUsers;
+        private long mismatchedUsers;
+        private long repairedUsers;
+
+        private void add(ReconcileResult other) {
+            if (other == null) {
+                return;
+            }
+            this.scannedUsers += other.scannedUsers;
+            this.mismatchedUsers += other.mismatchedUsers;
+            this.repairedUsers += other.repairedUsers;
+        }
+
+        public long getScannedUsers() {
+            return scannedUsers;
+        }
+
+        public long getMismatchedUsers() {
+            return mismatchedUsers;
+        }
+
+        public long getRepairedUsers() {
+            return repairedUsers;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.sparta.point_system.util;
 
+import com.sparta.point_system.security.JwtUserPrincipal;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -20,8 +24,16 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}") // 24 hours default
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    // 서명 키와 파서는 불변이고 스레드 안전하므로 한 번만 생성
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     public String generateToken(String email, Long userId) {
@@ -33,10 +45,25 @@ public class JwtUtil {
                 .claim("userId", userId)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * 토큰을 한 번만 파싱/검증하여 인증 사용자 생성 (서명 오류, 만료 등 유효하지 않으면 null)
+     */
+    public JwtUserPrincipal parsePrincipal(String token) {
+        try {
+            Claims claims = getAllClaimsFromToken(token);
+            if (claims.getSubject() == null) {
+                return null;
+            }
+            return new JwtUserPrincipal(claims.get("userId", Long.class), claims.getSubject(), claims.getExpiration());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     public String getEmailFromToken(String token) {
         return getClaimFromToken(token, Claims::getSubject);
     }
@@ -55,31 +82,17 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
+    // 파서가 서명과 만료 시각(exp)을 함께 검증하며, 만료된 토큰은 ExpiredJwtException을 던짐
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public Boolean validateToken(String token, String email) {
-        final String tokenEmail = getEmailFromToken(token);
-        return (tokenEmail.equals(email) && !isTokenExpired(token));
+        JwtUserPrincipal principal = parsePrincipal(token);
+        return principal != null && principal.getEmail().equals(email);
     }
 
     public Boolean validateToken(String token) {
-        try {
-            getAllClaimsFromToken(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+        return parsePrincipal(token) != null;
     }
 }
-
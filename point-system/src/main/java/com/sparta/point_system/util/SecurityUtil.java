@@ -2,6 +2,7 @@ package com.sparta.point_system.util;
 
 import com.sparta.point_system.entity.User;
 import com.sparta.point_system.repository.UserRepository;
+import com.sparta.point_system.security.JwtUserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,6 +25,13 @@ public class SecurityUtil {
     }
 
     public Long getCurrentUserId() {
+        // JWT 인증이면 토큰에 담긴 userId를 그대로 사용
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtUserPrincipal principal
+                && principal.getUserId() != null) {
+            return principal.getUserId();
+        }
+
         String email = getCurrentUserEmail();
         if (email != null) {
             return userRepository.findByEmail(email)
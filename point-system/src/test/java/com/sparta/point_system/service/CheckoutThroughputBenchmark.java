@@ -0,0 +1,136 @@
+package com.sparta.point_system.service;
+
+import com.sparta.point_system.dto.PaymentRequestDto;
+import com.sparta.point_system.entity.Product;
+import com.sparta.point_system.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 체크아웃 처리량 벤치마크 - 한 상품 행에 동시 주문이 몰릴 때 DB 조건부 UPDATE 경로와 선착순(메모리 카운터) 경로의 TPS 비교
+ * - 기본 test 작업에서는 제외되며 `gradle benchmark`로 실행합니다. (H2 MySQL 모드 기준 수치이므로 경로 간 상대 비교용)
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({CheckoutService.class, FlashSaleStockService.class, PointService.class, PointBalanceService.class,
+        PointLotService.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CheckoutThroughputBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutThroughputBenchmark.class);
+
+    private static final int THREADS = 32;
+    private static final int WARMUP_ORDERS = 500;
+    private static final int MEASURED_ORDERS = 5_000;
+    private static final int INITIAL_STOCK = 1_000_000;
+
+    private final AtomicInteger orderSequence = new AtomicInteger();
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private FlashSaleStockService flashSaleStockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void compareDatabaseAndFlashSaleCheckout() throws InterruptedException {
+        Long dbProductId = createProduct("DB 재고 상품");
+        run(dbProductId, WARMUP_ORDERS);
+        double dbTps = run(dbProductId, MEASURED_ORDERS);
+
+        Long flashProductId = createProduct("선착순 재고 상품");
+        flashSaleStockService.enable(flashProductId);
+        run(flashProductId, WARMUP_ORDERS);
+        double flashTps = run(flashProductId, MEASURED_ORDERS);
+        flashSaleStockService.writeBack();
+
+        logger.info("체크아웃 처리량 ({} 스레드, 한 상품에 {}건) - DB 조건부 UPDATE: {} TPS, 선착순 카운터: {} TPS ({}배)",
+                THREADS, MEASURED_ORDERS, String.format("%.1f", dbTps), String.format("%.1f", flashTps),
+                String.format("%.2f", flashTps / dbTps));
+
+        // 두 경로 모두 주문 수만큼 정확히 차감되어야 함
+        int expectedStock = INITIAL_STOCK - WARMUP_ORDERS - MEASURED_ORDERS;
+        assertThat(productRepository.findById(dbProductId).orElseThrow().getStock()).isEqualTo(expectedStock);
+        assertThat(productRepository.findById(flashProductId).orElseThrow().getStock()).isEqualTo(expectedStock);
+    }
+
+    // 주문 orders건을 THREADS개 스레드로 나눠 동시에 넣고 TPS 반환
+    private double run(Long productId, int orders) throws InterruptedException {
+        AtomicInteger remaining = new AtomicInteger(orders);
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    while (remaining.getAndDecrement() > 0) {
+                        try {
+                            checkoutService.placeOrder(1L, orderRequest(productId));
+                        } catch (RuntimeException e) {
+                            errors.add(e);
+                        }
+                    }
+                    return null;
+                });
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+            long elapsedNanos = System.nanoTime() - startedAt;
+
+            assertThat(errors).isEmpty();
+            return orders / (elapsedNanos / 1_000_000_000.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private PaymentRequestDto orderRequest(Long productId) {
+        PaymentRequestDto.OrderItemDto item = new PaymentRequestDto.OrderItemDto();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        item.setPrice(BigDecimal.valueOf(1_000));
+
+        PaymentRequestDto request = new PaymentRequestDto();
+        request.setOrderId("bench-" + productId + "-" + orderSequence.incrementAndGet());
+        request.setTotalAmount(BigDecimal.valueOf(1_000));
+        request.setOrderItems(List.of(item));
+        return request;
+    }
+
+    private Long createProduct(String name) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(BigDecimal.valueOf(1_000));
+        product.setStock(INITIAL_STOCK);
+        return productRepository.save(product).getProductId();
+    }
+}
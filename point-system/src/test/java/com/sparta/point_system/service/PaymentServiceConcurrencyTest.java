@@ -0,0 +1,129 @@
+package com.sparta.point_system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.sparta.point_system.client.PortOneTokenManager;
+import com.sparta.point_system.entity.Order;
+import com.sparta.point_system.entity.Payment;
+import com.sparta.point_system.repository.OrderRepository;
+import com.sparta.point_system.repository.PaymentRepository;
+import com.sparta.point_system.repository.RefundRepository;
+import com.sparta.portone.PortOneClient;
+import com.sparta.portone.dto.PortOneAmount;
+import com.sparta.portone.dto.PortOnePayment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 결제 검증 동시성 테스트
+ * - 프론트엔드/웹훅이 같은 paymentId를 동시에 검증해도 PortOne 조회와 결제 저장이 한 번씩만 일어나는지 확인합니다.
+ */
+class PaymentServiceConcurrencyTest {
+
+    private static final String PAYMENT_ID = "payment-concurrency-test";
+    private static final String ORDER_ID = "order-concurrency-test";
+
+    private PortOneClient portOneClient;
+    private PaymentRepository paymentRepository;
+    private OrderRepository orderRepository;
+    private OutboxService outboxService;
+    private PaymentService paymentService;
+
+    private final AtomicInteger gatewayCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        portOneClient = mock(PortOneClient.class);
+        PortOneTokenManager tokenManager = mock(PortOneTokenManager.class);
+        paymentRepository = mock(PaymentRepository.class);
+        orderRepository = mock(OrderRepository.class);
+        outboxService = mock(OutboxService.class);
+
+        when(tokenManager.withAccessToken(any())).thenAnswer(invocation -> {
+            Function<String, Mono<?>> call = invocation.getArgument(0);
+            return call.apply("test-token");
+        });
+        // 느린 PortOne 응답 - 그동안 들어온 검증은 진행 중인 검증을 함께 기다려야 함
+        when(portOneClient.getPaymentDetails(anyString(), anyString())).thenAnswer(invocation -> {
+            gatewayCalls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(300)).thenReturn(paidPaymentDetails());
+        });
+
+        Order order = new Order();
+        order.setOrderId(ORDER_ID);
+        order.setUserId(1L);
+        order.setTotalAmount(BigDecimal.valueOf(10_000));
+        order.setStatus(Order.OrderStatus.PENDING_PAYMENT);
+        when(orderRepository.findByOrderId(ORDER_ID)).thenReturn(Optional.of(order));
+        when(paymentRepository.findByImpUid(PAYMENT_ID)).thenReturn(Optional.empty());
+        when(paymentRepository.findByOrderId(ORDER_ID)).thenReturn(Optional.empty());
+
+        paymentService = new PaymentService(portOneClient, tokenManager, paymentRepository,
+                mock(RefundRepository.class), orderRepository, mock(PointService.class),
+                mock(MembershipService.class), mock(UserSpendService.class), outboxService,
+                mock(CheckoutService.class), new ObjectMapper(), mock(PlatformTransactionManager.class), 5000);
+    }
+
+    @Test
+    void concurrentVerificationsCallGatewayAndSaveOnce() throws InterruptedException {
+        int threads = 16;
+        AtomicInteger verified = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    try {
+                        if (Boolean.TRUE.equals(paymentService.verifyAndApplyPayment(PAYMENT_ID).block())) {
+                            verified.incrementAndGet();
+                        }
+                    } catch (RuntimeException e) {
+                        errors.add(e);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(errors).isEmpty();
+        assertThat(verified.get()).isEqualTo(threads);
+        assertThat(gatewayCalls.get()).isEqualTo(1);
+        verify(portOneClient, times(1)).getPaymentDetails(anyString(), anyString());
+        verify(paymentRepository, times(1)).save(any(Payment.class));
+        verify(outboxService, times(1)).enqueuePaymentCompleted(any(), any(), any(), any());
+    }
+
+    private static PortOnePayment paidPaymentDetails() {
+        return new PortOnePayment(PAYMENT_ID, "PAID", null,
+                new PortOneAmount(BigDecimal.valueOf(10_000), BigDecimal.valueOf(10_000), BigDecimal.ZERO),
+                JsonNodeFactory.instance.objectNode().put("orderId", ORDER_ID),
+                null, null, null, null);
+    }
+}
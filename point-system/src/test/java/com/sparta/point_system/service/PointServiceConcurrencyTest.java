@@ -0,0 +1,157 @@
+package com.sparta.point_system.service;
+
+import com.sparta.point_system.entity.PointTransaction;
+import com.sparta.point_system.repository.PointBalanceRepository;
+import com.sparta.point_system.repository.PointTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 포인트 사용 동시성 스트레스 테스트
+ * - 같은 사용자에게 여러 스레드가 동시에 포인트를 사용해도 잔액이 음수가 되지 않고,
+ *   성공한 차감만큼만 잔액/원장에 반영되는지 확인합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({PointService.class, PointBalanceService.class, PointLotService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PointServiceConcurrencyTest {
+
+    private static final String INSUFFICIENT_MESSAGE = "포인트 잔액이 부족합니다";
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private PointBalanceRepository pointBalanceRepository;
+
+    @Autowired
+    private PointTransactionRepository pointTransactionRepository;
+
+    @Test
+    void concurrentSpendingNeverOverdraws() throws InterruptedException {
+        Long userId = 1L;
+        int initialBalance = 10_000;
+        int cost = 7;
+        pointService.chargePoints(userId, initialBalance, "테스트 충전");
+
+        // 32 스레드 x 60회 x 7포인트 = 13,440포인트 요청 (잔액보다 많음)
+        SpendResult result = spendConcurrently(userId, 32, 60, cost);
+
+        int balance = pointBalanceRepository.findBalanceByUserId(userId).orElseThrow();
+        assertThat(result.errors).isEmpty();
+        assertThat(balance).isGreaterThanOrEqualTo(0);
+        assertThat(balance).isEqualTo(initialBalance - result.succeeded.get() * cost);
+        // 잔액 부족으로 실패한 요청이 있었다면 남은 잔액으로는 한 번도 더 쓸 수 없어야 함
+        assertThat(result.insufficient.get()).isPositive();
+        assertThat(balance).isLessThan(cost);
+        assertThat(pointTransactionRepository.sumPointsByUserId(userId)).isEqualTo((long) balance);
+        assertThat(sumRemainingLots(userId)).isEqualTo(balance);
+    }
+
+    @Test
+    void concurrentFirstSpendsSeedSnapshotOnce() throws InterruptedException {
+        Long userId = 2L;
+        int threads = 20;
+        int cost = 50;
+
+        // 잔액 스냅샷이 없는 사용자 (원장만 존재) - 첫 차감들이 동시에 스냅샷을 초기화함
+        PointTransaction lot = new PointTransaction(userId, null, threads * cost,
+                PointTransaction.TransactionType.ADJUSTMENT, "테스트 원장", null);
+        lot.setRemainingPoints(threads * cost);
+        pointTransactionRepository.save(lot);
+        assertThat(pointBalanceRepository.findBalanceByUserId(userId)).isEmpty();
+
+        SpendResult result = spendConcurrently(userId, threads, 1, cost);
+
+        // 잔액이 충분하므로 먼저 초기화한 요청이 있어도 모두 성공해야 함
+        assertThat(result.errors).isEmpty();
+        assertThat(result.insufficient.get()).isZero();
+        assertThat(result.succeeded.get()).isEqualTo(threads);
+        assertThat(pointBalanceRepository.findBalanceByUserId(userId)).contains(0);
+        assertThat(pointTransactionRepository.sumPointsByUserId(userId)).isZero();
+    }
+
+    @Test
+    void expiredButUnprocessedPointsAreNotSpendable() {
+        Long userId = 3L;
+        // 만료 시각이 지났지만 만료 배치가 아직 처리하지 않은 적립 1,000 + 유효한 적립 300
+        pointService.earnPoints(userId, 1_000, "order-expired", "만료된 적립", LocalDateTime.now().minusDays(1));
+        pointService.earnPoints(userId, 300, "order-valid", "유효한 적립", LocalDateTime.now().plusDays(30));
+
+        // 스냅샷(1,300)으로는 충분하지만 실제로 소진할 수 있는 로트는 300뿐이므로 거절되어야 함
+        assertThatThrownBy(() -> pointService.usePoints(userId, 500, null, "만료 포인트 사용 시도"))
+                .hasMessageStartingWith(INSUFFICIENT_MESSAGE);
+        assertThat(pointBalanceRepository.findBalanceByUserId(userId)).contains(1_300);
+
+        // 유효한 로트만큼은 사용 가능하며, 만료된 로트는 만료 배치가 처리하도록 그대로 남아 있어야 함
+        pointService.usePoints(userId, 300, null, "유효 포인트 사용");
+        assertThat(pointBalanceRepository.findBalanceByUserId(userId)).contains(1_000);
+        assertThat(sumRemainingLots(userId)).isEqualTo(1_000);
+    }
+
+    private SpendResult spendConcurrently(Long userId, int threads, int attemptsPerThread, int cost)
+            throws InterruptedException {
+        SpendResult result = new SpendResult();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        try {
+                            pointService.usePoints(userId, cost, null, "동시성 테스트");
+                            result.succeeded.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            if (e.getMessage() != null && e.getMessage().startsWith(INSUFFICIENT_MESSAGE)) {
+                                result.insufficient.incrementAndGet();
+                            } else {
+                                result.errors.add(e);
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        return result;
+    }
+
+    private int sumRemainingLots(Long userId) {
+        List<PointTransaction> ledger = pointTransactionRepository.findByUserId(userId);
+        return ledger.stream()
+                .filter(transaction -> transaction.getRemainingPoints() != null)
+                .mapToInt(PointTransaction::getRemainingPoints)
+                .sum();
+    }
+
+    private static class SpendResult {
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger insufficient = new AtomicInteger();
+        private final ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+    }
+}
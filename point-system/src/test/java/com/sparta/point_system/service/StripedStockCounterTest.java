@@ -0,0 +1,68 @@
+package com.sparta.point_system.service;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 분산 재고 카운터 동시성 테스트
+ * - 품절 직전 여러 수량 단위의 동시 예약에서도 합계로 남은 재고가 충분하면 실패하지 않고, 초과 판매도 없는지 확인합니다.
+ */
+class StripedStockCounterTest {
+
+    @RepeatedTest(50)
+    void concurrentMultiUnitReservationsSellOutExactly() throws InterruptedException {
+        // 슬롯당 재고(2)보다 큰 수량이라 모든 예약이 여러 슬롯에 걸치는 상황
+        int stock = 32;
+        int quantity = 3;
+        StripedStockCounter counter = new StripedStockCounter(16, stock);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger falseShortages = new AtomicInteger();
+
+        int threads = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    while (counter.tryReserve(quantity)) {
+                        succeeded.incrementAndGet();
+                    }
+                    // 반환(release)이 없어 재고는 줄기만 하므로, 실패 후에도 수량만큼 남아 있으면 잘못된 재고 부족
+                    if (counter.available() >= quantity) {
+                        falseShortages.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(falseShortages.get()).isZero();
+        // 잘못된 재고 부족이 없으면 3개씩 10번 팔리고 2개가 남아야 함
+        assertThat(succeeded.get()).isEqualTo(stock / quantity);
+        assertThat(counter.available()).isEqualTo(stock % quantity);
+    }
+
+    @Test
+    void stockBelowStripeCountIsReservedFromOneSlot() {
+        StripedStockCounter counter = new StripedStockCounter(16, 5);
+
+        assertThat(counter.tryReserve(5)).isTrue();
+        assertThat(counter.tryReserve(1)).isFalse();
+        counter.release(2);
+        assertThat(counter.tryReserve(2)).isTrue();
+        assertThat(counter.available()).isZero();
+    }
+}
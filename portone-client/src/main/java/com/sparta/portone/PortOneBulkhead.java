@@ -0,0 +1,119 @@
+package com.sparta.portone;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 작업 하나의 동시 호출 제한 (논블로킹 세마포어)
+ * - 자리가 없으면 이벤트 루프 스레드를 막지 않고 대기열에서 최대 maxWait만큼 기다린 뒤, 넘으면 PortOneUnavailableException으로 거절합니다.
+ * - 호출이 끝나면(성공/실패/취소) 대기 중인 다음 호출에게 자리를 바로 넘깁니다.
+ */
+class PortOneBulkhead {
+
+    private final PortOneOperation operation;
+    private final int maxConcurrentCalls;
+    private final int maxWaitingCalls;
+    private final Duration maxWait;
+
+    private final Deque<Waiter> waiters = new ArrayDeque<>(); // this로 보호
+    private int activeCalls; // this로 보호
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    PortOneBulkhead(PortOneOperation operation, PortOneClientProperties.BulkheadSettings settings) {
+        this.operation = operation;
+        this.maxConcurrentCalls = settings.getMaxConcurrentCalls();
+        this.maxWaitingCalls = settings.getMaxWaitingCalls();
+        this.maxWait = settings.getMaxWait();
+    }
+
+    <T> Mono<T> execute(Mono<T> call) {
+        // usingWhen: 자리를 얻은 뒤에는 완료/오류/취소 어느 경우에도 반드시 반납
+        return Mono.usingWhen(acquire(), permit -> call, permit -> Mono.fromRunnable(this::release));
+    }
+
+    private Mono<Boolean> acquire() {
+        Mono<Boolean> acquire = Mono.create(sink -> {
+            Waiter waiter;
+            synchronized (this) {
+                if (activeCalls < maxConcurrentCalls) {
+                    activeCalls++;
+                    sink.success(Boolean.TRUE);
+                    return;
+                }
+                if (maxWait.isZero() || waiters.size() >= maxWaitingCalls) {
+                    waiter = null;
+                } else {
+                    waiter = new Waiter(sink);
+                    waiters.addLast(waiter);
+                }
+            }
+            if (waiter == null) {
+                sink.error(rejected("대기열이 가득 찼습니다"));
+                return;
+            }
+            // 대기 시간 초과 등으로 자리를 받기 전에 취소되면 대기열에서 빠지고,
+            // 자리를 넘겨받은 직후에 취소된 경우에는 받은 자리를 돌려줌
+            sink.onCancel(() -> {
+                boolean granted;
+                synchronized (this) {
+                    granted = !waiters.remove(waiter) && waiter.granted;
+                }
+                if (granted) {
+                    release();
+                }
+            });
+        });
+        return acquire.timeout(maxWait, Mono.error(() -> rejected("대기 시간(" + maxWait.toMillis() + "ms)을 초과했습니다")));
+    }
+
+    private void release() {
+        Waiter next;
+        synchronized (this) {
+            next = waiters.pollFirst();
+            if (next == null) {
+                activeCalls--;
+                return;
+            }
+            // activeCalls는 그대로 두고 자리를 다음 대기자에게 넘김
+            next.granted = true;
+        }
+        next.sink.success(Boolean.TRUE);
+    }
+
+    private PortOneUnavailableException rejected(String reason) {
+        rejectedCalls.incrementAndGet();
+        return new PortOneUnavailableException(operation, maxWait,
+                "PortOne " + operation.getTag() + " 동시 호출 제한(" + maxConcurrentCalls + ")에 걸려 요청을 거절했습니다: " + reason,
+                null);
+    }
+
+    PortOneOperation getOperation() {
+        return operation;
+    }
+
+    synchronized int getActiveCalls() {
+        return activeCalls;
+    }
+
+    synchronized int getWaitingCalls() {
+        return waiters.size();
+    }
+
+    long getRejectedCalls() {
+        return rejectedCalls.get();
+    }
+
+    private static class Waiter {
+        private final MonoSink<Boolean> sink;
+        private boolean granted; // PortOneBulkhead 모니터로 보호
+
+        private Waiter(MonoSink<Boolean> sink) {
+            this.sink = sink;
+        }
+    }
+}
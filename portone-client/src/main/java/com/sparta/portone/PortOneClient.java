@@ -0,0 +1,175 @@
+package com.sparta.portone;
+
+import com.sparta.portone.dto.PortOneBillingKey;
+import com.sparta.portone.dto.PortOneBillingKeyRequest;
+import com.sparta.portone.dto.PortOneBillingRequest;
+import com.sparta.portone.dto.PortOneBillingResult;
+import com.sparta.portone.dto.PortOneCancelRequest;
+import com.sparta.portone.dto.PortOneCancelResult;
+import com.sparta.portone.dto.PortOneLoginRequest;
+import com.sparta.portone.dto.PortOneLoginResponse;
+import com.sparta.portone.dto.PortOnePayment;
+import com.sparta.portone.dto.PortOneRevokeSchedulesRequest;
+import com.sparta.portone.dto.PortOneRevokeSchedulesResponse;
+import com.sparta.portone.dto.PortOneScheduleList;
+import com.sparta.portone.dto.PortOneScheduleRequest;
+import com.sparta.portone.dto.PortOneScheduleResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * PortOne V2 API 클라이언트 (point-system, subscription-system 공용)
+ * - 연결 풀과 타임아웃은 PortOneClientAutoConfiguration에서 portone.client.* 설정으로 구성합니다.
+ * - 모든 호출은 PortOneResilience(작업별 벌크헤드 + 서킷 브레이커)를 거치며, 즉시 거절되면 PortOneUnavailableException이 발생합니다.
+ * - 요청/응답 본문은 dto 패키지의 레코드로 주고받으며, API 버전에 따른 필드 이름 차이는 레코드의 @JsonAlias로 흡수합니다.
+ */
+public class PortOneClient {
+
+    private final WebClient webClient;
+    private final String apiSecret;
+    private final PortOneClientProperties.Timeouts timeouts;
+    private final PortOneResilience resilience;
+
+    public PortOneClient(WebClient webClient, String apiSecret, PortOneClientProperties.Timeouts timeouts,
+                         PortOneResilience resilience) {
+        this.webClient = webClient;
+        this.apiSecret = apiSecret;
+        this.timeouts = timeouts;
+        this.resilience = resilience;
+    }
+
+    // API Secret으로 인증 토큰 발급
+    public Mono<String> issueAccessToken() {
+        return resilience.execute(PortOneOperation.TOKEN, webClient.post()
+                .uri("/login/api-secret")
+                .httpRequest(responseTimeout(timeouts.getToken()))
+                .bodyValue(new PortOneLoginRequest(apiSecret))
+                .retrieve()
+                .bodyToMono(PortOneLoginResponse.class)
+                .map(PortOneLoginResponse::accessToken));
+    }
+
+    // 결제 ID로 결제 정보 조회
+    public Mono<PortOnePayment> getPaymentDetails(String paymentId, String accessToken) {
+        return resilience.execute(PortOneOperation.PAYMENT_LOOKUP, webClient.get()
+                .uri("/payments/{paymentId}", paymentId)
+                .header("Authorization", "Bearer " + accessToken)
+                .httpRequest(responseTimeout(timeouts.getPaymentLookup()))
+                .retrieve()
+                .bodyToMono(PortOnePayment.class));
+    }
+
+    // 결제 취소
+    public Mono<PortOneCancelResult> cancelPayment(String paymentId, String accessToken, String reason) {
+        return resilience.execute(PortOneOperation.CANCEL, webClient.post()
+                .uri("/payments/{paymentId}/cancel", paymentId)
+                .header("Authorization", "Bearer " + accessToken)
+                .httpRequest(responseTimeout(timeouts.getCancel()))
+                .bodyValue(new PortOneCancelRequest(reason))
+                .retrieve()
+                .bodyToMono(PortOneCancelResult.class));
+    }
+
+    // 정기결제 빌링키 발급 (PortOne V2 API)
+    // 참고: https://developers.portone.io/opi/ko/integration/start/v2/billing/issue?v=v2
+    public Mono<PortOneBillingKey> issueBillingKey(PortOneBillingKeyRequest billingKeyRequest) {
+        return resilience.execute(PortOneOperation.BILLING, webClient.post()
+                .uri("/billing-keys")
+                .header("Authorization", "PortOne " + apiSecret)
+                .httpRequest(responseTimeout(timeouts.getBilling()))
+                .bodyValue(billingKeyRequest)
+                .retrieve()
+                .bodyToMono(PortOneBillingKey.class));
+    }
+
+    // 빌링키 정보 조회
+    public Mono<PortOneBillingKey> getBillingKey(String customerUid, String accessToken) {
+        return resilience.execute(PortOneOperation.PAYMENT_LOOKUP, webClient.get()
+                .uri("/billing-keys/{customerUid}", customerUid)
+                .header("Authorization", "Bearer " + accessToken)
+                .httpRequest(responseTimeout(timeouts.getPaymentLookup()))
+                .retrieve()
+                .bodyToMono(PortOneBillingKey.class));
+    }
+
+    // 빌링키 삭제 (해당 빌링키로 예약된 결제 스케줄도 함께 취소됨)
+    public Mono<Void> deleteBillingKey(String customerUid, String accessToken) {
+        return resilience.execute(PortOneOperation.BILLING, webClient.delete()
+                .uri("/billing-keys/{customerUid}", customerUid)
+                .header("Authorization", "Bearer " + accessToken)
+                .httpRequest(responseTimeout(timeouts.getBilling()))
+                .retrieve()
+                .bodyToMono(Void.class));
+    }
+
+    // 정기결제 실행 (빌링키로 결제)
+    public Mono<PortOneBillingResult> executeBilling(String customerUid, PortOneBillingRequest billingRequest, String accessToken) {
+        return resilience.execute(PortOneOperation.BILLING, webClient.post()
+                .uri("/billing-keys/{customerUid}/payments", customerUid)
+                .header("Authorization", "Bearer " + accessToken)
+                .httpRequest(responseTimeout(timeouts.getBilling()))
+                .bodyValue(billingRequest)
+                .retrieve()
+                .bodyToMono(PortOneBillingResult.class));
+    }
+
+    // 예약결제 스케줄 생성 (PortOne V2 API, paymentId는 고유한 결제 ID)
+    // 참고: https://developers.portone.io/opi/ko/integration/start/v2/billing/schedule?v=v2
+    public Mono<PortOneScheduleResponse> createSchedule(String paymentId, PortOneScheduleRequest scheduleRequest) {
+        return resilience.execute(PortOneOperation.SCHEDULE, webClient.post()
+                .uri("/payments/{paymentId}/schedule", paymentId)
+                .header("Authorization", "PortOne " + apiSecret)
+                .httpRequest(responseTimeout(timeouts.getSchedule()))
+                .bodyValue(scheduleRequest)
+                .retrieve()
+                .bodyToMono(PortOneScheduleResponse.class));
+    }
+
+    // 예약결제 스케줄 목록 조회
+    public Mono<PortOneScheduleList> getSchedules(String customerUid, String accessToken) {
+        return resilience.execute(PortOneOperation.SCHEDULE, webClient.get()
+                .uri("/billing-keys/{customerUid}/schedules", customerUid)
+                .header("Authorization", "Bearer " + accessToken)
+                .httpRequest(responseTimeout(timeouts.getSchedule()))
+                .retrieve()
+                .bodyToMono(PortOneScheduleList.class));
+    }
+
+    // 예약결제 스케줄 삭제 (customerUid + scheduleId)
+    public Mono<Void> deleteSchedule(String customerUid, String scheduleId, String accessToken) {
+        return resilience.execute(PortOneOperation.SCHEDULE, webClient.delete()
+                .uri("/billing-keys/{customerUid}/schedules/{scheduleId}", customerUid, scheduleId)
+                .header("Authorization", "Bearer " + accessToken)
+                .httpRequest(responseTimeout(timeouts.getSchedule()))
+                .retrieve()
+                .bodyToMono(Void.class));
+    }
+
+    // 결제 예약 취소 (DELETE /payment-schedules, billingKey 또는 scheduleIds 중 하나 이상 필수)
+    // 참고: https://developers.portone.io/api/rest-v2/payment?v=v2
+    public Mono<PortOneRevokeSchedulesResponse> revokePaymentSchedules(String accessToken, String billingKey, List<String> scheduleIds) {
+        String normalizedBillingKey = billingKey != null && !billingKey.trim().isEmpty() ? billingKey : null;
+        return resilience.execute(PortOneOperation.SCHEDULE, webClient.method(HttpMethod.DELETE)
+                .uri("/payment-schedules")
+                .header("Authorization", "Bearer " + accessToken)
+                .httpRequest(responseTimeout(timeouts.getSchedule()))
+                .bodyValue(new PortOneRevokeSchedulesRequest(normalizedBillingKey, scheduleIds))
+                .retrieve()
+                .bodyToMono(PortOneRevokeSchedulesResponse.class));
+    }
+
+    // 작업별 응답 제한 시간 (Reactor Netty 요청 단위로 적용되어, 초과 시 연결을 풀에 돌려보냄)
+    private static Consumer<ClientHttpRequest> responseTimeout(Duration timeout) {
+        return request -> {
+            HttpClientRequest nativeRequest = request.getNativeRequest();
+            nativeRequest.responseTimeout(timeout);
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.sparta.portone;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * PortOne 클라이언트 자동 구성
+ * - 서비스마다 WebClient.create()로 따로 만들던 클라이언트를 연결 풀/타임아웃이 설정된 하나의 구성으로 통일합니다.
+ * - 모든 호출에 작업별 벌크헤드와 서킷 브레이커(PortOneResilience)를 적용합니다.
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(PortOneClientProperties.class)
+public class PortOneClientAutoConfiguration {
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnMissingBean(name = "portOneConnectionProvider")
+    public ConnectionProvider portOneConnectionProvider(PortOneClientProperties properties) {
+        PortOneClientProperties.Pool pool = properties.getPool();
+        return ConnectionProvider.builder("portone")
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInBackground())
+                // Micrometer가 있는 서비스(point-system)에서만 풀 사용량 메트릭 등록
+                .metrics(ClassUtils.isPresent("io.micrometer.core.instrument.MeterRegistry", null))
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PortOneResilience portOneResilience(PortOneClientProperties properties) {
+        return new PortOneResilience(properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PortOneClient portOneClient(ConnectionProvider portOneConnectionProvider,
+                                       PortOneResilience portOneResilience,
+                                       PortOneClientProperties properties,
+                                       @Value("${portone.api.url}") String apiUrl,
+                                       @Value("${portone.api.secret}") String apiSecret) {
+        HttpClient httpClient = HttpClient.create(portOneConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                // HTTP/2는 TLS(ALPN)로만 협상 - 로컬 시뮬레이터 등 http 주소는 HTTP/1.1
+                .protocol(properties.isHttp2() && apiUrl.startsWith("https")
+                        ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11});
+
+        WebClient webClient = WebClient.builder()
+                .baseUrl(apiUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        return new PortOneClient(webClient, apiSecret, properties.getTimeouts(), portOneResilience);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PortOneWebhookVerifier portOneWebhookVerifier(PortOneClientProperties properties,
+                                                         @Value("${portone.webhook.secret:}") String webhookSecret) {
+        return new PortOneWebhookVerifier(webhookSecret, properties.getWebhook().getTolerance());
+    }
+
+    /**
+     * 서킷 브레이커/벌크헤드 메트릭 (Micrometer가 있을 때만, MeterBinder 빈은 actuator가 레지스트리에 등록)
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class PortOneResilienceMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public PortOneResilienceMetrics portOneResilienceMetrics(PortOneResilience portOneResilience) {
+            return new PortOneResilienceMetrics(portOneResilience);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.sparta.portone;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * PortOne 클라이언트 연결 풀/타임아웃 설정 (portone.client.*)
+ * - API 주소와 시크릿은 기존대로 portone.api.url / portone.api.secret을 사용합니다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "portone.client")
+public class PortOneClientProperties {
+
+    // TCP 연결 수립 제한 시간
+    private Duration connectTimeout = Duration.ofSeconds(3);
+
+    // TLS ALPN으로 HTTP/2를 협상 (지원하지 않으면 HTTP/1.1 사용)
+    private boolean http2 = true;
+
+    private Pool pool = new Pool();
+
+    private Timeouts timeouts = new Timeouts();
+
+    private CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+
+    private Bulkheads bulkheads = new Bulkheads();
+
+    private Webhook webhook = new Webhook();
+
+    @Getter
+    @Setter
+    public static class Pool {
+        // 최대 동시 연결 수
+        private int maxConnections = 100;
+
+        // 연결을 기다리는 요청 수 상한 (넘으면 즉시 실패)
+        private int pendingAcquireMaxCount = 500;
+
+        // 풀에서 연결을 얻기까지 기다리는 최대 시간
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        // 유휴 연결 정리 기준 (게이트웨이/로드밸런서가 먼저 끊기 전에 정리)
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        // 연결 최대 수명
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        // 백그라운드 유휴 연결 정리 주기
+        private Duration evictInBackground = Duration.ofSeconds(30);
+    }
+
+    /**
+     * 작업별 응답 제한 시간
+     */
+    @Getter
+    @Setter
+    public static class Timeouts {
+        private Duration token = Duration.ofSeconds(5);
+        private Duration paymentLookup = Duration.ofSeconds(5);
+        private Duration cancel = Duration.ofSeconds(10);
+        private Duration billing = Duration.ofSeconds(15);
+        private Duration schedule = Duration.ofSeconds(10);
+    }
+
+    /**
+     * PortOne 전체에 하나로 적용되는 서킷 브레이커 (게이트웨이 장애는 작업 구분 없이 함께 오므로)
+     * - 5xx/429/타임아웃/연결 실패만 실패로 집계하고, 그 밖의 4xx는 게이트웨이가 정상 응답한 것으로 봅니다.
+     */
+    @Getter
+    @Setter
+    public static class CircuitBreakerSettings {
+        // 실패율(%)이 이 값을 넘으면 OPEN
+        private float failureRateThreshold = 50;
+
+        // 느린 호출 비율(%)이 이 값을 넘어도 OPEN
+        private float slowCallRateThreshold = 80;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(3);
+
+        // 최근 N건 기준으로 실패율 계산 (최소 호출 수를 채워야 판단)
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+
+        // OPEN 유지 시간 - 지나면 HALF_OPEN으로 전환되어 일부 호출만 시험적으로 통과
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedNumberOfCallsInHalfOpenState = 5;
+    }
+
+    /**
+     * 작업별 동시 호출 제한 (한 작업이 느려져도 연결 풀과 다른 작업을 잠식하지 않도록)
+     * - 기본값 합계(75)가 pool.max-connections(100)보다 작게 유지됩니다.
+     */
+    @Getter
+    @Setter
+    public static class Bulkheads {
+        private BulkheadSettings token = new BulkheadSettings(5);
+        private BulkheadSettings paymentLookup = new BulkheadSettings(30);
+        private BulkheadSettings cancel = new BulkheadSettings(10);
+        private BulkheadSettings billing = new BulkheadSettings(20);
+        private BulkheadSettings schedule = new BulkheadSettings(10);
+    }
+
+    @Getter
+    @Setter
+    public static class BulkheadSettings {
+        // 동시에 진행할 수 있는 호출 수
+        private int maxConcurrentCalls;
+
+        // 자리가 날 때까지 기다릴 수 있는 호출 수 (넘으면 즉시 거절)
+        private int maxWaitingCalls = 50;
+
+        // 자리를 기다리는 최대 시간
+        private Duration maxWait = Duration.ofMillis(500);
+
+        public BulkheadSettings() {
+        }
+
+        public BulkheadSettings(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+    }
+
+    /**
+     * 웹훅 서명 검증 (시크릿은 기존대로 portone.webhook.secret을 사용)
+     */
+    @Getter
+    @Setter
+    public static class Webhook {
+        // webhook-timestamp와 현재 시각의 허용 오차 (재전송 공격 방지)
+        private Duration tolerance = Duration.ofMinutes(5);
+    }
+}
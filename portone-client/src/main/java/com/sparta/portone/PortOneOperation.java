@@ -0,0 +1,22 @@
+package com.sparta.portone;
+
+/**
+ * PortOne API 작업 구분 (작업별 타임아웃/벌크헤드/메트릭 태그 단위)
+ */
+public enum PortOneOperation {
+    TOKEN("token"),
+    PAYMENT_LOOKUP("payment-lookup"),
+    CANCEL("cancel"),
+    BILLING("billing"),
+    SCHEDULE("schedule");
+
+    private final String tag;
+
+    PortOneOperation(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
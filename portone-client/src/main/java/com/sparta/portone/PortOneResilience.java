@@ -0,0 +1,80 @@
+package com.sparta.portone;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * PortOne 호출 보호 (작업별 벌크헤드 + 게이트웨이 단위 서킷 브레이커)
+ * - 벌크헤드가 바깥에 있어 대기 시간은 느린 호출 판정에 포함되지 않습니다.
+ * - 서킷이 OPEN이거나 벌크헤드가 포화되면 PortOneUnavailableException으로 즉시 실패합니다.
+ */
+public class PortOneResilience {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Duration openStateRetryAfter;
+    private final Map<PortOneOperation, PortOneBulkhead> bulkheads = new EnumMap<>(PortOneOperation.class);
+
+    public PortOneResilience(PortOneClientProperties properties) {
+        PortOneClientProperties.CircuitBreakerSettings settings = properties.getCircuitBreaker();
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(settings.getSlowCallDurationThreshold())
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(settings.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(settings.getPermittedNumberOfCallsInHalfOpenState())
+                // 호출이 없어도 대기 시간이 지나면 HALF_OPEN으로 전환 (상태 메트릭이 실제 상태를 반영하도록)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(PortOneResilience::isGatewayFailure)
+                .build();
+        this.circuitBreaker = CircuitBreaker.of("portone", config);
+        this.openStateRetryAfter = settings.getWaitDurationInOpenState();
+
+        PortOneClientProperties.Bulkheads bulkheadSettings = properties.getBulkheads();
+        bulkheads.put(PortOneOperation.TOKEN, new PortOneBulkhead(PortOneOperation.TOKEN, bulkheadSettings.getToken()));
+        bulkheads.put(PortOneOperation.PAYMENT_LOOKUP, new PortOneBulkhead(PortOneOperation.PAYMENT_LOOKUP, bulkheadSettings.getPaymentLookup()));
+        bulkheads.put(PortOneOperation.CANCEL, new PortOneBulkhead(PortOneOperation.CANCEL, bulkheadSettings.getCancel()));
+        bulkheads.put(PortOneOperation.BILLING, new PortOneBulkhead(PortOneOperation.BILLING, bulkheadSettings.getBilling()));
+        bulkheads.put(PortOneOperation.SCHEDULE, new PortOneBulkhead(PortOneOperation.SCHEDULE, bulkheadSettings.getSchedule()));
+    }
+
+    public <T> Mono<T> execute(PortOneOperation operation, Mono<T> call) {
+        Mono<T> guarded = call
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .onErrorMap(CallNotPermittedException.class, e -> new PortOneUnavailableException(operation, openStateRetryAfter,
+                        "PortOne 서킷 브레이커가 " + circuitBreaker.getState() + " 상태여서 " + operation.getTag() + " 요청을 보내지 않았습니다.", e));
+        return bulkheads.get(operation).execute(guarded);
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    Collection<PortOneBulkhead> getBulkheads() {
+        return Collections.unmodifiableCollection(bulkheads.values());
+    }
+
+    // 게이트웨이 장애로 볼 오류 (그 밖의 4xx는 요청 자체의 문제이므로 서킷에 반영하지 않음)
+    private static boolean isGatewayFailure(Throwable error) {
+        if (error instanceof WebClientResponseException responseError) {
+            int status = responseError.getStatusCode().value();
+            return status >= 500 || status == 429;
+        }
+        // 연결 실패, 응답 제한 시간 초과(ReadTimeoutException이 감싸져 전달됨) 등
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+}
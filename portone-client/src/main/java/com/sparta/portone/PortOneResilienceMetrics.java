@@ -0,0 +1,62 @@
+package com.sparta.portone;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Locale;
+
+/**
+ * PortOne 서킷 브레이커/벌크헤드 상태 메트릭
+ * - portone.circuitbreaker.state{state}: 현재 상태면 1, 아니면 0
+ * - portone.bulkhead.*{operation}: 작업별 진행 중/대기 중/거절된 호출 수
+ */
+public class PortOneResilienceMetrics implements MeterBinder {
+
+    private final PortOneResilience resilience;
+
+    public PortOneResilienceMetrics(PortOneResilience resilience) {
+        this.resilience = resilience;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CircuitBreaker circuitBreaker = resilience.getCircuitBreaker();
+        for (CircuitBreaker.State state : new CircuitBreaker.State[]{
+                CircuitBreaker.State.CLOSED, CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN}) {
+            Gauge.builder("portone.circuitbreaker.state", circuitBreaker, cb -> cb.getState() == state ? 1 : 0)
+                    .description("PortOne 서킷 브레이커 상태 (현재 상태면 1)")
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+        // 최소 호출 수를 채우기 전에는 -1
+        Gauge.builder("portone.circuitbreaker.failure.rate", circuitBreaker, cb -> cb.getMetrics().getFailureRate())
+                .description("PortOne 호출 실패율 (%)")
+                .register(registry);
+        Gauge.builder("portone.circuitbreaker.slow.call.rate", circuitBreaker, cb -> cb.getMetrics().getSlowCallRate())
+                .description("PortOne 느린 호출 비율 (%)")
+                .register(registry);
+        FunctionCounter.builder("portone.circuitbreaker.not.permitted.calls", circuitBreaker,
+                        cb -> cb.getMetrics().getNumberOfNotPermittedCalls())
+                .description("서킷 브레이커가 열려 보내지 않은 PortOne 호출 수")
+                .register(registry);
+
+        for (PortOneBulkhead bulkhead : resilience.getBulkheads()) {
+            String operation = bulkhead.getOperation().getTag();
+            Gauge.builder("portone.bulkhead.active.calls", bulkhead, PortOneBulkhead::getActiveCalls)
+                    .description("진행 중인 PortOne 호출 수")
+                    .tag("operation", operation)
+                    .register(registry);
+            Gauge.builder("portone.bulkhead.waiting.calls", bulkhead, PortOneBulkhead::getWaitingCalls)
+                    .description("자리를 기다리는 PortOne 호출 수")
+                    .tag("operation", operation)
+                    .register(registry);
+            FunctionCounter.builder("portone.bulkhead.rejected.calls", bulkhead, PortOneBulkhead::getRejectedCalls)
+                    .description("동시 호출 제한으로 거절된 PortOne 호출 수")
+                    .tag("operation", operation)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.sparta.portone;
+
+import java.time.Duration;
+
+/**
+ * PortOne 호출을 보내지 않고 즉시 거절했을 때 발생 (서킷 브레이커 OPEN 또는 벌크헤드 포화)
+ * - 요청이 게이트웨이에 도달하지 않았으므로 결제/청구서 상태를 실패로 바꾸지 말고, 호출자에게 잠시 후 재시도를 안내합니다.
+ */
+public class PortOneUnavailableException extends RuntimeException {
+
+    private final PortOneOperation operation;
+    private final Duration retryAfter;
+
+    public PortOneUnavailableException(PortOneOperation operation, Duration retryAfter, String message, Throwable cause) {
+        super(message, cause);
+        this.operation = operation;
+        this.retryAfter = retryAfter;
+    }
+
+    public PortOneOperation getOperation() {
+        return operation;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    // Retry-After 헤더 값 (초 단위 올림, 최소 1초)
+    public long getRetryAfterSeconds() {
+        long seconds = (retryAfter.toMillis() + 999) / 1000;
+        return Math.max(1, seconds);
+    }
+}
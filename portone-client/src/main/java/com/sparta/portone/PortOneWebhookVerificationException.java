@@ -0,0 +1,11 @@
+package com.sparta.portone;
+
+/**
+ * 웹훅 서명/타임스탬프 검증 실패 (위조되었거나 재전송된 요청)
+ */
+public class PortOneWebhookVerificationException extends RuntimeException {
+
+    public PortOneWebhookVerificationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,101 @@
+package com.sparta.portone;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * PortOne 웹훅 서명 검증 (Standard Webhooks 규격)
+ * - 서명 대상은 "{webhook-id}.{webhook-timestamp}.{본문}"이고, webhook-signature 헤더에는 "v1,{base64 HMAC-SHA256}"이 공백으로 구분되어 여러 개 올 수 있습니다.
+ * - 본문은 받은 바이트 그대로 검증해야 하므로 JSON으로 파싱하기 전에 호출합니다.
+ */
+public class PortOneWebhookVerifier {
+
+    private static final String SECRET_PREFIX = "whsec_";
+    private static final String SIGNATURE_VERSION = "v1";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final byte[] key;
+    private final Duration tolerance;
+
+    public PortOneWebhookVerifier(String secret, Duration tolerance) {
+        this.key = decodeSecret(secret);
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * @throws PortOneWebhookVerificationException 시크릿이 설정되지 않았거나 헤더/서명/타임스탬프가 올바르지 않은 경우
+     */
+    public void verify(String webhookId, String webhookTimestamp, String webhookSignature, byte[] body) {
+        if (key == null) {
+            throw new PortOneWebhookVerificationException("portone.webhook.secret이 설정되지 않아 웹훅을 검증할 수 없습니다.");
+        }
+        if (isBlank(webhookId) || isBlank(webhookTimestamp) || isBlank(webhookSignature)) {
+            throw new PortOneWebhookVerificationException("웹훅 서명 헤더가 없습니다.");
+        }
+
+        long timestamp;
+        try {
+            timestamp = Long.parseLong(webhookTimestamp.trim());
+        } catch (NumberFormatException e) {
+            throw new PortOneWebhookVerificationException("webhook-timestamp 형식이 올바르지 않습니다: " + webhookTimestamp);
+        }
+        long skewSeconds = Math.abs(Instant.now().getEpochSecond() - timestamp);
+        if (skewSeconds > tolerance.getSeconds()) {
+            throw new PortOneWebhookVerificationException("webhook-timestamp가 허용 범위(" + tolerance.getSeconds() + "초)를 벗어났습니다.");
+        }
+
+        byte[] expected = sign(webhookId.trim(), timestamp, body);
+        for (String candidate : webhookSignature.trim().split(" +")) {
+            int comma = candidate.indexOf(',');
+            if (comma < 0 || !SIGNATURE_VERSION.equals(candidate.substring(0, comma))) {
+                continue;
+            }
+            byte[] actual;
+            try {
+                actual = Base64.getDecoder().decode(candidate.substring(comma + 1));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            // 상수 시간 비교
+            if (MessageDigest.isEqual(expected, actual)) {
+                return;
+            }
+        }
+        throw new PortOneWebhookVerificationException("웹훅 서명이 일치하지 않습니다.");
+    }
+
+    private byte[] sign(String webhookId, long timestamp, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+            mac.update((webhookId + "." + timestamp + ".").getBytes(StandardCharsets.UTF_8));
+            mac.update(body);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("웹훅 서명 계산 실패: " + e.getMessage(), e);
+        }
+    }
+
+    // "whsec_" 접두사를 떼고 base64로 디코딩 (base64가 아니면 문자열 자체를 키로 사용)
+    private static byte[] decodeSecret(String secret) {
+        if (isBlank(secret)) {
+            return null;
+        }
+        String encoded = secret.startsWith(SECRET_PREFIX) ? secret.substring(SECRET_PREFIX.length()) : secret;
+        try {
+            return Base64.getDecoder().decode(encoded);
+        } catch (IllegalArgumentException e) {
+            return encoded.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,14 @@
+package com.sparta.portone.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * 결제 금액 (결제 조회/취소 응답 공통)
+ * - 취소 금액은 API 버전에 따라 cancelled 또는 canceled로 옵니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PortOneAmount(BigDecimal total, BigDecimal paid, @JsonAlias("canceled") BigDecimal cancelled) {
+}
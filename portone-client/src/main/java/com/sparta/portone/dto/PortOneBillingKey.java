@@ -0,0 +1,25 @@
+package com.sparta.portone.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * POST /billing-keys, GET /billing-keys/{billingKey} 응답
+ * - 빌링키 정보는 API 버전에 따라 최상위 또는 billingKeyInfo 안에 옵니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PortOneBillingKey(String billingKey,
+                                String status,
+                                String issuedAt,
+                                PortOneCustomer customer,
+                                PortOneBillingKey billingKeyInfo) {
+
+    /**
+     * @return billingKeyInfo 안의 빌링키, 없으면 최상위 빌링키
+     */
+    public String resolveBillingKey() {
+        if (billingKeyInfo != null && billingKeyInfo.billingKey() != null) {
+            return billingKeyInfo.billingKey();
+        }
+        return billingKey;
+    }
+}
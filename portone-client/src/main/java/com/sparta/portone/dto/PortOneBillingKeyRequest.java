@@ -0,0 +1,7 @@
+package com.sparta.portone.dto;
+
+/**
+ * POST /billing-keys 요청 (서버 API 빌링키 발급)
+ */
+public record PortOneBillingKeyRequest(String channelKey, PortOneCustomer customer) {
+}
@@ -0,0 +1,7 @@
+package com.sparta.portone.dto;
+
+/**
+ * POST /billing-keys/{customerUid}/payments 요청 (빌링키 결제)
+ */
+public record PortOneBillingRequest(Integer amount, String merchantUid, String name) {
+}
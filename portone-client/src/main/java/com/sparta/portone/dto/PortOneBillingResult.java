@@ -0,0 +1,18 @@
+package com.sparta.portone.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * POST /billing-keys/{customerUid}/payments 응답 (빌링키 결제)
+ * - 결제 ID/주문 ID는 API 버전에 따라 snake_case(imp_uid, merchant_uid)로 옵니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PortOneBillingResult(@JsonAlias("imp_uid") String impUid,
+                                   @JsonAlias("merchant_uid") String merchantUid,
+                                   BigDecimal amount,
+                                   String status,
+                                   String name) {
+}
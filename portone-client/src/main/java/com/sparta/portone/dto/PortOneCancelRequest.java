@@ -0,0 +1,7 @@
+package com.sparta.portone.dto;
+
+/**
+ * POST /payments/{paymentId}/cancel 요청
+ */
+public record PortOneCancelRequest(String reason) {
+}
@@ -0,0 +1,33 @@
+package com.sparta.portone.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * POST /payments/{paymentId}/cancel 응답
+ * - 취소 금액은 API 버전에 따라 canceledAmount / cancelAmount, amount.cancelled, cancellation.totalAmount 중 하나로 옵니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PortOneCancelResult(Cancellation cancellation,
+                                  @JsonAlias("cancelAmount") BigDecimal canceledAmount,
+                                  PortOneAmount amount) {
+
+    /**
+     * @return 취소 금액 (응답에 없으면 null)
+     */
+    public BigDecimal refundAmount() {
+        if (canceledAmount != null) {
+            return canceledAmount;
+        }
+        if (amount != null && amount.cancelled() != null) {
+            return amount.cancelled();
+        }
+        return cancellation != null ? cancellation.totalAmount() : null;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Cancellation(String id, String status, BigDecimal totalAmount, String reason, String cancelledAt) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.sparta.portone.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * 고객 정보 (결제/빌링키/예약결제 요청과 응답 공통)
+ * - 고객 ID는 숫자로 오는 경우도 있어 문자열로 받습니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PortOneCustomer(String id) {
+}
@@ -0,0 +1,7 @@
+package com.sparta.portone.dto;
+
+/**
+ * POST /login/api-secret 요청
+ */
+public record PortOneLoginRequest(String apiSecret) {
+}
@@ -0,0 +1,10 @@
+package com.sparta.portone.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * POST /login/api-secret 응답
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PortOneLoginResponse(String accessToken, String refreshToken) {
+}
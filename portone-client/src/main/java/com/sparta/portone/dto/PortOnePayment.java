@@ -0,0 +1,22 @@
+package com.sparta.portone.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * GET /payments/{paymentId} 응답 (결제 단건 조회)
+ * - customData는 JSON 문자열 또는 객체로, 결제 수단은 문자열 또는 객체로 올 수 있어 JsonNode로 받습니다.
+ * - 가맹점 주문 ID는 API 버전에 따라 merchantUid / merchantPaymentId / orderId 중 하나로 옵니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PortOnePayment(String id,
+                             String status,
+                             String orderName,
+                             PortOneAmount amount,
+                             JsonNode customData,
+                             @JsonAlias({"merchantPaymentId", "orderId"}) String merchantUid,
+                             @JsonAlias("method") JsonNode payMethod,
+                             String paidAt,
+                             PortOneCustomer customer) {
+}
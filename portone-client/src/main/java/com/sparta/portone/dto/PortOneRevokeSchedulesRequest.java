@@ -0,0 +1,13 @@
+package com.sparta.portone.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * DELETE /payment-schedules 요청
+ * - billingKey만: 해당 빌링키의 모든 예약 취소 / scheduleIds만: 지정한 예약 취소 / 둘 다: 빌링키가 일치하는 지정 예약 취소
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record PortOneRevokeSchedulesRequest(String billingKey, List<String> scheduleIds) {
+}
@@ -0,0 +1,12 @@
+package com.sparta.portone.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * DELETE /payment-schedules 응답
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PortOneRevokeSchedulesResponse(List<String> revokedScheduleIds, String revokedAt) {
+}
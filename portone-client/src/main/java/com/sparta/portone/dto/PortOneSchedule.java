@@ -0,0 +1,20 @@
+package com.sparta.portone.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * 예약결제 스케줄 (생성/목록 조회 응답)
+ * - 스케줄 ID는 API 버전에 따라 id 또는 scheduleId로 옵니다.
+ * - metadata는 생성 요청 시 넘긴 값을 그대로 돌려받습니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PortOneSchedule(@JsonAlias("scheduleId") String id,
+                              String paymentId,
+                              String billingKey,
+                              String orderName,
+                              String status,
+                              String timeToPay,
+                              JsonNode metadata) {
+}
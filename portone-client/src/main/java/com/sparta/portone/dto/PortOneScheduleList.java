@@ -0,0 +1,12 @@
+package com.sparta.portone.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * GET /billing-keys/{customerUid}/schedules 응답
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PortOneScheduleList(List<PortOneSchedule> schedules) {
+}
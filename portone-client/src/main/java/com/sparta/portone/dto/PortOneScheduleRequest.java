@@ -0,0 +1,17 @@
+package com.sparta.portone.dto;
+
+import java.util.Map;
+
+/**
+ * POST /payments/{paymentId}/schedule 요청 (예약결제 스케줄 생성)
+ * @param timeToPay 결제 예정 시각 (ISO 8601, 예: 2023-08-24T14:15:22Z)
+ * @param metadata 스케줄 조회 시 그대로 돌려받는 값 (구독 ID 등)
+ */
+public record PortOneScheduleRequest(Payment payment, String timeToPay, Map<String, Object> metadata) {
+
+    public record Payment(String billingKey, String orderName, PortOneCustomer customer, Amount amount, String currency) {
+    }
+
+    public record Amount(long total) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.sparta.portone.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * POST /payments/{paymentId}/schedule 응답
+ * - 스케줄은 API 버전에 따라 schedule 또는 data 안에 오거나, 스케줄 ID만 최상위에 옵니다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PortOneScheduleResponse(@JsonAlias("data") PortOneSchedule schedule,
+                                      @JsonAlias("scheduleId") String id) {
+
+    /**
+     * @return 스케줄 ID (응답에 없으면 null)
+     */
+    public String resolveScheduleId() {
+        if (id != null) {
+            return id;
+        }
+        return schedule != null ? schedule.id() : null;
+    }
+}
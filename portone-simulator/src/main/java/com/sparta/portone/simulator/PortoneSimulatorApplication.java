@@ -0,0 +1,16 @@
+package com.sparta.portone.simulator;
+
+import com.sparta.portone.simulator.config.SimulatorProperties;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+@SpringBootApplication
+@EnableConfigurationProperties(SimulatorProperties.class)
+public class PortoneSimulatorApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(PortoneSimulatorApplication.class, args);
+	}
+
+}
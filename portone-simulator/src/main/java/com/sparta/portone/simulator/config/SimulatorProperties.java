@@ -0,0 +1,90 @@
+package com.sparta.portone.simulator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * PortOne 시뮬레이터 동작 설정 (simulator.*)
+ * - 작업 이름은 portone-client의 PortOneOperation 태그와 같습니다: token, payment-lookup, cancel, billing, schedule
+ * - simulator.operations.<작업>에 설정이 없으면 simulator.defaults를 사용합니다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "simulator")
+public class SimulatorProperties {
+
+    // /login/api-secret에서 확인할 API Secret (비어 있으면 어떤 값이든 허용)
+    private String apiSecret = "";
+
+    // 발급하는 액세스 토큰 유효기간 (짧게 잡으면 서비스의 토큰 갱신/401 재시도 경로를 시험할 수 있음)
+    private Duration tokenTtl = Duration.ofMinutes(30);
+
+    private Behavior defaults = new Behavior();
+
+    private Map<String, Behavior> operations = new HashMap<>();
+
+    private Throttle throttle = new Throttle();
+
+    private Payments payments = new Payments();
+
+    /**
+     * 작업 하나의 응답 특성
+     */
+    @Getter
+    @Setter
+    public static class Behavior {
+        private Latency latency = new Latency();
+
+        // 지연 후 오류 응답을 돌려줄 비율 (0.0 ~ 1.0)
+        private double errorRate = 0.0;
+        private int errorStatus = 500;
+
+        // 응답하지 않고 붙잡아 두는 비율 (클라이언트 응답 제한 시간/서킷 브레이커 시험용)
+        private double hangRate = 0.0;
+        private Duration hangDuration = Duration.ofSeconds(60);
+    }
+
+    /**
+     * 응답 지연 분포
+     * - FIXED: median 고정
+     * - UNIFORM: min ~ max 균등 분포
+     * - NORMAL / LOG_NORMAL: median과 p99로 분포를 정하고 min ~ max로 자름
+     */
+    @Getter
+    @Setter
+    public static class Latency {
+        private Distribution distribution = Distribution.LOG_NORMAL;
+        private Duration median = Duration.ofMillis(120);
+        private Duration p99 = Duration.ofMillis(600);
+        private Duration min = Duration.ZERO;
+        private Duration max = Duration.ofSeconds(10);
+    }
+
+    public enum Distribution {
+        FIXED, UNIFORM, NORMAL, LOG_NORMAL
+    }
+
+    /**
+     * 전체 요청에 적용하는 토큰 버킷 (초과하면 즉시 429 + Retry-After)
+     */
+    @Getter
+    @Setter
+    public static class Throttle {
+        private boolean enabled = false;
+        private int requestsPerSecond = 200;
+        private int burst = 400;
+    }
+
+    @Getter
+    @Setter
+    public static class Payments {
+        // 등록되지 않은 결제 ID를 조회하면 결제 완료(PAID) 건을 만들어 응답 (false면 404)
+        private boolean autoCreate = true;
+        private int defaultAmount = 10000;
+    }
+}
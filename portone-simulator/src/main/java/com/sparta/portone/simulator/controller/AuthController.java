@@ -0,0 +1,38 @@
+package com.sparta.portone.simulator.controller;
+
+import com.sparta.portone.simulator.service.GatewaySimulation;
+import com.sparta.portone.simulator.service.SimulatorStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+public class AuthController {
+
+    @Autowired
+    private GatewaySimulation gatewaySimulation;
+
+    @Autowired
+    private SimulatorStore simulatorStore;
+
+    // API Secret으로 액세스 토큰 발급
+    @PostMapping("/login/api-secret")
+    public Mono<ResponseEntity<Map<String, Object>>> login(@RequestBody Map<String, Object> request) {
+        return gatewaySimulation.respond("token", () -> {
+            Object apiSecret = request.get("apiSecret");
+            if (apiSecret == null || !simulatorStore.isValidApiSecret(apiSecret.toString())) {
+                return GatewaySimulation.unauthorized();
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("accessToken", simulatorStore.issueAccessToken());
+            response.put("refreshToken", simulatorStore.issueAccessToken());
+            return ResponseEntity.ok(response);
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package com.sparta.portone.simulator.controller;
+
+import com.sparta.portone.simulator.service.GatewaySimulation;
+import com.sparta.portone.simulator.service.SimulatorStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/billing-keys")
+public class BillingKeyController {
+
+    @Autowired
+    private GatewaySimulation gatewaySimulation;
+
+    @Autowired
+    private SimulatorStore simulatorStore;
+
+    // 빌링키 발급
+    @PostMapping
+    public Mono<ResponseEntity<Map<String, Object>>> issueBillingKey(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                                                     @RequestBody(required = false) Map<String, Object> request) {
+        return gatewaySimulation.respond("billing", () -> {
+            if (!simulatorStore.isAuthorized(authorization)) {
+                return GatewaySimulation.unauthorized();
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("billingKeyInfo", simulatorStore.issueBillingKey(request));
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    // 빌링키 조회
+    @GetMapping("/{billingKey}")
+    public Mono<ResponseEntity<Map<String, Object>>> getBillingKey(@PathVariable String billingKey,
+                                                                   @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return gatewaySimulation.respond("payment-lookup", () -> {
+            if (!simulatorStore.isAuthorized(authorization)) {
+                return GatewaySimulation.unauthorized();
+            }
+            Map<String, Object> billingKeyInfo = simulatorStore.findOrCreateBillingKey(billingKey);
+            Map<String, Object> response = new HashMap<>(billingKeyInfo);
+            response.put("billingKeyInfo", billingKeyInfo);
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    // 빌링키 삭제
+    @DeleteMapping("/{billingKey}")
+    public Mono<ResponseEntity<Map<String, Object>>> deleteBillingKey(@PathVariable String billingKey,
+                                                                      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return gatewaySimulation.respond("billing", () -> {
+            if (!simulatorStore.isAuthorized(authorization)) {
+                return GatewaySimulation.unauthorized();
+            }
+            if (!simulatorStore.deleteBillingKey(billingKey)) {
+                return GatewaySimulation.notFound("BILLING_KEY_NOT_FOUND", "빌링키가 존재하지 않습니다: " + billingKey);
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("deletedAt", Instant.now().toString());
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    // 빌링키 결제
+    @PostMapping("/{billingKey}/payments")
+    public Mono<ResponseEntity<Map<String, Object>>> executeBilling(@PathVariable String billingKey,
+                                                                    @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                                                    @RequestBody(required = false) Map<String, Object> request) {
+        return gatewaySimulation.respond("billing", () -> {
+            if (!simulatorStore.isAuthorized(authorization)) {
+                return GatewaySimulation.unauthorized();
+            }
+            simulatorStore.findOrCreateBillingKey(billingKey);
+            return ResponseEntity.ok(simulatorStore.executeBilling(billingKey, request));
+        });
+    }
+
+    // 빌링키의 예약결제 스케줄 목록
+    @GetMapping("/{billingKey}/schedules")
+    public Mono<ResponseEntity<Map<String, Object>>> getSchedules(@PathVariable String billingKey,
+                                                                  @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return gatewaySimulation.respond("schedule", () -> {
+            if (!simulatorStore.isAuthorized(authorization)) {
+                return GatewaySimulation.unauthorized();
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("schedules", simulatorStore.findSchedulesByBillingKey(billingKey));
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    // 예약결제 스케줄 삭제
+    @DeleteMapping("/{billingKey}/schedules/{scheduleId}")
+    public Mono<ResponseEntity<Map<String, Object>>> deleteSchedule(@PathVariable String billingKey,
+                                                                    @PathVariable String scheduleId,
+                                                                    @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return gatewaySimulation.respond("schedule", () -> {
+            if (!simulatorStore.isAuthorized(authorization)) {
+                return GatewaySimulation.unauthorized();
+            }
+            if (!simulatorStore.deleteSchedule(billingKey, scheduleId)) {
+                return GatewaySimulation.notFound("PAYMENT_SCHEDULE_NOT_FOUND", "예약결제 건이 존재하지 않습니다: " + scheduleId);
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("revokedAt", Instant.now().toString());
+            return ResponseEntity.ok(response);
+        });
+    }
+}
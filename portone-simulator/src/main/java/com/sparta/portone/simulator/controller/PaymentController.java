@@ -0,0 +1,78 @@
+package com.sparta.portone.simulator.controller;
+
+import com.sparta.portone.simulator.service.GatewaySimulation;
+import com.sparta.portone.simulator.service.SimulatorStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/payments")
+public class PaymentController {
+
+    @Autowired
+    private GatewaySimulation gatewaySimulation;
+
+    @Autowired
+    private SimulatorStore simulatorStore;
+
+    // 결제 단건 조회
+    @GetMapping("/{paymentId}")
+    public Mono<ResponseEntity<Map<String, Object>>> getPayment(@PathVariable String paymentId,
+                                                                @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return gatewaySimulation.respond("payment-lookup", () -> {
+            if (!simulatorStore.isAuthorized(authorization)) {
+                return GatewaySimulation.unauthorized();
+            }
+            Map<String, Object> payment = simulatorStore.findPayment(paymentId);
+            if (payment == null) {
+                return GatewaySimulation.notFound("PAYMENT_NOT_FOUND", "결제 건이 존재하지 않습니다: " + paymentId);
+            }
+            return ResponseEntity.ok(new HashMap<>(payment));
+        });
+    }
+
+    // 결제 취소
+    @PostMapping("/{paymentId}/cancel")
+    public Mono<ResponseEntity<Map<String, Object>>> cancelPayment(@PathVariable String paymentId,
+                                                                   @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                                                   @RequestBody(required = false) Map<String, Object> request) {
+        return gatewaySimulation.respond("cancel", () -> {
+            if (!simulatorStore.isAuthorized(authorization)) {
+                return GatewaySimulation.unauthorized();
+            }
+            Map<String, Object> payment = simulatorStore.findPayment(paymentId);
+            if (payment == null) {
+                return GatewaySimulation.notFound("PAYMENT_NOT_FOUND", "결제 건이 존재하지 않습니다: " + paymentId);
+            }
+            Object reason = request != null ? request.get("reason") : null;
+            Map<String, Object> result = simulatorStore.cancelPayment(payment, reason != null ? reason.toString() : null);
+            if (result == null) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(GatewaySimulation.error("PAYMENT_ALREADY_CANCELLED", "이미 취소된 결제입니다: " + paymentId));
+            }
+            return ResponseEntity.ok(result);
+        });
+    }
+
+    // 예약결제 스케줄 생성
+    @PostMapping("/{paymentId}/schedule")
+    public Mono<ResponseEntity<Map<String, Object>>> createSchedule(@PathVariable String paymentId,
+                                                                    @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                                                    @RequestBody Map<String, Object> request) {
+        return gatewaySimulation.respond("schedule", () -> {
+            if (!simulatorStore.isAuthorized(authorization)) {
+                return GatewaySimulation.unauthorized();
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("schedule", simulatorStore.createSchedule(paymentId, request));
+            return ResponseEntity.ok(response);
+        });
+    }
+}
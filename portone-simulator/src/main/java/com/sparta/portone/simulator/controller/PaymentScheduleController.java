@@ -0,0 +1,57 @@
+package com.sparta.portone.simulator.controller;
+
+import com.sparta.portone.simulator.service.GatewaySimulation;
+import com.sparta.portone.simulator.service.SimulatorStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+public class PaymentScheduleController {
+
+    @Autowired
+    private GatewaySimulation gatewaySimulation;
+
+    @Autowired
+    private SimulatorStore simulatorStore;
+
+    // 결제 예약 취소 (billingKey 또는 scheduleIds 중 하나 이상 필수)
+    @SuppressWarnings("unchecked")
+    @DeleteMapping("/payment-schedules")
+    public Mono<ResponseEntity<Map<String, Object>>> revokePaymentSchedules(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                                                            @RequestBody(required = false) Map<String, Object> request) {
+        return gatewaySimulation.respond("schedule", () -> {
+            if (!simulatorStore.isAuthorized(authorization)) {
+                return GatewaySimulation.unauthorized();
+            }
+            Object billingKey = request != null ? request.get("billingKey") : null;
+            Object scheduleIds = request != null ? request.get("scheduleIds") : null;
+            if (billingKey == null && !(scheduleIds instanceof List<?> ids && !ids.isEmpty())) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(GatewaySimulation.error("INVALID_REQUEST", "billingKey 또는 scheduleIds 중 하나는 필수입니다."));
+            }
+
+            List<String> revoked = simulatorStore.revokeSchedules(
+                    billingKey != null ? billingKey.toString() : null,
+                    scheduleIds instanceof List ? (List<String>) scheduleIds : null);
+            if (revoked.isEmpty()) {
+                return GatewaySimulation.notFound("PAYMENT_SCHEDULE_NOT_FOUND", "취소할 예약결제 건이 없습니다.");
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("revokedScheduleIds", revoked);
+            response.put("revokedAt", Instant.now().toString());
+            return ResponseEntity.ok(response);
+        });
+    }
+}
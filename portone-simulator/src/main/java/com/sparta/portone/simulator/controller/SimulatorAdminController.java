@@ -0,0 +1,83 @@
+package com.sparta.portone.simulator.controller;
+
+import com.sparta.portone.simulator.config.SimulatorProperties;
+import com.sparta.portone.simulator.service.GatewaySimulation;
+import com.sparta.portone.simulator.service.SimulatorStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 시뮬레이터 관리 API (부하 테스트 중 동작 변경, 결제 데이터 등록, 통계 확인)
+ * - 지연/오류가 적용되지 않습니다.
+ */
+@RestController
+@RequestMapping("/simulator")
+public class SimulatorAdminController {
+
+    @Autowired
+    private GatewaySimulation gatewaySimulation;
+
+    @Autowired
+    private SimulatorStore simulatorStore;
+
+    // 작업/결과별 요청 수와 저장된 데이터 수
+    @GetMapping("/stats")
+    public Map<String, Object> getStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("requests", gatewaySimulation.getStats());
+        response.put("store", simulatorStore.getSummary());
+        return response;
+    }
+
+    // 통계와 저장된 데이터 초기화 (작업별 동작 설정은 유지)
+    @PostMapping("/reset")
+    public Map<String, Object> reset() {
+        gatewaySimulation.resetStats();
+        simulatorStore.reset();
+        return Map.of("message", "Simulator state reset");
+    }
+
+    @GetMapping("/operations/{operation}")
+    public SimulatorProperties.Behavior getBehavior(@PathVariable String operation) {
+        return gatewaySimulation.behaviorOf(operation);
+    }
+
+    // 작업별 동작 변경 (예: 부하 중 payment-lookup의 오류율을 올려 서킷 브레이커 동작 확인)
+    @PutMapping("/operations/{operation}")
+    public SimulatorProperties.Behavior updateBehavior(@PathVariable String operation,
+                                                       @RequestBody SimulatorProperties.Behavior behavior) {
+        gatewaySimulation.updateBehavior(operation, behavior);
+        return behavior;
+    }
+
+    // 작업별 동작을 기본값(simulator.defaults)으로 되돌림
+    @DeleteMapping("/operations/{operation}")
+    public SimulatorProperties.Behavior resetBehavior(@PathVariable String operation) {
+        gatewaySimulation.resetBehavior(operation);
+        return gatewaySimulation.behaviorOf(operation);
+    }
+
+    // 결제 건 등록 (서비스의 결제 검증이 실제 주문 ID/금액으로 진행되도록)
+    @PostMapping("/payments")
+    public ResponseEntity<Map<String, Object>> registerPayment(@RequestBody Map<String, Object> request) {
+        Object paymentId = request.get("paymentId");
+        if (paymentId == null) {
+            return ResponseEntity.badRequest().body(GatewaySimulation.error("INVALID_REQUEST", "paymentId는 필수입니다."));
+        }
+        Object amount = request.get("amount");
+        Object orderId = request.get("orderId");
+        Object orderName = request.get("orderName");
+        Object customerId = request.get("customerId");
+        Map<String, Object> payment = simulatorStore.registerPayment(
+                paymentId.toString(),
+                amount instanceof Number number ? number.intValue() : null,
+                orderId != null ? orderId.toString() : paymentId.toString(),
+                orderName != null ? orderName.toString() : null,
+                customerId != null ? customerId.toString() : null);
+        return ResponseEntity.ok(new HashMap<>(payment));
+    }
+}
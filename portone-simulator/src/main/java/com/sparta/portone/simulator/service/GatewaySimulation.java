@@ -0,0 +1,166 @@
+package com.sparta.portone.simulator.service;
+
+import com.sparta.portone.simulator.config.SimulatorProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 게이트웨이 응답 특성 재현
+ * - 요청마다 토큰 버킷(429) → 지연 분포 샘플링 → 무응답/오류 확률 순으로 적용한 뒤 실제 핸들러를 실행합니다.
+ * - 지연은 Mono.delay로 처리하여 스레드를 점유하지 않으므로, 적은 스레드로도 높은 동시 요청을 재현할 수 있습니다.
+ */
+@Service
+public class GatewaySimulation {
+
+    // 표준정규분포 99백분위 z값
+    private static final double Z_99 = 2.3263;
+
+    private final SimulatorProperties properties;
+    private final Map<String, SimulatorProperties.Behavior> behaviors = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> stats = new ConcurrentHashMap<>();
+
+    private final Object throttleLock = new Object();
+    private double availableTokens; // throttleLock으로 보호
+    private long lastRefillNanos; // throttleLock으로 보호
+
+    @Autowired
+    public GatewaySimulation(SimulatorProperties properties) {
+        this.properties = properties;
+        this.behaviors.putAll(properties.getOperations());
+        this.availableTokens = properties.getThrottle().getBurst();
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public Mono<ResponseEntity<Map<String, Object>>> respond(String operation,
+                                                             Supplier<ResponseEntity<Map<String, Object>>> handler) {
+        return Mono.defer(() -> {
+            if (!tryAcquireThrottle()) {
+                record(operation, "throttled");
+                return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(error("TOO_MANY_REQUESTS", "요청 한도를 초과했습니다.")));
+            }
+
+            SimulatorProperties.Behavior behavior = behaviorOf(operation);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < behavior.getHangRate()) {
+                record(operation, "hang");
+                return Mono.delay(behavior.getHangDuration())
+                        .map(ignored -> ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                                .body(error("SIMULATED_HANG", "응답 지연을 시뮬레이션했습니다.")));
+            }
+
+            Duration latency = sampleLatency(behavior.getLatency());
+            if (random.nextDouble() < behavior.getErrorRate()) {
+                record(operation, "error");
+                return Mono.delay(latency)
+                        .map(ignored -> ResponseEntity.status(behavior.getErrorStatus())
+                                .body(error("SIMULATED_ERROR", "오류 응답을 시뮬레이션했습니다.")));
+            }
+
+            return Mono.delay(latency)
+                    .map(ignored -> {
+                        ResponseEntity<Map<String, Object>> response = handler.get();
+                        record(operation, response.getStatusCode().is2xxSuccessful() ? "ok" : "rejected");
+                        return response;
+                    });
+        });
+    }
+
+    public SimulatorProperties.Behavior behaviorOf(String operation) {
+        return behaviors.getOrDefault(operation, properties.getDefaults());
+    }
+
+    public void updateBehavior(String operation, SimulatorProperties.Behavior behavior) {
+        behaviors.put(operation, behavior);
+    }
+
+    public void resetBehavior(String operation) {
+        behaviors.remove(operation);
+    }
+
+    // 작업/결과별 요청 수 (operation.result 형태의 키)
+    public Map<String, Long> getStats() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        stats.forEach((key, counter) -> snapshot.put(key, counter.sum()));
+        return snapshot;
+    }
+
+    public void resetStats() {
+        stats.clear();
+    }
+
+    public static Map<String, Object> error(String type, String message) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("type", type);
+        body.put("message", message);
+        return body;
+    }
+
+    public static ResponseEntity<Map<String, Object>> unauthorized() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error("UNAUTHORIZED", "인증 정보가 올바르지 않습니다."));
+    }
+
+    public static ResponseEntity<Map<String, Object>> notFound(String type, String message) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error(type, message));
+    }
+
+    private void record(String operation, String result) {
+        stats.computeIfAbsent(operation + "." + result, key -> new LongAdder()).increment();
+    }
+
+    private boolean tryAcquireThrottle() {
+        SimulatorProperties.Throttle throttle = properties.getThrottle();
+        if (!throttle.isEnabled()) {
+            return true;
+        }
+        synchronized (throttleLock) {
+            long now = System.nanoTime();
+            double refill = (now - lastRefillNanos) / 1_000_000_000.0 * throttle.getRequestsPerSecond();
+            availableTokens = Math.min(throttle.getBurst(), availableTokens + refill);
+            lastRefillNanos = now;
+            if (availableTokens < 1) {
+                return false;
+            }
+            availableTokens -= 1;
+            return true;
+        }
+    }
+
+    private Duration sampleLatency(SimulatorProperties.Latency latency) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double medianMillis = latency.getMedian().toMillis();
+        double p99Millis = Math.max(latency.getP99().toMillis(), medianMillis);
+        double millis;
+        switch (latency.getDistribution()) {
+            case FIXED -> millis = medianMillis;
+            case UNIFORM -> {
+                long min = latency.getMin().toMillis();
+                long max = Math.max(latency.getMax().toMillis(), min);
+                millis = min == max ? min : random.nextLong(min, max + 1);
+            }
+            case NORMAL -> millis = medianMillis + random.nextGaussian() * (p99Millis - medianMillis) / Z_99;
+            default -> {
+                // 로그정규: ln(지연) ~ N(ln(median), sigma), p99 = median * e^(Z_99 * sigma)
+                double safeMedian = Math.max(medianMillis, 1);
+                double sigma = Math.log(Math.max(p99Millis, safeMedian) / safeMedian) / Z_99;
+                millis = safeMedian * Math.exp(random.nextGaussian() * sigma);
+            }
+        }
+        long clamped = Math.max(latency.getMin().toMillis(), Math.min(latency.getMax().toMillis(), Math.round(millis)));
+        return Duration.ofMillis(clamped);
+    }
+}
@@ -0,0 +1,296 @@
+package com.sparta.portone.simulator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.portone.simulator.config.SimulatorProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 시뮬레이터 메모리 상태 (액세스 토큰, 결제, 빌링키, 예약결제 스케줄)
+ * - 재시작하거나 /simulator/reset을 호출하면 모두 비워집니다.
+ * - 응답 필드는 서비스들이 PortOne 응답에서 읽는 키에 맞춰 구성합니다.
+ */
+@Service
+public class SimulatorStore {
+
+    private final SimulatorProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Instant> accessTokens = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> payments = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> billingKeys = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> schedules = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SimulatorStore(SimulatorProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    // ===== 액세스 토큰 =====
+
+    /**
+     * exp 클레임을 가진 JWT 형태의 토큰 발급 (서비스의 토큰 캐시가 만료 시각을 읽을 수 있도록, 서명은 검증 대상이 아님)
+     */
+    public String issueAccessToken() {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(properties.getTokenTtl());
+        accessTokens.entrySet().removeIf(entry -> entry.getValue().isBefore(now));
+
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("iss", "portone-simulator");
+        claims.put("jti", UUID.randomUUID().toString());
+        claims.put("iat", now.getEpochSecond());
+        claims.put("exp", expiresAt.getEpochSecond());
+        String token = encode(Map.of("alg", "none", "typ", "JWT")) + "." + encode(claims) + ".simulated";
+        accessTokens.put(token, expiresAt);
+        return token;
+    }
+
+    /**
+     * Authorization 헤더 확인 ("Bearer {발급한 토큰}" 또는 "PortOne {API Secret}")
+     */
+    public boolean isAuthorized(String authorization) {
+        if (authorization == null) {
+            return false;
+        }
+        if (authorization.startsWith("Bearer ")) {
+            Instant expiresAt = accessTokens.get(authorization.substring("Bearer ".length()));
+            return expiresAt != null && expiresAt.isAfter(Instant.now());
+        }
+        if (authorization.startsWith("PortOne ")) {
+            return isValidApiSecret(authorization.substring("PortOne ".length()));
+        }
+        return false;
+    }
+
+    public boolean isValidApiSecret(String apiSecret) {
+        String expected = properties.getApiSecret();
+        return expected == null || expected.isEmpty() || expected.equals(apiSecret);
+    }
+
+    // ===== 결제 =====
+
+    public Map<String, Object> registerPayment(String paymentId, Integer amount, String orderId, String orderName, String customerId) {
+        int paymentAmount = amount != null ? amount : properties.getPayments().getDefaultAmount();
+        Map<String, Object> payment = newPayment(paymentId, paymentAmount, orderId, orderName, customerId);
+        payments.put(paymentId, payment);
+        return payment;
+    }
+
+    private Map<String, Object> newPayment(String paymentId, int amount, String orderId, String orderName, String customerId) {
+        Map<String, Object> payment = new ConcurrentHashMap<>();
+        payment.put("id", paymentId);
+        payment.put("status", "PAID");
+        payment.put("orderName", orderName != null ? orderName : "시뮬레이터 결제");
+        payment.put("method", Map.of("type", "PaymentMethodCard"));
+        payment.put("paidAt", Instant.now().toString());
+
+        Map<String, Object> paymentAmount = new HashMap<>();
+        paymentAmount.put("total", amount);
+        paymentAmount.put("paid", amount);
+        paymentAmount.put("cancelled", 0);
+        payment.put("amount", paymentAmount);
+
+        if (orderId != null) {
+            payment.put("customData", Map.of("orderId", orderId));
+        }
+        if (customerId != null) {
+            payment.put("customer", Map.of("id", customerId));
+        }
+        return payment;
+    }
+
+    /**
+     * @return 결제 정보, 없고 자동 생성도 꺼져 있으면 null
+     */
+    public Map<String, Object> findPayment(String paymentId) {
+        Map<String, Object> payment = payments.get(paymentId);
+        if (payment == null && properties.getPayments().isAutoCreate()) {
+            payment = payments.computeIfAbsent(paymentId, id -> newPayment(id, properties.getPayments().getDefaultAmount(), id, null, null));
+        }
+        return payment;
+    }
+
+    /**
+     * @return 취소 결과, 이미 취소된 결제면 null
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized Map<String, Object> cancelPayment(Map<String, Object> payment, String reason) {
+        if ("CANCELLED".equals(payment.get("status"))) {
+            return null;
+        }
+        Map<String, Object> paymentAmount = (Map<String, Object>) payment.get("amount");
+        Object total = paymentAmount.get("total");
+        paymentAmount.put("cancelled", total);
+        payment.put("status", "CANCELLED");
+        payment.put("cancelledAt", Instant.now().toString());
+
+        Map<String, Object> cancellation = new HashMap<>();
+        cancellation.put("id", "cancel-" + UUID.randomUUID());
+        cancellation.put("status", "SUCCEEDED");
+        cancellation.put("totalAmount", total);
+        cancellation.put("reason", reason);
+        cancellation.put("cancelledAt", payment.get("cancelledAt"));
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("cancellation", cancellation);
+        result.put("canceledAmount", total);
+        return result;
+    }
+
+    // ===== 빌링키 =====
+
+    public Map<String, Object> issueBillingKey(Map<String, Object> request) {
+        String billingKey = "billing-key-" + UUID.randomUUID();
+        Map<String, Object> billingKeyInfo = newBillingKey(billingKey);
+        Object customer = request != null ? request.get("customer") : null;
+        if (customer != null) {
+            billingKeyInfo.put("customer", customer);
+        }
+        billingKeys.put(billingKey, billingKeyInfo);
+        return billingKeyInfo;
+    }
+
+    /**
+     * 빌링키 조회 (서비스는 customerUid로 조회하므로, 처음 보는 키는 같은 값의 빌링키로 등록)
+     */
+    public Map<String, Object> findOrCreateBillingKey(String billingKey) {
+        return billingKeys.computeIfAbsent(billingKey, this::newBillingKey);
+    }
+
+    public boolean deleteBillingKey(String billingKey) {
+        if (billingKeys.remove(billingKey) == null) {
+            return false;
+        }
+        // 빌링키가 삭제되면 해당 빌링키의 예약결제도 함께 취소
+        schedules.values().removeIf(schedule -> billingKey.equals(schedule.get("billingKey")));
+        return true;
+    }
+
+    public Map<String, Object> executeBilling(String billingKey, Map<String, Object> request) {
+        int amount = request != null && request.get("amount") instanceof Number number
+                ? number.intValue()
+                : properties.getPayments().getDefaultAmount();
+        String merchantUid = request != null && request.get("merchantUid") != null
+                ? request.get("merchantUid").toString()
+                : "merchant-" + UUID.randomUUID();
+        String name = request != null && request.get("name") != null ? request.get("name").toString() : null;
+
+        // 정기결제 결과도 결제로 저장하여 이후 취소(환불) 요청을 받을 수 있게 함
+        String impUid = "imp_" + UUID.randomUUID().toString().replace("-", "");
+        registerPayment(impUid, amount, merchantUid, name, billingKey);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("imp_uid", impUid);
+        result.put("merchant_uid", merchantUid);
+        result.put("amount", amount);
+        result.put("status", "paid");
+        result.put("name", name);
+        return result;
+    }
+
+    // ===== 예약결제 스케줄 =====
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> createSchedule(String paymentId, Map<String, Object> request) {
+        Map<String, Object> paymentRequest = request != null && request.get("payment") instanceof Map
+                ? (Map<String, Object>) request.get("payment")
+                : Map.of();
+
+        Map<String, Object> schedule = new HashMap<>();
+        schedule.put("id", "schedule-" + UUID.randomUUID());
+        schedule.put("paymentId", paymentId);
+        schedule.put("billingKey", paymentRequest.get("billingKey"));
+        schedule.put("orderName", paymentRequest.get("orderName"));
+        schedule.put("totalAmount", paymentRequest.get("amount"));
+        schedule.put("timeToPay", request != null ? request.get("timeToPay") : null);
+        schedule.put("metadata", request != null ? request.get("metadata") : null);
+        schedule.put("status", "SCHEDULED");
+        schedule.put("scheduledAt", Instant.now().toString());
+        schedules.put(schedule.get("id").toString(), schedule);
+        return schedule;
+    }
+
+    public List<Map<String, Object>> findSchedulesByBillingKey(String billingKey) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map<String, Object> schedule : schedules.values()) {
+            if (billingKey.equals(schedule.get("billingKey"))) {
+                result.add(schedule);
+            }
+        }
+        return result;
+    }
+
+    public boolean deleteSchedule(String billingKey, String scheduleId) {
+        Map<String, Object> schedule = schedules.get(scheduleId);
+        if (schedule == null || !billingKey.equals(schedule.get("billingKey"))) {
+            return false;
+        }
+        return schedules.remove(scheduleId) != null;
+    }
+
+    /**
+     * 예약결제 취소
+     * - billingKey만: 해당 빌링키의 모든 예약 / scheduleIds만: 지정한 예약 / 둘 다: 빌링키가 일치하는 지정 예약
+     */
+    public List<String> revokeSchedules(String billingKey, List<String> scheduleIds) {
+        List<String> revoked = new ArrayList<>();
+        boolean hasScheduleIds = scheduleIds != null && !scheduleIds.isEmpty();
+        schedules.entrySet().removeIf(entry -> {
+            boolean idMatches = !hasScheduleIds || scheduleIds.contains(entry.getKey());
+            boolean billingKeyMatches = billingKey == null || billingKey.equals(entry.getValue().get("billingKey"));
+            if (idMatches && billingKeyMatches) {
+                revoked.add(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+        return revoked;
+    }
+
+    // ===== 관리 =====
+
+    public Map<String, Object> getSummary() {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("accessTokens", accessTokens.size());
+        summary.put("payments", payments.size());
+        summary.put("billingKeys", billingKeys.size());
+        summary.put("schedules", schedules.size());
+        return summary;
+    }
+
+    public void reset() {
+        accessTokens.clear();
+        payments.clear();
+        billingKeys.clear();
+        schedules.clear();
+    }
+
+    private Map<String, Object> newBillingKey(String billingKey) {
+        Map<String, Object> billingKeyInfo = new HashMap<>();
+        billingKeyInfo.put("billingKey", billingKey);
+        billingKeyInfo.put("status", "ISSUED");
+        billingKeyInfo.put("issuedAt", Instant.now().toString());
+        return billingKeyInfo;
+    }
+
+    private String encode(Object json) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(objectMapper.writeValueAsString(json).getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new IllegalStateException("토큰 생성 실패: " + e.getMessage(), e);
+        }
+    }
+}
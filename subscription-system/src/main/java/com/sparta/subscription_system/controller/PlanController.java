@@ -1,9 +1,13 @@
 package com.sparta.subscription_system.controller;
 
+import com.sparta.common.dto.CursorPage;
 import com.sparta.subscription_system.dto.CreatePlanRequest;
+import com.sparta.subscription_system.dto.PlanSummary;
 import com.sparta.subscription_system.entity.Plan;
 import com.sparta.subscription_system.repository.PlanRepository;
+import com.sparta.subscription_system.service.DunningPolicy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,22 +24,35 @@ public class PlanController {
 
     @PostMapping
     public ResponseEntity<Plan> createPlan(@RequestBody CreatePlanRequest request) {
+        if (request.getRetrySchedule() != null && !request.getRetrySchedule().isBlank()) {
+            try {
+                DunningPolicy.parseSchedule(request.getRetrySchedule());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
         Plan plan = new Plan();
         plan.setName(request.getName());
         plan.setDescription(request.getDescription());
         plan.setPrice(request.getPrice());
         plan.setBillingInterval(request.getBillingInterval());
         plan.setTrialPeriodDays(request.getTrialPeriodDays() != null ? request.getTrialPeriodDays() : 0);
+        plan.setRetrySchedule(request.getRetrySchedule());
         plan.setStatus(Plan.PlanStatus.ACTIVE);
 
         Plan savedPlan = planRepository.save(plan);
         return ResponseEntity.ok(savedPlan);
     }
 
+    // 플랜 목록 (keyset 페이지) - after: 이전 응답의 nextAfter, limit: 페이지 크기 (최대 100)
     @GetMapping
-    public ResponseEntity<List<Plan>> getAllPlans() {
-        List<Plan> plans = planRepository.findAll();
-        return ResponseEntity.ok(plans);
+    public ResponseEntity<CursorPage<PlanSummary>> getAllPlans(@RequestParam(required = false) Long after,
+                                                               @RequestParam(required = false) Integer limit) {
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<PlanSummary> rows = planRepository.findByPlanIdGreaterThanOrderByPlanIdAsc(
+                after != null ? after : 0L, PageRequest.of(0, pageSize + 1));
+        return ResponseEntity.ok(CursorPage.of(rows, pageSize, PlanSummary::getPlanId));
     }
 
     @GetMapping("/active")
@@ -1,5 +1,6 @@
 package com.sparta.subscription_system.controller;
 
+import com.sparta.portone.PortOneUnavailableException;
 import com.sparta.subscription_system.dto.CreateSubscriptionRequest;
 import com.sparta.subscription_system.dto.SubscriptionResponse;
 import com.sparta.subscription_system.entity.Subscription;
@@ -62,20 +63,22 @@ public class SubscriptionController {
     }
 
     @PostMapping("/user/{userId}/cancel/{subscriptionId}")
-    public ResponseEntity<Map<String, Object>> cancelSubscription(@PathVariable Long userId,
-                                                                  @PathVariable Long subscriptionId) {
-        try {
-            Subscription subscription = subscriptionService.cancelSubscription(userId, subscriptionId);
-            SubscriptionResponse response = convertToResponse(subscription);
-            Map<String, Object> result = new HashMap<>();
-            result.put("subscription", response);
-            result.put("message", "Subscription canceled successfully");
-            return ResponseEntity.ok(result);
-        } catch (RuntimeException e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(error);
-        }
+    public Mono<ResponseEntity<Map<String, Object>>> cancelSubscription(@PathVariable Long userId,
+                                                                        @PathVariable Long subscriptionId) {
+        return Mono.defer(() -> subscriptionService.cancelSubscription(userId, subscriptionId))
+                .map(subscription -> {
+                    SubscriptionResponse response = convertToResponse(subscription);
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("subscription", response);
+                    result.put("message", "Subscription canceled successfully");
+                    return ResponseEntity.ok(result);
+                })
+                // PortOneUnavailableException은 PortOneExceptionHandler에서 503으로 응답
+                .onErrorResume(e -> e instanceof RuntimeException && !(e instanceof PortOneUnavailableException), e -> {
+                    Map<String, Object> error = new HashMap<>();
+                    error.put("error", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().body(error));
+                });
     }
 
     @PostMapping("/{subscriptionId}/invoices")
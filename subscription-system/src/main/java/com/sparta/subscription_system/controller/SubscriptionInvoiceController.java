@@ -1,5 +1,6 @@
 package com.sparta.subscription_system.controller;
 
+import com.sparta.common.idempotency.IdempotencyService;
 import com.sparta.subscription_system.dto.InvoiceResponse;
 import com.sparta.subscription_system.entity.SubscriptionInvoice;
 import com.sparta.subscription_system.service.SubscriptionService;
@@ -22,6 +23,9 @@ public class SubscriptionInvoiceController {
     @Autowired
     private SubscriptionService subscriptionService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @GetMapping("/subscription/{subscriptionId}")
     public ResponseEntity<List<InvoiceResponse>> getInvoicesBySubscriptionId(@PathVariable Long subscriptionId) {
         List<SubscriptionInvoice> invoices = subscriptionService.getInvoicesBySubscriptionId(subscriptionId);
@@ -41,8 +45,15 @@ public class SubscriptionInvoiceController {
     }
 
     @PostMapping("/{invoiceId}/refund")
-    public Mono<ResponseEntity<Map<String, Object>>> refundInvoice(@PathVariable Long invoiceId,
-                                                                    @RequestBody Map<String, Object> request) {
+    public Mono<ResponseEntity<Map<String, Object>>> refundInvoice(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @PathVariable Long invoiceId,
+            @RequestBody Map<String, Object> request) {
+        return idempotencyService.executeAsync(idempotencyKey, "invoice-refund:" + invoiceId,
+                request, () -> processRefund(invoiceId, request));
+    }
+
+    private Mono<ResponseEntity<Map<String, Object>>> processRefund(Long invoiceId, Map<String, Object> request) {
         BigDecimal amount = new BigDecimal(request.get("amount").toString());
         String reason = (String) request.getOrDefault("reason", "Customer request");
 
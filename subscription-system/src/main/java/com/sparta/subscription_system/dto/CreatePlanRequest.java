@@ -13,6 +13,7 @@ public class CreatePlanRequest {
     private BigDecimal price;
     private String billingInterval;
     private Integer trialPeriodDays;
+    private String retrySchedule; // 결제 실패 재시도 간격 (예: "PT6H,P1D,P3D"), 생략하면 기본 일정
 }
 
 
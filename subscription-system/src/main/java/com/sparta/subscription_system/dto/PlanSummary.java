@@ -0,0 +1,27 @@
+package com.sparta.subscription_system.dto;
+
+import com.sparta.subscription_system.entity.Plan;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 플랜 목록 조회용 프로젝션
+ */
+public interface PlanSummary {
+    Long getPlanId();
+
+    String getName();
+
+    String getDescription();
+
+    BigDecimal getPrice();
+
+    String getBillingInterval();
+
+    Integer getTrialPeriodDays();
+
+    Plan.PlanStatus getStatus();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,73 @@
+package com.sparta.subscription_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 구독 자동 결제 실행 체크포인트
+ * - 청크의 결제가 모두 끝나면 마지막으로 처리한 구독 ID를 기록하여, 중단된 실행을 같은 기준 시각과 위치에서 이어갑니다.
+ * - 결제 대상은 subscription_id 해시 파티션으로 나뉘며 파티션마다 행 하나가 점유(lease) 역할도 합니다.
+ *   점유한 노드만 파티션을 결제하고, 하트비트가 끊겨 점유가 만료되면 다른 노드가 이어서 처리합니다.
+ */
+@Entity
+@Table(name = "billing_run_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+public class BillingRunCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    // 이번 실행의 기준 시각 (current_period_end <= cutoff 인 구독을 결제)
+    @Column(name = "cutoff", nullable = false)
+    private LocalDateTime cutoff;
+
+    // 마지막으로 처리한 구독 ID - keyset 커서
+    @Column(name = "last_subscription_id")
+    private Long lastSubscriptionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private RunStatus status;
+
+    @Column(name = "processed_subscriptions", nullable = false)
+    private Long processedSubscriptions = 0L;
+
+    @Column(name = "succeeded", nullable = false)
+    private Long succeeded = 0L;
+
+    @Column(name = "failed", nullable = false)
+    private Long failed = 0L;
+
+    @Column(name = "deferred", nullable = false)
+    private Long deferred = 0L;
+
+    // 파티션을 점유한 노드와 점유 만료 시각 (완료되면 비움)
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum RunStatus {
+        RUNNING, COMPLETED
+    }
+
+    public BillingRunCheckpoint(String jobName) {
+        this.jobName = jobName;
+    }
+}
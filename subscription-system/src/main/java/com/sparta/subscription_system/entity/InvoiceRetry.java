@@ -0,0 +1,68 @@
+package com.sparta.subscription_system.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 결제 실패 청구서 재시도 큐 (더닝)
+ * - 결제가 실패한 청구서마다 한 행을 두고, 다음 재시도 시각(next_attempt_at) 순으로 재시도 폴러가 가져갑니다.
+ * - 행이 있는 구독은 재시도 중이므로 정기 결제 실행과 타이밍 휠이 결제하지 않습니다.
+ * - 재시도가 성공하거나 최대 횟수를 넘겨 구독이 종료되면 행을 삭제합니다.
+ */
+@Entity
+@Table(name = "invoice_retry_queue",
+        uniqueConstraints = @UniqueConstraint(name = "uk_invoice_retry_queue_invoice_id", columnNames = "invoice_id"),
+        indexes = {
+                @Index(name = "idx_invoice_retry_queue_status_next_attempt", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_invoice_retry_queue_subscription_id", columnList = "subscription_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class InvoiceRetry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "retry_id")
+    private Long retryId;
+
+    @Column(name = "invoice_id", nullable = false)
+    private Long invoiceId;
+
+    @Column(name = "subscription_id", nullable = false)
+    private Long subscriptionId;
+
+    // 지금까지 실행한 재시도 횟수 (첫 결제 실패는 포함하지 않음)
+    @Column(name = "retries", nullable = false)
+    private Integer retries = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private RetryStatus status = RetryStatus.PENDING;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // 재시도 중(PROCESSING) 점유 만료 시각 - 재시도 중 서버가 죽으면 만료 후 다시 가져감
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum RetryStatus {
+        PENDING, PROCESSING
+    }
+}
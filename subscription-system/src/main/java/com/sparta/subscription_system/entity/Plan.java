@@ -38,6 +38,10 @@ public class Plan {
     @Column(name = "trial_period_days", nullable = false)
     private Integer trialPeriodDays = 0;
 
+    // 결제 실패 재시도 간격 (ISO-8601 기간을 쉼표로 구분, 예: "PT6H,P1D,P3D") - 비어 있으면 기본 일정 사용
+    @Column(name = "retry_schedule", length = 255)
+    private String retrySchedule;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 50)
     private PlanStatus status = PlanStatus.ACTIVE;
@@ -62,6 +62,10 @@ public class Subscription {
     @Column(name = "ended_at")
     private LocalDateTime endedAt;
 
+    // 갱신 결제를 점유한 기간 종료 시각 - 타이밍 휠이 조건부 UPDATE로만 기록 (여러 노드가 같은 갱신을 결제하지 않도록)
+    @Column(name = "renewal_claimed_for", insertable = false, updatable = false)
+    private LocalDateTime renewalClaimedFor;
+
     @Column(name = "schedule_id", length = 255)
     private String scheduleId; // PortOne 예약결제 스케줄 ID
 
@@ -51,6 +51,10 @@ public class SubscriptionInvoice {
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
+    // 결제 실행을 점유한 시각 (PROCESSING 동안만 값이 있음)
+    @Column(name = "processing_started_at")
+    private LocalDateTime processingStartedAt;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -60,7 +64,7 @@ public class SubscriptionInvoice {
     private List<SubscriptionRefund> refunds;
 
     public enum InvoiceStatus {
-        PENDING, PAID, FAILED, REFUNDED, CANCELED
+        PENDING, PROCESSING, PAID, FAILED, REFUNDED, CANCELED
     }
 
     public SubscriptionInvoice(Subscription subscription, BigDecimal amount, InvoiceStatus status,
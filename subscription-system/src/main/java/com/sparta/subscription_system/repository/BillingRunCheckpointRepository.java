@@ -0,0 +1,90 @@
+package com.sparta.subscription_system.repository;
+
+import com.sparta.subscription_system.entity.BillingRunCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface BillingRunCheckpointRepository extends JpaRepository<BillingRunCheckpoint, String> {
+
+    // 파티션 체크포인트 행이 없으면 완료 상태로 생성 (여러 노드가 동시에 호출해도 한 행만 생김)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO billing_run_checkpoints " +
+            "(job_name, cutoff, status, processed_subscriptions, succeeded, failed, deferred, started_at, updated_at) " +
+            "VALUES (:jobName, :cutoff, 'COMPLETED', 0, 0, 0, 0, :now, :now)",
+            nativeQuery = true)
+    int insertIgnore(@Param("jobName") String jobName,
+                     @Param("cutoff") LocalDateTime cutoff,
+                     @Param("now") LocalDateTime now);
+
+    // 중단된 파티션 점유 - 실행 중이지만 점유가 만료된 파티션을 기준 시각과 위치를 유지한 채 가져옴
+    @Modifying
+    @Query(value = "UPDATE billing_run_checkpoints SET lease_owner = :owner, lease_until = :leaseUntil, updated_at = :now " +
+            "WHERE job_name = :jobName AND status = 'RUNNING' AND (lease_until IS NULL OR lease_until < :now)",
+            nativeQuery = true)
+    int claimInterrupted(@Param("jobName") String jobName,
+                         @Param("owner") String owner,
+                         @Param("now") LocalDateTime now,
+                         @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 새 실행 점유 - 이전 기준 시각으로 완료된 파티션만 새 기준 시각으로 시작 (같은 실행을 두 노드가 시작하지 않음)
+    @Modifying
+    @Query(value = "UPDATE billing_run_checkpoints SET status = 'RUNNING', cutoff = :cutoff, last_subscription_id = NULL, " +
+            "processed_subscriptions = 0, succeeded = 0, failed = 0, deferred = 0, started_at = :now, " +
+            "lease_owner = :owner, lease_until = :leaseUntil, updated_at = :now " +
+            "WHERE job_name = :jobName AND status = 'COMPLETED' AND cutoff < :cutoff",
+            nativeQuery = true)
+    int claimNewRun(@Param("jobName") String jobName,
+                    @Param("owner") String owner,
+                    @Param("cutoff") LocalDateTime cutoff,
+                    @Param("now") LocalDateTime now,
+                    @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 청크 처리 결과 기록과 점유 연장 (점유를 잃었으면 0건 반환)
+    @Modifying
+    @Query(value = "UPDATE billing_run_checkpoints SET last_subscription_id = :lastSubscriptionId, " +
+            "processed_subscriptions = processed_subscriptions + :processed, succeeded = succeeded + :succeeded, " +
+            "failed = failed + :failed, deferred = deferred + :deferred, lease_until = :leaseUntil, updated_at = :now " +
+            "WHERE job_name = :jobName AND lease_owner = :owner AND status = 'RUNNING'",
+            nativeQuery = true)
+    int advance(@Param("jobName") String jobName,
+                @Param("owner") String owner,
+                @Param("lastSubscriptionId") Long lastSubscriptionId,
+                @Param("processed") long processed,
+                @Param("succeeded") long succeeded,
+                @Param("failed") long failed,
+                @Param("deferred") long deferred,
+                @Param("now") LocalDateTime now,
+                @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 파티션 완료 및 점유 해제
+    @Modifying
+    @Query(value = "UPDATE billing_run_checkpoints SET status = 'COMPLETED', lease_owner = NULL, lease_until = NULL, updated_at = :now " +
+            "WHERE job_name = :jobName AND lease_owner = :owner AND status = 'RUNNING'",
+            nativeQuery = true)
+    int complete(@Param("jobName") String jobName,
+                 @Param("owner") String owner,
+                 @Param("now") LocalDateTime now);
+
+    // 처리 중 오류로 점유 해제 - 실행 상태와 위치는 유지하여 다음 복구 때 이어서 처리
+    @Modifying
+    @Query(value = "UPDATE billing_run_checkpoints SET lease_owner = NULL, lease_until = NULL, updated_at = :now " +
+            "WHERE job_name = :jobName AND lease_owner = :owner",
+            nativeQuery = true)
+    int releaseLease(@Param("jobName") String jobName,
+                     @Param("owner") String owner,
+                     @Param("now") LocalDateTime now);
+
+    // 하트비트 - 이 노드가 점유 중인 파티션의 점유 연장
+    @Modifying
+    @Query(value = "UPDATE billing_run_checkpoints SET lease_until = :leaseUntil " +
+            "WHERE lease_owner = :owner AND status = 'RUNNING'",
+            nativeQuery = true)
+    int renewLeases(@Param("owner") String owner,
+                    @Param("leaseUntil") LocalDateTime leaseUntil);
+}
@@ -0,0 +1,40 @@
+package com.sparta.subscription_system.repository;
+
+import com.sparta.subscription_system.entity.InvoiceRetry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InvoiceRetryRepository extends JpaRepository<InvoiceRetry, Long> {
+
+    // 결제 실패 청구서를 재시도 큐에 추가 - 이미 재시도 중인 청구서면 무시 (재시도 결과는 폴러가 반영)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO invoice_retry_queue " +
+            "(invoice_id, subscription_id, retries, status, next_attempt_at, last_error, created_at, updated_at) " +
+            "VALUES (:invoiceId, :subscriptionId, 0, 'PENDING', :nextAttemptAt, :lastError, :now, :now)",
+            nativeQuery = true)
+    int insertIgnore(@Param("invoiceId") Long invoiceId,
+                     @Param("subscriptionId") Long subscriptionId,
+                     @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                     @Param("lastError") String lastError,
+                     @Param("now") LocalDateTime now);
+
+    // 재시도할 차례인 행을 잠금 - 다른 폴러가 잠근 행은 건너뛰므로 여러 노드가 서로 다른 행을 가져감
+    @Query(value = "SELECT * FROM invoice_retry_queue " +
+            "WHERE (status = 'PENDING' AND next_attempt_at <= :now) " +
+            "OR (status = 'PROCESSING' AND locked_until < :now) " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<InvoiceRetry> lockDueRetries(@Param("now") LocalDateTime now,
+                                      @Param("limit") int limit);
+
+    @Modifying
+    @Query("delete from InvoiceRetry r where r.invoiceId = :invoiceId")
+    int deleteByInvoiceId(@Param("invoiceId") Long invoiceId);
+}
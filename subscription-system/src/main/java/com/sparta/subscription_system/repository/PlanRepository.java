@@ -1,6 +1,8 @@
 package com.sparta.subscription_system.repository;
 
+import com.sparta.subscription_system.dto.PlanSummary;
 import com.sparta.subscription_system.entity.Plan;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,6 +11,7 @@ import java.util.List;
 @Repository
 public interface PlanRepository extends JpaRepository<Plan, Long> {
     List<Plan> findByStatus(Plan.PlanStatus status);
-}
-
 
+    // 목록 조회용 keyset 페이지 (planId 오름차순)
+    List<PlanSummary> findByPlanIdGreaterThanOrderByPlanIdAsc(Long planId, Pageable pageable);
+}
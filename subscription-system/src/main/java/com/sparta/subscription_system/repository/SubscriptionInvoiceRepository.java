@@ -1,9 +1,16 @@
 package com.sparta.subscription_system.repository;
 
 import com.sparta.subscription_system.entity.SubscriptionInvoice;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,8 +19,38 @@ public interface SubscriptionInvoiceRepository extends JpaRepository<Subscriptio
     List<SubscriptionInvoice> findBySubscriptionSubscriptionId(Long subscriptionId);
     
     List<SubscriptionInvoice> findByStatus(SubscriptionInvoice.InvoiceStatus status);
+
+    // 스케줄러용: 청크의 구독별로 기한이 다가온 미결제 청구서 한 건 (구독 ID, 청구서 ID)
+    @Query("select i.subscription.subscriptionId, min(i.invoiceId) from SubscriptionInvoice i " +
+            "where i.subscription.subscriptionId in :subscriptionIds and i.status in :statuses and i.dueDate < :dueBefore " +
+            "group by i.subscription.subscriptionId")
+    List<Object[]> findPendingInvoiceIds(@Param("subscriptionIds") Collection<Long> subscriptionIds,
+                                         @Param("statuses") Collection<SubscriptionInvoice.InvoiceStatus> statuses,
+                                         @Param("dueBefore") LocalDateTime dueBefore);
+
+    // 결제 실행 점유: 대기 중(또는 점유한 노드가 중단되어 점유가 오래된) 청구서만 PROCESSING으로 변경 (점유했으면 1건)
+    @Modifying
+    @Query(value = "UPDATE subscription_invoices SET status = 'PROCESSING', processing_started_at = :now " +
+            "WHERE invoice_id = :invoiceId " +
+            "AND (status = 'PENDING' OR (status = 'PROCESSING' AND processing_started_at < :staleBefore))",
+            nativeQuery = true)
+    int claimForBilling(@Param("invoiceId") Long invoiceId,
+                        @Param("now") LocalDateTime now,
+                        @Param("staleBefore") LocalDateTime staleBefore);
+
+    // 결제를 시도하지 못한 점유를 되돌림 (PortOne 호출 보류 등)
+    @Modifying
+    @Query(value = "UPDATE subscription_invoices SET status = 'PENDING', processing_started_at = NULL " +
+            "WHERE invoice_id = :invoiceId AND status = 'PROCESSING'",
+            nativeQuery = true)
+    int releaseBillingClaim(@Param("invoiceId") Long invoiceId);
     
     Optional<SubscriptionInvoice> findByImpUid(String impUid);
+
+    // 웹훅 반영 시 같은 거래를 동시에 처리하지 않도록 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from SubscriptionInvoice i where i.impUid = :impUid")
+    Optional<SubscriptionInvoice> findByImpUidForUpdate(@Param("impUid") String impUid);
     
     List<SubscriptionInvoice> findBySubscriptionUserUserId(Long userId);
 }
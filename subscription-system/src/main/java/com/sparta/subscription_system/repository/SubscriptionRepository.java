@@ -1,10 +1,16 @@
 package com.sparta.subscription_system.repository;
 
 import com.sparta.subscription_system.entity.Subscription;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +27,54 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
             List<Subscription.SubscriptionStatus> statuses, 
             LocalDateTime currentPeriodEnd);
     
+    // 스케줄러용: 한 파티션(subscriptionId % partitions)의 결제 대상 구독 ID를 keyset 청크로 조회 (subscriptionId 오름차순)
+    // 결제 실패로 재시도 중인 구독은 재시도 폴러가 처리하므로 제외
+    @Query("select s.subscriptionId from Subscription s " +
+            "where s.status in :statuses and s.currentPeriodEnd <= :cutoff " +
+            "and mod(s.subscriptionId, :partitions) = :partition and s.subscriptionId > :afterId " +
+            "and not exists (select r.retryId from InvoiceRetry r where r.subscriptionId = s.subscriptionId) " +
+            "order by s.subscriptionId")
+    List<Long> findDueSubscriptionIdsAfter(@Param("statuses") List<Subscription.SubscriptionStatus> statuses,
+                                           @Param("cutoff") LocalDateTime cutoff,
+                                           @Param("partitions") long partitions,
+                                           @Param("partition") long partition,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    // 타이밍 휠용: 기간 종료 시각이 (from, to] 구간인 결제 대상 구독의 ID와 기간 종료 시각을 keyset 청크로 조회 (재시도 중인 구독 제외)
+    @Query("select s.subscriptionId, s.currentPeriodEnd from Subscription s " +
+            "where s.status in :statuses and s.currentPeriodEnd > :from and s.currentPeriodEnd <= :to " +
+            "and s.subscriptionId > :afterId " +
+            "and not exists (select r.retryId from InvoiceRetry r where r.subscriptionId = s.subscriptionId) " +
+            "order by s.subscriptionId")
+    List<Object[]> findUpcomingRenewals(@Param("statuses") List<Subscription.SubscriptionStatus> statuses,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    // 타이밍 휠용: 이번 기간의 갱신 결제 점유 (다른 노드가 먼저 점유했거나 기간/상태가 바뀌었거나 재시도 중이면 0건 반환)
+    @Modifying
+    @Query(value = "UPDATE subscriptions SET renewal_claimed_for = current_period_end " +
+            "WHERE subscription_id = :subscriptionId AND current_period_end = :periodEnd " +
+            "AND status IN ('ACTIVE', 'PAST_DUE') " +
+            "AND (renewal_claimed_for IS NULL OR renewal_claimed_for <> current_period_end) " +
+            "AND NOT EXISTS (SELECT 1 FROM invoice_retry_queue r WHERE r.subscription_id = subscriptions.subscription_id)",
+            nativeQuery = true)
+    int claimRenewal(@Param("subscriptionId") Long subscriptionId,
+                     @Param("periodEnd") LocalDateTime periodEnd);
+
+    // 청구서 준비용: 구독 행 잠금 (ID 오름차순으로 잠가 여러 노드가 겹치는 청크를 잠가도 교착되지 않음)
+    // - 타이밍 휠과 정기 실행이 같은 구독의 청구서를 동시에 만들지 않도록, 미결제 청구서 확인 전에 잠급니다.
+    @Query(value = "SELECT subscription_id FROM subscriptions WHERE subscription_id IN (:subscriptionIds) " +
+            "ORDER BY subscription_id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockBySubscriptionIdIn(@Param("subscriptionIds") Collection<Long> subscriptionIds);
+
+    // 청구서 생성용: 플랜(금액)까지 한 번에 조회
+    @EntityGraph(attributePaths = "plan")
+    List<Subscription> findBySubscriptionIdIn(Collection<Long> subscriptionIds);
+    
     // 스케줄러용: 체험 기간 종료 구독 조회
     List<Subscription> findByStatusAndTrialEndLessThanEqual(
             Subscription.SubscriptionStatus status, 
@@ -0,0 +1,37 @@
+package com.sparta.subscription_system.scheduler;
+
+import com.sparta.subscription_system.service.DunningService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결제 실패 청구서 재시도 스케줄러
+ * - 주기적으로 재시도 큐를 확인하여 재시도 시각이 된 청구서를 다시 결제합니다. (정기 결제 실행과 별도 스레드)
+ */
+@Component
+public class DunningScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DunningScheduler.class);
+
+    private final DunningService dunningService;
+
+    @Autowired
+    public DunningScheduler(DunningService dunningService) {
+        this.dunningService = dunningService;
+    }
+
+    @Scheduled(fixedDelayString = "${dunning.poll-interval-ms:60000}")
+    public void processDueRetries() {
+        try {
+            int retried = dunningService.processDueRetries();
+            if (retried > 0) {
+                logger.info("결제 실패 청구서 재시도 - {}건", retried);
+            }
+        } catch (Exception e) {
+            logger.error("결제 실패 청구서 재시도 중 오류 발생", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.sparta.subscription_system.scheduler;
+
+import com.sparta.subscription_system.service.RenewalWheelService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 갱신 결제 타이밍 휠 스케줄러
+ * - 짧은 주기로 휠을 진행하여 갱신 시각이 된 구독을 결제하고, 긴 주기로 다가오는 갱신을 휠에 채웁니다.
+ * - 채우기는 애플리케이션 시작 직후에도 실행되어 재시작 중 놓친 갱신을 DB에서 다시 읽어 복구합니다.
+ */
+@Component
+public class RenewalWheelScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RenewalWheelScheduler.class);
+
+    private final RenewalWheelService renewalWheelService;
+
+    @Autowired
+    public RenewalWheelScheduler(RenewalWheelService renewalWheelService) {
+        this.renewalWheelService = renewalWheelService;
+    }
+
+    @Scheduled(fixedDelayString = "${subscription.billing.wheel.tick-ms:1000}")
+    public void tick() {
+        try {
+            renewalWheelService.tick();
+        } catch (Exception e) {
+            logger.error("갱신 결제 타이밍 휠 진행 중 오류 발생", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${subscription.billing.wheel.refill-interval-ms:300000}")
+    public void refill() {
+        try {
+            renewalWheelService.refill();
+        } catch (Exception e) {
+            logger.error("갱신 결제 타이밍 휠 채우기 중 오류 발생", e);
+        }
+    }
+}
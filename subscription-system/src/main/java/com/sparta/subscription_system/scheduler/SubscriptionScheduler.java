@@ -1,9 +1,8 @@
 package com.sparta.subscription_system.scheduler;
 
 import com.sparta.subscription_system.entity.Subscription;
-import com.sparta.subscription_system.entity.SubscriptionInvoice;
 import com.sparta.subscription_system.repository.SubscriptionRepository;
-import com.sparta.subscription_system.service.SubscriptionService;
+import com.sparta.subscription_system.service.SubscriptionBillingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,11 +12,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 구독 결제 자동화 스케줄러
  * - 매일 자정에 실행되어 만료 예정 구독의 청구서를 생성하고 결제를 처리합니다.
+ *   (갱신 결제 타이밍 휠이 켜져 있으면 휠이 놓친 구독과 보류된 청구서를 처리하는 보정 실행)
+ * - 실제 실행은 SubscriptionBillingService가 파티션을 점유하고 청크 단위로 체크포인트를 남기며 처리하므로,
+ *   여러 노드에서 동시에 실행되어도 같은 구독을 두 번 결제하지 않습니다.
+ * - 중단된 파티션은 점유 관리 주기마다 살아 있는 노드가 체크포인트부터 이어서 처리합니다.
  */
 @Component
 public class SubscriptionScheduler {
@@ -25,13 +27,13 @@ public class SubscriptionScheduler {
     private static final Logger logger = LoggerFactory.getLogger(SubscriptionScheduler.class);
 
     private final SubscriptionRepository subscriptionRepository;
-    private final SubscriptionService subscriptionService;
+    private final SubscriptionBillingService subscriptionBillingService;
 
     @Autowired
     public SubscriptionScheduler(SubscriptionRepository subscriptionRepository,
-                                SubscriptionService subscriptionService) {
+                                SubscriptionBillingService subscriptionBillingService) {
         this.subscriptionRepository = subscriptionRepository;
-        this.subscriptionService = subscriptionService;
+        this.subscriptionBillingService = subscriptionBillingService;
     }
 
     /**
@@ -39,78 +41,39 @@ public class SubscriptionScheduler {
      * current_period_end가 오늘 또는 과거인 활성 구독의 청구서를 생성하고 결제를 처리합니다.
      */
     @Scheduled(cron = "0 0 0 * * ?") // 매일 자정
-    @Transactional
     public void processDueSubscriptions() {
         logger.info("구독 청구서 생성 및 결제 처리 스케줄러 시작");
+        try {
+            subscriptionBillingService.runDueBilling();
+        } catch (Exception e) {
+            logger.error("구독 자동 결제 실행 중 오류 발생 (다음 실행에서 체크포인트부터 재개)", e);
+        }
+    }
 
-        LocalDateTime now = LocalDateTime.now();
-        
-        // current_period_end가 오늘 또는 과거인 활성 구독 조회
-        List<Subscription> dueSubscriptions = subscriptionRepository
-                .findByStatusInAndCurrentPeriodEndLessThanEqual(
-                        List.of(Subscription.SubscriptionStatus.ACTIVE, Subscription.SubscriptionStatus.PAST_DUE),
-                        now
-                );
-
-        logger.info("처리 대상 구독 수: {}", dueSubscriptions.size());
-
-        AtomicInteger successCount = new AtomicInteger(0);
-        AtomicInteger failureCount = new AtomicInteger(0);
-
-        for (Subscription subscription : dueSubscriptions) {
-            try {
-                // 이미 생성된 청구서가 있는지 확인
-                boolean hasPendingInvoice = subscription.getInvoices().stream()
-                        .anyMatch(invoice -> invoice.getStatus() == SubscriptionInvoice.InvoiceStatus.PENDING
-                                && invoice.getDueDate().isBefore(now.plusDays(1)));
-
-                if (hasPendingInvoice) {
-                    logger.debug("구독 ID {}: 이미 대기 중인 청구서가 있습니다.", subscription.getSubscriptionId());
-                    continue;
-                }
-
-                // 청구서 생성
-                SubscriptionInvoice invoice = subscriptionService.createInvoice(subscription.getSubscriptionId());
-                logger.info("구독 ID {}: 청구서 생성 완료 (청구서 ID: {})", 
-                        subscription.getSubscriptionId(), invoice.getInvoiceId());
-
-                // 청구서 결제 처리 (비동기)
-                subscriptionService.processInvoicePayment(invoice.getInvoiceId())
-                        .subscribe(
-                                success -> {
-                                    if (success) {
-                                        logger.info("구독 ID {}: 청구서 ID {} 결제 처리 완료", 
-                                                subscription.getSubscriptionId(), invoice.getInvoiceId());
-                                        successCount.incrementAndGet();
-                                    } else {
-                                        logger.warn("구독 ID {}: 청구서 ID {} 결제 처리 실패", 
-                                                subscription.getSubscriptionId(), invoice.getInvoiceId());
-                                        failureCount.incrementAndGet();
-                                    }
-                                },
-                                error -> {
-                                    logger.error("구독 ID {}: 청구서 ID {} 결제 처리 중 오류 발생", 
-                                            subscription.getSubscriptionId(), invoice.getInvoiceId(), error);
-                                    failureCount.incrementAndGet();
-                                }
-                        );
-
-                // 체험 기간 종료 예정 구독 처리
-                if (subscription.getTrialEnd() != null && 
-                    subscription.getTrialEnd().isBefore(now.plusDays(1)) &&
-                    subscription.getTrialEnd().isAfter(now.minusDays(1))) {
-                    // 체험 기간이 곧 종료되는 경우 첫 결제 청구서 생성
-                    logger.info("구독 ID {}: 체험 기간 종료 예정, 첫 결제 청구서 생성", subscription.getSubscriptionId());
-                }
-
-            } catch (Exception e) {
-                logger.error("구독 ID {}: 청구서 생성/결제 처리 중 오류 발생", 
-                        subscription.getSubscriptionId(), e);
-                failureCount.incrementAndGet();
-            }
+    /**
+     * 구독 자동 결제 하트비트 - 이 노드가 처리 중인 파티션의 점유 연장
+     * - 파티션 처리와 다른 스레드에서 실행되어야 하므로 장애 복구 작업과 분리합니다.
+     */
+    @Scheduled(fixedDelayString = "${subscription.billing.heartbeat-interval-ms:30000}")
+    public void renewBillingLeases() {
+        try {
+            subscriptionBillingService.renewLeases();
+        } catch (Exception e) {
+            logger.error("구독 자동 결제 파티션 점유 연장 중 오류 발생", e);
         }
+    }
 
-        logger.info("구독 청구서 생성 및 결제 처리 완료 - 성공: {}, 실패: {}", successCount.get(), failureCount.get());
+    /**
+     * 중단된 구독 자동 결제 파티션 복구 (애플리케이션 시작 직후부터 주기적으로 실행)
+     * - 재시작 전 이 노드가 처리하던 파티션이나, 다른 노드가 죽어 점유가 만료된 파티션을 체크포인트부터 이어서 처리합니다.
+     */
+    @Scheduled(fixedDelayString = "${subscription.billing.takeover-interval-ms:60000}")
+    public void resumeInterruptedBilling() {
+        try {
+            subscriptionBillingService.resumeInterruptedRuns();
+        } catch (Exception e) {
+            logger.error("중단된 구독 자동 결제 재개 중 오류 발생", e);
+        }
     }
 
     /**
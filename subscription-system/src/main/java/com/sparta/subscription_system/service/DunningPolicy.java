@@ -0,0 +1,90 @@
+package com.sparta.subscription_system.service;
+
+import com.sparta.subscription_system.entity.Plan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 결제 실패 재시도 간격 정책
+ * - 플랜에 retry_schedule(ISO-8601 기간을 쉼표로 구분, 예: "PT6H,P1D,P3D")이 있으면 그 간격과 횟수를 사용하고,
+ *   없으면 base-delay-minutes부터 multiplier배씩 늘어나는(최대 max-delay-hours) max-retries회 일정을 사용합니다.
+ * - 일정의 재시도를 모두 실패하면 구독을 종료(ENDED)합니다.
+ */
+@Component
+public class DunningPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(DunningPolicy.class);
+
+    private final List<Duration> defaultSchedule;
+
+    @Autowired
+    public DunningPolicy(@Value("${dunning.base-delay-minutes:60}") long baseDelayMinutes,
+                         @Value("${dunning.multiplier:4}") double multiplier,
+                         @Value("${dunning.max-delay-hours:72}") long maxDelayHours,
+                         @Value("${dunning.max-retries:4}") int maxRetries) {
+        List<Duration> schedule = new ArrayList<>();
+        Duration maxDelay = Duration.ofHours(maxDelayHours);
+        double delayMinutes = Math.max(1, baseDelayMinutes);
+        for (int i = 0; i < maxRetries; i++) {
+            Duration delay = Duration.ofMinutes((long) delayMinutes);
+            schedule.add(delay.compareTo(maxDelay) > 0 ? maxDelay : delay);
+            delayMinutes *= Math.max(1, multiplier);
+        }
+        this.defaultSchedule = Collections.unmodifiableList(schedule);
+    }
+
+    /**
+     * @param retries 지금까지 실행한 재시도 횟수
+     * @return 다음 재시도까지의 간격, 재시도를 모두 소진했으면 empty
+     */
+    public Optional<Duration> nextDelay(Plan plan, int retries) {
+        List<Duration> schedule = scheduleFor(plan);
+        return retries < schedule.size() ? Optional.of(schedule.get(retries)) : Optional.empty();
+    }
+
+    /**
+     * 플랜 생성 시 재시도 일정 형식 확인
+     * @throws IllegalArgumentException 형식이 잘못된 경우
+     */
+    public static List<Duration> parseSchedule(String retrySchedule) {
+        List<Duration> schedule = new ArrayList<>();
+        for (String part : retrySchedule.split(",")) {
+            String value = part.trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            try {
+                Duration delay = Duration.parse(value);
+                if (delay.isNegative() || delay.isZero()) {
+                    throw new IllegalArgumentException("Retry delay must be positive: " + value);
+                }
+                schedule.add(delay);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid retry delay: " + value, e);
+            }
+        }
+        return schedule;
+    }
+
+    private List<Duration> scheduleFor(Plan plan) {
+        if (plan == null || plan.getRetrySchedule() == null || plan.getRetrySchedule().isBlank()) {
+            return defaultSchedule;
+        }
+        try {
+            return parseSchedule(plan.getRetrySchedule());
+        } catch (IllegalArgumentException e) {
+            logger.warn("플랜 ID {}의 재시도 일정이 잘못되어 기본 일정을 사용합니다 - {}", plan.getPlanId(), e.getMessage());
+            return defaultSchedule;
+        }
+    }
+}
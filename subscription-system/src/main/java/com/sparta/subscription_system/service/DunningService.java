@@ -0,0 +1,232 @@
+package com.sparta.subscription_system.service;
+
+import com.sparta.portone.PortOneUnavailableException;
+import com.sparta.subscription_system.entity.InvoiceRetry;
+import com.sparta.subscription_system.entity.Subscription;
+import com.sparta.subscription_system.entity.SubscriptionInvoice;
+import com.sparta.subscription_system.repository.InvoiceRetryRepository;
+import com.sparta.subscription_system.repository.SubscriptionInvoiceRepository;
+import com.sparta.subscription_system.repository.SubscriptionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 결제 실패 청구서 재시도 (더닝)
+ * - 재시도 큐(invoice_retry_queue)에서 재시도 시각이 된 행을 SELECT ... FOR UPDATE SKIP LOCKED로 묶음 단위로 점유하므로,
+ *   여러 노드의 폴러가 같은 청구서를 동시에 재시도하지 않습니다.
+ * - 실패하면 플랜의 재시도 일정(DunningPolicy)에 따라 다음 시각을 잡고, 일정을 모두 소진하면 구독을 종료(ENDED)합니다.
+ * - PortOne 호출이 차단(서킷 브레이커/벌크헤드)되어 시도하지 못한 재시도는 횟수를 쓰지 않고 잠시 뒤 다시 시도합니다.
+ * - 재시도 중인 구독은 정기 결제 실행과 타이밍 휠에서 제외되어 서로 경쟁하지 않습니다.
+ */
+@Service
+public class DunningService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DunningService.class);
+
+    private enum RetryOutcome {
+        RECOVERED, FAILED, DEFERRED, ENDED, CLOSED
+    }
+
+    private final InvoiceRetryRepository retryRepository;
+    private final SubscriptionInvoiceRepository invoiceRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriptionService subscriptionService;
+    private final DunningPolicy dunningPolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int concurrency;
+    private final long lockSeconds;
+    private final Duration deferredDelay;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final Map<RetryOutcome, Counter> retryResults = new EnumMap<>(RetryOutcome.class);
+
+    @Autowired
+    public DunningService(InvoiceRetryRepository retryRepository,
+                          SubscriptionInvoiceRepository invoiceRepository,
+                          SubscriptionRepository subscriptionRepository,
+                          SubscriptionService subscriptionService,
+                          DunningPolicy dunningPolicy,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${dunning.batch-size:50}") int batchSize,
+                          @Value("${dunning.concurrency:4}") int concurrency,
+                          @Value("${dunning.lock-seconds:300}") long lockSeconds,
+                          @Value("${dunning.deferred-delay-minutes:10}") long deferredDelayMinutes) {
+        this.retryRepository = retryRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.subscriptionService = subscriptionService;
+        this.dunningPolicy = dunningPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.concurrency = Math.max(1, concurrency);
+        this.lockSeconds = lockSeconds;
+        this.deferredDelay = Duration.ofMinutes(deferredDelayMinutes);
+
+        for (RetryOutcome outcome : RetryOutcome.values()) {
+            retryResults.put(outcome, Counter.builder("subscription.dunning.results")
+                    .description("결제 실패 청구서 재시도 결과별 건수")
+                    .tag("result", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 재시도 시각이 된 청구서를 묶음 단위로 점유하여 재시도 (큐가 빌 때까지 반복)
+     * @return 이번 호출에서 재시도한 청구서 수
+     */
+    public int processDueRetries() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            int total = 0;
+            while (true) {
+                List<InvoiceRetry> claimed = transactionTemplate.execute(status -> claimDueRetries());
+                if (claimed == null || claimed.isEmpty()) {
+                    return total;
+                }
+
+                Flux.fromIterable(claimed)
+                        .flatMap(this::retry, concurrency)
+                        .doOnNext(outcome -> retryResults.get(outcome).increment())
+                        .then()
+                        .block();
+                total += claimed.size();
+                if (claimed.size() < batchSize) {
+                    return total;
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // 재시도할 행을 잠그고 PROCESSING으로 바꾼 뒤 커밋 - 결제는 트랜잭션 밖에서 실행
+    private List<InvoiceRetry> claimDueRetries() {
+        LocalDateTime now = LocalDateTime.now();
+        List<InvoiceRetry> retries = retryRepository.lockDueRetries(now, batchSize);
+        for (InvoiceRetry retry : retries) {
+            retry.setStatus(InvoiceRetry.RetryStatus.PROCESSING);
+            retry.setLockedUntil(now.plusSeconds(lockSeconds));
+        }
+        return retryRepository.saveAll(retries);
+    }
+
+    private Mono<RetryOutcome> retry(InvoiceRetry retry) {
+        Long invoiceId = retry.getInvoiceId();
+        // 청구서 조회/저장은 JDBC 블로킹 호출이므로 boundedElastic에서 실행
+        return Mono.fromCallable(() -> subscriptionService.reopenFailedInvoice(invoiceId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(reopened -> {
+                    if (!reopened) {
+                        // 이미 결제(웹훅 등)/환불되었거나 청구서가 없음
+                        transactionTemplate.execute(status -> retryRepository.deleteByInvoiceId(invoiceId));
+                        return Mono.just(RetryOutcome.CLOSED);
+                    }
+                    return Mono.defer(() -> subscriptionService.processInvoicePayment(invoiceId))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .publishOn(Schedulers.boundedElastic())
+                            .map(success -> success
+                                    ? recovered(retry)
+                                    : transactionTemplate.execute(status -> rescheduleOrEnd(retry.getRetryId())));
+                })
+                .onErrorResume(error -> {
+                    if (error instanceof PortOneUnavailableException) {
+                        logger.warn("청구서 ID {}: PortOne 호출 불가로 재시도 보류 - {}", invoiceId, error.getMessage());
+                        transactionTemplate.executeWithoutResult(status -> defer(retry.getRetryId(), error.getMessage()));
+                        return Mono.just(RetryOutcome.DEFERRED);
+                    }
+                    // 점유 만료 후 다시 가져감
+                    logger.error("청구서 ID {}: 결제 재시도 중 오류 발생", invoiceId, error);
+                    return Mono.just(RetryOutcome.FAILED);
+                });
+    }
+
+    private RetryOutcome recovered(InvoiceRetry retry) {
+        transactionTemplate.execute(status -> retryRepository.deleteByInvoiceId(retry.getInvoiceId()));
+        logger.info("구독 ID {}: 청구서 ID {} 재시도 결제 성공 ({}번째 재시도)",
+                retry.getSubscriptionId(), retry.getInvoiceId(), retry.getRetries() + 1);
+        return RetryOutcome.RECOVERED;
+    }
+
+    /**
+     * 재시도 실패 반영 - 다음 재시도 시각을 잡거나, 일정을 모두 소진했으면 구독 종료
+     */
+    private RetryOutcome rescheduleOrEnd(Long retryId) {
+        Optional<InvoiceRetry> retryOptional = retryRepository.findById(retryId);
+        if (retryOptional.isEmpty()) {
+            return RetryOutcome.CLOSED;
+        }
+        InvoiceRetry retry = retryOptional.get();
+        int retries = retry.getRetries() + 1;
+        SubscriptionInvoice invoice = invoiceRepository.findById(retry.getInvoiceId()).orElse(null);
+        if (invoice != null && invoice.getStatus() == SubscriptionInvoice.InvoiceStatus.PROCESSING) {
+            // 다른 경로가 먼저 결제를 점유함 - 재시도 실패가 아니므로 횟수를 쓰지 않고 잠시 뒤 결과를 확인
+            defer(retryId, "다른 결제 실행이 청구서를 처리 중");
+            return RetryOutcome.DEFERRED;
+        }
+        Subscription subscription = subscriptionRepository.findById(retry.getSubscriptionId()).orElse(null);
+
+        Optional<Duration> delay = subscription != null
+                ? dunningPolicy.nextDelay(subscription.getPlan(), retries)
+                : Optional.empty();
+        if (delay.isPresent()) {
+            retry.setRetries(retries);
+            retry.setStatus(InvoiceRetry.RetryStatus.PENDING);
+            retry.setNextAttemptAt(LocalDateTime.now().plus(delay.get()));
+            retry.setLockedUntil(null);
+            retry.setLastError(invoice != null ? truncate(invoice.getErrorMessage()) : null);
+            retryRepository.save(retry);
+            logger.warn("구독 ID {}: 청구서 ID {} 재시도 실패 ({}번째), 다음 재시도: {}",
+                    retry.getSubscriptionId(), retry.getInvoiceId(), retries, retry.getNextAttemptAt());
+            return RetryOutcome.FAILED;
+        }
+
+        retryRepository.delete(retry);
+        if (subscription != null && subscription.getStatus() != Subscription.SubscriptionStatus.CANCELED
+                && subscription.getStatus() != Subscription.SubscriptionStatus.ENDED) {
+            subscription.setStatus(Subscription.SubscriptionStatus.ENDED);
+            subscription.setEndedAt(LocalDateTime.now());
+            subscriptionRepository.save(subscription);
+        }
+        logger.warn("구독 ID {}: 청구서 ID {} 재시도 {}회 모두 실패하여 구독을 종료합니다.",
+                retry.getSubscriptionId(), retry.getInvoiceId(), retries);
+        return RetryOutcome.ENDED;
+    }
+
+    // 결제를 시도하지 못한 재시도 - 횟수를 쓰지 않고 잠시 뒤 다시 시도
+    private void defer(Long retryId, String reason) {
+        retryRepository.findById(retryId).ifPresent(retry -> {
+            retry.setStatus(InvoiceRetry.RetryStatus.PENDING);
+            retry.setNextAttemptAt(LocalDateTime.now().plus(deferredDelay));
+            retry.setLockedUntil(null);
+            retry.setLastError(truncate(reason));
+            retryRepository.save(retry);
+        });
+    }
+
+    private String truncate(String message) {
+        return message != null && message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -1,6 +1,10 @@
 package com.sparta.subscription_system.service;
 
-import com.sparta.subscription_system.client.PortOneClient;
+import com.sparta.portone.PortOneClient;
+import com.sparta.portone.dto.PortOneBillingKey;
+import com.sparta.portone.dto.PortOneBillingKeyRequest;
+import com.sparta.portone.dto.PortOneBillingRequest;
+import com.sparta.portone.dto.PortOneCustomer;
 import com.sparta.subscription_system.entity.PaymentMethod;
 import com.sparta.subscription_system.entity.User;
 import com.sparta.subscription_system.repository.PaymentMethodRepository;
@@ -120,13 +124,13 @@ public class PaymentMethodService {
      * @return 빌링키 발급 결과 (카드 정보 포함)
      */
     @Transactional
-    public Mono<Map<String, Object>> issueBillingKeyViaServer(String customerUid, Integer amount, String orderName) {
+    public Mono<PortOneBillingKey> issueBillingKeyViaServer(String customerUid, Integer amount, String orderName) {
         // PortOne V2 API 형식에 맞춰 빌링키 발급 요청 생성
         // 참고: API를 통한 빌링키 발급은 카드 정보가 필요하므로, 
         // 실제로는 프론트엔드에서 PortOne.requestIssueBillingKey()를 사용하는 것이 권장됨
-        Map<String, Object> billingKeyRequest = new java.util.HashMap<>();
-        billingKeyRequest.put("channelKey", "channel-key-0590c7cd-d67e-4754-a464-29a860ba58de"); // TODO: 설정에서 가져오기
-        billingKeyRequest.put("customer", Map.of("id", customerUid != null ? customerUid : "customer_" + System.currentTimeMillis()));
+        PortOneBillingKeyRequest billingKeyRequest = new PortOneBillingKeyRequest(
+                "channel-key-0590c7cd-d67e-4754-a464-29a860ba58de", // TODO: 설정에서 가져오기
+                new PortOneCustomer(customerUid != null ? customerUid : "customer_" + System.currentTimeMillis()));
         
         // 카드 정보는 실제로는 프론트엔드에서 받아야 하지만, 
         // 여기서는 빌링키 발급이 이미 완료되었다고 가정하고 조회만 수행
@@ -154,13 +158,13 @@ public class PaymentMethodService {
         }
 
         // 빌링키로 결제 실행
-        Map<String, Object> billingRequest = Map.of(
-                "amount", amount,
-                "merchantUid", "payment_" + System.currentTimeMillis(),
-                "name", orderName
+        PortOneBillingRequest billingRequest = new PortOneBillingRequest(
+                amount,
+                "payment_" + System.currentTimeMillis(),
+                orderName
         );
 
-        return portOneClient.getAccessToken()
+        return portOneClient.issueAccessToken()
                 .flatMap(accessToken -> {
                     // 먼저 빌링키가 존재하는지 확인
                     return portOneClient.getBillingKey(paymentMethod.getCustomerUid(), accessToken)
@@ -189,19 +193,15 @@ public class PaymentMethodService {
                     response.put("paymentMethodId", methodId);
                     response.put("customerUid", paymentMethod.getCustomerUid());
                     
-                    // 포트원 응답에서 결제 정보 추출
-                    if (result.containsKey("imp_uid")) {
-                        response.put("impUid", result.get("imp_uid"));
-                    } else if (result.containsKey("impUid")) {
-                        response.put("impUid", result.get("impUid"));
+                    // 포트원 응답에서 결제 정보 추출 (imp_uid/impUid, merchant_uid/merchantUid는 응답 레코드에서 통일)
+                    if (result.impUid() != null) {
+                        response.put("impUid", result.impUid());
                     }
-                    if (result.containsKey("merchant_uid")) {
-                        response.put("merchantUid", result.get("merchant_uid"));
-                    } else if (result.containsKey("merchantUid")) {
-                        response.put("merchantUid", result.get("merchantUid"));
+                    if (result.merchantUid() != null) {
+                        response.put("merchantUid", result.merchantUid());
                     }
-                    if (result.containsKey("amount")) {
-                        response.put("amount", result.get("amount"));
+                    if (result.amount() != null) {
+                        response.put("amount", result.amount());
                     }
                     
                     return response;
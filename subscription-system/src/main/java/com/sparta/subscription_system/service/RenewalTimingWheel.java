@@ -0,0 +1,125 @@
+package com.sparta.subscription_system.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠 - 만기 시각이 된 항목을 틱 단위로 꺼냄
+ * - 0단계는 tickMs 간격 버킷 wheelSize개, k단계는 (tickMs * wheelSize^k) 간격 버킷 wheelSize개로 구성됩니다.
+ * - 먼 항목은 상위 단계에 두었다가 해당 구간이 시작될 때 하위 단계로 내려 보내므로,
+ *   항목 수와 관계없이 추가는 O(1), 틱마다 꺼내는 비용은 만기 항목 수에 비례합니다.
+ * - 스레드 안전하지 않으므로 호출하는 쪽에서 동기화합니다.
+ */
+class RenewalTimingWheel<T> {
+
+    private record Entry<T>(T item, long dueAtMillis) {
+    }
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<ArrayDeque<Entry<T>>[]> levels = new ArrayList<>();
+    private final List<Long> levelTicks = new ArrayList<>();
+    private final ArrayDeque<Entry<T>> ready = new ArrayDeque<>();
+
+    // 0단계 현재 버킷의 시작 시각 (tickMs 배수) - 이보다 이른 만기는 다음 advance에서 바로 꺼냄
+    private long currentTime;
+    private int size;
+
+    /**
+     * @param horizonMs 추가할 수 있는 가장 먼 만기까지의 거리 - 이 범위를 덮을 만큼 단계를 만듦
+     */
+    @SuppressWarnings("unchecked")
+    RenewalTimingWheel(long tickMs, int wheelSize, long horizonMs, long startMillis) {
+        this.tickMs = Math.max(1, tickMs);
+        this.wheelSize = Math.max(2, wheelSize);
+        this.currentTime = startMillis - (startMillis % this.tickMs);
+
+        // 최상위 단계가 현재 위치와 관계없이 (wheelSize - 1)개 버킷만큼 앞을 덮을 때까지 단계를 추가
+        long levelTick = this.tickMs;
+        do {
+            ArrayDeque<Entry<T>>[] buckets = new ArrayDeque[this.wheelSize];
+            for (int i = 0; i < this.wheelSize; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+            levels.add(buckets);
+            levelTicks.add(levelTick);
+            levelTick *= this.wheelSize;
+        } while ((levelTick / this.wheelSize) * (this.wheelSize - 1) < horizonMs);
+    }
+
+    /**
+     * @return 추가했으면 true, 휠이 덮는 범위보다 먼 만기면 false
+     */
+    boolean add(T item, long dueAtMillis) {
+        if (!place(new Entry<>(item, dueAtMillis))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * 현재 시각까지 틱을 진행하며 만기가 된 항목을 consumer에 넘김
+     */
+    void advance(long nowMillis, Consumer<T> consumer) {
+        drainReady(consumer);
+        while (currentTime + tickMs <= nowMillis) {
+            // 지나간 틱의 버킷을 꺼냄
+            ArrayDeque<Entry<T>> bucket = levels.get(0)[bucketIndex(currentTime, tickMs)];
+            ready.addAll(bucket);
+            bucket.clear();
+            currentTime += tickMs;
+
+            // 상위 단계의 구간이 시작되면 그 버킷을 하위 단계로 내려 보냄 (높은 단계부터)
+            for (int level = levels.size() - 1; level > 0; level--) {
+                long levelTick = levelTicks.get(level);
+                if (currentTime % levelTick == 0) {
+                    cascade(levels.get(level)[bucketIndex(currentTime, levelTick)]);
+                }
+            }
+            drainReady(consumer);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private boolean place(Entry<T> entry) {
+        if (entry.dueAtMillis() < currentTime) {
+            ready.add(entry);
+            return true;
+        }
+        for (int level = 0; level < levels.size(); level++) {
+            long levelTick = levelTicks.get(level);
+            long levelStart = currentTime - (currentTime % levelTick);
+            if (entry.dueAtMillis() < levelStart + levelTick * wheelSize) {
+                levels.get(level)[bucketIndex(entry.dueAtMillis(), levelTick)].add(entry);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void cascade(ArrayDeque<Entry<T>> bucket) {
+        List<Entry<T>> entries = new ArrayList<>(bucket);
+        bucket.clear();
+        for (Entry<T> entry : entries) {
+            place(entry);
+        }
+    }
+
+    private void drainReady(Consumer<T> consumer) {
+        Entry<T> entry;
+        while ((entry = ready.poll()) != null) {
+            size--;
+            consumer.accept(entry.item());
+        }
+    }
+
+    private int bucketIndex(long timeMillis, long levelTick) {
+        return (int) ((timeMillis / levelTick) % wheelSize);
+    }
+}
@@ -0,0 +1,180 @@
+package com.sparta.subscription_system.service;
+
+import com.sparta.subscription_system.entity.Subscription;
+import com.sparta.subscription_system.repository.SubscriptionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 갱신 시각 기반 자동 결제 (타이밍 휠)
+ * - 앞으로 window-hours 안에 기간이 끝나는 구독을 메모리의 계층형 타이밍 휠에 올려 두고,
+ *   각 구독의 current_period_end(+지터)가 되면 결제하여 자정에 몰리던 결제를 하루 전체로 분산합니다.
+ * - 휠은 주기적으로 이미 올린 구간 이후만 DB에서 읽어 채우며, 재시작하면 유예 시간 전부터 다시 읽어 복구합니다.
+ * - 휠은 노드마다 있고 갱신 결제는 구독 행의 조건부 UPDATE로 점유하므로, 한 기간의 갱신은 한 노드만 결제합니다.
+ * - 휠에 올린 뒤 기간이 바뀌거나 새로 생긴 구독처럼 휠이 놓친 갱신은 정기 실행이 유예 시간 뒤에 처리합니다.
+ */
+@Service
+public class RenewalWheelService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RenewalWheelService.class);
+
+    private static final int WHEEL_SIZE = 64;
+    private static final List<Subscription.SubscriptionStatus> BILLABLE_STATUSES =
+            List.of(Subscription.SubscriptionStatus.ACTIVE, Subscription.SubscriptionStatus.PAST_DUE);
+
+    private record Renewal(Long subscriptionId, LocalDateTime periodEnd) {
+    }
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriptionBillingService subscriptionBillingService;
+    private final boolean enabled;
+    private final long windowHours;
+    private final long jitterMillis;
+    private final long graceMinutes;
+    private final int loadChunkSize;
+
+    // 아래 세 필드는 this로 동기화
+    private final RenewalTimingWheel<Renewal> wheel;
+    private final Map<Long, LocalDateTime> scheduled = new HashMap<>();
+    private LocalDateTime loadedUntil;
+
+    private final Sinks.Many<Renewal> dueRenewals = Sinks.many().unicast().onBackpressureBuffer();
+
+    @Autowired
+    public RenewalWheelService(SubscriptionRepository subscriptionRepository,
+                               SubscriptionBillingService subscriptionBillingService,
+                               MeterRegistry meterRegistry,
+                               @Value("${subscription.billing.wheel.enabled:true}") boolean enabled,
+                               @Value("${subscription.billing.wheel.tick-ms:1000}") long tickMs,
+                               @Value("${subscription.billing.wheel.window-hours:6}") long windowHours,
+                               @Value("${subscription.billing.wheel.jitter-seconds:60}") long jitterSeconds,
+                               @Value("${subscription.billing.wheel.grace-minutes:60}") long graceMinutes,
+                               @Value("${subscription.billing.chunk-size:500}") int loadChunkSize,
+                               @Value("${subscription.billing.concurrency:10}") int billingConcurrency) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.subscriptionBillingService = subscriptionBillingService;
+        this.enabled = enabled;
+        this.windowHours = Math.max(1, windowHours);
+        this.jitterMillis = TimeUnit.SECONDS.toMillis(Math.max(0, jitterSeconds));
+        this.graceMinutes = graceMinutes;
+        this.loadChunkSize = Math.max(1, loadChunkSize);
+        this.wheel = new RenewalTimingWheel<>(tickMs, WHEEL_SIZE,
+                TimeUnit.HOURS.toMillis(this.windowHours) + this.jitterMillis, System.currentTimeMillis());
+
+        Gauge.builder("subscription.renewal.wheel.size", this, service -> service.scheduledCount())
+                .description("타이밍 휠에서 갱신 시각을 기다리는 구독 수")
+                .register(meterRegistry);
+
+        // 만기가 된 갱신은 동시 결제 수를 제한하여 결제 (휠 틱 스레드는 꺼내기만 함)
+        dueRenewals.asFlux()
+                .flatMap(renewal -> subscriptionBillingService.renew(renewal.subscriptionId(), renewal.periodEnd()),
+                        Math.max(1, billingConcurrency))
+                .subscribe();
+    }
+
+    /**
+     * 휠 채우기 - 이미 올린 구간 이후부터 (현재 + window-hours)까지 기간이 끝나는 구독을 휠에 올림
+     * - 처음 호출(재시작 직후)에는 유예 시간 전부터 읽어, 중단 중에 갱신 시각이 지난 구독도 바로 결제합니다.
+     */
+    public void refill() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from;
+        synchronized (this) {
+            from = loadedUntil != null ? loadedUntil : now.minusMinutes(graceMinutes);
+        }
+        LocalDateTime to = now.plusHours(windowHours);
+        if (!to.isAfter(from)) {
+            return;
+        }
+
+        int loaded = 0;
+        long afterId = 0L;
+        while (true) {
+            List<Object[]> rows = subscriptionRepository.findUpcomingRenewals(
+                    BILLABLE_STATUSES, from, to, afterId, PageRequest.of(0, loadChunkSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+            synchronized (this) {
+                for (Object[] row : rows) {
+                    if (schedule((Long) row[0], (LocalDateTime) row[1])) {
+                        loaded++;
+                    }
+                }
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+
+        synchronized (this) {
+            loadedUntil = to;
+        }
+        if (loaded > 0) {
+            logger.info("갱신 결제 타이밍 휠 채움 - 구간: ({}, {}], 추가: {}건, 대기 중: {}건", from, to, loaded, scheduledCount());
+        }
+    }
+
+    /**
+     * 휠 진행 - 갱신 시각이 된 구독을 꺼내 결제 파이프라인에 넘김
+     */
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        List<Renewal> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(System.currentTimeMillis(), renewal -> {
+                // 휠에 다시 올리며 기간이 바뀐 항목은 버림
+                if (scheduled.remove(renewal.subscriptionId(), renewal.periodEnd())) {
+                    due.add(renewal);
+                }
+            });
+        }
+        for (Renewal renewal : due) {
+            Sinks.EmitResult result = dueRenewals.tryEmitNext(renewal);
+            if (result.isFailure()) {
+                logger.warn("구독 ID {}: 갱신 결제를 넘기지 못했습니다 ({}) - 정기 실행에서 처리합니다.",
+                        renewal.subscriptionId(), result);
+            }
+        }
+    }
+
+    private boolean schedule(Long subscriptionId, LocalDateTime periodEnd) {
+        LocalDateTime previous = scheduled.put(subscriptionId, periodEnd);
+        if (periodEnd.equals(previous)) {
+            return false;
+        }
+        long dueAt = Math.max(periodEnd.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), System.currentTimeMillis());
+        if (jitterMillis > 0) {
+            dueAt += ThreadLocalRandom.current().nextLong(jitterMillis + 1);
+        }
+        if (!wheel.add(new Renewal(subscriptionId, periodEnd), dueAt)) {
+            scheduled.remove(subscriptionId, periodEnd);
+            logger.warn("구독 ID {}: 갱신 시각 {}이(가) 타이밍 휠 범위를 벗어나 정기 실행에서 처리합니다.", subscriptionId, periodEnd);
+            return false;
+        }
+        return true;
+    }
+
+    private synchronized int scheduledCount() {
+        return scheduled.size();
+    }
+}
@@ -0,0 +1,420 @@
+package com.sparta.subscription_system.service;
+
+import com.sparta.portone.PortOneUnavailableException;
+import com.sparta.subscription_system.entity.BillingRunCheckpoint;
+import com.sparta.subscription_system.entity.Subscription;
+import com.sparta.subscription_system.repository.BillingRunCheckpointRepository;
+import com.sparta.subscription_system.repository.SubscriptionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 구독 자동 결제 실행
+ * - 결제 대상 구독을 subscription_id 해시 파티션으로 나누고, 노드마다 파티션을 하나씩 점유(lease)하여 처리합니다.
+ *   점유는 체크포인트 행의 조건부 UPDATE로 얻으므로 여러 노드가 같은 구독을 결제하지 않으며, 노드를 늘리면 처리량도 늘어납니다.
+ * - 파티션 안에서는 keyset 청크로 읽고, 청크마다 짧은 트랜잭션 하나로 청구서를 준비한 뒤 결제합니다.
+ * - 결제는 Flux 파이프라인에서 동시 실행 수(flatMap concurrency)와 초당 시작 수를 제한하여 처리하고,
+ *   청크의 결제가 모두 끝나면 체크포인트를 갱신하므로 중단 후에는 같은 기준 시각과 위치에서 이어갑니다.
+ * - 점유는 하트비트로 연장하며, 노드가 죽어 점유가 만료된 파티션은 다른 노드가 이어서 처리합니다.
+ * - 실행이 끝나면 파티션별 결과 건수와 노드의 처리량, p99 지연을 기록합니다.
+ * - 타이밍 휠(RenewalWheelService)이 켜져 있으면 평소 갱신은 휠이 갱신 시각에 맞춰 renew로 결제하고,
+ *   정기 실행은 휠이 놓친 구독과 보류된 청구서를 처리하는 보정 작업이 됩니다.
+ */
+@Service
+public class SubscriptionBillingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionBillingService.class);
+
+    private static final String JOB_NAME_PREFIX = "subscription-billing-";
+    private static final LocalDateTime NEVER_RUN = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final List<Subscription.SubscriptionStatus> BILLABLE_STATUSES =
+            List.of(Subscription.SubscriptionStatus.ACTIVE, Subscription.SubscriptionStatus.PAST_DUE);
+
+    /**
+     * 구독 한 건의 자동 결제 결과
+     * - DEFERRED: 서킷 브레이커/벌크헤드로 PortOne 호출을 보내지 못함 (청구서는 PENDING으로 남아 다음 실행에서 재시도)
+     */
+    private enum BillingOutcome {
+        SUCCESS, FAILURE, DEFERRED
+    }
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriptionService subscriptionService;
+    private final BillingRunCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitions;
+    private final long leaseSeconds;
+    private final String nodeId;
+    private final int chunkSize;
+    private final int billingConcurrency;
+    private final double billingRatePerSecond;
+    private final boolean renewalWheelEnabled;
+    private final long renewalGraceMinutes;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicReference<LocalDateTime> pendingCutoff = new AtomicReference<>();
+
+    private final Timer billingLatency;
+    private final Timer billingRunDuration;
+    private final Map<BillingOutcome, Counter> billingResults = new EnumMap<>(BillingOutcome.class);
+
+    @Autowired
+    public SubscriptionBillingService(SubscriptionRepository subscriptionRepository,
+                                      SubscriptionService subscriptionService,
+                                      BillingRunCheckpointRepository checkpointRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${subscription.billing.partitions:16}") int partitions,
+                                      @Value("${subscription.billing.lease-seconds:120}") long leaseSeconds,
+                                      @Value("${subscription.billing.node-id:}") String nodeId,
+                                      @Value("${subscription.billing.chunk-size:500}") int chunkSize,
+                                      @Value("${subscription.billing.concurrency:10}") int billingConcurrency,
+                                      @Value("${subscription.billing.rate-per-second:20}") double billingRatePerSecond,
+                                      @Value("${subscription.billing.wheel.enabled:true}") boolean renewalWheelEnabled,
+                                      @Value("${subscription.billing.wheel.grace-minutes:60}") long renewalGraceMinutes) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.subscriptionService = subscriptionService;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitions = Math.max(1, partitions);
+        this.leaseSeconds = leaseSeconds;
+        // 점유 소유자는 프로세스마다 달라야 재시작한 노드가 이전 프로세스의 점유를 자기 것으로 착각하지 않음
+        this.nodeId = (nodeId == null || nodeId.isBlank() ? "node" : nodeId) + "-" + UUID.randomUUID();
+        this.chunkSize = Math.max(1, chunkSize);
+        this.billingConcurrency = Math.max(1, billingConcurrency);
+        this.billingRatePerSecond = billingRatePerSecond;
+        this.renewalWheelEnabled = renewalWheelEnabled;
+        this.renewalGraceMinutes = renewalGraceMinutes;
+
+        this.billingLatency = Timer.builder("subscription.billing.latency")
+                .description("구독 한 건의 청구서 결제 처리(PortOne 정기결제 포함)에 걸린 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.billingRunDuration = Timer.builder("subscription.billing.run.duration")
+                .description("자동 결제 스케줄러 한 번의 전체 실행 시간")
+                .register(meterRegistry);
+        for (BillingOutcome outcome : BillingOutcome.values()) {
+            billingResults.put(outcome, Counter.builder("subscription.billing.results")
+                    .description("구독 자동 결제 결과별 건수")
+                    .tag("result", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 정기 실행 - 중단된 파티션을 먼저 이어서 끝낸 뒤, 새 기준 시각으로 아직 시작하지 않은 파티션을 처리
+     * - 기준 시각을 분 단위로 맞춰 같은 시각에 실행된 노드들이 같은 실행의 파티션을 나눠 가지도록 합니다.
+     * - 타이밍 휠이 켜져 있으면 갱신 시각에 맞춰 결제하므로, 유예 시간이 지나도록 결제되지 않은 구독만 처리합니다.
+     */
+    public void runDueBilling() {
+        LocalDateTime cutoff = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        runPartitions(renewalWheelEnabled ? cutoff.minusMinutes(renewalGraceMinutes) : cutoff);
+    }
+
+    /**
+     * 타이밍 휠에서 갱신 시각이 된 구독 한 건을 결제
+     * - 이번 기간의 갱신을 먼저 점유하므로 여러 노드의 휠이 같은 구독을 꺼내도 한 노드만 결제합니다.
+     * - 점유 후 결제하지 못하고 중단되면 정기 실행이 유예 시간 뒤에 처리합니다.
+     */
+    public Mono<Void> renew(Long subscriptionId, LocalDateTime periodEnd) {
+        return Mono.fromCallable(() -> {
+                    Integer claimed = transactionTemplate.execute(status ->
+                            subscriptionRepository.claimRenewal(subscriptionId, periodEnd));
+                    if (claimed == null || claimed == 0) {
+                        // 다른 노드가 먼저 점유했거나 그 사이 기간/상태가 바뀜
+                        return Map.<Long, Long>of();
+                    }
+                    return subscriptionService.prepareDueInvoices(List.of(subscriptionId), periodEnd);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(invoiceIds -> invoiceIds.containsKey(subscriptionId)
+                        ? payInvoice(subscriptionId, invoiceIds.get(subscriptionId), null)
+                        : Mono.empty())
+                .doOnNext(outcome -> billingResults.get(outcome).increment())
+                .onErrorResume(e -> {
+                    logger.error("구독 ID {}: 갱신 결제 준비 중 오류 발생 (정기 실행에서 재처리)", subscriptionId, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * 재시작/장애 복구 - 점유가 만료된(중단된) 파티션이 있을 때만 이어서 실행
+     */
+    public void resumeInterruptedRuns() {
+        runPartitions(null);
+    }
+
+    /**
+     * 하트비트 - 이 노드가 처리 중인 파티션의 점유 연장
+     */
+    public void renewLeases() {
+        Integer renewed = transactionTemplate.execute(status ->
+                checkpointRepository.renewLeases(nodeId, LocalDateTime.now().plusSeconds(leaseSeconds)));
+        if (renewed != null && renewed > 0) {
+            logger.debug("구독 자동 결제 파티션 점유 연장 - 노드: {}, 파티션 {}개", nodeId, renewed);
+        }
+    }
+
+    private void runPartitions(LocalDateTime cutoff) {
+        if (!running.compareAndSet(false, true)) {
+            if (cutoff == null) {
+                return;
+            }
+            // 복구 작업이 실행 중이면 새 실행의 기준 시각을 넘겨 이어서 처리하게 함
+            pendingCutoff.set(cutoff);
+            if (!running.compareAndSet(false, true)) {
+                logger.info("구독 자동 결제가 이미 실행 중입니다. 현재 작업이 끝나면 기준 시각 {} 실행을 이어서 처리합니다.", cutoff);
+                return;
+            }
+        }
+        try {
+            ensurePartitions();
+
+            Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+            long startedAt = System.nanoTime();
+            long billed = 0;
+            int claimed = 0;
+
+            LocalDateTime runCutoff = cutoff;
+            while (true) {
+                LocalDateTime pending = pendingCutoff.getAndSet(null);
+                if (pending != null) {
+                    runCutoff = pending;
+                }
+                Integer partition = claimPartition(runCutoff);
+                if (partition == null) {
+                    break;
+                }
+                claimed++;
+                try {
+                    billed += executePartition(partition, latencies);
+                } catch (RuntimeException e) {
+                    // 하트비트가 계속 연장하지 않도록 점유를 내려놓아 다음 복구 주기에 다시 처리되게 함
+                    releaseLease(partition);
+                    throw e;
+                }
+            }
+            if (claimed > 0) {
+                long elapsedNanos = System.nanoTime() - startedAt;
+                billingRunDuration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+
+                logger.info("구독 자동 결제 노드 실행 완료 - 노드: {}, 파티션: {}개, 결제: {}건, 소요: {}초, 처리량: {}건/초, p99: {}ms",
+                        nodeId, claimed, billed,
+                        String.format(Locale.ROOT, "%.1f", elapsedSeconds),
+                        String.format(Locale.ROOT, "%.2f", elapsedSeconds > 0 ? billed / elapsedSeconds : 0),
+                        percentileMillis(latencies, 0.99));
+            } else if (runCutoff != null) {
+                logger.info("처리할 구독 자동 결제 파티션이 없습니다 (다른 노드가 처리 중이거나 완료함) - 기준 시각: {}", runCutoff);
+            }
+        } finally {
+            running.set(false);
+        }
+
+        // 실행을 마치는 사이에 넘겨받은 새 실행이 있으면 이어서 처리
+        LocalDateTime pending = pendingCutoff.getAndSet(null);
+        if (pending != null) {
+            runPartitions(pending);
+        }
+    }
+
+    // 파티션 체크포인트 행 생성 (이미 있으면 무시)
+    private void ensurePartitions() {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (int partition = 0; partition < partitions; partition++) {
+                checkpointRepository.insertIgnore(jobName(partition), NEVER_RUN, now);
+            }
+        });
+    }
+
+    /**
+     * 파티션 하나 점유 - 중단된 파티션을 우선하고, cutoff가 있으면 새 실행도 시작
+     * - 노드마다 임의의 위치부터 살펴 여러 노드가 같은 파티션을 두고 경쟁하는 일을 줄입니다.
+     * @return 점유한 파티션 번호, 없으면 null
+     */
+    private Integer claimPartition(LocalDateTime cutoff) {
+        int offset = ThreadLocalRandom.current().nextInt(partitions);
+        for (int i = 0; i < partitions; i++) {
+            int partition = (offset + i) % partitions;
+            Integer claimed = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                return checkpointRepository.claimInterrupted(jobName(partition), nodeId, now, now.plusSeconds(leaseSeconds));
+            });
+            if (claimed != null && claimed > 0) {
+                logger.info("중단된 구독 자동 결제 파티션 {}을(를) 이어서 처리합니다. (노드: {})", partition, nodeId);
+                return partition;
+            }
+        }
+        if (cutoff == null) {
+            return null;
+        }
+        for (int i = 0; i < partitions; i++) {
+            int partition = (offset + i) % partitions;
+            Integer claimed = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                return checkpointRepository.claimNewRun(jobName(partition), nodeId, cutoff, now, now.plusSeconds(leaseSeconds));
+            });
+            if (claimed != null && claimed > 0) {
+                return partition;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 점유한 파티션을 체크포인트 위치부터 끝까지 결제
+     * @return 이번 호출에서 결제를 시도한 청구서 수
+     */
+    private long executePartition(int partition, Queue<Long> latencies) {
+        String jobName = jobName(partition);
+        BillingRunCheckpoint checkpoint = checkpointRepository.findById(jobName).orElseThrow();
+        LocalDateTime cutoff = checkpoint.getCutoff();
+        long afterId = checkpoint.getLastSubscriptionId() != null ? checkpoint.getLastSubscriptionId() : 0L;
+        logger.info("구독 자동 결제 파티션 {}/{} 시작 - 기준 시각: {}, 재개 위치: {} (청크: {}, 동시 처리: {}, 초당 시작 제한: {})",
+                partition, partitions, cutoff, checkpoint.getLastSubscriptionId(), chunkSize, billingConcurrency,
+                billingRatePerSecond > 0 ? billingRatePerSecond : "없음");
+
+        long billed = 0;
+        while (true) {
+            List<Long> subscriptionIds = subscriptionRepository.findDueSubscriptionIdsAfter(
+                    BILLABLE_STATUSES, cutoff, partitions, partition, afterId, PageRequest.of(0, chunkSize));
+            if (subscriptionIds.isEmpty()) {
+                break;
+            }
+
+            Map<Long, Long> invoiceIds = subscriptionService.prepareDueInvoices(subscriptionIds, cutoff);
+            Map<BillingOutcome, Long> outcomes = billChunk(invoiceIds, latencies).block();
+            billed += invoiceIds.size();
+
+            Long lastSubscriptionId = subscriptionIds.get(subscriptionIds.size() - 1);
+            Integer advanced = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                return checkpointRepository.advance(jobName, nodeId, lastSubscriptionId, subscriptionIds.size(),
+                        outcomes.getOrDefault(BillingOutcome.SUCCESS, 0L),
+                        outcomes.getOrDefault(BillingOutcome.FAILURE, 0L),
+                        outcomes.getOrDefault(BillingOutcome.DEFERRED, 0L),
+                        now, now.plusSeconds(leaseSeconds));
+            });
+            if (advanced == null || advanced == 0) {
+                // 하트비트가 늦어 다른 노드가 파티션을 가져감 - 이후 청크는 새 점유자가 처리
+                logger.warn("구독 자동 결제 파티션 {}의 점유를 잃어 처리를 중단합니다. (노드: {}, 마지막 구독 ID: {})",
+                        partition, nodeId, lastSubscriptionId);
+                return billed;
+            }
+            afterId = lastSubscriptionId;
+        }
+
+        transactionTemplate.execute(status -> checkpointRepository.complete(jobName, nodeId, LocalDateTime.now()));
+        BillingRunCheckpoint completed = checkpointRepository.findById(jobName).orElseThrow();
+
+        // 건수는 재개 전 처리분까지 포함한 파티션 전체 기준
+        logger.info("구독 자동 결제 파티션 {}/{} 완료 - 대상: {}, 성공: {}, 실패: {}, 보류: {}",
+                partition, partitions,
+                completed.getProcessedSubscriptions(),
+                completed.getSucceeded(),
+                completed.getFailed(),
+                completed.getDeferred());
+        return billed;
+    }
+
+    private void releaseLease(int partition) {
+        try {
+            transactionTemplate.execute(status -> checkpointRepository.releaseLease(jobName(partition), nodeId, LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            logger.warn("구독 자동 결제 파티션 {} 점유 해제 실패 - 점유 만료 후 다른 노드가 처리합니다.", partition, e);
+        }
+    }
+
+    private String jobName(int partition) {
+        return JOB_NAME_PREFIX + partition;
+    }
+
+    /**
+     * 청크의 청구서를 결제하고 결과별 건수를 집계 (모든 결제가 끝나면 완료)
+     */
+    private Mono<Map<BillingOutcome, Long>> billChunk(Map<Long, Long> invoiceIds, Queue<Long> latencies) {
+        Flux<Map.Entry<Long, Long>> invoices = Flux.fromIterable(invoiceIds.entrySet());
+        if (billingRatePerSecond > 0) {
+            // 결제 시작 간격을 일정하게 벌려 PortOne 요청이 자정에 몰리지 않도록 함
+            invoices = invoices.delayElements(Duration.ofNanos((long) (1_000_000_000L / billingRatePerSecond)));
+        }
+        return invoices
+                .flatMap(entry -> payInvoice(entry.getKey(), entry.getValue(), latencies), billingConcurrency)
+                .doOnNext(outcome -> billingResults.get(outcome).increment())
+                .collect(() -> new EnumMap<BillingOutcome, Long>(BillingOutcome.class),
+                        (counts, outcome) -> counts.merge(outcome, 1L, Long::sum));
+    }
+
+    private Mono<BillingOutcome> payInvoice(Long subscriptionId, Long invoiceId, Queue<Long> latencies) {
+        long startedAt = System.nanoTime();
+        // 청구서 조회/저장은 JDBC 블로킹 호출이므로 boundedElastic에서 실행
+        return Mono.defer(() -> subscriptionService.processInvoicePayment(invoiceId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(success -> {
+                    if (success) {
+                        logger.info("구독 ID {}: 청구서 ID {} 결제 처리 완료", subscriptionId, invoiceId);
+                        return BillingOutcome.SUCCESS;
+                    }
+                    logger.warn("구독 ID {}: 청구서 ID {} 결제 처리 실패", subscriptionId, invoiceId);
+                    return BillingOutcome.FAILURE;
+                })
+                .onErrorResume(error -> {
+                    if (error instanceof PortOneUnavailableException) {
+                        logger.warn("구독 ID {}: 청구서 ID {} PortOne 호출 불가로 결제 보류 - {}",
+                                subscriptionId, invoiceId, error.getMessage());
+                        return Mono.just(BillingOutcome.DEFERRED);
+                    }
+                    logger.error("구독 ID {}: 청구서 ID {} 결제 처리 중 오류 발생", subscriptionId, invoiceId, error);
+                    return Mono.just(BillingOutcome.FAILURE);
+                })
+                .doOnNext(outcome -> {
+                    long elapsed = System.nanoTime() - startedAt;
+                    billingLatency.record(elapsed, TimeUnit.NANOSECONDS);
+                    if (latencies != null) {
+                        latencies.add(elapsed);
+                    }
+                });
+    }
+
+    // 이번 실행의 결제 지연 백분위 (ms)
+    private long percentileMillis(Queue<Long> latencies, double percentile) {
+        if (latencies.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted.get(Math.max(0, index)));
+    }
+}
@@ -1,32 +1,56 @@
 package com.sparta.subscription_system.service;
 
-import com.sparta.subscription_system.client.PortOneClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sparta.portone.PortOneClient;
+import com.sparta.portone.PortOneUnavailableException;
+import com.sparta.portone.dto.PortOneBillingRequest;
+import com.sparta.portone.dto.PortOneCustomer;
+import com.sparta.portone.dto.PortOneSchedule;
+import com.sparta.portone.dto.PortOneScheduleRequest;
+import com.sparta.portone.dto.PortOneScheduleResponse;
 import com.sparta.subscription_system.entity.*;
 import com.sparta.subscription_system.repository.*;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.retry.Retry;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 @Service
 public class SubscriptionService {
 
+    // 결제되지 않은 청구서 (대기 중, 다른 경로가 결제 중)
+    private static final List<SubscriptionInvoice.InvoiceStatus> OPEN_STATUSES =
+            List.of(SubscriptionInvoice.InvoiceStatus.PENDING, SubscriptionInvoice.InvoiceStatus.PROCESSING);
+
     private final SubscriptionRepository subscriptionRepository;
     private final PlanRepository planRepository;
     private final PaymentMethodRepository paymentMethodRepository;
     private final SubscriptionInvoiceRepository invoiceRepository;
     private final SubscriptionRefundRepository refundRepository;
     private final UserRepository userRepository;
+    private final InvoiceRetryRepository retryRepository;
+    private final DunningPolicy dunningPolicy;
     private final PortOneClient portOneClient;
+    private final TransactionTemplate transactionTemplate;
+    // 결제 실행 점유(PROCESSING)가 이보다 오래되면 점유한 노드가 중단된 것으로 보고 다시 점유
+    private final Duration processingTimeout;
 
     @Autowired
     public SubscriptionService(SubscriptionRepository subscriptionRepository,
@@ -35,14 +59,22 @@ public class SubscriptionService {
                               SubscriptionInvoiceRepository invoiceRepository,
                               SubscriptionRefundRepository refundRepository,
                               UserRepository userRepository,
-                              PortOneClient portOneClient) {
+                              InvoiceRetryRepository retryRepository,
+                              DunningPolicy dunningPolicy,
+                              PortOneClient portOneClient,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${subscription.billing.processing-timeout-minutes:30}") long processingTimeoutMinutes) {
         this.subscriptionRepository = subscriptionRepository;
         this.planRepository = planRepository;
         this.paymentMethodRepository = paymentMethodRepository;
         this.invoiceRepository = invoiceRepository;
         this.refundRepository = refundRepository;
         this.userRepository = userRepository;
+        this.retryRepository = retryRepository;
+        this.dunningPolicy = dunningPolicy;
         this.portOneClient = portOneClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.processingTimeout = Duration.ofMinutes(processingTimeoutMinutes);
     }
 
     @Transactional
@@ -115,9 +147,7 @@ public class SubscriptionService {
             createBillingSchedule(savedSubscription)
                     .flatMap(result -> {
                         // 스케줄 생성 응답에서 scheduleId 추출
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> scheduleResponse = (Map<String, Object>) result;
-                        String scheduleId = extractScheduleIdFromResponse(scheduleResponse, savedSubscription.getSubscriptionId());
+                        String scheduleId = extractScheduleIdFromResponse(result, savedSubscription.getSubscriptionId());
                         
                         if (scheduleId != null && !scheduleId.trim().isEmpty()) {
                             // 응답에서 scheduleId를 찾았으면 저장하고 반환
@@ -256,8 +286,12 @@ public class SubscriptionService {
         return subscriptionRepository.findById(subscriptionId);
     }
 
-    @Transactional
-    public Subscription cancelSubscription(Long userId, Long subscriptionId) {
+    /**
+     * 구독 취소
+     * - PortOne 예약결제 스케줄 삭제를 기다리는 동안 요청 스레드를 붙잡지 않도록 Mono로 반환합니다.
+     * - PortOne이 즉시 거절(PortOneUnavailableException)하면 스케줄이 남아 결제될 수 있으므로 구독을 취소하지 않고 오류를 전달합니다.
+     */
+    public Mono<Subscription> cancelSubscription(Long userId, Long subscriptionId) {
         Subscription subscription = subscriptionRepository.findById(subscriptionId)
                 .orElseThrow(() -> new RuntimeException("Subscription not found: " + subscriptionId));
 
@@ -270,28 +304,41 @@ public class SubscriptionService {
             throw new RuntimeException("Subscription is already canceled or ended");
         }
 
-        // PortOne API를 통해 예약결제 스케줄 삭제 (동기적으로 처리)
+        // PortOne API를 통해 예약결제 스케줄 삭제
+        Mono<Boolean> scheduleDeletion;
         PaymentMethod paymentMethod = subscription.getPaymentMethod();
         if (paymentMethod != null && paymentMethod.getCustomerUid() != null) {
-            try {
-                Boolean deleteResult = deleteBillingSchedule(subscription).block(Duration.ofSeconds(10));
-                if (deleteResult != null && deleteResult) {
-                    System.out.println("예약결제 스케줄 삭제 성공: subscriptionId=" + subscriptionId);
-                } else {
-                    System.err.println("예약결제 스케줄 삭제 실패: subscriptionId=" + subscriptionId);
-                    // 스케줄 삭제 실패 시 예외를 던져서 구독 취소를 중단할지 결정할 수 있음
-                    // 현재는 로그만 남기고 계속 진행
-                }
-            } catch (Exception e) {
-                System.err.println("예약결제 스케줄 삭제 중 오류 발생: subscriptionId=" + subscriptionId + ", error=" + e.getMessage());
-                e.printStackTrace();
-                // 스케줄 삭제 실패해도 구독 취소는 진행 (로그만 남김)
-                // 필요시 여기서 예외를 던져서 구독 취소를 중단할 수 있음
-            }
+            scheduleDeletion = deleteBillingSchedule(subscription)
+                    .timeout(Duration.ofSeconds(10))
+                    .doOnNext(deleteResult -> {
+                        if (deleteResult) {
+                            System.out.println("예약결제 스케줄 삭제 성공: subscriptionId=" + subscriptionId);
+                        } else {
+                            // 현재는 로그만 남기고 계속 진행
+                            System.err.println("예약결제 스케줄 삭제 실패: subscriptionId=" + subscriptionId);
+                        }
+                    })
+                    .onErrorResume(e -> !(e instanceof PortOneUnavailableException), e -> {
+                        System.err.println("예약결제 스케줄 삭제 중 오류 발생: subscriptionId=" + subscriptionId + ", error=" + e.getMessage());
+                        e.printStackTrace();
+                        // 스케줄 삭제 실패해도 구독 취소는 진행 (로그만 남김)
+                        return Mono.just(false);
+                    });
         } else {
             System.out.println("결제 수단 또는 customerUid가 없어 스케줄 삭제를 건너뜁니다: subscriptionId=" + subscriptionId);
+            scheduleDeletion = Mono.just(true);
         }
 
+        // DB 갱신은 이벤트 루프가 아닌 별도 스레드에서 트랜잭션으로 처리
+        return scheduleDeletion
+                .publishOn(Schedulers.boundedElastic())
+                .map(deleteResult -> transactionTemplate.execute(status -> markSubscriptionCanceled(subscriptionId)));
+    }
+
+    private Subscription markSubscriptionCanceled(Long subscriptionId) {
+        Subscription subscription = subscriptionRepository.findById(subscriptionId)
+                .orElseThrow(() -> new RuntimeException("Subscription not found: " + subscriptionId));
+
         // 구독 상태를 취소로 변경
         subscription.setStatus(Subscription.SubscriptionStatus.CANCELED);
         subscription.setCanceledAt(LocalDateTime.now());
@@ -306,6 +353,8 @@ public class SubscriptionService {
             invoiceRepository.save(invoice);
         }
 
+        // 응답 변환(플랜 이름)이 트랜잭션 밖에서 이뤄지므로 미리 로딩
+        Hibernate.initialize(savedSubscription.getPlan());
         return savedSubscription;
     }
 
@@ -319,49 +368,114 @@ public class SubscriptionService {
             throw new RuntimeException("Cannot create invoice for subscription with status: " + subscription.getStatus());
         }
 
+        return invoiceRepository.save(newInvoice(subscription));
+    }
+
+    /**
+     * 자동 결제 청크의 청구서 준비 (청크마다 짧은 트랜잭션 하나)
+     * - 기한이 다가온 대기 중 청구서가 있는 구독은 그 청구서를 다시 결제하고(보류/중단된 결제 재시도), 없는 구독만 새로 생성합니다.
+     *   (다른 노드가 결제 중인 PROCESSING 청구서도 미결제 청구서로 보므로 새 청구서를 만들지 않고, 결제 점유에서 걸러집니다)
+     * - 구독 행을 먼저 잠그고 확인/생성하므로, 타이밍 휠의 갱신과 정기 실행이 같은 구독을 동시에 준비해도 청구서는 하나만 생깁니다.
+     *   (먼저 끝난 쪽이 만든 청구서를 다른 쪽은 미결제 청구서로 보고, 이미 결제되어 기간이 연장된 구독은 건너뜀)
+     * - 대기 중 청구서 확인과 구독/플랜 조회를 각각 쿼리 한 번으로 처리합니다.
+     * @return 구독 ID → 결제할 청구서 ID (구독 ID 오름차순, 상태가 바뀌어 결제 대상이 아닌 구독은 제외)
+     */
+    @Transactional
+    public Map<Long, Long> prepareDueInvoices(List<Long> subscriptionIds, LocalDateTime cutoff) {
+        if (subscriptionIds.isEmpty()) {
+            return Map.of();
+        }
+        // 잠금을 얻은 뒤 첫 일반 조회에서 읽기 스냅샷이 생기므로, 아래 조회는 먼저 커밋된 다른 준비 작업의 청구서를 봅니다.
+        subscriptionRepository.lockBySubscriptionIdIn(subscriptionIds);
+
+        Map<Long, Long> invoiceIds = new TreeMap<>();
+        for (Object[] row : invoiceRepository.findPendingInvoiceIds(
+                subscriptionIds, OPEN_STATUSES, cutoff.plusDays(1))) {
+            invoiceIds.put((Long) row[0], (Long) row[1]);
+        }
+
+        List<Long> missing = subscriptionIds.stream()
+                .filter(subscriptionId -> !invoiceIds.containsKey(subscriptionId))
+                .toList();
+        if (missing.isEmpty()) {
+            return invoiceIds;
+        }
+
+        List<SubscriptionInvoice> created = new ArrayList<>();
+        for (Subscription subscription : subscriptionRepository.findBySubscriptionIdIn(missing)) {
+            boolean billable = subscription.getStatus() == Subscription.SubscriptionStatus.ACTIVE ||
+                    subscription.getStatus() == Subscription.SubscriptionStatus.PAST_DUE;
+            // 그 사이 다른 경로가 이번 기간을 결제해 기간이 연장된 구독은 아직 결제 시점이 아님
+            if (billable && subscription.getCurrentPeriodEnd() != null
+                    && !subscription.getCurrentPeriodEnd().isAfter(cutoff)) {
+                created.add(newInvoice(subscription));
+            }
+        }
+        for (SubscriptionInvoice invoice : invoiceRepository.saveAll(created)) {
+            invoiceIds.put(invoice.getSubscription().getSubscriptionId(), invoice.getInvoiceId());
+        }
+        return invoiceIds;
+    }
+
+    private SubscriptionInvoice newInvoice(Subscription subscription) {
         SubscriptionInvoice invoice = new SubscriptionInvoice();
         invoice.setSubscription(subscription);
         invoice.setAmount(subscription.getPlan().getPrice());
         invoice.setStatus(SubscriptionInvoice.InvoiceStatus.PENDING);
         invoice.setDueDate(subscription.getCurrentPeriodEnd());
         invoice.setAttemptCount(0);
-
-        return invoiceRepository.save(invoice);
+        return invoice;
     }
 
+    /**
+     * 청구서 결제 실행 (타이밍 휠, 정기 실행, 더닝 재시도, 수동 결제에서 공통으로 사용)
+     * - 먼저 청구서를 조건부 UPDATE(PENDING → PROCESSING)로 점유하고, 1건을 바꾼 호출만 결제하므로
+     *   여러 경로/노드가 같은 청구서를 동시에 꺼내도 한 번만 결제합니다. (점유는 이 트랜잭션이 끝날 때 커밋되며 결제는 그 뒤에 실행)
+     * - PortOne 호출 전에 중단되거나 즉시 거절(PortOneUnavailableException)되면 결제를 시도하지 않은 것이므로 점유를 PENDING으로 되돌립니다.
+     * @return 결제 성공 여부 (다른 호출이 점유했거나 대기 중인 청구서가 아니면 false)
+     */
     @Transactional
     public Mono<Boolean> processInvoicePayment(Long invoiceId) {
-        SubscriptionInvoice invoice = invoiceRepository.findById(invoiceId)
-                .orElseThrow(() -> new RuntimeException("Invoice not found: " + invoiceId));
-
-        if (invoice.getStatus() != SubscriptionInvoice.InvoiceStatus.PENDING) {
+        LocalDateTime now = LocalDateTime.now();
+        if (invoiceRepository.claimForBilling(invoiceId, now, now.minus(processingTimeout)) == 0) {
+            if (!invoiceRepository.existsById(invoiceId)) {
+                throw new RuntimeException("Invoice not found: " + invoiceId);
+            }
             return Mono.just(false);
         }
+        SubscriptionInvoice invoice = invoiceRepository.findById(invoiceId)
+                .orElseThrow(() -> new RuntimeException("Invoice not found: " + invoiceId));
 
         Subscription subscription = invoice.getSubscription();
         PaymentMethod paymentMethod = subscription.getPaymentMethod();
 
         if (paymentMethod == null) {
             invoice.setStatus(SubscriptionInvoice.InvoiceStatus.FAILED);
+            invoice.setProcessingStartedAt(null);
             invoice.setErrorMessage("No payment method associated with subscription");
             invoiceRepository.save(invoice);
             return Mono.just(false);
         }
 
+        // 결제 응답은 트랜잭션이 끝난 뒤 처리되므로 지연 로딩 연관 엔티티를 미리 읽어 둠
+        String customerUid = paymentMethod.getCustomerUid();
+        String orderName = subscription.getPlan().getName() + " 구독료";
+
         // PortOne 정기결제 실행
-        return portOneClient.getAccessToken()
+        return portOneClient.issueAccessToken()
                 .flatMap(accessToken -> {
-                    Map<String, Object> billingRequest = Map.of(
-                            "amount", invoice.getAmount().intValue(),
-                            "merchantUid", "invoice_" + invoiceId,
-                            "name", subscription.getPlan().getName() + " 구독료"
+                    PortOneBillingRequest billingRequest = new PortOneBillingRequest(
+                            invoice.getAmount().intValue(),
+                            "invoice_" + invoiceId,
+                            orderName
                     );
 
-                    return portOneClient.executeBilling(paymentMethod.getCustomerUid(), billingRequest, accessToken)
+                    return portOneClient.executeBilling(customerUid, billingRequest, accessToken)
                             .map(billingResult -> {
-                                String impUid = (String) billingResult.get("imp_uid");
+                                String impUid = billingResult.impUid();
                                 if (impUid != null) {
                                     invoice.setStatus(SubscriptionInvoice.InvoiceStatus.PAID);
+                                    invoice.setProcessingStartedAt(null);
                                     invoice.setImpUid(impUid);
                                     invoice.setPaidAt(LocalDateTime.now());
                                     invoice.setAttemptCount(invoice.getAttemptCount() + 1);
@@ -379,14 +493,18 @@ public class SubscriptionService {
                                     return true;
                                 } else {
                                     invoice.setStatus(SubscriptionInvoice.InvoiceStatus.FAILED);
+                                    invoice.setProcessingStartedAt(null);
                                     invoice.setAttemptCount(invoice.getAttemptCount() + 1);
                                     invoice.setErrorMessage("Payment failed: No imp_uid returned");
                                     invoiceRepository.save(invoice);
+                                    enqueueRetry(invoice, subscription);
                                     return false;
                                 }
                             })
-                            .onErrorResume(error -> {
+                            // 즉시 거절(PortOneUnavailableException)은 결제를 시도하지 않은 것이므로 아래에서 점유를 PENDING으로 되돌림
+                            .onErrorResume(error -> !(error instanceof PortOneUnavailableException), error -> {
                                 invoice.setStatus(SubscriptionInvoice.InvoiceStatus.FAILED);
+                                invoice.setProcessingStartedAt(null);
                                 invoice.setAttemptCount(invoice.getAttemptCount() + 1);
                                 invoice.setErrorMessage("Payment failed: " + error.getMessage());
                                 invoiceRepository.save(invoice);
@@ -394,11 +512,64 @@ public class SubscriptionService {
                                 // 결제 실패 시 구독 상태를 PAST_DUE로 변경
                                 subscription.setStatus(Subscription.SubscriptionStatus.PAST_DUE);
                                 subscriptionRepository.save(subscription);
+                                enqueueRetry(invoice, subscription);
 
                                 return Mono.just(false);
                             });
                 })
-                .onErrorReturn(false);
+                // 여기까지 온 오류는 결제를 시도하지 못한 경우(토큰 발급 실패, 즉시 거절)이므로 점유를 되돌림
+                .doOnError(error -> releaseBillingClaim(invoiceId))
+                .onErrorReturn(e -> !(e instanceof PortOneUnavailableException), false);
+    }
+
+    private void releaseBillingClaim(Long invoiceId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> invoiceRepository.releaseBillingClaim(invoiceId));
+        } catch (Exception e) {
+            // 점유가 오래되면 다음 결제 실행이 다시 점유함
+            System.err.println("청구서 결제 점유 해제 실패: invoiceId=" + invoiceId + ", " + e.getMessage());
+        }
+    }
+
+    /**
+     * 재시도 전 결제 실패 청구서를 다시 대기(PENDING) 상태로 변경 (processInvoicePayment는 대기 중인 청구서만 결제)
+     * @return 결제할 수 있는 상태면 true (다른 경로가 결제 중이면 true - 결제 점유에서 걸러짐, 이미 결제/환불되었거나 없는 청구서면 false)
+     */
+    @Transactional
+    public boolean reopenFailedInvoice(Long invoiceId) {
+        Optional<SubscriptionInvoice> invoiceOptional = invoiceRepository.findById(invoiceId);
+        if (invoiceOptional.isEmpty()) {
+            return false;
+        }
+        SubscriptionInvoice invoice = invoiceOptional.get();
+        if (invoice.getStatus() == SubscriptionInvoice.InvoiceStatus.FAILED) {
+            invoice.setStatus(SubscriptionInvoice.InvoiceStatus.PENDING);
+            invoiceRepository.save(invoice);
+            return true;
+        }
+        return OPEN_STATUSES.contains(invoice.getStatus());
+    }
+
+    /**
+     * 결제 실패 청구서를 재시도 큐에 추가 (재시도 중인 청구서면 무시 - 재시도 결과는 DunningService가 반영)
+     * - 재시도 일정이 없는 플랜이면 바로 구독을 종료합니다.
+     */
+    private void enqueueRetry(SubscriptionInvoice invoice, Subscription subscription) {
+        Optional<Duration> delay = dunningPolicy.nextDelay(subscription.getPlan(), 0);
+        if (delay.isEmpty()) {
+            subscription.setStatus(Subscription.SubscriptionStatus.ENDED);
+            subscription.setEndedAt(LocalDateTime.now());
+            subscriptionRepository.save(subscription);
+            System.out.println("재시도 일정이 없어 구독을 종료합니다: subscriptionId=" + subscription.getSubscriptionId());
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        String error = invoice.getErrorMessage() != null && invoice.getErrorMessage().length() > 1000
+                ? invoice.getErrorMessage().substring(0, 1000)
+                : invoice.getErrorMessage();
+        transactionTemplate.executeWithoutResult(status -> retryRepository.insertIgnore(
+                invoice.getInvoiceId(), subscription.getSubscriptionId(), now.plus(delay.get()), error, now));
     }
 
     public List<SubscriptionInvoice> getInvoicesBySubscriptionId(Long subscriptionId) {
@@ -422,9 +593,15 @@ public class SubscriptionService {
             throw new RuntimeException("Invoice does not have imp_uid");
         }
 
-        return portOneClient.getAccessToken()
+        return portOneClient.issueAccessToken()
                 .flatMap(accessToken -> portOneClient.cancelPayment(invoice.getImpUid(), accessToken, reason))
                 .map(cancelResult -> {
+                    // 취소 웹훅이 먼저 반영했으면 환불 내역을 중복으로 남기지 않음
+                    SubscriptionInvoice current = invoiceRepository.findById(invoiceId).orElse(invoice);
+                    if (current.getStatus() == SubscriptionInvoice.InvoiceStatus.REFUNDED) {
+                        return true;
+                    }
+
                     SubscriptionRefund refund = new SubscriptionRefund();
                     refund.setInvoice(invoice);
                     refund.setAmount(amount);
@@ -440,11 +617,126 @@ public class SubscriptionService {
                 .onErrorReturn(false);
     }
 
+    public boolean hasInvoiceForPayment(String paymentId) {
+        return invoiceRepository.findByImpUid(paymentId).isPresent();
+    }
+
+    /**
+     * 결제 완료 웹훅 반영
+     * - 청구서에 이미 연결된 거래면 그 청구서를, 예약결제(schedule_{구독ID}_...)면 구독의 대기 중인 청구서(없으면 새로 생성)를 PAID로 바꾸고 구독 기간을 연장합니다.
+     * @param scheduledSubscriptionId 예약결제 paymentId에서 추출한 구독 ID (예약결제가 아니면 null)
+     */
+    @Transactional
+    public void applyPaidWebhook(String paymentId, Long scheduledSubscriptionId, BigDecimal amount) {
+        Optional<SubscriptionInvoice> existing = invoiceRepository.findByImpUidForUpdate(paymentId);
+        SubscriptionInvoice invoice;
+        if (existing.isPresent()) {
+            invoice = existing.get();
+            if (invoice.getStatus() == SubscriptionInvoice.InvoiceStatus.PAID
+                    || invoice.getStatus() == SubscriptionInvoice.InvoiceStatus.REFUNDED) {
+                return; // 이미 반영됨
+            }
+        } else if (scheduledSubscriptionId != null) {
+            invoice = findOrCreateOpenInvoice(scheduledSubscriptionId);
+        } else {
+            return; // 이 서비스가 만든 청구서의 거래가 아님
+        }
+
+        Subscription subscription = invoice.getSubscription();
+        retryRepository.deleteByInvoiceId(invoice.getInvoiceId()); // 재시도 중이던 청구서면 재시도 중단
+        invoice.setStatus(SubscriptionInvoice.InvoiceStatus.PAID);
+        invoice.setProcessingStartedAt(null);
+        invoice.setImpUid(paymentId);
+        invoice.setPaidAt(LocalDateTime.now());
+        invoice.setAttemptCount(invoice.getAttemptCount() + 1);
+        invoice.setErrorMessage(null);
+        if (amount != null) {
+            invoice.setAmount(amount);
+        }
+        invoiceRepository.save(invoice);
+
+        // 해지된 구독은 결제 기록만 남기고 기간은 연장하지 않음
+        if (subscription.getStatus() != Subscription.SubscriptionStatus.CANCELED) {
+            LocalDateTime newPeriodStart = subscription.getCurrentPeriodEnd();
+            LocalDateTime newPeriodEnd = calculatePeriodEnd(newPeriodStart, subscription.getPlan().getBillingInterval());
+            subscription.setCurrentPeriodStart(newPeriodStart);
+            subscription.setCurrentPeriodEnd(newPeriodEnd);
+            subscription.setStatus(Subscription.SubscriptionStatus.ACTIVE);
+            subscriptionRepository.save(subscription);
+        }
+    }
+
+    /**
+     * 예약결제 실패 웹훅 반영 - 구독의 대기 중인 청구서를 FAILED로 바꾸고 구독을 PAST_DUE로 변경한 뒤 재시도 큐에 추가
+     */
+    @Transactional
+    public void applyFailedWebhook(String paymentId, Long scheduledSubscriptionId, String reason) {
+        if (scheduledSubscriptionId == null || invoiceRepository.findByImpUidForUpdate(paymentId).isPresent()) {
+            return; // 예약결제가 아니거나 이미 반영됨
+        }
+
+        SubscriptionInvoice invoice = findOrCreateOpenInvoice(scheduledSubscriptionId);
+        invoice.setStatus(SubscriptionInvoice.InvoiceStatus.FAILED);
+        invoice.setProcessingStartedAt(null);
+        invoice.setImpUid(paymentId);
+        invoice.setAttemptCount(invoice.getAttemptCount() + 1);
+        invoice.setErrorMessage("Payment failed: " + reason);
+        invoiceRepository.save(invoice);
+
+        Subscription subscription = invoice.getSubscription();
+        if (subscription.getStatus() == Subscription.SubscriptionStatus.ACTIVE) {
+            subscription.setStatus(Subscription.SubscriptionStatus.PAST_DUE);
+            subscriptionRepository.save(subscription);
+        }
+        enqueueRetry(invoice, subscription);
+    }
+
+    /**
+     * 결제 취소 웹훅 반영 (PortOne 콘솔 등 이 서비스 밖에서 취소된 경우 포함)
+     */
+    @Transactional
+    public void applyCancelledWebhook(String paymentId, BigDecimal cancelledAmount) {
+        Optional<SubscriptionInvoice> invoiceOptional = invoiceRepository.findByImpUidForUpdate(paymentId);
+        if (invoiceOptional.isEmpty() || invoiceOptional.get().getStatus() != SubscriptionInvoice.InvoiceStatus.PAID) {
+            return; // 환불 요청이 이미 반영했거나 이 서비스의 거래가 아님
+        }
+
+        SubscriptionInvoice invoice = invoiceOptional.get();
+        SubscriptionRefund refund = new SubscriptionRefund();
+        refund.setInvoice(invoice);
+        refund.setAmount(cancelledAmount != null ? cancelledAmount : invoice.getAmount());
+        refund.setReason("PortOne 취소 웹훅");
+        refund.setStatus(SubscriptionRefund.RefundStatus.COMPLETED);
+        refundRepository.save(refund);
+
+        invoice.setStatus(SubscriptionInvoice.InvoiceStatus.REFUNDED);
+        invoiceRepository.save(invoice);
+    }
+
+    // 구독의 가장 오래된 미결제(대기 중/결제 중) 청구서 (없으면 현재 플랜 가격으로 새로 생성)
+    private SubscriptionInvoice findOrCreateOpenInvoice(Long subscriptionId) {
+        Subscription subscription = subscriptionRepository.findById(subscriptionId)
+                .orElseThrow(() -> new RuntimeException("Subscription not found: " + subscriptionId));
+
+        return invoiceRepository.findBySubscriptionSubscriptionId(subscriptionId).stream()
+                .filter(invoice -> OPEN_STATUSES.contains(invoice.getStatus()))
+                .min(Comparator.comparing(SubscriptionInvoice::getDueDate))
+                .orElseGet(() -> {
+                    SubscriptionInvoice invoice = new SubscriptionInvoice();
+                    invoice.setSubscription(subscription);
+                    invoice.setAmount(subscription.getPlan().getPrice());
+                    invoice.setStatus(SubscriptionInvoice.InvoiceStatus.PENDING);
+                    invoice.setDueDate(subscription.getCurrentPeriodEnd());
+                    invoice.setAttemptCount(0);
+                    return invoice;
+                });
+    }
+
     /**
      * 예약결제 스케줄 생성
      * 구독의 billingInterval에 따라 반복 결제 스케줄을 생성합니다.
      */
-    private Mono<Map> createBillingSchedule(Subscription subscription) {
+    private Mono<PortOneScheduleResponse> createBillingSchedule(Subscription subscription) {
         PaymentMethod paymentMethod = subscription.getPaymentMethod();
         if (paymentMethod == null || paymentMethod.getCustomerUid() == null) {
             return Mono.error(new RuntimeException("Payment method or customerUid is missing"));
@@ -467,7 +759,7 @@ public class SubscriptionService {
         
         if (billingKey != null && !billingKey.trim().isEmpty()) {
             // 저장된 billingKey를 직접 사용
-            return portOneClient.getAccessToken()
+            return portOneClient.issueAccessToken()
                     .flatMap(accessToken -> {
                         // PortOne V2 API 형식에 맞춰 스케줄 생성
                         // 참고: https://developers.portone.io/opi/ko/integration/start/v2/billing/schedule?v=v2
@@ -478,37 +770,12 @@ public class SubscriptionService {
                         // ISO 8601 형식으로 변환 (예: 2023-08-24T14:15:22Z)
                         String timeToPay = scheduledAt.toString().replace(" ", "T") + "Z";
                         
-                        // payment 객체 생성
-                        Map<String, Object> payment = new java.util.HashMap<>();
-                        payment.put("billingKey", billingKey);
-                        payment.put("orderName", plan.getName() + " 구독료");
-                        
-                        Map<String, Object> customer = new java.util.HashMap<>();
-                        customer.put("id", String.valueOf(subscription.getUser().getUserId()));
-                        payment.put("customer", customer);
-                        
-                        Map<String, Object> amount = new java.util.HashMap<>();
-                        amount.put("total", plan.getPrice().intValue());
-                        payment.put("amount", amount);
-                        payment.put("currency", "KRW");
-                        
-                        // scheduleRequest 생성
-                        Map<String, Object> scheduleRequest = new java.util.HashMap<>();
-                        scheduleRequest.put("payment", payment);
-                        scheduleRequest.put("timeToPay", timeToPay);
-                        
-                        // metadata에 subscriptionId를 포함하여 나중에 스케줄 삭제 시 사용
-                        Map<String, Object> metadata = new java.util.HashMap<>();
-                        metadata.put("subscriptionId", subscription.getSubscriptionId());
-                        metadata.put("userId", subscription.getUser().getUserId());
-                        scheduleRequest.put("metadata", metadata);
-
-                        return portOneClient.createSchedule(paymentId, scheduleRequest, accessToken);
+                        return portOneClient.createSchedule(paymentId, newScheduleRequest(subscription, billingKey, timeToPay));
                     })
                     .onErrorMap(error -> new RuntimeException("예약결제 스케줄 생성 실패: " + error.getMessage(), error));
         } else {
             // billingKey가 없으면 customerUid로 조회 (기존 방식, 재시도 로직 포함)
-            return portOneClient.getAccessToken()
+            return portOneClient.issueAccessToken()
                     .flatMap(accessToken -> {
                         // 먼저 빌링키가 존재하는지 확인 (재시도 로직 포함)
                         // 빌링키 발급 후 PortOne에 등록되는 데 시간이 걸릴 수 있으므로 재시도
@@ -547,118 +814,51 @@ public class SubscriptionService {
                                     // ISO 8601 형식으로 변환 (예: 2023-08-24T14:15:22Z)
                                     String timeToPay = scheduledAt.toString().replace(" ", "T") + "Z";
                                     
-                                    // payment 객체 생성
-                                    Map<String, Object> payment = new java.util.HashMap<>();
-                                    
-                                    // billingKeyInfo에서 billingKey 추출
-                                    @SuppressWarnings("unchecked")
-                                    Map<String, Object> billingKeyInfoMap = (Map<String, Object>) billingKeyInfo.get("billingKeyInfo");
-                                    String extractedBillingKey = null;
-                                    if (billingKeyInfoMap != null && billingKeyInfoMap.containsKey("billingKey")) {
-                                        extractedBillingKey = (String) billingKeyInfoMap.get("billingKey");
-                                    } else if (billingKeyInfo.containsKey("billingKey")) {
-                                        extractedBillingKey = (String) billingKeyInfo.get("billingKey");
-                                    }
-                                    
+                                    // billingKeyInfo(또는 최상위)에서 billingKey 추출
+                                    String extractedBillingKey = billingKeyInfo.resolveBillingKey();
                                     if (extractedBillingKey == null) {
                                         return Mono.error(new RuntimeException("빌링키 정보를 찾을 수 없습니다."));
                                     }
-                                    
-                                    payment.put("billingKey", extractedBillingKey);
-                                    payment.put("orderName", plan.getName() + " 구독료");
-                                    
-                                    Map<String, Object> customer = new java.util.HashMap<>();
-                                    customer.put("id", String.valueOf(subscription.getUser().getUserId()));
-                                    payment.put("customer", customer);
-                                    
-                                    Map<String, Object> amount = new java.util.HashMap<>();
-                                    amount.put("total", plan.getPrice().intValue());
-                                    payment.put("amount", amount);
-                                    payment.put("currency", "KRW");
-                                    
-                                    // scheduleRequest 생성
-                                    Map<String, Object> scheduleRequest = new java.util.HashMap<>();
-                                    scheduleRequest.put("payment", payment);
-                                    scheduleRequest.put("timeToPay", timeToPay);
-                                    
-                                    // metadata에 subscriptionId를 포함하여 나중에 스케줄 삭제 시 사용
-                                    Map<String, Object> metadata = new java.util.HashMap<>();
-                                    metadata.put("subscriptionId", subscription.getSubscriptionId());
-                                    metadata.put("userId", subscription.getUser().getUserId());
-                                    scheduleRequest.put("metadata", metadata);
 
-                                    return portOneClient.createSchedule(paymentId, scheduleRequest, accessToken);
+                                    return portOneClient.createSchedule(paymentId, newScheduleRequest(subscription, extractedBillingKey, timeToPay));
                                 });
                     })
                     .onErrorMap(error -> new RuntimeException("예약결제 스케줄 생성 실패: " + error.getMessage(), error));
         }
     }
 
+    /**
+     * 예약결제 스케줄 생성 요청
+     * - metadata에 subscriptionId를 포함하여 나중에 스케줄 조회/삭제 시 사용
+     */
+    private PortOneScheduleRequest newScheduleRequest(Subscription subscription, String billingKey, String timeToPay) {
+        Plan plan = subscription.getPlan();
+        PortOneScheduleRequest.Payment payment = new PortOneScheduleRequest.Payment(
+                billingKey,
+                plan.getName() + " 구독료",
+                new PortOneCustomer(String.valueOf(subscription.getUser().getUserId())),
+                new PortOneScheduleRequest.Amount(plan.getPrice().longValue()),
+                "KRW");
+
+        Map<String, Object> metadata = new java.util.HashMap<>();
+        metadata.put("subscriptionId", subscription.getSubscriptionId());
+        metadata.put("userId", subscription.getUser().getUserId());
+        return new PortOneScheduleRequest(payment, timeToPay, metadata);
+    }
+
     /**
      * 스케줄 생성 응답에서 scheduleId 추출
      */
-    private String extractScheduleIdFromResponse(Map<String, Object> scheduleResponse, Long subscriptionId) {
+    private String extractScheduleIdFromResponse(PortOneScheduleResponse scheduleResponse, Long subscriptionId) {
         // 디버깅: 응답 전체 구조 로그 출력
         System.out.println("[스케줄 생성 응답] subscriptionId=" + subscriptionId + 
                          ", 응답: " + scheduleResponse);
         
-        String scheduleId = null;
-        
-        // 응답 구조에 따라 scheduleId 추출 (여러 가능한 필드명 확인)
-        // 1. 직접 id 필드
-        if (scheduleResponse.containsKey("id")) {
-            Object idObj = scheduleResponse.get("id");
-            if (idObj != null) {
-                scheduleId = idObj.toString();
-            }
-        }
-        // 2. scheduleId 필드
-        else if (scheduleResponse.containsKey("scheduleId")) {
-            Object scheduleIdObj = scheduleResponse.get("scheduleId");
-            if (scheduleIdObj != null) {
-                scheduleId = scheduleIdObj.toString();
-            }
-        }
-        // 3. 중첩된 schedule 객체 내부의 id
-        else if (scheduleResponse.containsKey("schedule")) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> scheduleObj = (Map<String, Object>) scheduleResponse.get("schedule");
-            if (scheduleObj != null) {
-                if (scheduleObj.containsKey("id")) {
-                    Object idObj = scheduleObj.get("id");
-                    if (idObj != null) {
-                        scheduleId = idObj.toString();
-                    }
-                } else if (scheduleObj.containsKey("scheduleId")) {
-                    Object scheduleIdObj = scheduleObj.get("scheduleId");
-                    if (scheduleIdObj != null) {
-                        scheduleId = scheduleIdObj.toString();
-                    }
-                }
-            }
-        }
-        // 4. data 객체 내부 확인
-        else if (scheduleResponse.containsKey("data")) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> dataObj = (Map<String, Object>) scheduleResponse.get("data");
-            if (dataObj != null) {
-                if (dataObj.containsKey("id")) {
-                    Object idObj = dataObj.get("id");
-                    if (idObj != null) {
-                        scheduleId = idObj.toString();
-                    }
-                } else if (dataObj.containsKey("scheduleId")) {
-                    Object scheduleIdObj = dataObj.get("scheduleId");
-                    if (scheduleIdObj != null) {
-                        scheduleId = scheduleIdObj.toString();
-                    }
-                }
-            }
-        }
+        // 응답 구조에 따라 scheduleId 추출 (최상위 id/scheduleId, 또는 schedule/data 객체 내부의 id/scheduleId)
+        String scheduleId = scheduleResponse.resolveScheduleId();
         
         if (scheduleId == null || scheduleId.trim().isEmpty()) {
             System.err.println("[스케줄 생성] 응답에서 scheduleId를 찾지 못함: subscriptionId=" + subscriptionId);
-            System.err.println("응답 키 목록: " + scheduleResponse.keySet());
         }
         
         return scheduleId;
@@ -679,12 +879,11 @@ public class SubscriptionService {
         
         System.out.println("[스케줄 조회] 시작: subscriptionId=" + subscriptionId + ", customerUid=" + customerUid);
 
-        return portOneClient.getAccessToken()
+        return portOneClient.issueAccessToken()
                 .flatMap(accessToken -> 
                     portOneClient.getSchedules(customerUid, accessToken)
                         .map(schedules -> {
-                            @SuppressWarnings("unchecked")
-                            List<Map<String, Object>> scheduleList = (List<Map<String, Object>>) schedules.get("schedules");
+                            List<PortOneSchedule> scheduleList = schedules.schedules();
                             
                             if (scheduleList == null || scheduleList.isEmpty()) {
                                 System.out.println("[스케줄 조회] 스케줄 목록이 비어있습니다. subscriptionId=" + subscriptionId);
@@ -694,31 +893,26 @@ public class SubscriptionService {
                             System.out.println("[스케줄 조회] 조회된 스케줄 수: " + scheduleList.size() + ", subscriptionId=" + subscriptionId);
 
                             // 해당 구독의 스케줄 찾기
-                            for (Map<String, Object> schedule : scheduleList) {
-                                String scheduleId = (String) schedule.get("id");
+                            for (PortOneSchedule schedule : scheduleList) {
+                                String scheduleId = schedule.id();
                                 if (scheduleId == null) {
                                     continue;
                                 }
                                 
                                 // metadata에서 subscriptionId 확인
-                                @SuppressWarnings("unchecked")
-                                Map<String, Object> metadata = (Map<String, Object>) schedule.get("metadata");
-                                
-                                if (metadata != null) {
-                                    Object subId = metadata.get("subscriptionId");
-                                    if (subId != null) {
+                                if (schedule.metadata() != null) {
+                                    JsonNode subId = schedule.metadata().get("subscriptionId");
+                                    if (subId != null && !subId.isNull()) {
                                         // Long 타입 비교 (숫자와 문자열 모두 처리)
                                         boolean matches = false;
-                                        if (subId instanceof Number) {
-                                            matches = ((Number) subId).longValue() == subscriptionId;
-                                        } else if (subId instanceof String) {
+                                        if (subId.isNumber()) {
+                                            matches = subId.longValue() == subscriptionId;
+                                        } else if (subId.isTextual()) {
                                             try {
-                                                matches = Long.parseLong((String) subId) == subscriptionId;
+                                                matches = Long.parseLong(subId.asText()) == subscriptionId;
                                             } catch (NumberFormatException e) {
                                                 // 무시
                                             }
-                                        } else {
-                                            matches = subId.equals(subscriptionId);
                                         }
                                         
                                         if (matches) {
@@ -733,7 +927,7 @@ public class SubscriptionService {
                                 }
                                 
                                 // paymentId 패턴으로도 확인 (fallback)
-                                String paymentId = (String) schedule.get("paymentId");
+                                String paymentId = schedule.paymentId();
                                 if (paymentId != null) {
                                     String expectedPattern = "schedule_" + subscriptionId + "_";
                                     if (paymentId.startsWith(expectedPattern)) {
@@ -781,7 +975,7 @@ public class SubscriptionService {
             return Mono.just(true); // idempotent: 스케줄이 없으면 성공으로 처리
         }
 
-        return portOneClient.getAccessToken()
+        return portOneClient.issueAccessToken()
                 .flatMap(accessToken -> {
                     // 저장된 scheduleId를 직접 사용하여 삭제 요청
                     List<String> scheduleIdsToDelete = java.util.Collections.singletonList(scheduleId);
@@ -791,8 +985,7 @@ public class SubscriptionService {
 
                     return portOneClient.revokePaymentSchedules(accessToken, null, scheduleIdsToDelete)
                             .map(result -> {
-                                @SuppressWarnings("unchecked")
-                                List<String> revokedIds = (List<String>) result.get("revokedScheduleIds");
+                                List<String> revokedIds = result.revokedScheduleIds();
                                 if (revokedIds != null && !revokedIds.isEmpty()) {
                                     System.out.println("[스케줄 삭제] 삭제 성공: subscriptionId=" + subscriptionId + 
                                                      ", scheduleId=" + scheduleId + 
@@ -803,7 +996,7 @@ public class SubscriptionService {
                             .doOnSuccess(result -> 
                                 System.out.println("[스케줄 삭제] 삭제 완료: subscriptionId=" + subscriptionId + 
                                                  ", scheduleId=" + scheduleId))
-                            .onErrorResume(error -> {
+                            .onErrorResume(error -> !(error instanceof PortOneUnavailableException), error -> {
                                 String errorMsg = error.getMessage();
                                 boolean is404 = error instanceof WebClientResponseException.NotFound ||
                                                 (errorMsg != null && (errorMsg.contains("404") || 
@@ -823,7 +1016,7 @@ public class SubscriptionService {
                                 return Mono.just(false); // 삭제 실패 시 false 반환
                             });
                 })
-                .onErrorReturn(false)
+                .onErrorReturn(e -> !(e instanceof PortOneUnavailableException), false)
                 .doOnSuccess(result -> {
                     if (result) {
                         System.out.println("[스케줄 삭제] 프로세스 완료: subscriptionId=" + subscriptionId + 
@@ -0,0 +1,84 @@
+package com.sparta.subscription_system.service;
+
+import com.sparta.common.webhook.PortOneWebhookProcessor;
+import com.sparta.common.webhook.WebhookInbox;
+import com.sparta.portone.PortOneClient;
+import com.sparta.portone.dto.PortOneAmount;
+import com.sparta.portone.dto.PortOnePayment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * PortOne 웹훅 처리기 - 인박스에 저장된 웹훅을 구독 청구서 상태에 반영
+ * - 예약결제(schedule_{구독ID}_{시각})는 PortOne이 직접 실행하므로 결과를 웹훅으로만 알 수 있습니다.
+ * - 웹훅 본문에는 금액이 없으므로 결제 완료/취소 시에만 PortOne에서 결제 정보를 조회합니다 (작업 스레드에서 실행).
+ * - 예외를 던지면 디스패처가 백오프 후 재시도합니다.
+ */
+@Component
+public class SubscriptionWebhookProcessor implements PortOneWebhookProcessor {
+
+    private static final String TRANSACTION_PAID = "Transaction.Paid";
+    private static final String TRANSACTION_FAILED = "Transaction.Failed";
+    private static final String TRANSACTION_CANCELLED = "Transaction.Cancelled";
+    private static final String SCHEDULE_PAYMENT_PREFIX = "schedule_";
+
+    private final SubscriptionService subscriptionService;
+    private final PortOneClient portOneClient;
+
+    @Autowired
+    public SubscriptionWebhookProcessor(SubscriptionService subscriptionService, PortOneClient portOneClient) {
+        this.subscriptionService = subscriptionService;
+        this.portOneClient = portOneClient;
+    }
+
+    @Override
+    public void process(WebhookInbox inbox) {
+        String paymentId = inbox.getPaymentId();
+        if (paymentId == null || paymentId.isBlank()) {
+            return; // 결제와 무관한 웹훅 (빌링키 발급 등)
+        }
+        Long scheduledSubscriptionId = parseScheduledSubscriptionId(paymentId);
+        if (scheduledSubscriptionId == null && !subscriptionService.hasInvoiceForPayment(paymentId)) {
+            return; // 이 서비스의 청구서와 연결되지 않은 거래 (PortOne 조회 생략)
+        }
+
+        switch (inbox.getEventType()) {
+            case TRANSACTION_PAID -> {
+                PortOneAmount amount = fetchPaymentDetails(paymentId).amount();
+                subscriptionService.applyPaidWebhook(paymentId, scheduledSubscriptionId, amount != null ? amount.total() : null);
+            }
+            case TRANSACTION_FAILED -> subscriptionService.applyFailedWebhook(paymentId, scheduledSubscriptionId, "PortOne 결제 실패 웹훅");
+            case TRANSACTION_CANCELLED -> {
+                PortOneAmount amount = fetchPaymentDetails(paymentId).amount();
+                subscriptionService.applyCancelledWebhook(paymentId, amount != null ? amount.cancelled() : null);
+            }
+            default -> {
+                // 결제 대기/부분 취소 등 청구서 상태 변경이 필요 없는 웹훅
+            }
+        }
+    }
+
+    // schedule_{구독ID}_{시각} 형식이면 구독 ID, 아니면 null
+    private Long parseScheduledSubscriptionId(String paymentId) {
+        if (!paymentId.startsWith(SCHEDULE_PAYMENT_PREFIX)) {
+            return null;
+        }
+        String rest = paymentId.substring(SCHEDULE_PAYMENT_PREFIX.length());
+        int separator = rest.indexOf('_');
+        try {
+            return Long.parseLong(separator > 0 ? rest.substring(0, separator) : rest);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private PortOnePayment fetchPaymentDetails(String paymentId) {
+        PortOnePayment paymentDetails = portOneClient.issueAccessToken()
+                .flatMap(accessToken -> portOneClient.getPaymentDetails(paymentId, accessToken))
+                .block();
+        if (paymentDetails == null) {
+            throw new RuntimeException("PortOne 결제 정보 조회 결과가 비어 있습니다. Payment ID: " + paymentId);
+        }
+        return paymentDetails;
+    }
+}